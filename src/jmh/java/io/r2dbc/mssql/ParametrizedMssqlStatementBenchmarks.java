@@ -45,6 +45,14 @@ public class ParametrizedMssqlStatementBenchmarks extends BenchmarkSettings {
         public void putHandle(int handle, String sql, Binding binding) {
         }
 
+        @Override
+        public void removeHandle(String sql, Binding binding) {
+        }
+
+        @Override
+        public void clear() {
+        }
+
         @Override
         public <T> T getParsedSql(String sql, Function<String, T> parseFunction) {
             return parseFunction.apply(sql);
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.mssql.BenchmarkSettings;
+import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.header.Header;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.PacketIdProvider;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.util.HexUtils;
+import org.junit.platform.commons.annotation.Testable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks for {@link StreamDecoder} comparing copying packet reassembly with zero-copy reassembly. Results are normalized to a single decoded row. Run with {@code -prof gc} to compare the
+ * allocated (copied) bytes per decoded row ({@code gc.alloc.rate.norm}) of both reassembly modes.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Thread)
+@Testable
+public class StreamDecoderBenchmarks extends BenchmarkSettings {
+
+    private static final int ROWS = 10_000;
+
+    private static final int PACKET_SIZE = 8000;
+
+    private static final int TRANSPORT_BUFFER_SIZE = 2048;
+
+    private static final ByteBufAllocator alloc = ByteBufAllocator.DEFAULT;
+
+    private static final String COLUMN_METADATA = "8107000000000000" +
+        "000800300B65006D0070006C006F0079" +
+        "00650065005F00690064000000000008" +
+        "00E764000904D00034096C0061007300" +
+        "74005F006E0061006D00650000000000" +
+        "0900A732000904D000340A6600690072" +
+        "00730074005F006E0061006D00650000" +
+        "00000009006E0806730061006C006100" +
+        "7200790000000000090024100366006F" +
+        "006F000000000009006D080366006C00" +
+        "74000000000009006D04036200610072" +
+        "00";
+
+    private static final String ROW = "D1010C00700061006C007500630068" +
+        "0004006D61726B080000000020A10700" +
+        "10F17B0DC7C7E5C54098C7A12F7E6867" +
+        "2408FED478E94628C6400437423146";
+
+    @Param({"false", "true"})
+    boolean zeroCopy;
+
+    private final List<ByteBuf> transportBuffers = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+
+        ByteBuf body = alloc.buffer();
+        body.writeBytes(HexUtils.decodeToByteBuf(COLUMN_METADATA));
+
+        ByteBuf row = HexUtils.decodeToByteBuf(ROW);
+        for (int i = 0; i < ROWS; i++) {
+            body.writeBytes(row, 0, row.readableBytes());
+        }
+
+        DoneToken.create(ROWS).encode(body);
+
+        ByteBuf stream = alloc.buffer();
+        PacketIdProvider packetIdProvider = PacketIdProvider.atomic();
+
+        while (body.isReadable()) {
+
+            int chunkLength = Math.min(body.readableBytes(), PACKET_SIZE - Header.LENGTH);
+            Status status = chunkLength == body.readableBytes() ? Status.of(Status.StatusBit.EOM) : Status.empty();
+
+            Header.create(HeaderOptions.create(Type.TABULAR_RESULT, status), Header.LENGTH + chunkLength, packetIdProvider).encode(stream);
+            stream.writeBytes(body, chunkLength);
+        }
+
+        while (stream.isReadable()) {
+            this.transportBuffers.add(stream.readRetainedSlice(Math.min(stream.readableBytes(), TRANSPORT_BUFFER_SIZE)));
+        }
+
+        body.release();
+        stream.release();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.transportBuffers.forEach(ByteBuf::release);
+        this.transportBuffers.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void decodeRows(Blackhole voodoo) {
+
+        StreamDecoder decoder = new StreamDecoder(this.zeroCopy);
+        MessageDecoder messageDecoder = ConnectionState.POST_LOGIN.decoder(TestClient.NO_OP);
+
+        for (ByteBuf transportBuffer : this.transportBuffers) {
+
+            // mimic the transport releasing the inbound buffer after decoding
+            ByteBuf inbound = transportBuffer.retainedDuplicate();
+
+            try {
+                for (Message message : decoder.decode(inbound, messageDecoder)) {
+                    voodoo.consume(message);
+                    ReferenceCountUtil.release(message);
+                }
+            } finally {
+                inbound.release();
+            }
+        }
+    }
+
+}
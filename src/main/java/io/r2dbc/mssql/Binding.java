@@ -17,6 +17,8 @@
 package io.r2dbc.mssql;
 
 import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.PlpEncoded;
+import io.r2dbc.mssql.codec.TvpEncoded;
 import io.r2dbc.mssql.util.Assert;
 import reactor.util.annotation.Nullable;
 
@@ -71,6 +73,66 @@ class Binding {
         this.parameters.clear();
     }
 
+    /**
+     * Retain binding values so they can be encoded once more, e.g. to re-prepare a statement after its prepared statement handle became invalid. A successful call must be followed by
+     * either {@link #resetForReplay()} and re-encoding the values or by {@link #releaseReplay()}.
+     *
+     * @return {@code true} if the values were retained; {@code false} if the binding contains streamed values that cannot be encoded more than once.
+     */
+    boolean retainForReplay() {
+
+        if (hasStreamedValues()) {
+            return false;
+        }
+
+        for (Encoded encoded : this.parameters.values()) {
+            encoded.retain();
+            encoded.getValue().markReaderIndex();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns whether the binding contains values that are streamed while encoding (PLP or table-valued parameters). Streamed values are consumed by encoding them and therefore can be
+     * encoded only once.
+     *
+     * @return {@code true} if the binding contains streamed values.
+     */
+    boolean hasStreamedValues() {
+
+        for (Encoded encoded : this.parameters.values()) {
+            if (encoded instanceof PlpEncoded || encoded instanceof TvpEncoded) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Reset retained binding values to their state before they were encoded.
+     *
+     * @see #retainForReplay()
+     */
+    void resetForReplay() {
+        this.parameters.values().forEach(encoded -> encoded.getValue().resetReaderIndex());
+    }
+
+    /**
+     * Release binding values that were retained for a replay that is no longer required.
+     *
+     * @see #retainForReplay()
+     */
+    void releaseReplay() {
+
+        for (Encoded encoded : this.parameters.values()) {
+            if (encoded.refCnt() > 0) {
+                encoded.release();
+            }
+        }
+    }
+
     /**
      * Returns a formal representation of the bound parameters such as {@literal @P0 VARCHAR(8000), @P1 DECIMAL(12,6)}
      *
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import io.r2dbc.mssql.client.Client;
+import io.r2dbc.mssql.codec.Codecs;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.token.BulkLoad;
+import io.r2dbc.mssql.message.token.ColumnDescriptor;
+import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.util.Assert;
+import io.r2dbc.spi.Clob;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk copy message flow. Each batch of rows is copied by issuing an {@literal INSERT BULK} statement using {@link QueryMessageFlow} followed by a {@link BulkLoad} data stream. Column types
+ * are derived from the first row of each batch by encoding its values with {@link Codecs}.
+ *
+ * @author Mark Paluch
+ * @see BulkCopyOptions
+ * @see BulkLoad
+ */
+final class BulkCopyFlow {
+
+    /**
+     * Copy {@code rows} using bulk load. Each batch terminates with a {@link DoneToken} that reports the number of copied rows.
+     *
+     * @param client                        the {@link Client} to exchange messages with.
+     * @param codecs                        the codecs to encode row values.
+     * @param options                       the bulk copy options.
+     * @param sendStringParametersAsUnicode whether to send character data as unicode.
+     * @param rows                          the rows to copy.
+     * @param timeout                       the statement timeout. {@link Duration#ZERO} disables the timeout.
+     * @return the messages received in response to the bulk load data streams.
+     */
+    static Flux<Message> exchange(Client client, Codecs codecs, BulkCopyOptions options, boolean sendStringParametersAsUnicode, Publisher<Object[]> rows, Duration timeout) {
+
+        Assert.requireNonNull(client, "Client must not be null");
+        Assert.requireNonNull(codecs, "Codecs must not be null");
+        Assert.requireNonNull(options, "BulkCopyOptions must not be null");
+        Assert.requireNonNull(rows, "Rows must not be null");
+        Assert.requireNonNull(timeout, "Timeout must not be null");
+
+        Flux<Flux<Object[]>> batches = options.getBatchSize() > 0 ? Flux.from(rows).window(options.getBatchSize()) : Flux.just(Flux.from(rows));
+
+        return batches.concatMap(batch -> batch.switchOnFirst((signal, batchRows) -> {
+
+            if (!signal.hasValue()) {
+                return batchRows.thenMany(Flux.<Message>empty());
+            }
+
+            return Flux.defer(() -> {
+
+                Collation collation = client.getRequiredCollation();
+                List<ColumnDescriptor> columns = describe(client.getByteBufAllocator(), codecs, options, collation, sendStringParametersAsUnicode, signal.get());
+                String sql = createInsertBulk(options, columns);
+                ExceptionFactory factory = ExceptionFactory.withSql(sql);
+
+                Flux<ByteBuf> encodedRows = batchRows.map(row -> encodeRow(client.getByteBufAllocator(), codecs, columns, collation, sendStringParametersAsUnicode, row));
+
+                return QueryMessageFlow.exchange(client, sql, timeout)
+                    .handle(factory::handleErrorResponse)
+                    .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+                    .thenMany(client.exchange(Mono.fromSupplier(() -> BulkLoad.create(columns, encodedRows, options.getBufferSize())), DoneToken::isDone, timeout)
+                        .handle(QueryMessageFlow.DoneHandler.INSTANCE));
+            });
+        }));
+    }
+
+    /**
+     * Create the {@literal INSERT BULK} statement.
+     *
+     * @param options the bulk copy options.
+     * @param columns the column descriptors.
+     * @return the {@literal INSERT BULK} statement.
+     */
+    static String createInsertBulk(BulkCopyOptions options, List<ColumnDescriptor> columns) {
+
+        StringBuilder builder = new StringBuilder("INSERT BULK ").append(options.getTable()).append(" (");
+
+        for (int i = 0; i < columns.size(); i++) {
+
+            if (i != 0) {
+                builder.append(", ");
+            }
+
+            ColumnDescriptor column = columns.get(i);
+            builder.append('[').append(column.getName().replace("]", "]]")).append("] ").append(column.getFormalType());
+        }
+
+        builder.append(')');
+
+        List<String> hints = new ArrayList<>();
+
+        if (options.isTableLock()) {
+            hints.add("TABLOCK");
+        }
+
+        if (options.isCheckConstraints()) {
+            hints.add("CHECK_CONSTRAINTS");
+        }
+
+        if (!hints.isEmpty()) {
+            builder.append(" WITH (").append(String.join(", ", hints)).append(')');
+        }
+
+        return builder.toString();
+    }
+
+    private static List<ColumnDescriptor> describe(ByteBufAllocator allocator, Codecs codecs, BulkCopyOptions options, Collation collation, boolean sendStringParametersAsUnicode,
+                                                   Object[] row) {
+
+        List<BulkCopyOptions.Column> mappings = options.getColumns();
+        Assert.isTrue(row.length == mappings.size(), () -> String.format("Row contains %d values but %d columns are mapped", row.length, mappings.size()));
+
+        List<ColumnDescriptor> columns = new ArrayList<>(mappings.size());
+
+        for (int i = 0; i < row.length; i++) {
+
+            BulkCopyOptions.Column mapping = mappings.get(i);
+            Encoded prototype;
+
+            if (row[i] != null) {
+                prototype = encode(allocator, codecs, collation, sendStringParametersAsUnicode, row[i]);
+            } else {
+
+                Class<?> type = mapping.getType();
+
+                if (type == null) {
+                    throw new IllegalArgumentException(String.format("Cannot determine the type of column [%s] from a null value; declare the column type", mapping.getName()));
+                }
+
+                prototype = codecs.encodeNull(allocator, type);
+            }
+
+            try {
+                columns.add(ColumnDescriptor.create(mapping.getName(), prototype, collation));
+            } finally {
+                prototype.release();
+            }
+        }
+
+        return columns;
+    }
+
+    private static ByteBuf encodeRow(ByteBufAllocator allocator, Codecs codecs, List<ColumnDescriptor> columns, Collation collation, boolean sendStringParametersAsUnicode,
+                                     Object[] row) {
+
+        Encoded[] values = new Encoded[row.length];
+        ByteBuf buffer = allocator.buffer();
+
+        try {
+
+            for (int i = 0; i < row.length; i++) {
+                values[i] = row[i] != null ? encode(allocator, codecs, collation, sendStringParametersAsUnicode, row[i]) : null;
+            }
+
+            BulkLoad.encodeRow(buffer, columns, values);
+            return buffer;
+        } catch (RuntimeException e) {
+            buffer.release();
+            throw e;
+        } finally {
+
+            for (Encoded value : values) {
+                if (value != null) {
+                    value.release();
+                }
+            }
+        }
+    }
+
+    private static Encoded encode(ByteBufAllocator allocator, Codecs codecs, Collation collation, boolean sendStringParametersAsUnicode, Object value) {
+
+        RpcParameterContext parameterContext = RpcParameterContext.in();
+        if (value instanceof CharSequence || value instanceof Clob) {
+            parameterContext = RpcParameterContext.in(new RpcParameterContext.CharacterValueContext(collation, sendStringParametersAsUnicode));
+        }
+
+        return codecs.encode(allocator, parameterContext, value);
+    }
+
+}
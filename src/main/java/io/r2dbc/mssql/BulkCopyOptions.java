@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.r2dbc.mssql.util.Assert;
+import org.reactivestreams.Publisher;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Options for a bulk copy operation through {@link MssqlConnection#bulkCopy(BulkCopyOptions, Publisher)}. Bulk copy declares the target table and the column mappings. Rows are provided as
+ * {@code Object[]} whose elements are mapped by position to the declared columns.
+ *
+ * @author Mark Paluch
+ * @see MssqlConnection#bulkCopy(BulkCopyOptions, Publisher)
+ * @since 0.9
+ */
+public final class BulkCopyOptions {
+
+    private final String table;
+
+    private final List<Column> columns;
+
+    private final int batchSize;
+
+    private final boolean tableLock;
+
+    private final boolean checkConstraints;
+
+    private final int bufferSize;
+
+    private BulkCopyOptions(String table, List<Column> columns, int batchSize, boolean tableLock, boolean checkConstraints, int bufferSize) {
+        this.table = table;
+        this.columns = columns;
+        this.batchSize = batchSize;
+        this.tableLock = tableLock;
+        this.checkConstraints = checkConstraints;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns a new {@link Builder} to copy rows into {@code table}.
+     *
+     * @param table the target table name. The name is used as-is and can be schema-qualified.
+     * @return a {@link Builder}
+     * @throws IllegalArgumentException when {@code table} is {@code null} or empty.
+     */
+    public static Builder builder(String table) {
+
+        Assert.requireNonNull(table, "Table must not be null");
+        Assert.isTrue(!table.trim().isEmpty(), "Table must not be empty");
+
+        return new Builder(table);
+    }
+
+    String getTable() {
+        return this.table;
+    }
+
+    List<Column> getColumns() {
+        return this.columns;
+    }
+
+    int getBatchSize() {
+        return this.batchSize;
+    }
+
+    boolean isTableLock() {
+        return this.tableLock;
+    }
+
+    boolean isCheckConstraints() {
+        return this.checkConstraints;
+    }
+
+    int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [table='").append(this.table).append('\'');
+        sb.append(", columns=").append(this.columns);
+        sb.append(", batchSize=").append(this.batchSize);
+        sb.append(", tableLock=").append(this.tableLock);
+        sb.append(", checkConstraints=").append(this.checkConstraints);
+        sb.append(", bufferSize=").append(this.bufferSize);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Column mapping.
+     */
+    static final class Column {
+
+        private final String name;
+
+        @Nullable
+        private final Class<?> type;
+
+        Column(String name, @Nullable Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        @Nullable
+        Class<?> getType() {
+            return this.type;
+        }
+
+        @Override
+        public String toString() {
+            return this.type != null ? this.name + " (" + this.type.getName() + ")" : this.name;
+        }
+
+    }
+
+    /**
+     * A builder for {@link BulkCopyOptions} instances.
+     * <p>
+     * <i>This class is not threadsafe</i>
+     */
+    public static final class Builder {
+
+        private final String table;
+
+        private final List<Column> columns = new ArrayList<>();
+
+        private int batchSize;
+
+        private boolean tableLock;
+
+        private boolean checkConstraints;
+
+        private int bufferSize;
+
+        private Builder(String table) {
+            this.table = table;
+        }
+
+        /**
+         * Map the next row element to the column {@code name}. The column type is derived from the first value of each batch. Use {@link #column(String, Class)} if the column may contain
+         * {@code null} values.
+         *
+         * @param name the column name.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code name} is {@code null} or empty.
+         */
+        public Builder column(String name) {
+
+            Assert.requireNonNull(name, "Column name must not be null");
+            Assert.isTrue(!name.trim().isEmpty(), "Column name must not be empty");
+
+            this.columns.add(new Column(name, null));
+            return this;
+        }
+
+        /**
+         * Map the next row element to the column {@code name} using {@code type} to determine the column type if the first value of a batch is {@code null}.
+         *
+         * @param name the column name.
+         * @param type the Java type of the column values.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code name} or {@code type} is {@code null} or {@code name} is empty.
+         */
+        public Builder column(String name, Class<?> type) {
+
+            Assert.requireNonNull(name, "Column name must not be null");
+            Assert.isTrue(!name.trim().isEmpty(), "Column name must not be empty");
+            Assert.requireNonNull(type, "Type must not be null");
+
+            this.columns.add(new Column(name, type));
+            return this;
+        }
+
+        /**
+         * Configure the number of rows per batch. Each batch is sent as its own {@literal INSERT BULK} operation and committed by the server as a unit. Defaults to {@code 0} to send all
+         * rows in a single batch.
+         *
+         * @param batchSize the number of rows per batch. {@code 0} to send all rows in a single batch.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code batchSize} is negative.
+         */
+        public Builder batchSize(int batchSize) {
+
+            Assert.isTrue(batchSize >= 0, "Batch size must be greater or equal to zero");
+
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Configure whether to acquire a bulk update table lock ({@literal TABLOCK}) for the duration of the bulk copy. Disabled by default.
+         *
+         * @param tableLock {@literal true} to acquire a table lock.
+         * @return this {@link Builder}
+         */
+        public Builder tableLock(boolean tableLock) {
+            this.tableLock = tableLock;
+            return this;
+        }
+
+        /**
+         * Configure whether to check constraints ({@literal CHECK_CONSTRAINTS}) of the target table while copying rows. Disabled by default.
+         *
+         * @param checkConstraints {@literal true} to check constraints.
+         * @return this {@link Builder}
+         */
+        public Builder checkConstraints(boolean checkConstraints) {
+            this.checkConstraints = checkConstraints;
+            return this;
+        }
+
+        /**
+         * Configure the number of bytes to aggregate rows into before writing them to the transport. Rows are requested from the row {@link Publisher} only when the transport is writable so
+         * the buffer size bounds the amount of encoded rows held in memory. Defaults to {@code 0} to use the TDS packet size.
+         *
+         * @param bufferSize the write buffer size in bytes. {@code 0} to use the TDS packet size.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code bufferSize} is negative.
+         */
+        public Builder bufferSize(int bufferSize) {
+
+            Assert.isTrue(bufferSize >= 0, "Buffer size must be greater or equal to zero");
+
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Returns a configured {@link BulkCopyOptions}.
+         *
+         * @return a configured {@link BulkCopyOptions}.
+         * @throws IllegalStateException when no columns are mapped.
+         */
+        public BulkCopyOptions build() {
+
+            Assert.state(!this.columns.isEmpty(), "At least one column must be mapped");
+
+            return new BulkCopyOptions(this.table, Collections.unmodifiableList(new ArrayList<>(this.columns)), this.batchSize, this.tableLock, this.checkConstraints, this.bufferSize);
+        }
+
+    }
+
+}
@@ -18,7 +18,9 @@ package io.r2dbc.mssql;
 
 import io.r2dbc.mssql.codec.Codecs;
 import io.r2dbc.mssql.codec.DefaultCodecs;
+import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
 import java.util.function.Predicate;
 
 /**
@@ -34,15 +36,60 @@ class ConnectionOptions {
 
     private final boolean sendStringParametersAsUnicode;
 
+    private final Duration statementTimeout;
+
+    private final boolean rpcBatching;
+
+    private final boolean preparedDirectExecution;
+
+    private final boolean cursorPrefetch;
+
+    private final LazyTransaction lazyTransaction;
+
+    @Nullable
+    private final String sessionOptions;
+
+    // server-side cursors are scoped to the connection that uses these options
+    private final ServerCursors serverCursors = new ServerCursors();
+
     ConnectionOptions() {
         this(sql -> false, new DefaultCodecs(), new IndefinitePreparedStatementCache(), true);
     }
 
     ConnectionOptions(Predicate<String> preferCursoredExecution, Codecs codecs, PreparedStatementCache preparedStatementCache, boolean sendStringParametersAsUnicode) {
+        this(preferCursoredExecution, codecs, preparedStatementCache, sendStringParametersAsUnicode, Duration.ZERO, false, false, false, false);
+    }
+
+    ConnectionOptions(Predicate<String> preferCursoredExecution, Codecs codecs, PreparedStatementCache preparedStatementCache, boolean sendStringParametersAsUnicode,
+                      Duration statementTimeout, boolean rpcBatching, boolean preparedDirectExecution, boolean cursorPrefetch, boolean lazyTransactions) {
+        this(preferCursoredExecution, codecs, preparedStatementCache, sendStringParametersAsUnicode, statementTimeout, rpcBatching, preparedDirectExecution, cursorPrefetch,
+            lazyTransactions, null);
+    }
+
+    ConnectionOptions(Predicate<String> preferCursoredExecution, Codecs codecs, PreparedStatementCache preparedStatementCache, boolean sendStringParametersAsUnicode,
+                      Duration statementTimeout, boolean rpcBatching, boolean preparedDirectExecution, boolean cursorPrefetch, boolean lazyTransactions,
+                      @Nullable String sessionOptions) {
         this.preferCursoredExecution = preferCursoredExecution;
         this.codecs = codecs;
         this.preparedStatementCache = preparedStatementCache;
         this.sendStringParametersAsUnicode = sendStringParametersAsUnicode;
+        this.statementTimeout = statementTimeout;
+        this.rpcBatching = rpcBatching;
+        this.preparedDirectExecution = preparedDirectExecution;
+        this.cursorPrefetch = cursorPrefetch;
+        this.lazyTransaction = new LazyTransaction(lazyTransactions);
+        this.sessionOptions = sessionOptions;
+    }
+
+    /**
+     * Create a copy of these {@link ConnectionOptions} using the given {@link PreparedStatementCache}.
+     *
+     * @param preparedStatementCache the prepared statement cache to use.
+     * @return the new {@link ConnectionOptions}.
+     */
+    ConnectionOptions withPreparedStatementCache(PreparedStatementCache preparedStatementCache) {
+        return new ConnectionOptions(this.preferCursoredExecution, this.codecs, preparedStatementCache, this.sendStringParametersAsUnicode, this.statementTimeout, this.rpcBatching,
+            this.preparedDirectExecution, this.cursorPrefetch, this.lazyTransaction.isEnabled(), this.sessionOptions);
     }
 
     public Codecs getCodecs() {
@@ -61,6 +108,40 @@ class ConnectionOptions {
         return this.sendStringParametersAsUnicode;
     }
 
+    public Duration getStatementTimeout() {
+        return this.statementTimeout;
+    }
+
+    public boolean isRpcBatching() {
+        return this.rpcBatching;
+    }
+
+    public boolean isPreparedDirectExecution() {
+        return this.preparedDirectExecution;
+    }
+
+    public boolean isCursorPrefetch() {
+        return this.cursorPrefetch;
+    }
+
+    LazyTransaction getLazyTransaction() {
+        return this.lazyTransaction;
+    }
+
+    ServerCursors getServerCursors() {
+        return this.serverCursors;
+    }
+
+    /**
+     * Returns the SQL that applies session-wide options (e.g. the lock timeout) after login.
+     *
+     * @return the session options SQL or {@code null} if no session options are configured.
+     */
+    @Nullable
+    String getSessionOptions() {
+        return this.sessionOptions;
+    }
+
     @Override
     public String toString() {
         final StringBuffer sb = new StringBuffer();
@@ -69,6 +150,12 @@ class ConnectionOptions {
         sb.append(", codecs=").append(this.codecs);
         sb.append(", preparedStatementCache=").append(this.preparedStatementCache);
         sb.append(", sendStringParametersAsUnicode=").append(this.sendStringParametersAsUnicode);
+        sb.append(", statementTimeout=").append(this.statementTimeout);
+        sb.append(", rpcBatching=").append(this.rpcBatching);
+        sb.append(", preparedDirectExecution=").append(this.preparedDirectExecution);
+        sb.append(", cursorPrefetch=").append(this.cursorPrefetch);
+        sb.append(", lazyTransactions=").append(this.lazyTransaction.isEnabled());
+        sb.append(", sessionOptions=").append(this.sessionOptions);
         sb.append(']');
         return sb.toString();
     }
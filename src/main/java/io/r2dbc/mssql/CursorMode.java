@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+/**
+ * Server cursor options used for cursored statement execution. Cursors are always read-only.
+ * <p>
+ * For more information check:
+ * <a href="https://docs.microsoft.com/en-us/sql/relational-databases/system-stored-procedures/sp-cursoropen-transact-sql">sp_cursoropen</a>
+ *
+ * @author Mark Paluch
+ * @see MssqlStatement#cursorMode(CursorMode)
+ * @since 0.9
+ */
+public enum CursorMode {
+
+    /**
+     * Forward-only cursor. The cursor is closed explicitly with {@code sp_cursorclose} after fetching the last row.
+     */
+    FORWARD_ONLY,
+
+    /**
+     * Fast-forward cursor with {@literal AUTO_CLOSE}. The server closes the cursor once all rows have been fetched so the cursor does not require an explicit {@code sp_cursorclose}
+     * round trip. Falls back to closing the cursor explicitly if the server does not accept {@literal AUTO_CLOSE}.
+     */
+    FAST_FORWARD
+}
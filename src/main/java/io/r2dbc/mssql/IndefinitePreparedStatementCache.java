@@ -20,10 +20,12 @@ import io.r2dbc.mssql.util.Assert;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
- * Cache that stores prepared statement handles eternally.
+ * Cache that stores prepared statement handles eternally. Prepared statement handles are scoped to a server session so each connection uses its own cache. Parsed SQL can be shared
+ * across connections through {@link ParsedSqlCache}.
  *
  * @author Mark Paluch
  */
@@ -31,7 +33,19 @@ class IndefinitePreparedStatementCache implements PreparedStatementCache {
 
     private final Map<String, Integer> preparedStatements = new ConcurrentHashMap<>();
 
-    private final Map<String, Object> parsedSql = new ConcurrentHashMap<>();
+    private final ParsedSqlCache parsedSql;
+
+    IndefinitePreparedStatementCache() {
+        this(ParsedSqlCache.unbounded());
+    }
+
+    IndefinitePreparedStatementCache(ParsedSqlCache parsedSql) {
+        this.parsedSql = Assert.requireNonNull(parsedSql, "ParsedSqlCache must not be null");
+    }
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
 
     @Override
     public int getHandle(String sql, Binding binding) {
@@ -39,7 +53,15 @@ class IndefinitePreparedStatementCache implements PreparedStatementCache {
         Assert.requireNonNull(sql, "SQL query must not be null");
         Assert.requireNonNull(binding, "Binding query must not be null");
 
-        return this.preparedStatements.getOrDefault(createKey(sql, binding), UNPREPARED);
+        Integer handle = this.preparedStatements.get(createKey(sql, binding));
+
+        if (handle == null) {
+            this.misses.incrementAndGet();
+            return UNPREPARED;
+        }
+
+        this.hits.incrementAndGet();
+        return handle;
     }
 
     @Override
@@ -51,10 +73,23 @@ class IndefinitePreparedStatementCache implements PreparedStatementCache {
         this.preparedStatements.put(createKey(sql, binding), handle);
     }
 
-    @SuppressWarnings("unchecked")
+    @Override
+    public void removeHandle(String sql, Binding binding) {
+
+        Assert.requireNonNull(sql, "SQL query must not be null");
+        Assert.requireNonNull(binding, "Binding query must not be null");
+
+        this.preparedStatements.remove(createKey(sql, binding));
+    }
+
+    @Override
+    public void clear() {
+        this.preparedStatements.clear();
+    }
+
     @Override
     public <T> T getParsedSql(String sql, Function<String, T> parseFunction) {
-        return (T) this.parsedSql.computeIfAbsent(sql, parseFunction);
+        return this.parsedSql.getParsedSql(sql, parseFunction);
     }
 
     @Override
@@ -62,6 +97,16 @@ class IndefinitePreparedStatementCache implements PreparedStatementCache {
         return this.preparedStatements.size();
     }
 
+    @Override
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
     private static String createKey(String sql, Binding binding) {
         return sql + "-" + binding.getFormalParameters();
     }
@@ -71,6 +116,8 @@ class IndefinitePreparedStatementCache implements PreparedStatementCache {
         final StringBuffer sb = new StringBuffer();
         sb.append(getClass().getSimpleName());
         sb.append(" [preparedStatements=").append(this.preparedStatements);
+        sb.append(", hits=").append(this.hits);
+        sb.append(", misses=").append(this.misses);
         sb.append(", parsedSql=").append(this.parsedSql);
         sb.append(']');
         return sb.toString();
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
+import io.r2dbc.mssql.client.Client;
+import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.token.ErrorToken;
+import io.r2dbc.mssql.message.token.SqlBatch;
+import io.r2dbc.mssql.util.Operators;
+import io.r2dbc.spi.IsolationLevel;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+/**
+ * Records transaction begin and isolation level changes of a connection so they can be sent along with the next statement instead of requiring a dedicated round trip. Session options
+ * that must be re-applied after a session reset are recorded the same way, regardless of whether lazy transactions are enabled. Pending changes are rendered as SQL prologue that is
+ * either prepended to the next {@link SqlBatch SQL batch} or {@link #flush(Client) flushed} as SQL batch before requests that cannot carry SQL text (e.g. RPC requests).
+ *
+ * @author Mark Paluch
+ */
+final class LazyTransaction {
+
+    private final boolean enabled;
+
+    private volatile boolean beginPending;
+
+    @Nullable
+    private volatile IsolationLevel isolationLevel;
+
+    @Nullable
+    private volatile String sessionOptions;
+
+    LazyTransaction(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns whether transaction begin and isolation level changes are deferred until the next statement.
+     *
+     * @return {@code true} if lazy transactions are enabled.
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Record a transaction begin.
+     */
+    void begin() {
+        this.beginPending = true;
+    }
+
+    /**
+     * Returns whether a transaction begin was recorded but not yet sent to the server.
+     *
+     * @return {@code true} if a transaction begin is pending.
+     */
+    boolean isBeginPending() {
+        return this.beginPending;
+    }
+
+    /**
+     * Discard a pending transaction begin. Used when a transaction is committed or rolled back before a statement was sent within the transaction.
+     *
+     * @return {@code true} if a pending transaction begin was discarded.
+     */
+    boolean discardBegin() {
+
+        boolean pending = this.beginPending;
+        this.beginPending = false;
+        return pending;
+    }
+
+    /**
+     * Record an isolation level change.
+     *
+     * @param isolationLevel the isolation level to apply.
+     */
+    void setIsolationLevel(IsolationLevel isolationLevel) {
+        this.isolationLevel = isolationLevel;
+    }
+
+    /**
+     * Discard all pending changes and record session options to re-apply with the next statement. Used when the session is reset as resetting the session also resets session options
+     * applied after login.
+     *
+     * @param sessionOptions the session options SQL to re-apply, can be {@code null}.
+     */
+    void reset(@Nullable String sessionOptions) {
+        this.beginPending = false;
+        this.isolationLevel = null;
+        this.sessionOptions = sessionOptions;
+    }
+
+    /**
+     * Retrieve and clear the pending prologue. Changes are recorded again if the server rejects the batch carrying the prologue before the prologue was executed, see
+     * {@link Prologue#skipPrologue(Flux)}.
+     *
+     * @return the pending {@link Prologue} or {@code null} if no changes are pending.
+     */
+    @Nullable
+    Prologue poll() {
+
+        String sessionOptions = this.sessionOptions;
+        IsolationLevel isolationLevel = this.isolationLevel;
+        boolean begin = this.beginPending;
+
+        if (sessionOptions == null && isolationLevel == null && !begin) {
+            return null;
+        }
+
+        this.sessionOptions = null;
+        this.isolationLevel = null;
+        this.beginPending = false;
+
+        StringBuilder sql = new StringBuilder();
+        int statements = 0;
+
+        if (sessionOptions != null) {
+            sql.append(sessionOptions).append(';');
+            statements++;
+        }
+
+        if (isolationLevel != null) {
+            sql.append("SET TRANSACTION ISOLATION LEVEL ").append(isolationLevel.asSql()).append(';');
+            statements++;
+        }
+
+        if (begin) {
+            sql.append("BEGIN TRANSACTION;");
+            statements++;
+        }
+
+        return new Prologue(this, sql.toString(), statements, sessionOptions, isolationLevel, begin);
+    }
+
+    /**
+     * Record changes of a {@link Prologue} again that were not executed by the server. Changes recorded after the prologue was polled take precedence.
+     *
+     * @param sessionOptions the session options SQL to re-apply, can be {@code null}.
+     * @param isolationLevel the isolation level to apply, can be {@code null}.
+     * @param begin          whether to begin a transaction.
+     */
+    private void restore(@Nullable String sessionOptions, @Nullable IsolationLevel isolationLevel, boolean begin) {
+
+        if (sessionOptions != null && this.sessionOptions == null) {
+            this.sessionOptions = sessionOptions;
+        }
+
+        if (isolationLevel != null && this.isolationLevel == null) {
+            this.isolationLevel = isolationLevel;
+        }
+
+        if (begin) {
+            this.beginPending = true;
+        }
+    }
+
+    /**
+     * Send pending changes as SQL batch. Completes without an exchange if no changes are pending.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @return a {@link Mono} that completes once pending changes were applied.
+     */
+    Mono<Void> flush(Client client) {
+
+        return Mono.defer(() -> {
+
+            Prologue prologue = poll();
+
+            if (prologue == null) {
+                return Mono.empty();
+            }
+
+            ExceptionFactory factory = ExceptionFactory.withSql(prologue.getSql());
+            return QueryMessageFlow.exchange(client, prologue.getSql())
+                .transform(prologue::skipPrologue)
+                .handle(factory::handleErrorResponse)
+                .transform(Operators::discardOnCancel)
+                .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+                .then();
+        });
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [enabled=").append(this.enabled);
+        sb.append(", beginPending=").append(this.beginPending);
+        sb.append(", isolationLevel=").append(this.isolationLevel);
+        sb.append(", sessionOptions=").append(this.sessionOptions);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * SQL statements that apply pending transaction changes.
+     */
+    static final class Prologue {
+
+        private final LazyTransaction transaction;
+
+        private final String sql;
+
+        private final int statements;
+
+        @Nullable
+        private final String sessionOptions;
+
+        @Nullable
+        private final IsolationLevel isolationLevel;
+
+        private final boolean begin;
+
+        Prologue(LazyTransaction transaction, String sql, int statements, @Nullable String sessionOptions, @Nullable IsolationLevel isolationLevel, boolean begin) {
+            this.transaction = transaction;
+            this.sql = sql;
+            this.statements = statements;
+            this.sessionOptions = sessionOptions;
+            this.isolationLevel = isolationLevel;
+            this.begin = begin;
+        }
+
+        String getSql() {
+            return this.sql;
+        }
+
+        /**
+         * Prepend the prologue to {@code sql}.
+         *
+         * @param sql the statement to execute after the prologue.
+         * @return the combined SQL.
+         */
+        String prependTo(String sql) {
+            return this.sql + " " + sql;
+        }
+
+        /**
+         * Remove the {@link DoneToken}s that the server sends for the prologue statements so the response to a {@link #prependTo(String) combined} batch contains only the results of the
+         * actual statement. The server sends a {@link DoneToken} for each executed statement. An error that is received before all prologue statements were executed (e.g. because the
+         * combined batch cannot be compiled) records the changes of the statements that were not executed again so they are applied with the next statement.
+         *
+         * @param messages the response messages of the combined batch.
+         * @return the response messages without the prologue {@link DoneToken}s.
+         */
+        Flux<Message> skipPrologue(Flux<Message> messages) {
+
+            int[] remaining = {this.statements};
+
+            return messages.filter(message -> {
+
+                if (remaining[0] > 0 && message instanceof ErrorToken) {
+                    restore(this.statements - remaining[0]);
+                    remaining[0] = 0;
+                    return true;
+                }
+
+                if (remaining[0] > 0 && message instanceof DoneToken && ((DoneToken) message).hasMore()) {
+                    remaining[0]--;
+                    return false;
+                }
+
+                return true;
+            }).doOnError(e -> {
+
+                if (remaining[0] > 0) {
+                    restore(this.statements - remaining[0]);
+                    remaining[0] = 0;
+                }
+            });
+        }
+
+        private void restore(int executed) {
+
+            int statement = 0;
+
+            String sessionOptions = this.sessionOptions != null && statement++ >= executed ? this.sessionOptions : null;
+            IsolationLevel isolationLevel = this.isolationLevel != null && statement++ >= executed ? this.isolationLevel : null;
+            boolean begin = this.begin && statement >= executed;
+
+            this.transaction.restore(sessionOptions, isolationLevel, begin);
+        }
+
+    }
+
+}
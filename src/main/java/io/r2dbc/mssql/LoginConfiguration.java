@@ -48,7 +48,14 @@ final class LoginConfiguration {
 
     private final String username;
 
+    private final int packetSize;
+
     LoginConfiguration(@Nullable String applicationName, @Nullable UUID connectionId, String database, String hostname, CharSequence password, String serverName, boolean useSsl, String username) {
+        this(applicationName, connectionId, database, hostname, password, serverName, useSsl, username, MssqlConnectionConfiguration.DEFAULT_PACKET_SIZE);
+    }
+
+    LoginConfiguration(@Nullable String applicationName, @Nullable UUID connectionId, String database, String hostname, CharSequence password, String serverName, boolean useSsl, String username,
+                       int packetSize) {
 
         this.username = Assert.requireNonNull(username, "Username must not be null");
         this.password = Assert.requireNonNull(password, "Password must not be null");
@@ -58,6 +65,7 @@ final class LoginConfiguration {
         this.serverName = Assert.requireNonNull(serverName, "Server name must not be null");
         this.connectionId = connectionId;
         this.useSsl = useSsl;
+        this.packetSize = packetSize;
     }
 
     @Nullable
@@ -72,7 +80,7 @@ final class LoginConfiguration {
     Login7.Builder asBuilder() {
 
         Login7.Builder builder = Login7.builder().username(this.username).password(this.password).database(this.database)
-            .hostName(this.hostname).serverName(this.serverName);
+            .hostName(this.hostname).serverName(this.serverName).packetSize(this.packetSize);
 
         if (StringUtils.hasText(this.applicationName)) {
             builder.applicationName(this.applicationName);
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.r2dbc.mssql.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Cache that stores a bounded number of prepared statement handles. Least recently used entries are evicted once the cache exceeds its maximum size. Evicted prepared statement handles are
+ * retained until they are {@link #pollEvicted(ObjIntConsumer) polled} to release them on the server. Prepared statement handles are scoped to a server session so each connection uses its
+ * own cache. Parsed SQL can be shared across connections through {@link ParsedSqlCache}.
+ *
+ * @author Mark Paluch
+ */
+class LruPreparedStatementCache implements PreparedStatementCache {
+
+    private final int maxSize;
+
+    private final Map<String, CachedHandle> preparedStatements;
+
+    private final ParsedSqlCache parsedSql;
+
+    private final Queue<CachedHandle> evicted = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    LruPreparedStatementCache(int maxSize) {
+        this(maxSize, ParsedSqlCache.bounded(maxSize));
+    }
+
+    LruPreparedStatementCache(int maxSize, ParsedSqlCache parsedSql) {
+
+        Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero");
+
+        this.maxSize = maxSize;
+        this.parsedSql = Assert.requireNonNull(parsedSql, "ParsedSqlCache must not be null");
+        this.preparedStatements = new LinkedHashMap<String, CachedHandle>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedHandle> eldest) {
+
+                if (size() > LruPreparedStatementCache.this.maxSize) {
+                    evict(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public int getHandle(String sql, Binding binding) {
+
+        Assert.requireNonNull(sql, "SQL query must not be null");
+        Assert.requireNonNull(binding, "Binding query must not be null");
+
+        CachedHandle cachedHandle;
+        synchronized (this.preparedStatements) {
+            cachedHandle = this.preparedStatements.get(createKey(sql, binding));
+        }
+
+        if (cachedHandle == null) {
+            this.misses.incrementAndGet();
+            return UNPREPARED;
+        }
+
+        this.hits.incrementAndGet();
+        return cachedHandle.handle;
+    }
+
+    @Override
+    public void putHandle(int handle, String sql, Binding binding) {
+
+        Assert.requireNonNull(sql, "SQL query must not be null");
+        Assert.requireNonNull(binding, "Binding query must not be null");
+
+        CachedHandle previous;
+        synchronized (this.preparedStatements) {
+            previous = this.preparedStatements.put(createKey(sql, binding), new CachedHandle(sql, handle));
+        }
+
+        if (previous != null && previous.handle != handle) {
+            evict(previous);
+        }
+    }
+
+    @Override
+    public void removeHandle(String sql, Binding binding) {
+
+        Assert.requireNonNull(sql, "SQL query must not be null");
+        Assert.requireNonNull(binding, "Binding query must not be null");
+
+        synchronized (this.preparedStatements) {
+            this.preparedStatements.remove(createKey(sql, binding));
+        }
+    }
+
+    @Override
+    public void clear() {
+
+        synchronized (this.preparedStatements) {
+            this.preparedStatements.clear();
+        }
+
+        this.evicted.clear();
+    }
+
+    @Override
+    public <T> T getParsedSql(String sql, Function<String, T> parseFunction) {
+        return this.parsedSql.getParsedSql(sql, parseFunction);
+    }
+
+    @Override
+    public void pollEvicted(ObjIntConsumer<String> consumer) {
+
+        Assert.requireNonNull(consumer, "Consumer must not be null");
+
+        CachedHandle cachedHandle;
+        while ((cachedHandle = this.evicted.poll()) != null) {
+            consumer.accept(cachedHandle.sql, cachedHandle.handle);
+        }
+    }
+
+    @Override
+    public int size() {
+
+        synchronized (this.preparedStatements) {
+            return this.preparedStatements.size();
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.misses.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.evictions.get();
+    }
+
+    private void evict(CachedHandle cachedHandle) {
+
+        this.evictions.incrementAndGet();
+        this.evicted.add(cachedHandle);
+    }
+
+    private static String createKey(String sql, Binding binding) {
+        return sql + "-" + binding.getFormalParameters();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [maxSize=").append(this.maxSize);
+        sb.append(", size=").append(size());
+        sb.append(", hits=").append(this.hits);
+        sb.append(", misses=").append(this.misses);
+        sb.append(", evictions=").append(this.evictions);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    static class CachedHandle {
+
+        final String sql;
+
+        final int handle;
+
+        CachedHandle(String sql, int handle) {
+            this.sql = sql;
+            this.handle = handle;
+        }
+
+    }
+
+}
@@ -21,6 +21,11 @@ import io.netty.util.ReferenceCounted;
 import io.r2dbc.mssql.client.Client;
 import io.r2dbc.mssql.client.ConnectionContext;
 import io.r2dbc.mssql.client.TransactionStatus;
+import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.token.AbstractDoneToken;
+import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.token.TransactionManagerRequest;
 import io.r2dbc.mssql.util.Assert;
 import io.r2dbc.mssql.util.Operators;
 import io.r2dbc.spi.Batch;
@@ -63,6 +68,8 @@ public final class MssqlConnection implements Connection {
 
     private final Flux<Integer> validationQuery;
 
+    private final LazyTransaction lazyTransaction;
+
     private volatile boolean autoCommit;
 
     private volatile IsolationLevel isolationLevel;
@@ -73,6 +80,7 @@ public final class MssqlConnection implements Connection {
         this.metadata = connectionMetadata;
         this.context = client.getContext();
         this.connectionOptions = Assert.requireNonNull(connectionOptions, "ConnectionOptions must not be null");
+        this.lazyTransaction = connectionOptions.getLazyTransaction();
 
         TransactionStatus transactionStatus = client.getTransactionStatus();
         this.autoCommit = transactionStatus == TransactionStatus.AUTO_COMMIT;
@@ -85,19 +93,51 @@ public final class MssqlConnection implements Connection {
 
         return useTransactionStatus(tx -> {
 
-            if (tx == TransactionStatus.STARTED) {
+            if (tx == TransactionStatus.STARTED || this.lazyTransaction.isBeginPending()) {
                 logger.debug(this.context.getMessage("Skipping begin transaction because status is [{}]"), tx);
                 return Mono.empty();
             }
 
-            String sql = "SET IMPLICIT_TRANSACTIONS ON;";
+            if (this.lazyTransaction.isEnabled()) {
+
+                logger.debug(this.context.getMessage("Deferring begin transaction from status [{}] until the next statement"), tx);
+                this.lazyTransaction.begin();
+                return Mono.empty();
+            }
 
             logger.debug(this.context.getMessage("Beginning transaction from status [{}]"), tx);
 
-            return exchange(sql);
+            return exchange("BEGIN TRANSACTION", TransactionManagerRequest::begin);
         });
     }
 
+    /**
+     * Copy {@code rows} into the table configured by {@link BulkCopyOptions} using bulk load ({@literal INSERT BULK}). Row elements are mapped by position to the configured columns. Column
+     * types are derived from the values of the first row of each batch; all values of a column within a batch must encode to the same type (e.g. {@link java.math.BigDecimal} values must use
+     * the same scale). Values that require PLP encoding (e.g. strings exceeding 4000 characters or LOBs) are not supported.
+     *
+     * @param options the bulk copy options.
+     * @param rows    the rows to copy.
+     * @return the number of copied rows.
+     * @throws IllegalArgumentException when {@code options} or {@code rows} is {@code null}.
+     * @since 0.9
+     */
+    public Mono<Long> bulkCopy(BulkCopyOptions options, Publisher<Object[]> rows) {
+
+        Assert.requireNonNull(options, "BulkCopyOptions must not be null");
+        Assert.requireNonNull(rows, "Rows must not be null");
+
+        logger.debug(this.context.getMessage("Bulk copy using {}"), options);
+
+        ExceptionFactory factory = ExceptionFactory.withSql("INSERT BULK " + options.getTable());
+        return this.lazyTransaction.flush(this.client).thenMany(BulkCopyFlow.exchange(this.client, this.connectionOptions.getCodecs(), options, this.connectionOptions.isSendStringParametersAsUnicode(), rows,
+            this.connectionOptions.getStatementTimeout()))
+            .handle(factory::handleErrorResponse)
+            .filter(AbstractDoneToken::hasCount)
+            .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+            .reduce(0L, (count, message) -> count + ((AbstractDoneToken) message).getRowCount());
+    }
+
     @Override
     public Mono<Void> close() {
         return this.client.close();
@@ -108,6 +148,11 @@ public final class MssqlConnection implements Connection {
 
         return useTransactionStatus(tx -> {
 
+            if (this.lazyTransaction.discardBegin()) {
+                logger.debug(this.context.getMessage("Skipping commit transaction because the transaction was not started on the server"));
+                return Mono.empty();
+            }
+
             if (tx != TransactionStatus.STARTED) {
                 logger.debug(this.context.getMessage("Skipping commit transaction because status is [{}]"), tx);
                 return Mono.empty();
@@ -115,7 +160,7 @@ public final class MssqlConnection implements Connection {
 
             logger.debug(this.context.getMessage("Committing transaction with status [{}]"), tx);
 
-            return exchange("IF @@TRANCOUNT > 0 COMMIT TRANSACTION");
+            return exchange("COMMIT TRANSACTION", TransactionManagerRequest::commit);
         });
     }
 
@@ -134,13 +179,26 @@ public final class MssqlConnection implements Connection {
 
             logger.debug(this.context.getMessage("Creating savepoint for transaction with status [{}]"), tx);
 
+            if (tx == TransactionStatus.STARTED) {
+                return this.lazyTransaction.flush(this.client).then(exchange("SAVE TRANSACTION " + name, descriptor -> TransactionManagerRequest.save(descriptor, name)));
+            }
+
+            // disable auto-commit, begin the transaction and create the savepoint within a single batch
+            StringBuilder builder = new StringBuilder();
+
             if (this.autoCommit) {
+
                 logger.debug(this.context.getMessage("Setting auto-commit mode to [false]"));
+                builder.append("SET IMPLICIT_TRANSACTIONS ON; ");
             }
 
-            return exchange(String.format("SET IMPLICIT_TRANSACTIONS ON; IF @@TRANCOUNT = 0 BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN %s;", name)).doOnSuccess(ignore -> {
-                this.autoCommit = false;
-            });
+            builder.append("IF @@TRANCOUNT = 0 BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN ").append(name).append(';');
+
+            String sql = builder.toString();
+            LazyTransaction.Prologue prologue = this.lazyTransaction.poll();
+            Mono<Void> exchange = prologue != null ? exchange(sql, QueryMessageFlow.exchange(this.client, prologue.prependTo(sql)).transform(prologue::skipPrologue)) : exchange(sql);
+
+            return exchange.doOnSuccess(ignore -> this.autoCommit = false);
         });
     }
 
@@ -167,14 +225,19 @@ public final class MssqlConnection implements Connection {
 
         return useTransactionStatus(tx -> {
 
-            if (tx != TransactionStatus.STARTED && tx != TransactionStatus.EXPLICIT) {
+            if (this.lazyTransaction.discardBegin()) {
+                logger.debug(this.context.getMessage("Skipping rollback transaction because the transaction was not started on the server"));
+                return Mono.empty();
+            }
+
+            if (tx != TransactionStatus.STARTED) {
                 logger.debug(this.context.getMessage("Skipping rollback transaction because status is [{}]"), tx);
                 return Mono.empty();
             }
 
             logger.debug(this.context.getMessage("Rolling back transaction with status [{}]"), tx);
 
-            return exchange("IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION");
+            return exchange("ROLLBACK TRANSACTION", TransactionManagerRequest::rollback);
         });
     }
 
@@ -193,7 +256,7 @@ public final class MssqlConnection implements Connection {
 
             logger.debug(this.context.getMessage("Rolling back transaction to savepoint [{}] with status [{}]"), name, tx);
 
-            return exchange(String.format("ROLLBACK TRANSACTION %s", name));
+            return exchange("ROLLBACK TRANSACTION " + name, descriptor -> TransactionManagerRequest.rollback(descriptor, name));
         });
     }
 
@@ -203,7 +266,7 @@ public final class MssqlConnection implements Connection {
 
     public Mono<Void> setAutoCommit(boolean autoCommit) {
 
-        return Mono.defer(() -> {
+        return this.lazyTransaction.flush(this.client).then(Mono.defer(() -> {
 
             StringBuilder builder = new StringBuilder();
 
@@ -218,7 +281,7 @@ public final class MssqlConnection implements Connection {
             builder.append(autoCommit ? "SET IMPLICIT_TRANSACTIONS OFF;" : "SET IMPLICIT_TRANSACTIONS ON;");
 
             return exchange(builder.toString()).doOnSuccess(ignore -> this.autoCommit = autoCommit);
-        });
+        }));
     }
 
     @Override
@@ -226,6 +289,72 @@ public final class MssqlConnection implements Connection {
         return this.metadata;
     }
 
+    /**
+     * Returns the number of server-side cursors that are currently open on this connection. Cursors are opened by cursored statement execution and closed once all rows were fetched or
+     * the execution was cancelled.
+     *
+     * @return the number of open cursors.
+     * @since 0.9
+     */
+    public int getOpenCursorCount() {
+        return this.connectionOptions.getServerCursors().getOpenCursorCount();
+    }
+
+    /**
+     * Returns the number of prepared statement executions on this connection that reused a cached prepared statement handle.
+     *
+     * @return the number of prepared statement cache hits.
+     * @since 0.9
+     */
+    public long getPreparedStatementCacheHitCount() {
+        return this.connectionOptions.getPreparedStatementCache().getHitCount();
+    }
+
+    /**
+     * Returns the number of prepared statement executions on this connection that did not find a cached prepared statement handle and therefore prepared the statement.
+     *
+     * @return the number of prepared statement cache misses.
+     * @since 0.9
+     */
+    public long getPreparedStatementCacheMissCount() {
+        return this.connectionOptions.getPreparedStatementCache().getMissCount();
+    }
+
+    /**
+     * Returns the number of prepared statement handles that were evicted from the prepared statement cache of this connection. Evictions only happen if the cache is bounded through
+     * {@code preparedStatementCacheSize}.
+     *
+     * @return the number of prepared statement cache evictions.
+     * @since 0.9
+     */
+    public long getPreparedStatementCacheEvictionCount() {
+        return this.connectionOptions.getPreparedStatementCache().getEvictionCount();
+    }
+
+    /**
+     * Reset the session state (temporary tables, {@literal SET} options, open transactions) to the state after login. The reset is requested with the next request sent to the server
+     * so it does not require an additional round trip. Auto-commit mode and the isolation level are reset to their defaults and deferred transaction changes are discarded. Configured
+     * session options (e.g. the lock timeout) are re-applied with the next statement. Prepared statement handles and cursors do not survive the reset and are discarded. Typically used
+     * to reset a connection when it is released to a connection pool.
+     *
+     * @return a {@link Mono} that completes once the session reset is requested.
+     * @since 0.9
+     */
+    public Mono<Void> resetSession() {
+
+        return Mono.fromRunnable(() -> {
+
+            logger.debug(this.context.getMessage("Resetting session with the next request"));
+
+            this.client.resetSession();
+            this.lazyTransaction.reset(this.connectionOptions.getSessionOptions());
+            this.connectionOptions.getPreparedStatementCache().clear();
+            this.connectionOptions.getServerCursors().reset();
+            this.autoCommit = true;
+            this.isolationLevel = IsolationLevel.READ_COMMITTED;
+        });
+    }
+
     public IsolationLevel getTransactionIsolationLevel() {
         return this.isolationLevel;
     }
@@ -234,6 +363,16 @@ public final class MssqlConnection implements Connection {
     public Mono<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
         Assert.requireNonNull(isolationLevel, "IsolationLevel must not be null");
 
+        if (this.lazyTransaction.isEnabled()) {
+
+            return Mono.fromRunnable(() -> {
+
+                logger.debug(this.context.getMessage("Deferring isolation level [{}] until the next statement"), isolationLevel.asSql());
+                this.lazyTransaction.setIsolationLevel(isolationLevel);
+                this.isolationLevel = isolationLevel;
+            });
+        }
+
         return exchange("SET TRANSACTION ISOLATION LEVEL " + isolationLevel.asSql()).doOnSuccess(ignore -> this.isolationLevel = isolationLevel);
     }
 
@@ -278,10 +417,43 @@ public final class MssqlConnection implements Connection {
         });
     }
 
+    ConnectionOptions getConnectionOptions() {
+        return this.connectionOptions;
+    }
+
     private Mono<Void> exchange(String sql) {
+        return exchange(sql, QueryMessageFlow.exchange(this.client, sql));
+    }
+
+    /**
+     * Consume the response {@code messages} of a SQL batch.
+     *
+     * @param sql      the SQL used in error messages.
+     * @param messages the response messages.
+     * @return a {@link Mono} that completes once the server has processed the batch.
+     */
+    private Mono<Void> exchange(String sql, Flux<Message> messages) {
 
         ExceptionFactory factory = ExceptionFactory.withSql(sql);
-        return QueryMessageFlow.exchange(this.client, sql)
+        return messages
+            .handle(factory::handleErrorResponse)
+            .transform(Operators::discardOnCancel)
+            .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
+            .then();
+    }
+
+    /**
+     * Exchange a {@link TransactionManagerRequest} created from the {@link TransactionDescriptor} that is current when the request is sent.
+     *
+     * @param operation the operation name used in error messages.
+     * @param request   the request factory.
+     * @return a {@link Mono} that completes once the server has processed the request.
+     */
+    private Mono<Void> exchange(String operation, Function<TransactionDescriptor, TransactionManagerRequest> request) {
+
+        ExceptionFactory factory = ExceptionFactory.withSql(operation);
+        return this.client.exchange(Mono.fromSupplier(() -> request.apply(this.client.getTransactionDescriptor())), DoneToken::isDone)
+            .handle(QueryMessageFlow.DoneHandler.INSTANCE)
             .handle(factory::handleErrorResponse)
             .transform(Operators::discardOnCancel)
             .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release)
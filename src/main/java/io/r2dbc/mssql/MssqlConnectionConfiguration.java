@@ -68,6 +68,21 @@ public final class MssqlConnectionConfiguration {
      */
     public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
 
+    /**
+     * Default TDS packet size.
+     */
+    public static final int DEFAULT_PACKET_SIZE = 8000;
+
+    /**
+     * Minimum TDS packet size.
+     */
+    public static final int MIN_PACKET_SIZE = 512;
+
+    /**
+     * Maximum TDS packet size.
+     */
+    public static final int MAX_PACKET_SIZE = 32767;
+
     @Nullable
     private final String applicationName;
 
@@ -112,12 +127,45 @@ public final class MssqlConnectionConfiguration {
     @Nullable
     private final char[] trustStorePassword;
 
+    private final boolean zeroCopyDecoding;
+
+    private final boolean lobStreaming;
+
+    private final int responseBufferHighWatermark;
+
+    private final int responseBufferLowWatermark;
+
+    private final Duration statementTimeout;
+
+    @Nullable
+    private final Duration lockTimeout;
+
+    private final int packetSize;
+
+    private final boolean rpcBatching;
+
+    private final boolean preparedDirectExecution;
+
+    private final int preparedStatementCacheSize;
+
+    private final boolean cursorPrefetch;
+
+    private final boolean lazyTransactions;
+
+    private final boolean metadataQuery;
+
+    private final Duration redirectCacheTtl;
+
     private MssqlConnectionConfiguration(@Nullable String applicationName, @Nullable UUID connectionId, Duration connectTimeout, @Nullable String database, String host, String hostNameInCertificate,
                                          CharSequence password, Predicate<String> preferCursoredExecution, int port, boolean sendStringParametersAsUnicode, boolean ssl,
                                          Function<SslContextBuilder, SslContextBuilder> sslContextBuilderCustomizer,
                                          @Nullable Function<SslContextBuilder, SslContextBuilder> sslTunnelSslContextBuilderCustomizer, boolean tcpKeepAlive, boolean tcpNoDelay,
                                          @Nullable File trustStore, @Nullable String trustStoreType,
-                                         @Nullable char[] trustStorePassword, String username) {
+                                         @Nullable char[] trustStorePassword, String username, boolean zeroCopyDecoding,
+                                         boolean lobStreaming, int responseBufferHighWatermark, int responseBufferLowWatermark, Duration statementTimeout, @Nullable Duration lockTimeout,
+                                         int packetSize, boolean rpcBatching, boolean preparedDirectExecution,
+                                         int preparedStatementCacheSize, boolean cursorPrefetch, boolean lazyTransactions, boolean metadataQuery,
+                                         Duration redirectCacheTtl) {
 
         this.applicationName = applicationName;
         this.connectionId = connectionId;
@@ -138,6 +186,20 @@ public final class MssqlConnectionConfiguration {
         this.trustStoreType = trustStoreType;
         this.trustStorePassword = trustStorePassword;
         this.username = Assert.requireNonNull(username, "username must not be null");
+        this.zeroCopyDecoding = zeroCopyDecoding;
+        this.lobStreaming = lobStreaming;
+        this.responseBufferHighWatermark = responseBufferHighWatermark;
+        this.responseBufferLowWatermark = responseBufferLowWatermark;
+        this.statementTimeout = statementTimeout;
+        this.lockTimeout = lockTimeout;
+        this.packetSize = packetSize;
+        this.rpcBatching = rpcBatching;
+        this.preparedDirectExecution = preparedDirectExecution;
+        this.preparedStatementCacheSize = preparedStatementCacheSize;
+        this.cursorPrefetch = cursorPrefetch;
+        this.lazyTransactions = lazyTransactions;
+        this.metadataQuery = metadataQuery;
+        this.redirectCacheTtl = Assert.requireNonNull(redirectCacheTtl, "redirect cache TTL must not be null");
     }
 
     /**
@@ -174,16 +236,39 @@ public final class MssqlConnectionConfiguration {
 
         return new MssqlConnectionConfiguration(this.applicationName, this.connectionId, this.connectTimeout, this.database, redirectServerName, hostNameInCertificate, this.password,
             this.preferCursoredExecution, redirect.getPort(), this.sendStringParametersAsUnicode, this.ssl, this.sslContextBuilderCustomizer, this.sslTunnelSslContextBuilderCustomizer,
-            this.tcpKeepAlive, this.tcpNoDelay, this.trustStore, this.trustStoreType, this.trustStorePassword, this.username);
+            this.tcpKeepAlive, this.tcpNoDelay, this.trustStore, this.trustStoreType, this.trustStorePassword, this.username, this.zeroCopyDecoding,
+            this.lobStreaming, this.responseBufferHighWatermark, this.responseBufferLowWatermark, this.statementTimeout, this.lockTimeout,
+            this.packetSize, this.rpcBatching, this.preparedDirectExecution, this.preparedStatementCacheSize, this.cursorPrefetch,
+            this.lazyTransactions, this.metadataQuery, this.redirectCacheTtl);
     }
 
     ClientConfiguration toClientConfiguration() {
         return new DefaultClientConfiguration(this.connectTimeout, this.host, this.hostNameInCertificate, this.port, this.ssl, this.sslContextBuilderCustomizer,
-            this.sslTunnelSslContextBuilderCustomizer, this.tcpKeepAlive, this.tcpNoDelay, this.trustStore, this.trustStoreType, this.trustStorePassword);
+            this.sslTunnelSslContextBuilderCustomizer, this.tcpKeepAlive, this.tcpNoDelay, this.trustStore, this.trustStoreType, this.trustStorePassword, this.zeroCopyDecoding,
+            this.lobStreaming, this.responseBufferHighWatermark, this.responseBufferLowWatermark);
     }
 
     ConnectionOptions toConnectionOptions() {
-        return new ConnectionOptions(this.preferCursoredExecution, new DefaultCodecs(), new IndefinitePreparedStatementCache(), this.sendStringParametersAsUnicode);
+        return toConnectionOptions(createParsedSqlCache());
+    }
+
+    ConnectionOptions toConnectionOptions(ParsedSqlCache parsedSqlCache) {
+        return new ConnectionOptions(this.preferCursoredExecution, new DefaultCodecs(), createPreparedStatementCache(parsedSqlCache), this.sendStringParametersAsUnicode,
+            this.statementTimeout, this.rpcBatching, this.preparedDirectExecution, this.cursorPrefetch, this.lazyTransactions,
+            this.lockTimeout != null ? String.format("SET LOCK_TIMEOUT %d", this.lockTimeout.toMillis()) : null);
+    }
+
+    ParsedSqlCache createParsedSqlCache() {
+        return this.preparedStatementCacheSize > 0 ? ParsedSqlCache.bounded(this.preparedStatementCacheSize) : ParsedSqlCache.unbounded();
+    }
+
+    PreparedStatementCache createPreparedStatementCache(ParsedSqlCache parsedSqlCache) {
+
+        if (this.preparedStatementCacheSize > 0) {
+            return new LruPreparedStatementCache(this.preparedStatementCacheSize, parsedSqlCache);
+        }
+
+        return new IndefinitePreparedStatementCache(parsedSqlCache);
     }
 
     @Override
@@ -209,6 +294,20 @@ public final class MssqlConnectionConfiguration {
         sb.append(", trustStorePassword=\"").append(repeat(this.trustStorePassword == null ? 0 : this.trustStorePassword.length, "*")).append('\"');
         sb.append(", trustStoreType=\"").append(this.trustStoreType).append("\"");
         sb.append(", username=\"").append(this.username).append('\"');
+        sb.append(", zeroCopyDecoding=").append(this.zeroCopyDecoding);
+        sb.append(", lobStreaming=").append(this.lobStreaming);
+        sb.append(", responseBufferHighWatermark=").append(this.responseBufferHighWatermark);
+        sb.append(", responseBufferLowWatermark=").append(this.responseBufferLowWatermark);
+        sb.append(", statementTimeout=").append(this.statementTimeout);
+        sb.append(", lockTimeout=").append(this.lockTimeout);
+        sb.append(", packetSize=").append(this.packetSize);
+        sb.append(", rpcBatching=").append(this.rpcBatching);
+        sb.append(", preparedDirectExecution=").append(this.preparedDirectExecution);
+        sb.append(", preparedStatementCacheSize=").append(this.preparedStatementCacheSize);
+        sb.append(", cursorPrefetch=").append(this.cursorPrefetch);
+        sb.append(", lazyTransactions=").append(this.lazyTransactions);
+        sb.append(", metadataQuery=").append(this.metadataQuery);
+        sb.append(", redirectCacheTtl=").append(this.redirectCacheTtl);
         sb.append(']');
         return sb.toString();
     }
@@ -271,9 +370,46 @@ public final class MssqlConnectionConfiguration {
         return this.username;
     }
 
+    boolean isZeroCopyDecoding() {
+        return this.zeroCopyDecoding;
+    }
+
+    boolean isLobStreaming() {
+        return this.lobStreaming;
+    }
+
+    int getResponseBufferHighWatermark() {
+        return this.responseBufferHighWatermark;
+    }
+
+    int getResponseBufferLowWatermark() {
+        return this.responseBufferLowWatermark;
+    }
+
+    Duration getStatementTimeout() {
+        return this.statementTimeout;
+    }
+
+    @Nullable
+    Duration getLockTimeout() {
+        return this.lockTimeout;
+    }
+
+    boolean isMetadataQuery() {
+        return this.metadataQuery;
+    }
+
+    Duration getRedirectCacheTtl() {
+        return this.redirectCacheTtl;
+    }
+
+    int getPacketSize() {
+        return this.packetSize;
+    }
+
     LoginConfiguration getLoginConfiguration() {
-        return new LoginConfiguration(getApplicationName(), this.connectionId, getDatabase().orElse(""), lookupHostName(), getPassword(), getHost(), useSsl(), getUsername()
-        );
+        return new LoginConfiguration(getApplicationName(), this.connectionId, getDatabase().orElse(""), lookupHostName(), getPassword(), getHost(), useSsl(), getUsername(),
+            this.packetSize);
     }
 
     private static String repeat(int length, String character) {
@@ -364,6 +500,35 @@ public final class MssqlConnectionConfiguration {
         @Nullable
         private char[] trustStorePassword;
 
+        private boolean zeroCopyDecoding = false;
+
+        private boolean lobStreaming = false;
+
+        private int responseBufferHighWatermark = 256;
+
+        private int responseBufferLowWatermark = 64;
+
+        private Duration statementTimeout = Duration.ZERO;
+
+        @Nullable
+        private Duration lockTimeout;
+
+        private int packetSize = DEFAULT_PACKET_SIZE;
+
+        private boolean rpcBatching = false;
+
+        private boolean preparedDirectExecution = false;
+
+        private int preparedStatementCacheSize = -1;
+
+        private boolean cursorPrefetch = false;
+
+        private boolean lazyTransactions = false;
+
+        private boolean metadataQuery = true;
+
+        private Duration redirectCacheTtl = Duration.ZERO;
+
         private Builder() {
         }
 
@@ -641,6 +806,218 @@ public final class MssqlConnectionConfiguration {
             return this;
         }
 
+        /**
+         * Configure zero-copy decoding. Zero-copy decoding reassembles inbound TDS packets using composite buffers and retained slices of the transport buffers instead of copying inbound data.
+         * Decoded rows keep a reference to the transport buffers they were read from until they are released. Disabled by default.
+         *
+         * @param enabled whether to enable/disable zero-copy decoding
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder zeroCopyDecoding(boolean enabled) {
+            this.zeroCopyDecoding = enabled;
+            return this;
+        }
+
+        /**
+         * Configure LOB streaming. LOB streaming emits a row before a PLP value ({@code varchar(max)}, {@code nvarchar(max)}, {@code varbinary(max)}) in the last column of the row is received
+         * entirely and streams the value while reading from the transport. Streamed values must be consumed as {@link io.r2dbc.spi.Blob} or {@link io.r2dbc.spi.Clob} before subsequent rows can be
+         * received. Disabled by default.
+         *
+         * @param enabled whether to enable/disable LOB streaming
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder lobStreaming(boolean enabled) {
+            this.lobStreaming = enabled;
+            return this;
+        }
+
+        /**
+         * Configure the high watermark of the response buffer. Reading from the transport is suspended once the number of decoded messages that were not yet consumed reaches the high watermark.
+         * Defaults to {@code 256}.
+         *
+         * @param highWatermark number of decoded messages. Must be greater than zero.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder responseBufferHighWatermark(int highWatermark) {
+
+            Assert.isTrue(highWatermark > 0, "high watermark must be greater than zero");
+
+            this.responseBufferHighWatermark = highWatermark;
+            return this;
+        }
+
+        /**
+         * Configure the low watermark of the response buffer. Reading from the transport is resumed once the number of decoded messages that were not yet consumed drops to the low watermark.
+         * Defaults to {@code 64}.
+         *
+         * @param lowWatermark number of decoded messages. Must not be negative.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder responseBufferLowWatermark(int lowWatermark) {
+
+            Assert.isTrue(lowWatermark >= 0, "low watermark must not be negative");
+
+            this.responseBufferLowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Configure the default statement timeout. Statements that exceed the timeout while awaiting their server response are cancelled by sending an attention signal. A timeout of
+         * {@link Duration#ZERO} disables statement timeouts. Defaults to {@link Duration#ZERO}. Can be overridden by {@link MssqlStatement#timeout(Duration)}.
+         *
+         * @param statementTimeout the statement timeout. Must not be negative.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder statementTimeout(Duration statementTimeout) {
+
+            Assert.requireNonNull(statementTimeout, "statement timeout must not be null");
+            Assert.isTrue(!statementTimeout.isNegative(), "statement timeout must not be negative");
+
+            this.statementTimeout = statementTimeout;
+            return this;
+        }
+
+        /**
+         * Configure the lock timeout that is applied to the session using {@code SET LOCK_TIMEOUT} when the connection is established. Statements waiting longer than the lock timeout for a lock
+         * fail instead of piling up behind the lock. A timeout of {@link Duration#ZERO} fails immediately if a lock is held. Defaults to the server default (wait indefinitely).
+         *
+         * @param lockTimeout the lock timeout. Must not be negative.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder lockTimeout(Duration lockTimeout) {
+
+            Assert.requireNonNull(lockTimeout, "lock timeout must not be null");
+            Assert.isTrue(!lockTimeout.isNegative(), "lock timeout must not be negative");
+
+            this.lockTimeout = lockTimeout;
+            return this;
+        }
+
+        /**
+         * Configure the TDS packet size to request during login. The server confirms the actual packet size through an environment change after login. Larger packets reduce the number of
+         * packet headers and socket writes for large requests and result sets. Defaults to {@code 8000}.
+         *
+         * @param packetSize the packet size in bytes. Must be between {@code 512} and {@code 32767}.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder packetSize(int packetSize) {
+
+            Assert.isTrue(packetSize >= MIN_PACKET_SIZE && packetSize <= MAX_PACKET_SIZE,
+                () -> String.format("packet size must be between %d and %d", MIN_PACKET_SIZE, MAX_PACKET_SIZE));
+
+            this.packetSize = packetSize;
+            return this;
+        }
+
+        /**
+         * Configure RPC batching. RPC batching sends all bindings of a parametrized statement that is executed directly (without a cursor) as a single RPC message instead of one round trip
+         * per binding. Statements with parameters that are streamed as PLP values are executed binding by binding. Disabled by default.
+         *
+         * @param enabled whether to enable/disable RPC batching
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder rpcBatching(boolean enabled) {
+            this.rpcBatching = enabled;
+            return this;
+        }
+
+        /**
+         * Configure prepared execution for parametrized statements that are executed directly (without a cursor). The first execution of a statement prepares it using {@code sp_prepexec}
+         * and caches the prepared statement handle. Subsequent executions call {@code sp_execute} with the handle and the parameters only instead of sending the SQL text and parameter
+         * declaration with {@code sp_executesql}. Disabled by default.
+         *
+         * @param enabled whether to enable/disable prepared direct execution
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder preparedDirectExecution(boolean enabled) {
+            this.preparedDirectExecution = enabled;
+            return this;
+        }
+
+        /**
+         * Configure the maximum number of prepared statement handles to cache. Least recently used handles are evicted once the cache is full and released on the server with the next
+         * prepared statement execution. Unbounded by default.
+         *
+         * @param preparedStatementCacheSize the maximum number of cached prepared statement handles. Must be greater than zero.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder preparedStatementCacheSize(int preparedStatementCacheSize) {
+
+            Assert.isTrue(preparedStatementCacheSize > 0, "prepared statement cache size must be greater than zero");
+
+            this.preparedStatementCacheSize = preparedStatementCacheSize;
+            return this;
+        }
+
+        /**
+         * Configure cursor prefetching. Cursored execution requests the next window of rows with {@code sp_cursorfetch} as soon as the current window was received and downstream demand
+         * remains instead of waiting until the current window was consumed. At most one window is fetched ahead. Disabled by default.
+         *
+         * @param enabled whether to enable/disable cursor prefetching
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder cursorPrefetch(boolean enabled) {
+            this.cursorPrefetch = enabled;
+            return this;
+        }
+
+        /**
+         * Configure lazy transactions. {@link MssqlConnection#beginTransaction()} and {@link MssqlConnection#setTransactionIsolationLevel(io.r2dbc.spi.IsolationLevel)} are deferred
+         * and sent together with the next statement instead of requiring a round trip each. Transaction control is prepended to the next SQL batch or sent as single SQL batch before RPC
+         * requests. Disabled by default.
+         *
+         * @param enabled whether to enable/disable lazy transactions
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder lazyTransactions(boolean enabled) {
+            this.lazyTransactions = enabled;
+            return this;
+        }
+
+        /**
+         * Configure whether to query server metadata (edition and {@literal @@VERSION}) when creating a connection. Query results are cached per connection factory and server version
+         * reported by the login acknowledgement so subsequent connections to the same server do not issue the query. If disabled, connection metadata is derived from the login
+         * acknowledgement only. Enabled by default.
+         *
+         * @param enabled whether to enable/disable the server metadata query
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder metadataQuery(boolean enabled) {
+            this.metadataQuery = enabled;
+            return this;
+        }
+
+        /**
+         * Configure how long a redirect target (e.g. Azure SQL gateway routing) is remembered. New connections connect directly to the last known redirect target instead of logging in to
+         * the configured host first and following the redirect. A failed connection attempt against the cached target invalidates the cached target and falls back to the configured host.
+         * {@link Duration#ZERO} disables redirect caching. Disabled by default.
+         *
+         * @param redirectCacheTtl the time to live of a cached redirect target. Must not be negative.
+         * @return this {@link Builder}
+         * @since 0.9
+         */
+        public Builder redirectCacheTtl(Duration redirectCacheTtl) {
+
+            Assert.requireNonNull(redirectCacheTtl, "redirect cache TTL must not be null");
+            Assert.isTrue(!redirectCacheTtl.isNegative(), "redirect cache TTL must not be negative");
+
+            this.redirectCacheTtl = redirectCacheTtl;
+            return this;
+        }
+
         /**
          * Returns a configured {@link MssqlConnectionConfiguration}.
          *
@@ -648,6 +1025,8 @@ public final class MssqlConnectionConfiguration {
          */
         public MssqlConnectionConfiguration build() {
 
+            Assert.isTrue(this.responseBufferLowWatermark <= this.responseBufferHighWatermark, "low watermark must not be greater than the high watermark");
+
             if (this.hostNameInCertificate == null) {
                 this.hostNameInCertificate = this.host;
             }
@@ -656,7 +1035,9 @@ public final class MssqlConnectionConfiguration {
                 this.preferCursoredExecution, this.port, this.sendStringParametersAsUnicode, this.ssl, this.sslContextBuilderCustomizer, this.sslTunnelSslContextBuilderCustomizer, tcpKeepAlive,
                 tcpNoDelay, this.trustStore,
                 this.trustStoreType,
-                this.trustStorePassword, this.username);
+                this.trustStorePassword, this.username, this.zeroCopyDecoding, this.lobStreaming, this.responseBufferHighWatermark, this.responseBufferLowWatermark, this.statementTimeout, this.lockTimeout,
+                this.packetSize, this.rpcBatching, this.preparedDirectExecution, this.preparedStatementCacheSize, this.cursorPrefetch, this.lazyTransactions,
+                this.metadataQuery, this.redirectCacheTtl);
         }
 
     }
@@ -691,11 +1072,20 @@ public final class MssqlConnectionConfiguration {
         @Nullable
         private final char[] trustStorePassword;
 
+        private final boolean zeroCopyDecoding;
+
+        private final boolean lobStreaming;
+
+        private final int responseBufferHighWatermark;
+
+        private final int responseBufferLowWatermark;
+
         DefaultClientConfiguration(Duration connectTimeout, String host, String hostNameInCertificate, int port, boolean ssl,
                                    Function<SslContextBuilder, SslContextBuilder> sslContextBuilderCustomizer,
                                    @Nullable Function<SslContextBuilder, SslContextBuilder> sslTunnelSslContextBuilderCustomizer
             , boolean tcpKeepAlive, boolean tcpNoDelay, @Nullable File trustStore,
-                                   @Nullable String trustStoreType, @Nullable char[] trustStorePassword) {
+                                   @Nullable String trustStoreType, @Nullable char[] trustStorePassword, boolean zeroCopyDecoding,
+                                   boolean lobStreaming, int responseBufferHighWatermark, int responseBufferLowWatermark) {
 
             this.connectTimeout = connectTimeout;
             this.host = host;
@@ -709,6 +1099,10 @@ public final class MssqlConnectionConfiguration {
             this.trustStore = trustStore;
             this.trustStoreType = trustStoreType;
             this.trustStorePassword = trustStorePassword;
+            this.zeroCopyDecoding = zeroCopyDecoding;
+            this.lobStreaming = lobStreaming;
+            this.responseBufferHighWatermark = responseBufferHighWatermark;
+            this.responseBufferLowWatermark = responseBufferLowWatermark;
         }
 
         @Override
@@ -741,6 +1135,26 @@ public final class MssqlConnectionConfiguration {
             return ConnectionProvider.newConnection();
         }
 
+        @Override
+        public boolean isZeroCopyDecoding() {
+            return this.zeroCopyDecoding;
+        }
+
+        @Override
+        public boolean isLobStreaming() {
+            return this.lobStreaming;
+        }
+
+        @Override
+        public int getResponseBufferHighWatermark() {
+            return this.responseBufferHighWatermark;
+        }
+
+        @Override
+        public int getResponseBufferLowWatermark() {
+            return this.responseBufferLowWatermark;
+        }
+
         @Override
         public boolean isSslEnabled() {
             return this.ssl;
@@ -24,9 +24,13 @@ import io.r2dbc.mssql.util.Assert;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
 import io.r2dbc.spi.Row;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -37,7 +41,7 @@ import java.util.function.Function;
  */
 public final class MssqlConnectionFactory implements ConnectionFactory {
 
-    private final String METADATA_QUERY = " SELECT " +
+    private static final String METADATA_QUERY = " SELECT " +
         "CAST(SERVERPROPERTY('Edition') AS VARCHAR(255)) AS Edition, " +
         "CAST(@@VERSION AS VARCHAR(255)) as VersionString";
 
@@ -45,8 +49,19 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
 
     private final MssqlConnectionConfiguration configuration;
 
+    private final ParsedSqlCache parsedSqlCache;
+
     private final ConnectionOptions connectionOptions;
 
+    /**
+     * Connection metadata keyed by the server version reported by the login acknowledgement. Connections created by this factory connect to the same server endpoint so the version
+     * identifies the server.
+     */
+    private final Map<String, MssqlConnectionMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    @Nullable
+    private volatile CachedRedirect cachedRedirect;
+
     /**
      * Creates a new connection factory.
      *
@@ -62,7 +77,8 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
 
         this.clientFactory = Assert.requireNonNull(clientFactory, "clientFactory must not be null");
         this.configuration = Assert.requireNonNull(configuration, "configuration must not be null");
-        this.connectionOptions = configuration.toConnectionOptions();
+        this.parsedSqlCache = configuration.createParsedSqlCache();
+        this.connectionOptions = configuration.toConnectionOptions(this.parsedSqlCache);
     }
 
     private static Mono<Client> connect(MssqlConnectionConfiguration configuration) {
@@ -75,6 +91,32 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
         });
     }
 
+    /**
+     * Initialize a {@link Client} by connecting to the cached redirect target if available. Falls back to the configured host and invalidates the cached redirect target if the connection
+     * attempt against the cached redirect target fails.
+     *
+     * @return the logged in client.
+     */
+    private Mono<Client> initializeClient() {
+
+        return Mono.defer(() -> {
+
+            CachedRedirect cachedRedirect = this.cachedRedirect;
+
+            if (cachedRedirect == null || cachedRedirect.isExpired()) {
+                return initializeClient(this.configuration, true);
+            }
+
+            MssqlConnectionConfiguration routeConfiguration = this.configuration.withRedirect(cachedRedirect.getRedirect());
+
+            return initializeClient(routeConfiguration, false).onErrorResume(e -> {
+
+                this.cachedRedirect = null;
+                return initializeClient(this.configuration, true);
+            });
+        });
+    }
+
     private Mono<Client> initializeClient(MssqlConnectionConfiguration configuration, boolean allowReroute) {
 
         LoginConfiguration loginConfiguration = configuration.getLoginConfiguration();
@@ -97,7 +139,16 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
 
         MssqlConnectionConfiguration routeConfiguration = this.configuration.withRedirect(redirect);
 
-        return client.close().then(this.initializeClient(routeConfiguration, false));
+        return client.close().then(this.initializeClient(routeConfiguration, false)).doOnNext(ignore -> cacheRedirect(redirect));
+    }
+
+    private void cacheRedirect(Redirect redirect) {
+
+        Duration ttl = this.configuration.getRedirectCacheTtl();
+
+        if (!ttl.isZero()) {
+            this.cachedRedirect = new CachedRedirect(redirect, ttl);
+        }
     }
 
     private <T> Mono<T> propagateError(Mono<?> action, Throwable e) {
@@ -111,21 +162,81 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
     @Override
     public Mono<MssqlConnection> create() {
 
-        return initializeClient(this.configuration, true)
+        return initializeClient()
+            .delayUntil(this::applySessionOptions)
             .flatMap(it -> {
 
-                Flux<MssqlConnection> connectionFlux =
-                    new SimpleMssqlStatement(it, this.connectionOptions, METADATA_QUERY).execute()
-                        .flatMap(result -> result.map((row, rowMetadata) -> toConnectionMetadata(it.getDatabaseVersion().orElse("unknown"), row))).map(metadata -> {
-                        return new MssqlConnection(it, metadata, this.connectionOptions);
-                    });
+                // prepared statement handles are scoped to the server session
+                ConnectionOptions connectionOptions = this.connectionOptions.withPreparedStatementCache(this.configuration.createPreparedStatementCache(this.parsedSqlCache));
+
+                Mono<MssqlConnection> connectionMono = getConnectionMetadata(it, connectionOptions).map(metadata -> {
+                    return new MssqlConnection(it, metadata, connectionOptions);
+                });
 
-                return connectionFlux.last().onErrorResume(throwable -> {
+                return connectionMono.onErrorResume(throwable -> {
                     return it.close().then(Mono.error(new R2dbcNonTransientResourceException("Cannot connect to " + this.configuration.getHost() + ":" + this.configuration.getPort(), throwable)));
                 });
             });
     }
 
+    /**
+     * Apply session-wide options such as the lock timeout once the {@link Client} is logged in.
+     *
+     * @param client the logged in client.
+     * @return a {@link Mono} that completes once the session options are applied.
+     */
+    private Mono<Void> applySessionOptions(Client client) {
+
+        String sql = this.connectionOptions.getSessionOptions();
+
+        if (sql == null) {
+            return Mono.empty();
+        }
+
+        ExceptionFactory factory = ExceptionFactory.withSql(sql);
+
+        return QueryMessageFlow.exchange(client, sql)
+            .handle(factory::handleErrorResponse)
+            .then()
+            .onErrorResume(e -> propagateError(client.close(), e));
+    }
+
+    /**
+     * Obtain {@link MssqlConnectionMetadata} for a logged in {@link Client}. Metadata is queried once per server version and served from the cache for subsequent connections. Skips the
+     * query entirely if the metadata query is disabled.
+     *
+     * @param client            the logged in client.
+     * @param connectionOptions the connection options.
+     * @return the {@link MssqlConnectionMetadata}.
+     */
+    private Mono<MssqlConnectionMetadata> getConnectionMetadata(Client client, ConnectionOptions connectionOptions) {
+
+        Optional<String> version = client.getDatabaseVersion();
+
+        if (!this.configuration.isMetadataQuery()) {
+            return Mono.just(MssqlConnectionMetadata.from(version.orElse("unknown")));
+        }
+
+        if (!version.isPresent()) {
+            return queryConnectionMetadata(client, connectionOptions, "unknown");
+        }
+
+        MssqlConnectionMetadata metadata = this.metadataCache.get(version.get());
+
+        if (metadata != null) {
+            return Mono.just(metadata);
+        }
+
+        return queryConnectionMetadata(client, connectionOptions, version.get()).doOnNext(it -> this.metadataCache.put(version.get(), it));
+    }
+
+    private static Mono<MssqlConnectionMetadata> queryConnectionMetadata(Client client, ConnectionOptions connectionOptions, String version) {
+
+        return new SimpleMssqlStatement(client, connectionOptions, METADATA_QUERY).execute()
+            .flatMap(result -> result.map((row, rowMetadata) -> toConnectionMetadata(version, row)))
+            .last();
+    }
+
     private static MssqlConnectionMetadata toConnectionMetadata(String version, Row row) {
         return MssqlConnectionMetadata.from(row.get("Edition", String.class), version, row.get("VersionString", String.class));
     }
@@ -134,6 +245,10 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
         return this.configuration.toClientConfiguration();
     }
 
+    MssqlConnectionConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
     ConnectionOptions getConnectionOptions() {
         return this.connectionOptions;
     }
@@ -152,6 +267,30 @@ public final class MssqlConnectionFactory implements ConnectionFactory {
         return sb.toString();
     }
 
+    /**
+     * Redirect target that expires after its time to live.
+     */
+    static class CachedRedirect {
+
+        private final Redirect redirect;
+
+        private final long expiresAt;
+
+        CachedRedirect(Redirect redirect, Duration ttl) {
+            this.redirect = redirect;
+            this.expiresAt = System.nanoTime() + ttl.toNanos();
+        }
+
+        Redirect getRedirect() {
+            return this.redirect;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - this.expiresAt >= 0;
+        }
+
+    }
+
     static class MssqlRoutingException extends R2dbcNonTransientResourceException {
 
         public MssqlRoutingException(String reason) {
@@ -125,6 +125,104 @@ public final class MssqlConnectionFactoryProvider implements ConnectionFactoryPr
      */
     public static final Option<char[]> TRUST_STORE_PASSWORD = Option.valueOf("trustStorePassword");
 
+    /**
+     * Enable/Disable zero-copy decoding of inbound TDS packets.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> ZERO_COPY_DECODING = Option.valueOf("zeroCopyDecoding");
+
+    /**
+     * Enable/Disable streaming of LOB values contained in the last column of a row.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> LOB_STREAMING = Option.valueOf("lobStreaming");
+
+    /**
+     * Number of decoded but not yet consumed messages at which reading from the transport is suspended.
+     *
+     * @since 0.9
+     */
+    public static final Option<Integer> RESPONSE_BUFFER_HIGH_WATERMARK = Option.valueOf("responseBufferHighWatermark");
+
+    /**
+     * Number of decoded but not yet consumed messages at which reading from the transport is resumed.
+     *
+     * @since 0.9
+     */
+    public static final Option<Integer> RESPONSE_BUFFER_LOW_WATERMARK = Option.valueOf("responseBufferLowWatermark");
+
+    /**
+     * Default statement timeout. Accepts {@link java.time.Duration} or ISO-8601 formatted values.
+     *
+     * @since 0.9
+     */
+    public static final Option<Object> STATEMENT_TIMEOUT = Option.valueOf("statementTimeout");
+
+    /**
+     * Session lock timeout applied through {@code SET LOCK_TIMEOUT}. Accepts {@link java.time.Duration} or ISO-8601 formatted values.
+     *
+     * @since 0.9
+     */
+    public static final Option<Object> LOCK_TIMEOUT = Option.valueOf("lockTimeout");
+
+    /**
+     * TDS packet size to request during login.
+     *
+     * @since 0.9
+     */
+    public static final Option<Integer> PACKET_SIZE = Option.valueOf("packetSize");
+
+    /**
+     * Enable/Disable sending all bindings of a directly executed parametrized statement within a single RPC message.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> RPC_BATCHING = Option.valueOf("rpcBatching");
+
+    /**
+     * Enable/Disable prepared execution ({@code sp_prepexec}/{@code sp_execute}) of parametrized statements that are executed directly.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> PREPARED_DIRECT_EXECUTION = Option.valueOf("preparedDirectExecution");
+
+    /**
+     * Maximum number of prepared statement handles to cache.
+     *
+     * @since 0.9
+     */
+    public static final Option<Integer> PREPARED_STATEMENT_CACHE_SIZE = Option.valueOf("preparedStatementCacheSize");
+
+    /**
+     * Enable/Disable fetching the next window of a cursored query while the current window is consumed.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> CURSOR_PREFETCH = Option.valueOf("cursorPrefetch");
+
+    /**
+     * Enable/Disable deferring transaction begin and isolation level changes until the next statement.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> LAZY_TRANSACTIONS = Option.valueOf("lazyTransactions");
+
+    /**
+     * Enable/Disable querying server metadata when creating a connection.
+     *
+     * @since 0.9
+     */
+    public static final Option<Boolean> METADATA_QUERY = Option.valueOf("metadataQuery");
+
+    /**
+     * Time to live of cached redirect targets. Accepts {@link java.time.Duration} or ISO-8601 formatted values.
+     *
+     * @since 0.9
+     */
+    public static final Option<Object> REDIRECT_CACHE_TTL = Option.valueOf("redirectCacheTtl");
+
     /**
      * Driver option value.
      */
@@ -178,6 +276,20 @@ public final class MssqlConnectionFactoryProvider implements ConnectionFactoryPr
         mapper.from(TRUST_STORE).map(OptionMapper::toFile).to(builder::trustStore);
         mapper.from(TRUST_STORE_TYPE).to(builder::trustStoreType);
         mapper.from(TRUST_STORE_PASSWORD).map(it -> it instanceof String ? ((String) it).toCharArray() : (char[]) it).to(builder::trustStorePassword);
+        mapper.from(ZERO_COPY_DECODING).map(OptionMapper::toBoolean).to(builder::zeroCopyDecoding);
+        mapper.from(LOB_STREAMING).map(OptionMapper::toBoolean).to(builder::lobStreaming);
+        mapper.from(RESPONSE_BUFFER_HIGH_WATERMARK).map(OptionMapper::toInteger).to(builder::responseBufferHighWatermark);
+        mapper.from(RESPONSE_BUFFER_LOW_WATERMARK).map(OptionMapper::toInteger).to(builder::responseBufferLowWatermark);
+        mapper.from(STATEMENT_TIMEOUT).map(OptionMapper::toDuration).to(builder::statementTimeout);
+        mapper.from(LOCK_TIMEOUT).map(OptionMapper::toDuration).to(builder::lockTimeout);
+        mapper.from(PACKET_SIZE).map(OptionMapper::toInteger).to(builder::packetSize);
+        mapper.from(RPC_BATCHING).map(OptionMapper::toBoolean).to(builder::rpcBatching);
+        mapper.from(PREPARED_DIRECT_EXECUTION).map(OptionMapper::toBoolean).to(builder::preparedDirectExecution);
+        mapper.from(PREPARED_STATEMENT_CACHE_SIZE).map(OptionMapper::toInteger).to(builder::preparedStatementCacheSize);
+        mapper.from(CURSOR_PREFETCH).map(OptionMapper::toBoolean).to(builder::cursorPrefetch);
+        mapper.from(LAZY_TRANSACTIONS).map(OptionMapper::toBoolean).to(builder::lazyTransactions);
+        mapper.from(METADATA_QUERY).map(OptionMapper::toBoolean).to(builder::metadataQuery);
+        mapper.from(REDIRECT_CACHE_TTL).map(OptionMapper::toDuration).to(builder::redirectCacheTtl);
 
         builder.host(connectionFactoryOptions.getRequiredValue(HOST));
         builder.password(connectionFactoryOptions.getRequiredValue(PASSWORD));
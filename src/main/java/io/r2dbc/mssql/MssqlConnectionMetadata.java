@@ -34,6 +34,16 @@ public final class MssqlConnectionMetadata implements ConnectionMetadata {
         this.databaseProductName = databaseProductName;
     }
 
+    /**
+     * Construct {@link MssqlConnectionMetadata} from the server version reported by the login acknowledgement without querying the server.
+     *
+     * @param version SQL Server version number.
+     * @return the {@link MssqlConnectionMetadata}.
+     */
+    static MssqlConnectionMetadata from(String version) {
+        return new MssqlConnectionMetadata("Microsoft SQL Server", version);
+    }
+
     /**
      * Construct {@link MssqlConnectionMetadata} from a metadata query.
      *
@@ -56,16 +56,19 @@ public final class MssqlResult implements Result {
 
     private final Flux<Message> messages;
 
+    private final RowDemand demand;
+
     private volatile MssqlRowMetadata rowMetadata;
 
     private volatile RuntimeException throwable;
 
-    private MssqlResult(String sql, ConnectionContext context, Codecs codecs, Flux<Message> messages) {
+    private MssqlResult(String sql, ConnectionContext context, Codecs codecs, Flux<Message> messages, RowDemand demand) {
 
         this.sql = sql;
         this.context = context;
         this.codecs = codecs;
         this.messages = messages;
+        this.demand = demand;
     }
 
     /**
@@ -77,21 +80,36 @@ public final class MssqlResult implements Result {
      * @return {@link Result} object.
      */
     static MssqlResult toResult(String sql, ConnectionContext context, Codecs codecs, Flux<Message> messages) {
+        return toResult(sql, context, codecs, messages, new RowDemand());
+    }
+
+    /**
+     * Create a {@link MssqlResult} that reports the demand of its row consumer to {@link RowDemand}.
+     *
+     * @param sql      the underlying SQL statement.
+     * @param codecs   the codecs to use.
+     * @param messages message stream.
+     * @param demand   the row demand to report consumer demand to.
+     * @return {@link Result} object.
+     */
+    static MssqlResult toResult(String sql, ConnectionContext context, Codecs codecs, Flux<Message> messages, RowDemand demand) {
 
         Assert.requireNonNull(sql, "SQL must not be null");
         Assert.requireNonNull(codecs, "Codecs must not be null");
         Assert.requireNonNull(context, "ConnectionContext must not be null");
         Assert.requireNonNull(messages, "Messages must not be null");
+        Assert.requireNonNull(demand, "RowDemand must not be null");
 
         LOGGER.debug(context.getMessage("Creating new result"));
 
-        return new MssqlResult(sql, context, codecs, messages);
+        return new MssqlResult(sql, context, codecs, messages, demand);
     }
 
     @Override
     public Mono<Integer> getRowsUpdated() {
 
         return this.messages
+            .doOnSubscribe(ignore -> this.demand.request(Long.MAX_VALUE))
             .<Long>handle((message, sink) -> {
 
                 if (message instanceof AbstractDoneToken) {
@@ -194,7 +212,9 @@ public final class MssqlResult implements Result {
                 if (exception != null) {
                     throw exception;
                 }
-            });
+            })
+            .doOnRequest(this.demand::request)
+            .doOnNext(ignore -> this.demand.delivered());
     }
 
 }
@@ -18,11 +18,16 @@ package io.r2dbc.mssql;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
+import io.r2dbc.mssql.codec.BlobCodec;
+import io.r2dbc.mssql.codec.ClobCodec;
 import io.r2dbc.mssql.codec.Codecs;
 import io.r2dbc.mssql.message.token.Column;
+import io.r2dbc.mssql.message.token.PlpStream;
 import io.r2dbc.mssql.message.token.RowToken;
 import io.r2dbc.mssql.message.type.SqlServerType;
 import io.r2dbc.mssql.util.Assert;
+import io.r2dbc.spi.Blob;
+import io.r2dbc.spi.Clob;
 import io.r2dbc.spi.Row;
 import reactor.util.annotation.Nullable;
 
@@ -116,6 +121,12 @@ final class MssqlRow implements Row {
             throw new UnsupportedOperationException("sql_variant columns not supported. See https://github.com/r2dbc/r2dbc-mssql/issues/67.");
         }
 
+        PlpStream plpStream = this.rowToken.getPlpStream(column.getIndex());
+
+        if (plpStream != null) {
+            return doGetStream(column, plpStream, type);
+        }
+
         columnData.markReaderIndex();
 
         try {
@@ -125,6 +136,30 @@ final class MssqlRow implements Row {
         }
     }
 
+    /**
+     * Retrieve a streamed column value. Streamed values can be retrieved only once and only as {@link Blob} or {@link Clob}.
+     */
+    private <T> T doGetStream(Column column, PlpStream plpStream, Class<T> type) {
+
+        SqlServerType serverType = column.getType().getServerType();
+        Object value;
+
+        if (serverType == SqlServerType.VARBINARYMAX && type.isAssignableFrom(Blob.class)) {
+            value = BlobCodec.INSTANCE.decodeStream(plpStream);
+        } else if ((serverType == SqlServerType.VARCHARMAX || serverType == SqlServerType.NVARCHARMAX) && type.isAssignableFrom(Clob.class)) {
+            value = ClobCodec.INSTANCE.decodeStream(plpStream, column.getType());
+        } else {
+            throw new IllegalArgumentException(String.format("Cannot decode streamed value of column [%s] (%s) as [%s]. Streamed values can be retrieved only as Blob or Clob", column.getName(),
+                serverType, type.getName()));
+        }
+
+        if (!plpStream.claim()) {
+            throw new IllegalStateException(String.format("Streamed value of column [%s] was already retrieved", column.getName()));
+        }
+
+        return type.cast(value);
+    }
+
     /**
      * Decrement the reference count and release the {@link RowToken} to allow deallocation of underlying memory.
      */
@@ -19,6 +19,8 @@ package io.r2dbc.mssql;
 import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
+
 /**
  * A strongly typed implementation of {@link Statement} for a Microsoft SQL Server database.
  * <p>
@@ -80,4 +82,26 @@ public interface MssqlStatement extends Statement {
     @Override
     MssqlStatement fetchSize(int fetchSize);
 
+    /**
+     * Configures the server cursor options used when this statement is executed with a cursor. Defaults to {@link CursorMode#FORWARD_ONLY}. Has no effect on statements that are executed
+     * directly.
+     *
+     * @param cursorMode the cursor mode.
+     * @return this {@link MssqlStatement}.
+     * @throws IllegalArgumentException if {@code cursorMode} is {@code null}.
+     * @since 0.9
+     */
+    MssqlStatement cursorMode(CursorMode cursorMode);
+
+    /**
+     * Configures the timeout for this statement. Statement execution is cancelled by sending an attention signal to the server if the server response does not complete within the timeout.
+     * Executions that time out terminate with a {@link io.r2dbc.spi.R2dbcTimeoutException}. Defaults to the connection-wide statement timeout.
+     *
+     * @param timeout the timeout. {@link Duration#ZERO} disables the timeout.
+     * @return this {@link MssqlStatement}.
+     * @throws IllegalArgumentException if {@code timeout} is {@code null} or negative.
+     * @since 0.9
+     */
+    MssqlStatement timeout(Duration timeout);
+
 }
@@ -20,12 +20,15 @@ import io.r2dbc.mssql.util.Assert;
 import reactor.util.annotation.Nullable;
 
 import java.sql.Statement;
+import java.time.Duration;
 
 /**
  * Base class for {@link Statement} implementations.
  * <p>This class considers {@link #returnGeneratedValues(String...)} and {@link #fetchSize(int)} and cursor/direct execution preferences.
  * <p>Cursor/direct execution preference is considered as initial hint. A statement can be forced to be executed directly by setting {@link #fetchSize(int)} to zero. Alternatively, cursored
  * execution can be forced by setting {@link #fetchSize(int)} to a non-zero value.
+ * <p>Cursored execution without a configured {@link #fetchSize(int) fetch size} adapts the number of fetched rows to downstream demand.
+ * <p>The statement {@link #timeout(Duration) timeout} defaults to the connection-wide statement timeout.
  *
  * @author Mark Paluch
  */
@@ -42,8 +45,13 @@ abstract class MssqlStatementSupport implements MssqlStatement {
 
     private int fetchSize = FETCH_UNCONFIGURED;
 
-    MssqlStatementSupport(boolean preferCursoredExecution) {
+    private CursorMode cursorMode = CursorMode.FORWARD_ONLY;
+
+    private Duration timeout;
+
+    MssqlStatementSupport(boolean preferCursoredExecution, Duration timeout) {
         this.preferCursoredExecution = preferCursoredExecution;
+        this.timeout = timeout;
     }
 
     /**
@@ -62,6 +70,34 @@ abstract class MssqlStatementSupport implements MssqlStatement {
         return this.fetchSize == FETCH_UNCONFIGURED ? 0 : this.fetchSize;
     }
 
+    /**
+     * Returns whether the fetch size of cursored execution should adapt to downstream demand. The fetch size is adaptive if cursored execution is preferred and no fetch size was
+     * configured.
+     *
+     * @return {@code true} if the fetch size is adaptive; {@code false} if the {@link #getEffectiveFetchSize() effective fetch size} is used for each fetch.
+     */
+    boolean isAdaptiveFetchSize() {
+        return this.preferCursoredExecution && this.fetchSize == FETCH_UNCONFIGURED;
+    }
+
+    /**
+     * Returns the server cursor options to use for cursored execution.
+     *
+     * @return the cursor mode.
+     */
+    CursorMode getCursorMode() {
+        return this.cursorMode;
+    }
+
+    /**
+     * Returns the statement timeout.
+     *
+     * @return the statement timeout. {@link Duration#ZERO} indicates no timeout.
+     */
+    Duration getTimeout() {
+        return this.timeout;
+    }
+
     @Nullable
     String[] getGeneratedColumns() {
         return generatedColumns;
@@ -85,4 +121,23 @@ abstract class MssqlStatementSupport implements MssqlStatement {
         return this;
     }
 
+    @Override
+    public MssqlStatementSupport cursorMode(CursorMode cursorMode) {
+
+        Assert.requireNonNull(cursorMode, "Cursor mode must not be null");
+
+        this.cursorMode = cursorMode;
+        return this;
+    }
+
+    @Override
+    public MssqlStatementSupport timeout(Duration timeout) {
+
+        Assert.requireNonNull(timeout, "Timeout must not be null");
+        Assert.isTrue(!timeout.isNegative(), "Timeout must not be negative");
+
+        this.timeout = timeout;
+        return this;
+    }
+
 }
@@ -21,7 +21,9 @@ import io.r2dbc.mssql.client.ConnectionContext;
 import io.r2dbc.mssql.codec.Codecs;
 import io.r2dbc.mssql.codec.Encoded;
 import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.codec.TableValuedParameter;
 import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.token.DoneProcToken;
 import io.r2dbc.mssql.util.Assert;
 import io.r2dbc.spi.Clob;
 import io.r2dbc.spi.Statement;
@@ -30,6 +32,7 @@ import reactor.core.publisher.Flux;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -75,11 +78,21 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
 
     private final boolean sendStringParametersAsUnicode;
 
+    private final boolean rpcBatching;
+
+    private final boolean preparedDirectExecution;
+
+    private final boolean cursorPrefetch;
+
+    private final ServerCursors serverCursors;
+
+    private final LazyTransaction lazyTransaction;
+
     private volatile boolean executed = false;
 
     ParametrizedMssqlStatement(Client client, ConnectionOptions connectionOptions, String sql) {
 
-        super(connectionOptions.prefersCursors(sql));
+        super(connectionOptions.prefersCursors(sql), connectionOptions.getStatementTimeout());
 
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(connectionOptions, "ConnectionOptions must not be null");
@@ -91,6 +104,11 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
         this.codecs = connectionOptions.getCodecs();
         this.parsedQuery = this.statementCache.getParsedSql(sql, ParsedQuery::parse);
         this.sendStringParametersAsUnicode = connectionOptions.isSendStringParametersAsUnicode();
+        this.rpcBatching = connectionOptions.isRpcBatching();
+        this.preparedDirectExecution = connectionOptions.isPreparedDirectExecution();
+        this.cursorPrefetch = connectionOptions.isCursorPrefetch();
+        this.serverCursors = connectionOptions.getServerCursors();
+        this.lazyTransaction = connectionOptions.getLazyTransaction();
     }
 
     @Override
@@ -123,9 +141,14 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
 
             if (this.bindings.bindings.size() == 1) {
 
-                Flux<Message> exchange = exchange(effectiveFetchSize, useGeneratedKeysClause, sql, this.bindings.bindings.get(0));
+                RowDemand demand = new RowDemand();
+                Flux<Message> exchange = exchange(effectiveFetchSize, useGeneratedKeysClause, sql, this.bindings.bindings.get(0), demand);
 
-                return Flux.just(MssqlResult.toResult(this.parsedQuery.getSql(), this.context, this.codecs, exchange));
+                return Flux.just(MssqlResult.toResult(this.parsedQuery.getSql(), this.context, this.codecs, exchange, demand));
+            }
+
+            if (effectiveFetchSize == 0 && this.rpcBatching && isBatchable(this.bindings.bindings)) {
+                return executeBatched(useGeneratedKeysClause, sql, this.bindings.bindings);
             }
 
             Iterator<Binding> iterator = this.bindings.bindings.iterator();
@@ -133,18 +156,64 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
             return bindingEmitter.startWith(iterator.next())
                 .map(it -> {
 
-                    Flux<Message> exchange = exchange(effectiveFetchSize, useGeneratedKeysClause, sql, it);
+                    RowDemand demand = new RowDemand();
+                    Flux<Message> exchange = exchange(effectiveFetchSize, useGeneratedKeysClause, sql, it, demand);
 
                     return MssqlResult.toResult(this.parsedQuery.getSql(), this.context, this.codecs, exchange.doOnComplete(() -> {
                         tryNextBinding(iterator, bindingEmitter);
-                    }));
+                    }), demand);
                 })
                 .doOnCancel(() -> clearBindings(iterator))
                 .doOnError(e -> clearBindings(iterator));
         });
     }
 
-    private Flux<Message> exchange(int effectiveFetchSize, boolean useGeneratedKeysClause, String sql, Binding it) {
+    private Flux<MssqlResult> executeBatched(boolean useGeneratedKeysClause, String sql, List<Binding> bindings) {
+
+        if (DEBUG_ENABLED) {
+            LOGGER.debug(this.context.getMessage("Start batched exchange for {} with {} bindings"), sql, bindings.size());
+        }
+
+        Flux<Message> exchange = this.lazyTransaction.flush(this.client).thenMany(RpcQueryMessageFlow.exchange(this.client, sql, bindings, getTimeout()));
+
+        return exchange.windowUntil(DoneProcToken.class::isInstance)
+            .take(bindings.size())
+            .map(it -> {
+
+                Flux<Message> messages = it.filter(message -> !(message instanceof DoneProcToken));
+
+                if (useGeneratedKeysClause) {
+                    messages = messages.transform(GeneratedValues::reduceToSingleCountDoneToken);
+                }
+
+                return MssqlResult.toResult(this.parsedQuery.getSql(), this.context, this.codecs, messages);
+            })
+            .doOnCancel(this.bindings::clear)
+            .doOnError(e -> this.bindings.clear());
+    }
+
+    /**
+     * Check whether {@link Binding bindings} can be sent within a single {@link io.r2dbc.mssql.message.token.RpcBatch}. Batching requires multiple bindings without streamed PLP or table-valued parameters.
+     *
+     * @param bindings the bindings to inspect.
+     * @return {@code true} if the {@code bindings} can be batched.
+     */
+    private static boolean isBatchable(List<Binding> bindings) {
+
+        if (bindings.size() < 2) {
+            return false;
+        }
+
+        for (Binding binding : bindings) {
+            if (binding.hasStreamedValues()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Flux<Message> exchange(int effectiveFetchSize, boolean useGeneratedKeysClause, String sql, Binding it, RowDemand demand) {
         Flux<Message> exchange;
 
         if (effectiveFetchSize > 0) {
@@ -153,16 +222,26 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
                 LOGGER.debug(this.context.getMessage("Start cursored exchange for {} with fetch size {}"), sql, effectiveFetchSize);
             }
 
-            exchange = RpcQueryMessageFlow.exchange(this.statementCache, this.client, this.codecs, sql, it, effectiveFetchSize);
+            exchange = RpcQueryMessageFlow.exchange(this.statementCache, this.client, this.codecs, sql, it, effectiveFetchSize, isAdaptiveFetchSize(), this.cursorPrefetch,
+                getCursorMode(), this.serverCursors, getTimeout(), demand);
+        } else if (this.preparedDirectExecution) {
+
+            if (DEBUG_ENABLED) {
+                LOGGER.debug(this.context.getMessage("Start prepared direct exchange for {}"), sql);
+            }
+
+            exchange = RpcQueryMessageFlow.exchange(this.statementCache, this.client, this.codecs, sql, it, getTimeout());
         } else {
 
             if (DEBUG_ENABLED) {
                 LOGGER.debug(this.context.getMessage("Start direct exchange for {}"), sql);
             }
 
-            exchange = RpcQueryMessageFlow.exchange(this.client, sql, it);
+            exchange = RpcQueryMessageFlow.exchange(this.client, sql, it, getTimeout());
         }
 
+        exchange = this.lazyTransaction.flush(this.client).thenMany(exchange);
+
         if (useGeneratedKeysClause) {
             exchange = exchange.transform(GeneratedValues::reduceToSingleCountDoneToken);
         }
@@ -193,6 +272,20 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
         return this;
     }
 
+    @Override
+    public ParametrizedMssqlStatement cursorMode(CursorMode cursorMode) {
+
+        super.cursorMode(cursorMode);
+        return this;
+    }
+
+    @Override
+    public ParametrizedMssqlStatement timeout(Duration timeout) {
+
+        super.timeout(timeout);
+        return this;
+    }
+
     private static void tryNextBinding(Iterator<Binding> iterator, EmitterProcessor<Binding> boundRequests) {
 
         if (boundRequests.isCancelled()) {
@@ -217,7 +310,7 @@ final class ParametrizedMssqlStatement extends MssqlStatementSupport implements
         Assert.isInstanceOf(String.class, identifier, "identifier must be a String");
 
         RpcParameterContext parameterContext = RpcParameterContext.in();
-        if (value instanceof CharSequence || value instanceof Clob) {
+        if (value instanceof CharSequence || value instanceof Clob || value instanceof TableValuedParameter) {
             parameterContext = RpcParameterContext.in(new RpcParameterContext.CharacterValueContext(this.client.getRequiredCollation(), this.sendStringParametersAsUnicode));
         }
 
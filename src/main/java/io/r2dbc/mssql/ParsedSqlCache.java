@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.r2dbc.mssql.util.Assert;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache for parsed SQL statements. Parsed SQL does not depend on server-side state and can be therefore shared across all connections created by a
+ * {@link MssqlConnectionFactory}.
+ *
+ * @author Mark Paluch
+ * @see PreparedStatementCache
+ */
+class ParsedSqlCache {
+
+    private final Map<String, Object> parsedSql;
+
+    private ParsedSqlCache(Map<String, Object> parsedSql) {
+        this.parsedSql = parsedSql;
+    }
+
+    /**
+     * Creates a new {@link ParsedSqlCache} that retains parsed SQL statements eternally.
+     *
+     * @return the {@link ParsedSqlCache}.
+     */
+    static ParsedSqlCache unbounded() {
+        return new ParsedSqlCache(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Creates a new {@link ParsedSqlCache} that retains up to {@code maxSize} parsed SQL statements and evicts the least recently used ones.
+     *
+     * @param maxSize the maximum number of parsed SQL statements.
+     * @return the {@link ParsedSqlCache}.
+     * @throws IllegalArgumentException if {@code maxSize} is less than one.
+     */
+    static ParsedSqlCache bounded(int maxSize) {
+
+        Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero");
+
+        return new ParsedSqlCache(Collections.synchronizedMap(new LinkedHashMap<String, Object>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > maxSize;
+            }
+        }));
+    }
+
+    /**
+     * Returns the parsed and potentially cached representation of the {@code sql} statement.
+     *
+     * @param sql           query to parse.
+     * @param parseFunction parse function.
+     * @param <T>
+     * @return the parsed SQL representation.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T getParsedSql(String sql, Function<String, T> parseFunction) {
+        return (T) this.parsedSql.computeIfAbsent(sql, parseFunction);
+    }
+
+    int size() {
+        return this.parsedSql.size();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [parsedSql=").append(this.parsedSql);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
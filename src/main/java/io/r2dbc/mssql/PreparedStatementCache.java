@@ -17,6 +17,7 @@
 package io.r2dbc.mssql;
 
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Cache for prepared statements.
@@ -49,6 +50,24 @@ interface PreparedStatementCache {
      */
     void putHandle(int handle, String sql, Binding binding);
 
+    /**
+     * Removes a prepared statement {@code handle} for the given {@code sql} query and the {@link Binding} without releasing it on the server, typically because the server no longer
+     * knows the handle.
+     *
+     * @param sql     the SQL query.
+     * @param binding bound parameters. Parameter types impact the prepared query.
+     * @since 0.9
+     */
+    void removeHandle(String sql, Binding binding);
+
+    /**
+     * Removes all prepared statement handles without releasing them on the server, typically because the server session was reset. Evicted handles that were not yet
+     * {@link #pollEvicted(ObjIntConsumer) polled} are discarded as well.
+     *
+     * @since 0.9
+     */
+    void clear();
+
     /**
      * Returns the parsed and potentially cached representation of the {@code sql} statement.
      *
@@ -59,6 +78,16 @@ interface PreparedStatementCache {
      */
     <T> T getParsedSql(String sql, Function<String, T> parseFunction);
 
+    /**
+     * Removes prepared statement handles that were evicted from this cache and passes them to {@code consumer} so they can be released on the server. Caches that do not evict handles
+     * do not invoke the {@code consumer}.
+     *
+     * @param consumer consumer accepting the SQL query that was used to cache the handle and the evicted handle.
+     * @since 0.9
+     */
+    default void pollEvicted(ObjIntConsumer<String> consumer) {
+    }
+
     /**
      * Returns the number of cached prepared statement handles in this cache.
      *
@@ -66,4 +95,34 @@ interface PreparedStatementCache {
      */
     int size();
 
+    /**
+     * Returns the number of {@link #getHandle(String, Binding) handle lookups} that found a prepared statement handle. Caches that do not track statistics return {@code 0}.
+     *
+     * @return the number of cache hits.
+     * @since 0.9
+     */
+    default long getHitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of {@link #getHandle(String, Binding) handle lookups} that did not find a prepared statement handle. Caches that do not track statistics return {@code 0}.
+     *
+     * @return the number of cache misses.
+     * @since 0.9
+     */
+    default long getMissCount() {
+        return 0;
+    }
+
+    /**
+     * Returns the number of prepared statement handles that were evicted from this cache. Caches that do not evict handles return {@code 0}.
+     *
+     * @return the number of evictions.
+     * @since 0.9
+     */
+    default long getEvictionCount() {
+        return 0;
+    }
+
 }
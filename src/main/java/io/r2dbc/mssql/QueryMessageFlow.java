@@ -25,6 +25,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.SynchronousSink;
 
+import java.time.Duration;
 import java.util.function.BiConsumer;
 
 /**
@@ -45,11 +46,24 @@ final class QueryMessageFlow {
      * @return the messages received in response to this exchange.
      */
     static Flux<Message> exchange(Client client, String query) {
+        return exchange(client, query, Duration.ZERO);
+    }
+
+    /**
+     * Execute a simple query using {@link SqlBatch} with a statement {@code timeout}. Query execution terminates with a {@link DoneToken}.
+     *
+     * @param client  the {@link Client} to exchange messages with.
+     * @param query   the query to execute.
+     * @param timeout the statement timeout. {@link Duration#ZERO} disables the timeout.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Message> exchange(Client client, String query, Duration timeout) {
 
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(query, "Query must not be null");
+        Assert.requireNonNull(timeout, "Timeout must not be null");
 
-        return client.exchange(Mono.fromSupplier(() -> SqlBatch.create(1, client.getTransactionDescriptor(), query)), DoneToken::isDone)
+        return client.exchange(Mono.fromSupplier(() -> SqlBatch.create(1, client.getTransactionDescriptor(), query)), DoneToken::isDone, timeout)
             .doOnSubscribe(ignore -> QueryLogger.logQuery(client.getContext(), query))
             .handle(DoneHandler.INSTANCE);
     }
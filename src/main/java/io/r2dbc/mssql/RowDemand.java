@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the outstanding number of rows requested by the consumer of a {@link MssqlResult}. Demand is taken from the {@link MssqlResult#map(java.util.function.BiFunction) row stream}
+ * instead of the underlying message stream as operators between the message stream and the row consumer (e.g. windowing into results) prefetch messages independently of the number of
+ * rows the consumer actually requested.
+ *
+ * @author Mark Paluch
+ */
+final class RowDemand {
+
+    private final AtomicLong demand = new AtomicLong();
+
+    /**
+     * Register demand for {@code n} rows.
+     *
+     * @param n the number of requested rows.
+     */
+    void request(long n) {
+        this.demand.accumulateAndGet(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+    }
+
+    /**
+     * Register a row that was delivered to the consumer.
+     */
+    void delivered() {
+        this.demand.accumulateAndGet(1, (current, delivered) -> current == Long.MAX_VALUE || current == 0 ? current : current - delivered);
+    }
+
+    /**
+     * Returns the outstanding demand.
+     *
+     * @return the number of requested rows that were not yet delivered. {@link Long#MAX_VALUE} represents unbounded demand.
+     */
+    long get() {
+        return this.demand.get();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [demand=").append(this.demand);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -33,6 +33,7 @@ import io.r2dbc.mssql.message.token.DoneProcToken;
 import io.r2dbc.mssql.message.token.ErrorToken;
 import io.r2dbc.mssql.message.token.ReturnValue;
 import io.r2dbc.mssql.message.token.RowToken;
+import io.r2dbc.mssql.message.token.RpcBatch;
 import io.r2dbc.mssql.message.token.RpcRequest;
 import io.r2dbc.mssql.message.type.Collation;
 import io.r2dbc.mssql.util.Assert;
@@ -48,8 +49,14 @@ import reactor.util.Logger;
 import reactor.util.Loggers;
 
 import javax.annotation.processing.Completion;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import static io.r2dbc.mssql.util.PredicateUtils.or;
 
@@ -73,6 +80,17 @@ final class RpcQueryMessageFlow {
 
     private static final Logger logger = Loggers.getLogger(RpcQueryMessageFlow.class);
 
+    private static final String DIRECT_PREPARED_PREFIX = "direct:";
+
+    // Could not find prepared statement with handle %d.
+    private static final int COULD_NOT_FIND_PREPARED_STATEMENT = 8179;
+
+    // The prepared statement handle %d is not valid in this context.
+    private static final int INVALID_PREPARED_STATEMENT_HANDLE = 586;
+
+    private static final Consumer<ReturnValue> IGNORE_RETURN_VALUES = returnValue -> {
+    };
+
     static final RpcRequest.OptionFlags NO_METADATA = RpcRequest.OptionFlags.empty().disableMetadata();
 
     // Constants for server-cursored result sets.
@@ -109,6 +127,8 @@ final class RpcQueryMessageFlow {
 
     static final int SCROLLOPT_PARAMETERIZED_STMT = 4096;
 
+    static final int SCROLLOPT_AUTO_CLOSE = 16384;
+
     static final int CCOPT_READ_ONLY = 1;
 
     static final int CCOPT_ALLOW_DIRECT = 8192;
@@ -117,20 +137,136 @@ final class RpcQueryMessageFlow {
      * Execute a direct query with parameters.
      *
      * @param client the {@link Client} to exchange messages with.
-     * @param query  the query to execute.
+     * @param query   the query to execute.
+     * @param binding parameter bindings.
+     * @param timeout the statement timeout. {@link Duration#ZERO} disables the timeout.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Message> exchange(Client client, String query, Binding binding, Duration timeout) {
+
+        Assert.requireNonNull(client, "Client must not be null");
+        Assert.requireNonNull(query, "Query must not be null");
+
+        return exchangeDirect(client, query, () -> spExecuteSql(query, binding, client.getRequiredCollation(), client.getTransactionDescriptor()), IGNORE_RETURN_VALUES, timeout);
+    }
+
+    /**
+     * Execute a prepared direct query with parameters. The first execution prepares the statement using {@link RpcRequest#Sp_PrepExec} and caches the prepared statement handle. Subsequent
+     * executions run {@link RpcRequest#Sp_Execute} with the cached handle.
+     *
+     * @param statementCache the {@link PreparedStatementCache} to keep track of prepared statement handles.
+     * @param client         the {@link Client} to exchange messages with.
+     * @param codecs         the codecs to decode {@link ReturnValue}s from RPC calls.
+     * @param query          the query to execute.
+     * @param binding        parameter bindings.
+     * @param timeout        the statement timeout. {@link Duration#ZERO} disables the timeout.
      * @return the messages received in response to this exchange.
+     * @throws IllegalArgumentException when {@link Client} or {@code query} is {@code null}.
      */
-    static Flux<Message> exchange(Client client, String query, Binding binding) {
+    static Flux<Message> exchange(PreparedStatementCache statementCache, Client client, Codecs codecs, String query, Binding binding, Duration timeout) {
 
+        Assert.requireNonNull(statementCache, "PreparedStatementCache must not be null");
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(query, "Query must not be null");
 
+        // sp_prepexec handles cannot be used with sp_cursorexecute (and vice versa), so direct handles use their own cache key.
+        String cacheKey = DIRECT_PREPARED_PREFIX + query;
+        int handle = statementCache.getHandle(cacheKey, binding);
+
+        Supplier<Flux<Message>> prepare = () -> exchangeDirect(client, query, () -> withPendingUnprepare(statementCache, spPrepExec(query, binding, client.getRequiredCollation(),
+            client.getTransactionDescriptor()), client.getTransactionDescriptor()), returnValue -> {
+
+            // prepared statement handle
+            if (returnValue.getOrdinal() == 0) {
+
+                int preparedStatementHandle = codecs.decode(returnValue.getValue(), returnValue.asDecodable(), Integer.class);
+                logger.debug("Prepared statement with handle: {}", preparedStatementHandle);
+                statementCache.putHandle(preparedStatementHandle, cacheKey, binding);
+            }
+        }, timeout);
+
+        if (handle == PreparedStatementCache.UNPREPARED) {
+            return prepare.get();
+        }
+
+        return recoverStaleHandle(statementCache, cacheKey, binding, () -> exchangeDirect(client, query, () -> withPendingUnprepare(statementCache, spExec(handle, binding,
+            client.getTransactionDescriptor()), client.getTransactionDescriptor()), IGNORE_RETURN_VALUES, timeout), prepare);
+    }
+
+    /**
+     * Execute a statement using a cached prepared statement handle and re-prepare the statement if the server no longer knows the handle (e.g. after the session was reset). The stale
+     * handle is removed from the {@link PreparedStatementCache} and the statement is prepared again with the same {@link Binding}. Bindings with streamed values cannot be encoded twice and
+     * propagate the error after removing the stale handle.
+     *
+     * @param statementCache the {@link PreparedStatementCache} to keep track of prepared statement handles.
+     * @param cacheKey       the SQL key used to cache the handle.
+     * @param binding        parameter bindings.
+     * @param execute        supplier for the execution using the cached handle.
+     * @param prepare        supplier for the execution that prepares the statement.
+     * @return the messages received in response to this exchange.
+     */
+    private static Flux<Message> recoverStaleHandle(PreparedStatementCache statementCache, String cacheKey, Binding binding, Supplier<Flux<Message>> execute,
+                                                    Supplier<Flux<Message>> prepare) {
+
+        return Flux.defer(() -> {
+
+            boolean replayable = binding.retainForReplay();
+            AtomicBoolean staleHandle = new AtomicBoolean();
+            AtomicBoolean replayed = new AtomicBoolean();
+
+            return execute.get().filter(message -> {
+
+                if (isStaleHandleError(message)) {
+                    staleHandle.set(true);
+                    return !replayable;
+                }
+
+                return true;
+            }).concatWith(Flux.defer(() -> {
+
+                if (!staleHandle.get()) {
+                    return Flux.empty();
+                }
+
+                logger.debug("Prepared statement handle for {} is no longer valid", cacheKey);
+                statementCache.removeHandle(cacheKey, binding);
+
+                if (!replayable) {
+                    return Flux.empty();
+                }
+
+                replayed.set(true);
+                binding.resetForReplay();
+
+                return prepare.get();
+            })).doFinally(ignore -> {
+
+                if (replayable && !replayed.get()) {
+                    binding.releaseReplay();
+                }
+            });
+        });
+    }
+
+    private static boolean isStaleHandleError(Message message) {
+
+        if (!(message instanceof ErrorToken)) {
+            return false;
+        }
+
+        long number = ((ErrorToken) message).getNumber();
+
+        return number == COULD_NOT_FIND_PREPARED_STATEMENT || number == INVALID_PREPARED_STATEMENT_HANDLE;
+    }
+
+    private static Flux<Message> exchangeDirect(Client client, String query, Supplier<? extends ClientMessage> requestSupplier, Consumer<ReturnValue> returnValueHandler, Duration timeout) {
+
         EmitterProcessor<Message> inbound = EmitterProcessor.create(false);
 
         CursorState state = new CursorState();
         state.directMode = true;
 
-        Flux<Message> exchange = client.exchange(Mono.fromSupplier(() -> spExecuteSql(query, binding, client.getRequiredCollation(), client.getTransactionDescriptor())), DoneProcToken::isDone);
+        Flux<Message> exchange = client.exchange(Mono.fromSupplier(requestSupplier), DoneProcToken::isDone, timeout);
         OnCursorComplete cursorComplete = new OnCursorComplete(inbound, state);
 
         Flux<Message> messages = inbound //
@@ -139,7 +275,12 @@ final class RpcQueryMessageFlow {
                 if (message.getClass() == ReturnValue.class) {
 
                     ReturnValue returnValue = (ReturnValue) message;
-                    returnValue.release();
+
+                    try {
+                        returnValueHandler.accept(returnValue);
+                    } finally {
+                        returnValue.release();
+                    }
                 }
 
                 state.update(message);
@@ -153,19 +294,68 @@ final class RpcQueryMessageFlow {
             QueryLogger.logQuery(client.getContext(), query);
             exchange.doOnSubscribe(cursorComplete::set).subscribe(inbound);
         })
-            .transform(it -> Operators.discardOnCancel(it, state::cancel).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release));
+            .transform(it -> Operators.discardOnCancel(it, () -> {
+
+                state.cancel();
+
+                // interrupt the server-side execution
+                cursorComplete.cancelExchange();
+            }).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release));
+    }
+
+    /**
+     * Execute a direct query for multiple parameter {@link Binding bindings} within a single {@link RpcBatch}. The response to each binding is terminated by a {@link DoneProcToken} which is
+     * emitted to allow splitting the response into results per binding.
+     *
+     * @param client   the {@link Client} to exchange messages with.
+     * @param query    the query to execute.
+     * @param bindings parameter bindings.
+     * @param timeout  the statement timeout. {@link Duration#ZERO} disables the timeout.
+     * @return the messages received in response to this exchange.
+     */
+    static Flux<Message> exchange(Client client, String query, List<Binding> bindings, Duration timeout) {
+
+        Assert.requireNonNull(client, "Client must not be null");
+        Assert.requireNonNull(query, "Query must not be null");
+        Assert.requireNonNull(bindings, "Bindings must not be null");
+
+        return client.exchange(Mono.fromSupplier(() -> spExecuteSqlBatch(query, bindings, client.getRequiredCollation(), client.getTransactionDescriptor())), RpcQueryMessageFlow::isBatchComplete, timeout)
+            .<Message>handle((message, sink) -> {
+
+                if (message.getClass() == ReturnValue.class) {
+
+                    ReturnValue returnValue = (ReturnValue) message;
+                    returnValue.release();
+                    return;
+                }
+
+                if (message instanceof ColumnMetadataToken && !((ColumnMetadataToken) message).hasColumns()) {
+                    return;
+                }
+
+                sink.next(message);
+            })
+            .filter(or(WINDOW_PREDICATE, DoneProcToken.class::isInstance))
+            .doOnSubscribe(ignore -> QueryLogger.logQuery(client.getContext(), query));
     }
 
     /**
      * Execute a cursored query.
      *
-     * @param client    the {@link Client} to exchange messages with.
-     * @param codecs    the codecs to decode {@link ReturnValue}s from RPC calls.
-     * @param query     the query to execute.
-     * @param fetchSize the number of rows to fetch. TODO: Try to determine fetch size from current demand and apply demand function.
+     * @param client            the {@link Client} to exchange messages with.
+     * @param codecs            the codecs to decode {@link ReturnValue}s from RPC calls.
+     * @param query             the query to execute.
+     * @param fetchSize         the number of rows to fetch.
+     * @param adaptiveFetchSize whether to derive the number of rows to fetch from downstream demand and decoded row sizes instead of using {@code fetchSize}.
+     * @param prefetch          whether to request the next window of rows while the current window is consumed.
+     * @param cursorMode        the server cursor options.
+     * @param serverCursors     the open cursors of the connection.
+     * @param timeout           the statement timeout applied to each cursor round trip. {@link Duration#ZERO} disables the timeout.
+     * @param demand            the row demand of the result consumer.
      * @return the messages received in response to this exchange.
      */
-    static Flux<Message> exchange(Client client, Codecs codecs, String query, int fetchSize) {
+    static Flux<Message> exchange(Client client, Codecs codecs, String query, int fetchSize, boolean adaptiveFetchSize, boolean prefetch, CursorMode cursorMode,
+                                 ServerCursors serverCursors, Duration timeout, RowDemand demand) {
 
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(query, "Query must not be null");
@@ -174,9 +364,10 @@ final class RpcQueryMessageFlow {
 
         EmitterProcessor<Message> inbound = EmitterProcessor.create(false);
 
-        CursorState state = new CursorState();
+        CursorState state = new CursorState(adaptiveFetchSize, prefetch, cursorMode == CursorMode.FAST_FORWARD, serverCursors, demand);
 
-        Flux<Message> exchange = client.exchange(Flux.defer(() -> outbound.startWith(spCursorOpen(query, client.getRequiredCollation(), client.getTransactionDescriptor()))), isFinalToken(state));
+        Flux<Message> exchange = client.exchange(Flux.defer(() -> outbound.startWith(spCursorOpen(query, client.getRequiredCollation(), cursorMode, client.getTransactionDescriptor()))), isFinalToken(state), timeout)
+            .doOnNext(message -> onResponse(client, fetchSize, outbound, state, message));
 
         OnCursorComplete cursorComplete = new OnCursorComplete(inbound, state);
 
@@ -189,7 +380,12 @@ final class RpcQueryMessageFlow {
 
                     // cursor Id
                     if (returnValue.getOrdinal() == 0) {
-                        state.cursorId = parseCursorId(codecs, state, returnValue);
+                        state.opened(parseCursorId(codecs, state, returnValue));
+                    }
+
+                    // scrollopt
+                    if (state.autoClose && returnValue.getOrdinal() == 2) {
+                        state.autoCloseAccepted = isAutoCloseAccepted(codecs, returnValue);
                     }
 
                     returnValue.release();
@@ -199,7 +395,8 @@ final class RpcQueryMessageFlow {
 
                 handleMessage(client, fetchSize, outbound, state, message, sink, cursorComplete);
             })
-            .filter(WINDOW_PREDICATE);
+            .filter(WINDOW_PREDICATE)
+            .doFinally(ignore -> closeIfOpen(client, state));
 
         return messages.doOnSubscribe(ignore -> {
             QueryLogger.logQuery(client.getContext(), query);
@@ -211,39 +408,60 @@ final class RpcQueryMessageFlow {
     /**
      * Execute a cursored query with RPC parameters.
      *
-     * @param statementCache the {@link PreparedStatementCache} to keep track of prepared statement handles.
-     * @param client         the {@link Client} to exchange messages with.
-     * @param codecs         the codecs to decode {@link ReturnValue}s from RPC calls.
-     * @param query          the query to execute.
-     * @param binding        parameter bindings.
-     * @param fetchSize      the number of rows to fetch. TODO: Try to determine fetch size from current demand and apply demand function.
+     * @param statementCache    the {@link PreparedStatementCache} to keep track of prepared statement handles.
+     * @param client            the {@link Client} to exchange messages with.
+     * @param codecs            the codecs to decode {@link ReturnValue}s from RPC calls.
+     * @param query             the query to execute.
+     * @param binding           parameter bindings.
+     * @param fetchSize         the number of rows to fetch.
+     * @param adaptiveFetchSize whether to derive the number of rows to fetch from downstream demand and decoded row sizes instead of using {@code fetchSize}.
+     * @param prefetch          whether to request the next window of rows while the current window is consumed.
+     * @param cursorMode        the server cursor options.
+     * @param serverCursors     the open cursors of the connection.
+     * @param timeout           the statement timeout applied to each cursor round trip. {@link Duration#ZERO} disables the timeout.
+     * @param demand            the row demand of the result consumer.
      * @return the messages received in response to this exchange.
      * @throws IllegalArgumentException when {@link Client} or {@code query} is {@code null}.
      */
-    static Flux<Message> exchange(PreparedStatementCache statementCache, Client client, Codecs codecs, String query, Binding binding, int fetchSize) {
+    static Flux<Message> exchange(PreparedStatementCache statementCache, Client client, Codecs codecs, String query, Binding binding, int fetchSize, boolean adaptiveFetchSize,
+                                 boolean prefetch, CursorMode cursorMode, ServerCursors serverCursors, Duration timeout, RowDemand demand) {
 
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(query, "Query must not be null");
 
+        int handle = statementCache.getHandle(query, binding);
+
+        if (handle == PreparedStatementCache.UNPREPARED) {
+            return exchangeCursored(statementCache, client, codecs, query, binding, fetchSize, adaptiveFetchSize, prefetch, cursorMode, serverCursors, timeout, demand, handle);
+        }
+
+        return recoverStaleHandle(statementCache, query, binding, () -> exchangeCursored(statementCache, client, codecs, query, binding, fetchSize, adaptiveFetchSize, prefetch, cursorMode, serverCursors, timeout, demand, handle),
+            () -> exchangeCursored(statementCache, client, codecs, query, binding, fetchSize, adaptiveFetchSize, prefetch, cursorMode, serverCursors, timeout, demand, PreparedStatementCache.UNPREPARED));
+    }
+
+    private static Flux<Message> exchangeCursored(PreparedStatementCache statementCache, Client client, Codecs codecs, String query, Binding binding, int fetchSize,
+                                                  boolean adaptiveFetchSize, boolean prefetch, CursorMode cursorMode, ServerCursors serverCursors,
+                                                  Duration timeout, RowDemand demand, int handle) {
+
         EmitterProcessor<ClientMessage> outbound = EmitterProcessor.create(false);
         EmitterProcessor<Message> inbound = EmitterProcessor.create(false);
-        CursorState state = new CursorState();
-
-        int handle = statementCache.getHandle(query, binding);
+        CursorState state = new CursorState(adaptiveFetchSize, prefetch, cursorMode == CursorMode.FAST_FORWARD, serverCursors, demand);
 
         boolean needsPrepare;
         Flux<ClientMessage> messageProducer;
 
         if (handle == PreparedStatementCache.UNPREPARED) {
-            messageProducer = Flux.defer(() -> outbound.startWith(spCursorPrepExec(PreparedStatementCache.UNPREPARED, query, binding, client.getRequiredCollation(),
-                client.getTransactionDescriptor())));
+            messageProducer = Flux.defer(() -> outbound.startWith(withPendingUnprepare(statementCache, spCursorPrepExec(PreparedStatementCache.UNPREPARED, query, binding,
+                client.getRequiredCollation(), cursorMode, client.getTransactionDescriptor()), client.getTransactionDescriptor())));
             needsPrepare = true;
         } else {
-            messageProducer = Flux.defer(() -> outbound.startWith(spCursorExec(handle, binding, client.getTransactionDescriptor())));
+            messageProducer = Flux.defer(() -> outbound.startWith(withPendingUnprepare(statementCache, spCursorExec(handle, binding, cursorMode, client.getTransactionDescriptor()),
+                client.getTransactionDescriptor())));
             needsPrepare = false;
         }
 
-        Flux<Message> exchange = client.exchange(messageProducer, isFinalToken(state));
+        Flux<Message> exchange = client.exchange(messageProducer, isFinalToken(state), timeout)
+            .doOnNext(message -> onResponse(client, fetchSize, outbound, state, message));
         OnCursorComplete cursorComplete = new OnCursorComplete(inbound, state);
 
         Flux<Message> messages = inbound //
@@ -266,7 +484,12 @@ final class RpcQueryMessageFlow {
 
                     // cursor Id
                     if (returnValue.getOrdinal() == 1) {
-                        state.cursorId = parseCursorId(codecs, state, returnValue);
+                        state.opened(parseCursorId(codecs, state, returnValue));
+                    }
+
+                    // scrollopt
+                    if (state.autoClose && returnValue.getOrdinal() == (needsPrepare ? 4 : 2)) {
+                        state.autoCloseAccepted = isAutoCloseAccepted(codecs, returnValue);
                     }
 
                     returnValue.release();
@@ -276,7 +499,8 @@ final class RpcQueryMessageFlow {
 
                 handleMessage(client, fetchSize, outbound, state, message, sink, cursorComplete);
             })
-            .filter(WINDOW_PREDICATE);
+            .filter(WINDOW_PREDICATE)
+            .doFinally(ignore -> closeIfOpen(client, state));
 
         return messages.doOnSubscribe(ignore -> {
             QueryLogger.logQuery(client.getContext(), query);
@@ -285,6 +509,43 @@ final class RpcQueryMessageFlow {
             .transform(it -> Operators.discardOnCancel(it, state::cancel).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release));
     }
 
+    /**
+     * Append un-prepare calls for prepared statement handles that were evicted from the {@link PreparedStatementCache} to {@code request}. Un-prepare calls are sent within the same
+     * {@link RpcBatch} so releasing evicted handles does not require an additional round trip. Un-prepare calls follow {@code request} so a handle that was evicted concurrently remains
+     * valid for {@code request}. Evicted handles remain in the cache if {@code request} cannot be batched.
+     *
+     * @param statementCache        the {@link PreparedStatementCache} to poll evicted handles from.
+     * @param request               the request to send.
+     * @param transactionDescriptor transaction descriptor.
+     * @return the {@code request} or a {@link RpcBatch} containing {@code request} followed by un-prepare calls.
+     */
+    static ClientMessage withPendingUnprepare(PreparedStatementCache statementCache, RpcRequest request, TransactionDescriptor transactionDescriptor) {
+
+        if (!RpcBatch.supports(request)) {
+            return request;
+        }
+
+        List<RpcRequest> requests = new ArrayList<>();
+        requests.add(request);
+
+        statementCache.pollEvicted((sql, handle) -> {
+
+            if (sql.startsWith(DIRECT_PREPARED_PREFIX)) {
+                requests.add(spUnprepare(handle, transactionDescriptor));
+            } else {
+                requests.add(spCursorUnprepare(handle, transactionDescriptor));
+            }
+        });
+
+        if (requests.size() == 1) {
+            return request;
+        }
+
+        logger.debug("Releasing {} evicted prepared statement handle(s)", requests.size() - 1);
+
+        return RpcBatch.create(requests);
+    }
+
     private static int parseCursorId(Codecs codecs, CursorState state, ReturnValue returnValue) {
 
         Integer cursorId = codecs.decode(returnValue.getValue(), returnValue.asDecodable(), Integer.class);
@@ -292,6 +553,13 @@ final class RpcQueryMessageFlow {
         return cursorId;
     }
 
+    private static boolean isAutoCloseAccepted(Codecs codecs, ReturnValue returnValue) {
+
+        Integer scrollOpt = codecs.decode(returnValue.getValue(), returnValue.asDecodable(), Integer.class);
+        logger.debug("Cursor scroll options: {}", scrollOpt);
+        return scrollOpt != null && (scrollOpt & SCROLLOPT_AUTO_CLOSE) != 0;
+    }
+
     private static void handleMessage(Client client, int fetchSize, EmitterProcessor<ClientMessage> requests, CursorState state, Message message, SynchronousSink<Message> sink,
                                       Runnable onCursorComplete) {
 
@@ -342,8 +610,22 @@ final class RpcQueryMessageFlow {
 
         Phase phase = state.phase;
 
+        if (++state.consumedWindows == state.closedWindow) {
+
+            // the server closed the cursor after fetching the last row
+            state.closed();
+            completion.run();
+
+            state.phase = Phase.CLOSED;
+            return;
+        }
+
         if (isFinalState(state)) {
 
+            if (phase == Phase.CLOSING) {
+                state.closed();
+            }
+
             completion.run();
 
             state.phase = Phase.CLOSED;
@@ -352,14 +634,20 @@ final class RpcQueryMessageFlow {
 
         if (phase == Phase.NONE || phase == Phase.FETCHING) {
 
+            if (state.prefetched.compareAndSet(true, false)) {
+
+                // the next window was already requested while this window was consumed
+                state.hasSeenRows = false;
+                return;
+            }
+
             if (((state.hasMore && phase == Phase.NONE) || state.hasSeenRows) && state.wantsMore()) {
                 if (phase == Phase.NONE) {
                     state.phase = Phase.FETCHING;
                 }
-                requests.onNext(spCursorFetch(state.cursorId, FETCH_NEXT, fetchSize, client.getTransactionDescriptor()));
+                requests.onNext(spCursorFetch(state.cursorId, FETCH_NEXT, state.nextFetchSize(fetchSize), client.getTransactionDescriptor()));
             } else {
                 state.phase = Phase.CLOSING;
-                // TODO: spCursorClose should happen also if a subscriber cancels its subscription.
                 requests.onNext(spCursorClose(state.cursorId, client.getTransactionDescriptor()));
             }
 
@@ -367,6 +655,106 @@ final class RpcQueryMessageFlow {
         }
     }
 
+    /**
+     * Inspect a fetch response as soon as it was received completely, before its rows are consumed.
+     * <p>
+     * A window with less rows than requested indicates the end of the cursor. If the server accepted {@link #SCROLLOPT_AUTO_CLOSE}, then the server has closed the cursor and the window
+     * completes the exchange without an explicit {@code sp_cursorclose}.
+     * <p>
+     * Otherwise, if prefetching is enabled, the next window of rows is requested right away. Prefetching requires a full window and remaining downstream demand. At most one window is
+     * requested ahead so buffered rows remain bounded by the fetch size. {@link #onDone} skips the fetch for a window that has been prefetched.
+     *
+     * @param client    the {@link Client} to obtain the transaction descriptor from.
+     * @param fetchSize the configured fetch size.
+     * @param requests  the outbound request sink.
+     * @param state     the cursor state.
+     * @param message   the message received from the server, before it is consumed.
+     */
+    static void onResponse(Client client, int fetchSize, Processor<ClientMessage, ClientMessage> requests, CursorState state, Message message) {
+
+        if (!state.prefetch && !state.autoClose) {
+            return;
+        }
+
+        if (message instanceof RowToken) {
+            state.windowRows++;
+            return;
+        }
+
+        if (message instanceof ErrorToken) {
+            state.windowFailed = true;
+            return;
+        }
+
+        if (!(message instanceof DoneProcToken) || !DoneProcToken.isDone(message)) {
+            return;
+        }
+
+        int windowRows = state.windowRows;
+        boolean windowFailed = state.windowFailed;
+
+        state.windowRows = 0;
+        state.windowFailed = false;
+        state.receivedWindows++;
+
+        if (state.phase != Phase.FETCHING || windowFailed) {
+            return;
+        }
+
+        if (state.autoCloseAccepted && windowRows < state.fetchSize) {
+            state.closedWindow = state.receivedWindows;
+            return;
+        }
+
+        if (!state.prefetch || !state.wantsMore() || windowRows == 0 || windowRows < state.fetchSize || state.demand.get() == 0) {
+            return;
+        }
+
+        if (state.prefetched.compareAndSet(false, true)) {
+            requests.onNext(spCursorFetch(state.cursorId, FETCH_NEXT, state.nextFetchSize(fetchSize), client.getTransactionDescriptor()));
+        }
+    }
+
+    /**
+     * Close the cursor if the exchange terminated while the cursor was open on the server. This happens if the exchange failed, for example due to an error during fetching or a statement
+     * timeout that interrupted the exchange with an attention signal. Cancelled exchanges drain the current window and close the cursor within the exchange. The cursor is closed with a
+     * separate {@code sp_cursorclose} call that is queued after the terminated exchange.
+     *
+     * @param client the {@link Client} to exchange messages with.
+     * @param state  the cursor state.
+     */
+    static void closeIfOpen(Client client, CursorState state) {
+
+        if (!state.isOpen()) {
+            return;
+        }
+
+        int cursorId = state.cursorId;
+
+        if (!client.isConnected()) {
+            state.closed();
+            return;
+        }
+
+        logger.debug("Closing cursor {} after the exchange terminated", cursorId);
+
+        client.exchange(Mono.fromSupplier(() -> spCursorClose(cursorId, client.getTransactionDescriptor())), DoneProcToken::isDone, Duration.ZERO)
+            .doFinally(ignore -> state.closed())
+            .subscribe(ReferenceCountUtil::release, e -> logger.debug("Cannot close cursor {}", cursorId, e));
+    }
+
+    /**
+     * Check whether the {@link Message} completes a {@link RpcBatch}. Each RPC within the batch is terminated by a {@link DoneProcToken} flagged with {@code DONE_MORE}, so only a
+     * {@link DoneProcToken} without {@code DONE_MORE} terminates the exchange. Statements inside the procedure report {@link io.r2dbc.mssql.message.token.DoneInProcToken} which must not
+     * terminate the exchange.
+     *
+     * @param message the message to inspect.
+     * @return {@literal true} if the {@link Message} is the final {@link DoneProcToken} of the batch.
+     */
+    static boolean isBatchComplete(Message message) {
+        return message instanceof DoneProcToken && ((DoneProcToken) message).isDone();
+    }
+
     private static Predicate<Message> isFinalToken(CursorState state) {
 
         return message -> {
@@ -375,6 +763,11 @@ final class RpcQueryMessageFlow {
                 return false;
             }
 
+            // responses are inspected by onResponse(…) before the exchange tests for the final token
+            if (state.closedWindow != 0 && state.closedWindow == state.receivedWindows) {
+                return true;
+            }
+
             return isFinalState(state);
         };
     }
@@ -426,6 +819,83 @@ final class RpcQueryMessageFlow {
         return builder.build();
     }
 
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_PrepExec} to prepare and execute a {@code query} that returns directly results.
+     *
+     * @param query                 the query to execute.
+     * @param binding               bound parameters
+     * @param collation             the database collation.
+     * @param transactionDescriptor transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_PrepExec}.
+     * @throws IllegalArgumentException when {@code query}, {@link Collation}, or {@link TransactionDescriptor} is {@code null}.
+     */
+    static RpcRequest spPrepExec(String query, Binding binding, Collation collation, TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(query, "Query must not be null");
+        Assert.requireNonNull(collation, "Collation must not be null");
+        Assert.requireNonNull(transactionDescriptor, "TransactionDescriptor must not be null");
+
+        RpcRequest.Builder builder = RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_PrepExec) //
+            .withTransactionDescriptor(transactionDescriptor) //
+            .withParameter(RpcDirection.OUT, PreparedStatementCache.UNPREPARED) // <prepared handle>
+            .withParameter(RpcDirection.IN, collation, binding.getFormalParameters()) // formal parameter defn
+            .withParameter(RpcDirection.IN, collation, query); // statement
+
+        binding.forEach((name, encoded) -> {
+            builder.withNamedParameter(RpcDirection.IN, name, encoded);
+        });
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_Execute} to execute a prepared statement that returns directly results.
+     *
+     * @param preparedStatementHandle handle to a previously prepared statement.
+     * @param binding                 bound parameters
+     * @param transactionDescriptor   transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_Execute}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null} or the handle is {@link PreparedStatementCache#UNPREPARED}.
+     */
+    static RpcRequest spExec(int preparedStatementHandle, Binding binding, TransactionDescriptor transactionDescriptor) {
+
+        Assert.isTrue(preparedStatementHandle != PreparedStatementCache.UNPREPARED, "Invalid PreparedStatement handle");
+        Assert.requireNonNull(transactionDescriptor, "TransactionDescriptor must not be null");
+
+        RpcRequest.Builder builder = RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_Execute) //
+            .withTransactionDescriptor(transactionDescriptor) //
+            .withParameter(RpcDirection.IN, preparedStatementHandle); // <prepared handle>
+
+        binding.forEach((name, encoded) -> {
+            builder.withNamedParameter(RpcDirection.IN, name, encoded);
+        });
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a {@link RpcBatch} containing a {@link RpcRequest} for {@link RpcRequest#Sp_ExecuteSql} for each {@link Binding}.
+     *
+     * @param query                 the query to execute.
+     * @param bindings              bound parameters
+     * @param collation             the database collation.
+     * @param transactionDescriptor transaction descriptor.
+     * @return {@link RpcBatch} for {@link RpcRequest#Sp_ExecuteSql}.
+     * @throws IllegalArgumentException when {@code query}, {@link Collation}, or {@link TransactionDescriptor} is {@code null}.
+     */
+    static RpcBatch spExecuteSqlBatch(String query, List<Binding> bindings, Collation collation, TransactionDescriptor transactionDescriptor) {
+
+        List<RpcRequest> requests = new ArrayList<>(bindings.size());
+
+        for (Binding binding : bindings) {
+            requests.add(spExecuteSql(query, binding, collation, transactionDescriptor));
+        }
+
+        return RpcBatch.create(requests);
+    }
+
     /**
      * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_CursorOpen} to execute a SQL statement that returns a cursor.
      *
@@ -436,12 +906,27 @@ final class RpcQueryMessageFlow {
      * @throws IllegalArgumentException when {@code query}, {@link Collation}, or {@link TransactionDescriptor} is {@code null}.
      */
     static RpcRequest spCursorOpen(String query, Collation collation, TransactionDescriptor transactionDescriptor) {
+        return spCursorOpen(query, collation, CursorMode.FORWARD_ONLY, transactionDescriptor);
+    }
+
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_CursorOpen} to execute a SQL statement that returns a cursor.
+     *
+     * @param query                 the query to execute.
+     * @param collation             the database collation.
+     * @param cursorMode            the server cursor options.
+     * @param transactionDescriptor transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorOpen}.
+     * @throws IllegalArgumentException when {@code query}, {@link Collation}, {@link CursorMode}, or {@link TransactionDescriptor} is {@code null}.
+     */
+    static RpcRequest spCursorOpen(String query, Collation collation, CursorMode cursorMode, TransactionDescriptor transactionDescriptor) {
 
         Assert.requireNonNull(query, "Query must not be null");
         Assert.requireNonNull(collation, "Collation must not be null");
+        Assert.requireNonNull(cursorMode, "CursorMode must not be null");
         Assert.requireNonNull(transactionDescriptor, "TransactionDescriptor must not be null");
 
-        int resultSetScrollOpt = SCROLLOPT_FORWARD_ONLY;
+        int resultSetScrollOpt = getScrollOptions(cursorMode);
         int resultSetCCOpt = CCOPT_READ_ONLY | CCOPT_ALLOW_DIRECT;
 
         return RpcRequest.builder() //
@@ -449,7 +934,7 @@ final class RpcQueryMessageFlow {
             .withTransactionDescriptor(transactionDescriptor) //
             .withParameter(RpcDirection.OUT, 0) // cursor
             .withParameter(RpcDirection.IN, collation, query)
-            .withParameter(RpcDirection.IN, resultSetScrollOpt)  // scrollopt
+            .withParameter(getScrollOptionsDirection(cursorMode), resultSetScrollOpt)  // scrollopt
             .withParameter(RpcDirection.IN, resultSetCCOpt) // ccopt
             .withParameter(RpcDirection.OUT, 0) // rowcount
             .build();
@@ -512,8 +997,24 @@ final class RpcQueryMessageFlow {
      * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorFetch}.
      */
     static RpcRequest spCursorPrepExec(int preparedStatementHandle, String query, Binding binding, Collation collation, TransactionDescriptor transactionDescriptor) {
+        return spCursorPrepExec(preparedStatementHandle, query, binding, collation, CursorMode.FORWARD_ONLY, transactionDescriptor);
+    }
 
-        int resultSetScrollOpt = SCROLLOPT_FORWARD_ONLY | (binding.isEmpty() ? 0 : SCROLLOPT_PARAMETERIZED_STMT);
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_CursorPrepExec} to prepare and execute a statement.
+     *
+     * @param preparedStatementHandle handle to a previously prepared statement. This call un-prepares a previously prepared statement.
+     * @param query                   the query to execute.
+     * @param binding                 bound parameters
+     * @param collation               the database collation.
+     * @param cursorMode              the server cursor options.
+     * @param transactionDescriptor   transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorPrepExec}.
+     */
+    static RpcRequest spCursorPrepExec(int preparedStatementHandle, String query, Binding binding, Collation collation, CursorMode cursorMode,
+                                       TransactionDescriptor transactionDescriptor) {
+
+        int resultSetScrollOpt = getScrollOptions(cursorMode) | (binding.isEmpty() ? 0 : SCROLLOPT_PARAMETERIZED_STMT);
         int resultSetCCOpt = CCOPT_READ_ONLY | CCOPT_ALLOW_DIRECT;
 
         RpcRequest.Builder builder = RpcRequest.builder() //
@@ -527,7 +1028,7 @@ final class RpcQueryMessageFlow {
             .withParameter(RpcDirection.OUT, 0) // cursor
             .withParameter(RpcDirection.IN, collation, binding.getFormalParameters()) // formal parameter defn
             .withParameter(RpcDirection.IN, collation, query) // statement
-            .withParameter(RpcDirection.IN, resultSetScrollOpt) // scrollopt
+            .withParameter(getScrollOptionsDirection(cursorMode), resultSetScrollOpt) // scrollopt
             .withParameter(RpcDirection.IN, resultSetCCOpt) // ccopt
             .withParameter(RpcDirection.OUT, 0);// rowcount
 
@@ -547,10 +1048,23 @@ final class RpcQueryMessageFlow {
      * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorFetch}.
      */
     static RpcRequest spCursorExec(int preparedStatementHandle, Binding binding, TransactionDescriptor transactionDescriptor) {
+        return spCursorExec(preparedStatementHandle, binding, CursorMode.FORWARD_ONLY, transactionDescriptor);
+    }
+
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_CursorExecute} to and execute prepared statement.
+     *
+     * @param preparedStatementHandle handle to a previously prepared statement.
+     * @param binding                 bound parameters
+     * @param cursorMode              the server cursor options.
+     * @param transactionDescriptor   transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorExecute}.
+     */
+    static RpcRequest spCursorExec(int preparedStatementHandle, Binding binding, CursorMode cursorMode, TransactionDescriptor transactionDescriptor) {
 
         Assert.isTrue(preparedStatementHandle != PreparedStatementCache.UNPREPARED, "Invalid PreparedStatement handle");
 
-        int resultSetScrollOpt = SCROLLOPT_FORWARD_ONLY;
+        int resultSetScrollOpt = getScrollOptions(cursorMode);
         int resultSetCCOpt = CCOPT_READ_ONLY | CCOPT_ALLOW_DIRECT;
 
         RpcRequest.Builder builder = RpcRequest.builder() //
@@ -562,7 +1076,7 @@ final class RpcQueryMessageFlow {
             // OUT: The newly prepared handle
             .withParameter(RpcDirection.IN, preparedStatementHandle)
             .withParameter(RpcDirection.OUT, 0) // cursor
-            .withParameter(RpcDirection.IN, resultSetScrollOpt) // scrollopt
+            .withParameter(getScrollOptionsDirection(cursorMode), resultSetScrollOpt) // scrollopt
             .withParameter(RpcDirection.IN, resultSetCCOpt) // ccopt
             .withParameter(RpcDirection.OUT, 0);// rowcount
 
@@ -573,11 +1087,75 @@ final class RpcQueryMessageFlow {
         return builder.build();
     }
 
+    private static int getScrollOptions(CursorMode cursorMode) {
+        return cursorMode == CursorMode.FAST_FORWARD ? SCROLLOPT_FAST_FORWARD | SCROLLOPT_AUTO_CLOSE : SCROLLOPT_FORWARD_ONLY;
+    }
+
+    /**
+     * Scroll options are requested as output parameter for {@link CursorMode#FAST_FORWARD} cursors to determine whether the server accepted {@link #SCROLLOPT_AUTO_CLOSE}.
+     */
+    private static RpcDirection getScrollOptionsDirection(CursorMode cursorMode) {
+        return cursorMode == CursorMode.FAST_FORWARD ? RpcDirection.OUT : RpcDirection.IN;
+    }
+
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_Unprepare} to release a prepared statement that was prepared with {@link RpcRequest#Sp_PrepExec}.
+     *
+     * @param preparedStatementHandle handle to a previously prepared statement.
+     * @param transactionDescriptor   transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_Unprepare}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null}.
+     */
+    static RpcRequest spUnprepare(int preparedStatementHandle, TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(transactionDescriptor, "TransactionDescriptor must not be null");
+
+        return RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_Unprepare) //
+            .withTransactionDescriptor(transactionDescriptor) //
+            .withParameter(RpcDirection.IN, preparedStatementHandle) // <prepared handle>
+            .build();
+    }
+
+    /**
+     * Creates a {@link RpcRequest} for {@link RpcRequest#Sp_CursorUnprepare} to release a prepared statement that was prepared with {@link RpcRequest#Sp_CursorPrepExec}.
+     *
+     * @param preparedStatementHandle handle to a previously prepared statement.
+     * @param transactionDescriptor   transaction descriptor.
+     * @return {@link RpcRequest} for {@link RpcRequest#Sp_CursorUnprepare}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null}.
+     */
+    static RpcRequest spCursorUnprepare(int preparedStatementHandle, TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(transactionDescriptor, "TransactionDescriptor must not be null");
+
+        return RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_CursorUnprepare) //
+            .withTransactionDescriptor(transactionDescriptor) //
+            .withParameter(RpcDirection.IN, preparedStatementHandle) // <prepared handle>
+            .build();
+    }
+
     /**
      * Cursoring state.
      */
     static class CursorState {
 
+        /**
+         * Initial and minimum number of rows to fetch when the fetch size is adaptive.
+         */
+        static final int INITIAL_FETCH_SIZE = 16;
+
+        /**
+         * Maximum number of rows to fetch when the fetch size is adaptive.
+         */
+        static final int MAX_FETCH_SIZE = 8192;
+
+        /**
+         * Number of bytes an adaptive fetch should not exceed based on the average size of decoded rows.
+         */
+        static final long FETCH_BYTE_BUDGET = 1024 * 1024;
+
         volatile int cursorId;
 
         // hasMore flag from the DoneInProc token
@@ -592,7 +1170,86 @@ final class RpcQueryMessageFlow {
 
         volatile boolean cancelRequested;
 
-        Phase phase = Phase.NONE;
+        volatile Phase phase = Phase.NONE;
+
+        // whether to derive the fetch size from downstream demand and decoded row sizes
+        final boolean adaptiveFetchSize;
+
+        // outstanding row demand of the result consumer
+        final RowDemand demand;
+
+        // whether to request the next window while the current window is consumed
+        final boolean prefetch;
+
+        // whether the next window was requested ahead of consumption
+        final AtomicBoolean prefetched = new AtomicBoolean();
+
+        // whether to request AUTO_CLOSE cursors
+        final boolean autoClose;
+
+        // whether the server accepted AUTO_CLOSE
+        volatile boolean autoCloseAccepted;
+
+        // rows and errors of the window currently being received
+        int windowRows;
+
+        boolean windowFailed;
+
+        // number of completed responses received respective consumed
+        int receivedWindows;
+
+        int consumedWindows;
+
+        // response after which the server closed the cursor
+        volatile int closedWindow;
+
+        int fetchSize;
+
+        long rowCount;
+
+        long rowBytes;
+
+        // open cursors of the connection
+        final ServerCursors serverCursors;
+
+        // whether the cursor is open on the server
+        final AtomicBoolean open = new AtomicBoolean();
+
+        CursorState() {
+            this(false, false, false, new ServerCursors());
+        }
+
+        CursorState(boolean adaptiveFetchSize, boolean prefetch, boolean autoClose, ServerCursors serverCursors) {
+            this(adaptiveFetchSize, prefetch, autoClose, serverCursors, new RowDemand());
+        }
+
+        CursorState(boolean adaptiveFetchSize, boolean prefetch, boolean autoClose, ServerCursors serverCursors, RowDemand demand) {
+            this.adaptiveFetchSize = adaptiveFetchSize;
+            this.prefetch = prefetch;
+            this.autoClose = autoClose;
+            this.serverCursors = serverCursors;
+            this.demand = demand;
+        }
+
+        void opened(int cursorId) {
+
+            this.cursorId = cursorId;
+
+            if (cursorId != 0 && this.open.compareAndSet(false, true)) {
+                this.serverCursors.opened();
+            }
+        }
+
+        void closed() {
+
+            if (this.open.compareAndSet(true, false)) {
+                this.serverCursors.closed();
+            }
+        }
+
+        boolean isOpen() {
+            return this.open.get();
+        }
 
         boolean wantsMore() {
             return !this.cancelRequested;
@@ -602,9 +1259,52 @@ final class RpcQueryMessageFlow {
             this.cancelRequested = true;
         }
 
+        /**
+         * Determine the number of rows to fetch with the next {@literal sp_cursorfetch} call. A fixed fetch size is used as-is. An adaptive fetch size starts with
+         * {@link #INITIAL_FETCH_SIZE} and doubles as long as the outstanding demand covers the previous fetch. Smaller demand shrinks the fetch size to the outstanding demand. The
+         * fetch size is capped by {@link #MAX_FETCH_SIZE} and by the number of rows that fit into {@link #FETCH_BYTE_BUDGET} using the average size of decoded rows.
+         *
+         * @param fetchSize the configured fetch size.
+         * @return the number of rows to fetch.
+         */
+        int nextFetchSize(int fetchSize) {
+
+            if (!this.adaptiveFetchSize) {
+                this.fetchSize = fetchSize;
+                return fetchSize;
+            }
+
+            long demand = this.demand.get();
+            int next;
+
+            if (this.fetchSize == 0) {
+                next = INITIAL_FETCH_SIZE;
+            } else if (demand >= this.fetchSize) {
+                next = this.fetchSize * 2;
+            } else {
+                next = (int) Math.max(INITIAL_FETCH_SIZE, demand);
+            }
+
+            next = Math.min(next, MAX_FETCH_SIZE);
+
+            if (this.rowCount > 0 && this.rowBytes > 0) {
+
+                long averageRowSize = Math.max(1, this.rowBytes / this.rowCount);
+                next = (int) Math.max(INITIAL_FETCH_SIZE, Math.min(next, FETCH_BYTE_BUDGET / averageRowSize));
+            }
+
+            this.fetchSize = next;
+            return next;
+        }
+
         void update(Message it) {
             if (it instanceof RowToken) {
                 this.hasSeenRows = true;
+
+                if (this.adaptiveFetchSize) {
+                    this.rowCount++;
+                    this.rowBytes += ((RowToken) it).getLength();
+                }
             }
 
             if (it instanceof ErrorToken) {
@@ -646,6 +1346,13 @@ final class RpcQueryMessageFlow {
         public void run() {
 
             this.downstream.onComplete();
+            cancelExchange();
+        }
+
+        /**
+         * Cancel the underlying exchange subscription, if subscribed.
+         */
+        void cancelExchange() {
 
             Subscription subscription = get();
 
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the number of server-side cursors that are open on a connection. Open cursors hold server resources (e.g. worktables in {@literal tempdb}) until they are closed or the session
+ * ends.
+ *
+ * @author Mark Paluch
+ */
+final class ServerCursors {
+
+    private final AtomicInteger open = new AtomicInteger();
+
+    /**
+     * Register a cursor that was opened on the server.
+     */
+    void opened() {
+        this.open.incrementAndGet();
+    }
+
+    /**
+     * Register a cursor that was closed on the server.
+     */
+    void closed() {
+
+        // cursors that were open when the session was reset may report their close afterwards
+        this.open.getAndUpdate(count -> Math.max(0, count - 1));
+    }
+
+    /**
+     * Discard all open cursors. Used when the session is reset as resetting the session closes all cursors on the server.
+     */
+    void reset() {
+        this.open.set(0);
+    }
+
+    /**
+     * Returns the number of cursors that are open on the server.
+     *
+     * @return the number of open cursors.
+     */
+    int getOpenCursorCount() {
+        return this.open.get();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [open=").append(this.open);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
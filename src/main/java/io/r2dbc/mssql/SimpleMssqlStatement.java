@@ -16,8 +16,6 @@
 
 package io.r2dbc.mssql;
 
-import io.netty.util.ReferenceCountUtil;
-import io.netty.util.ReferenceCounted;
 import io.r2dbc.mssql.client.Client;
 import io.r2dbc.mssql.client.ConnectionContext;
 import io.r2dbc.mssql.codec.Codecs;
@@ -26,12 +24,12 @@ import io.r2dbc.mssql.message.token.AbstractDoneToken;
 import io.r2dbc.mssql.message.token.DoneInProcToken;
 import io.r2dbc.mssql.message.token.SqlBatch;
 import io.r2dbc.mssql.util.Assert;
-import io.r2dbc.mssql.util.Operators;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.util.Logger;
 import reactor.util.Loggers;
 
+import java.time.Duration;
 import java.util.Locale;
 import java.util.function.Predicate;
 
@@ -52,6 +50,12 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
 
     private final String sql;
 
+    private final boolean cursorPrefetch;
+
+    private final ServerCursors serverCursors;
+
+    private final LazyTransaction lazyTransaction;
+
     /**
      * Creates a new {@link SimpleMssqlStatement}.
      *
@@ -62,7 +66,7 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
      */
     SimpleMssqlStatement(Client client, ConnectionOptions connectionOptions, String sql) {
 
-        super(connectionOptions.prefersCursors(sql) || prefersCursors(sql));
+        super(connectionOptions.prefersCursors(sql) || prefersCursors(sql), connectionOptions.getStatementTimeout());
 
         Assert.requireNonNull(client, "Client must not be null");
         Assert.requireNonNull(connectionOptions, "ConnectionOptions must not be null");
@@ -74,6 +78,9 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
         this.context = client.getContext();
         this.codecs = connectionOptions.getCodecs();
         this.sql = sql;
+        this.cursorPrefetch = connectionOptions.isCursorPrefetch();
+        this.serverCursors = connectionOptions.getServerCursors();
+        this.lazyTransaction = connectionOptions.getLazyTransaction();
     }
 
     @Override
@@ -116,6 +123,7 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
             String sql = useGeneratedKeysClause ? GeneratedValues.augmentQuery(this.sql, getGeneratedColumns()) : this.sql;
 
             Flux<Message> exchange;
+            RowDemand demand = new RowDemand();
 
             if (effectiveFetchSize > 0) {
 
@@ -123,29 +131,37 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
                     logger.debug(this.context.getMessage("Start cursored exchange for {} with fetch size {}"), sql, effectiveFetchSize);
                 }
 
-                exchange = RpcQueryMessageFlow.exchange(this.client, this.codecs, this.sql, effectiveFetchSize);
+                exchange = this.lazyTransaction.flush(this.client)
+                    .thenMany(RpcQueryMessageFlow.exchange(this.client, this.codecs, this.sql, effectiveFetchSize, isAdaptiveFetchSize(), this.cursorPrefetch, getCursorMode(),
+                        this.serverCursors, getTimeout(), demand));
 
-                return createResultStream(useGeneratedKeysClause, exchange, DoneInProcToken.class::isInstance);
+                return createResultStream(useGeneratedKeysClause, exchange, DoneInProcToken.class::isInstance, demand);
             } else {
 
                 if (logger.isDebugEnabled()) {
                     logger.debug(this.context.getMessage("Start direct exchange for {}"), sql);
                 }
 
-                exchange = QueryMessageFlow.exchange(this.client, sql).transform(Operators::discardOnCancel).doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release);
+                LazyTransaction.Prologue prologue = this.lazyTransaction.poll();
+
+                if (prologue != null) {
+                    exchange = QueryMessageFlow.exchange(this.client, prologue.prependTo(sql), getTimeout()).transform(prologue::skipPrologue);
+                } else {
+                    exchange = QueryMessageFlow.exchange(this.client, sql, getTimeout());
+                }
 
-                return createResultStream(useGeneratedKeysClause, exchange, AbstractDoneToken.class::isInstance);
+                return createResultStream(useGeneratedKeysClause, exchange, AbstractDoneToken.class::isInstance, demand);
             }
         });
     }
 
-    private Publisher<MssqlResult> createResultStream(boolean useGeneratedKeysClause, Flux<Message> exchange, Predicate<Message> windowUntil) {
+    private Publisher<MssqlResult> createResultStream(boolean useGeneratedKeysClause, Flux<Message> exchange, Predicate<Message> windowUntil, RowDemand demand) {
         if (useGeneratedKeysClause) {
             exchange = exchange.transform(GeneratedValues::reduceToSingleCountDoneToken);
         }
 
         return exchange.windowUntil(windowUntil) //
-            .map(it -> MssqlResult.toResult(this.sql, this.context, this.codecs, it));
+            .map(it -> MssqlResult.toResult(this.sql, this.context, this.codecs, it, demand));
     }
 
     @Override
@@ -162,6 +178,20 @@ final class SimpleMssqlStatement extends MssqlStatementSupport implements MssqlS
         return this;
     }
 
+    @Override
+    public SimpleMssqlStatement cursorMode(CursorMode cursorMode) {
+
+        super.cursorMode(cursorMode);
+        return this;
+    }
+
+    @Override
+    public SimpleMssqlStatement timeout(Duration timeout) {
+
+        super.timeout(timeout);
+        return this;
+    }
+
     /**
      * Returns {@code true} if the query is supported by this {@link MssqlStatement}. Cursored execution is supported for {@literal SELECT} queries.
      *
@@ -27,6 +27,7 @@ import org.reactivestreams.Subscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -47,13 +48,32 @@ public interface Client {
 
     /**
      * Perform an exchange of messages. Calling this method while a previous exchange is active will return a deferred handle and queue the request until the previous exchange terminates.
+     * Cancelling an active exchange sends an attention signal to the server and discards remaining response messages until the server acknowledges the attention. Cancelling a queued exchange
+     * prevents its requests from being sent.
      *
      * @param requests  the publisher of outbound messages
      * @param takeUntil {@link Predicate} determining the last response frame to {@link Subscriber#onComplete() complete} the stream and prevent multiple subscribers from consuming
      *                  previous, active response streams. Note that the last frame that matches {@code takeUntil} is emitted through the resulting {@link Flux}.
      * @return a {@link Flux} of incoming messages that ends with the end of the frame.
      */
-    Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil);
+    default Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil) {
+        return exchange(requests, takeUntil, Duration.ZERO);
+    }
+
+    /**
+     * Perform an exchange of messages with a response {@code timeout}. The timeout applies to each request sent within the exchange and expires if the server does not complete its response
+     * within the timeout. Expired exchanges send an attention signal to the server, discard remaining response messages until the server acknowledges the attention, and terminate with a
+     * {@link io.r2dbc.spi.R2dbcTimeoutException}.
+     *
+     * @param requests  the publisher of outbound messages
+     * @param takeUntil {@link Predicate} determining the last response frame to {@link Subscriber#onComplete() complete} the stream and prevent multiple subscribers from consuming
+     *                  previous, active response streams. Note that the last frame that matches {@code takeUntil} is emitted through the resulting {@link Flux}.
+     * @param timeout   the response timeout. {@link Duration#ZERO} disables the timeout.
+     * @return a {@link Flux} of incoming messages that ends with the end of the frame.
+     * @see #exchange(Publisher, Predicate)
+     * @since 0.9
+     */
+    Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil, Duration timeout);
 
     /**
      * Returns the {@link ByteBufAllocator}.
@@ -120,6 +140,16 @@ public interface Client {
      */
     boolean isColumnEncryptionSupported();
 
+    /**
+     * Returns whether PLP values in the last column of a row are streamed as they are received instead of being aggregated before emitting the row.
+     *
+     * @return {@code true} if LOB streaming is enabled.
+     * @since 0.9
+     */
+    default boolean isLobStreaming() {
+        return false;
+    }
+
     /**
      * Returns whether the client is connected to a server.
      *
@@ -127,4 +157,12 @@ public interface Client {
      */
     boolean isConnected();
 
+    /**
+     * Request a session reset with the next request sent to the server. The server resets the session state (temporary tables, {@literal SET} options, open transactions) before executing
+     * the next request so resetting the session does not require an additional round trip. The local transaction state is reset immediately.
+     *
+     * @since 0.9
+     */
+    void resetSession();
+
 }
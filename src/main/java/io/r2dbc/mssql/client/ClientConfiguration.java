@@ -60,6 +60,38 @@ public interface ClientConfiguration extends SslConfiguration {
      */
     ConnectionProvider getConnectionProvider();
 
+    /**
+     * @return whether to reassemble inbound TDS packets using composite buffers and retained slices instead of copying inbound data.
+     * @since 0.9
+     */
+    default boolean isZeroCopyDecoding() {
+        return false;
+    }
+
+    /**
+     * @return whether to stream PLP values in the last column of a row as they are received instead of aggregating these before emitting the row.
+     * @since 0.9
+     */
+    default boolean isLobStreaming() {
+        return false;
+    }
+
+    /**
+     * @return number of decoded but not yet consumed messages at which reading from the transport is suspended.
+     * @since 0.9
+     */
+    default int getResponseBufferHighWatermark() {
+        return 256;
+    }
+
+    /**
+     * @return number of decoded but not yet consumed messages at which reading from the transport is resumed.
+     * @since 0.9
+     */
+    default int getResponseBufferLowWatermark() {
+        return 64;
+    }
+
     /**
      * @return the SSL tunnel configuration.
      * @since 0.8.5
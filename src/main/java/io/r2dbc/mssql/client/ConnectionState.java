@@ -189,7 +189,7 @@ public enum ConnectionState {
         @Override
         MessageDecoder decoder(Client client) {
 
-            Tabular.TabularDecoder decoder = Tabular.createDecoder(client.isColumnEncryptionSupported());
+            Tabular.TabularDecoder decoder = Tabular.createDecoder(client.isColumnEncryptionSupported(), client.isLobStreaming());
 
             return new MessageDecoder() {
 
@@ -205,6 +205,11 @@ public enum ConnectionState {
                 public boolean decode(Header header, ByteBuf buffer, SynchronousSink<Message> sink) {
                     return decoder.decode(buffer, sink);
                 }
+
+                @Override
+                public void dispose() {
+                    decoder.dispose();
+                }
             };
         }
     },
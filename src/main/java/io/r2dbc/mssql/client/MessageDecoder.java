@@ -33,7 +33,8 @@ import java.util.function.BiFunction;
 interface MessageDecoder extends BiFunction<Header, ByteBuf, List<? extends Message>> {
 
     /**
-     * Apply the decoder function {@link #decode(Header, ByteBuf, SynchronousSink)} and notify {@link SynchronousSink} about every decoded {@link Message}.
+     * Apply the decoder function {@link #decode(Header, ByteBuf, SynchronousSink)} and notify {@link SynchronousSink} about every decoded {@link Message}. Implementations are responsible for
+     * leaving the buffer reader index at the position up to which data was consumed. Resumable decoders may consume data without emitting a {@link Message}.
      *
      * @param header
      * @param buffer
@@ -42,9 +43,11 @@ interface MessageDecoder extends BiFunction<Header, ByteBuf, List<? extends Mess
      */
     default boolean decode(Header header, ByteBuf buffer, SynchronousSink<Message> sink) {
 
+        int readerIndex = buffer.readerIndex();
         List<? extends Message> messages = apply(header, buffer);
 
         if (messages.isEmpty()) {
+            buffer.readerIndex(readerIndex);
             return false;
         }
 
@@ -52,4 +55,10 @@ interface MessageDecoder extends BiFunction<Header, ByteBuf, List<? extends Mess
         return true;
     }
 
+    /**
+     * Release decoder state, such as partially decoded messages that retain data buffers. Called when the connection is closed or failed.
+     */
+    default void dispose() {
+    }
+
 }
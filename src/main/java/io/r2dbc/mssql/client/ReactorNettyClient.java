@@ -20,12 +20,16 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.r2dbc.mssql.client.ssl.SslConfiguration;
@@ -36,14 +40,22 @@ import io.r2dbc.mssql.message.TransactionDescriptor;
 import io.r2dbc.mssql.message.header.PacketIdProvider;
 import io.r2dbc.mssql.message.tds.ProtocolException;
 import io.r2dbc.mssql.message.tds.Redirect;
+import io.r2dbc.mssql.message.token.AbstractDoneToken;
 import io.r2dbc.mssql.message.token.AbstractInfoToken;
+import io.r2dbc.mssql.message.token.Attention;
+import io.r2dbc.mssql.message.token.DoneProcToken;
+import io.r2dbc.mssql.message.token.DoneToken;
 import io.r2dbc.mssql.message.token.EnvChangeToken;
 import io.r2dbc.mssql.message.token.FeatureExtAckToken;
 import io.r2dbc.mssql.message.token.LoginAckToken;
+import io.r2dbc.mssql.message.token.PlpStream;
+import io.r2dbc.mssql.message.token.RowToken;
 import io.r2dbc.mssql.message.type.Collation;
 import io.r2dbc.mssql.util.Assert;
+import io.r2dbc.mssql.util.Operators;
 import io.r2dbc.spi.R2dbcException;
 import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import reactor.core.CoreSubscriber;
@@ -54,6 +66,7 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.SynchronousSink;
 import reactor.netty.Connection;
+import reactor.netty.NettyOutbound;
 import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.SslProvider;
 import reactor.netty.tcp.TcpClient;
@@ -68,6 +81,8 @@ import java.time.Duration;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.function.Consumer;
@@ -120,7 +135,12 @@ public final class ReactorNettyClient implements Client {
 
     private final FluxSink<ClientMessage> requests = this.requestProcessor.sink();
 
-    private final EmitterProcessor<Message> responseProcessor = EmitterProcessor.create(false);
+    // Unbounded to not overflow if a single transport buffer decodes into more messages than the watermarks allow. Buffering is bounded by suspending reads.
+    private final EmitterProcessor<Message> responseProcessor = EmitterProcessor.create(Integer.MAX_VALUE, false);
+
+    private final AtomicBoolean autoReadUpdateScheduled = new AtomicBoolean();
+
+    private final AtomicBoolean resetSession = new AtomicBoolean();
 
     private final TransactionListener transactionListener = new TransactionListener();
 
@@ -130,6 +150,12 @@ public final class ReactorNettyClient implements Client {
 
     private final RequestQueue requestQueue;
 
+    private final boolean lobStreaming;
+
+    private final int responseBufferHighWatermark;
+
+    private final int responseBufferLowWatermark;
+
     // May change during initialization. Values remain the same after connection initialization.
 
     private ConnectionState state = ConnectionState.PRELOGIN;
@@ -150,18 +176,27 @@ public final class ReactorNettyClient implements Client {
 
     private volatile TransactionStatus transactionStatus = TransactionStatus.AUTO_COMMIT;
 
+    // Streamed PLP value of the most recent row. Reading from the transport is suspended while the stream is backpressured.
+
+    @Nullable
+    private volatile PlpStream activePlpStream;
+
+    private volatile boolean responseBufferSaturated;
+
     /**
      * Creates a new frame processor connected to a given TCP connection.
      *
      * @param connection        the TCP connection
+     * @param tdsEncoder        the TDS encoder
      * @param connectionContext the connection context
+     * @param configuration     the client configuration
      */
-    private ReactorNettyClient(Connection connection, TdsEncoder tdsEncoder, ConnectionContext connectionContext) {
+    ReactorNettyClient(Connection connection, TdsEncoder tdsEncoder, ConnectionContext connectionContext, ClientConfiguration configuration) {
         Assert.requireNonNull(connection, "Connection must not be null");
 
         this.context = connectionContext;
 
-        StreamDecoder decoder = new StreamDecoder();
+        StreamDecoder decoder = new StreamDecoder(configuration.isZeroCopyDecoding());
 
         this.handleEnvChange = (token) -> {
 
@@ -181,6 +216,9 @@ public final class ReactorNettyClient implements Client {
         this.connection = connection;
         this.tdsEncoder = tdsEncoder;
         this.requestQueue = new RequestQueue(this.context);
+        this.lobStreaming = configuration.isLobStreaming();
+        this.responseBufferHighWatermark = configuration.getResponseBufferHighWatermark();
+        this.responseBufferLowWatermark = configuration.getResponseBufferLowWatermark();
 
         Consumer<Message> handleStateChange =
             (message) -> {
@@ -241,6 +279,10 @@ public final class ReactorNettyClient implements Client {
                     ReactorNettyClient.this.featureAckChange.accept((FeatureExtAckToken) message);
                 }
 
+                if (message instanceof RowToken && ((RowToken) message).getPlpStream() != null) {
+                    ReactorNettyClient.this.registerPlpStream(((RowToken) message).getPlpStream());
+                }
+
                 ReactorNettyClient.this.responseProcessor.onNext(message);
             }
         };
@@ -252,6 +294,7 @@ public final class ReactorNettyClient implements Client {
 
                     ByteBuf buffer = (ByteBuf) it;
                     decoder.decode(buffer, this.decodeFunction, sink);
+                    updateAutoRead();
                     return;
                 }
 
@@ -281,11 +324,13 @@ public final class ReactorNettyClient implements Client {
 
                 @Override
                 public void onError(Throwable t) {
+                    ReactorNettyClient.this.decodeFunction.dispose();
                     sink.error(t);
                 }
 
                 @Override
                 public void onComplete() {
+                    ReactorNettyClient.this.decodeFunction.dispose();
                     handleClose();
                 }
             });
@@ -299,12 +344,17 @@ public final class ReactorNettyClient implements Client {
                     }
 
                     Object encoded = message.encode(connection.outbound().alloc(), this.tdsEncoder.getPacketSize());
+                    NettyOutbound outbound = connection.outbound();
+
+                    if (this.resetSession.compareAndSet(true, false)) {
+                        outbound = outbound.sendObject(TdsEncoder.ResetConnection.INSTANCE);
+                    }
 
                     if (encoded instanceof Publisher) {
-                        return connection.outbound().sendObject((Publisher) encoded);
+                        return outbound.sendObject((Publisher) encoded);
                     }
 
-                    return connection.outbound().sendObject(encoded);
+                    return outbound.sendObject(encoded);
                 })
             .onErrorResume(this::resumeError)
             .doAfterTerminate(this::handleClose)
@@ -462,7 +512,7 @@ public final class ReactorNettyClient implements Client {
                 }
             });
 
-        return connection.map(it -> new ReactorNettyClient(it, tdsEncoder, connectionContext.withChannelId(it.channel().toString())));
+        return connection.map(it -> new ReactorNettyClient(it, tdsEncoder, connectionContext.withChannelId(it.channel().toString()), configuration));
     }
 
     private static SslHandler createSslTunnelHandler(ByteBufAllocator allocator, SslConfiguration tunnel) throws GeneralSecurityException {
@@ -527,6 +577,11 @@ public final class ReactorNettyClient implements Client {
         return this.encryptionSupported;
     }
 
+    @Override
+    public boolean isLobStreaming() {
+        return this.lobStreaming;
+    }
+
     @Override
     public boolean isConnected() {
 
@@ -543,10 +598,23 @@ public final class ReactorNettyClient implements Client {
     }
 
     @Override
-    public Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil) {
+    public void resetSession() {
+
+        if (DEBUG_ENABLED) {
+            logger.debug(this.context.getMessage("Session reset requested"));
+        }
+
+        this.transactionStatus = TransactionStatus.AUTO_COMMIT;
+        this.transactionDescriptor = TransactionDescriptor.empty();
+        this.resetSession.set(true);
+    }
+
+    @Override
+    public Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil, Duration timeout) {
 
         Assert.requireNonNull(takeUntil, "takeUntil must not be null");
         Assert.requireNonNull(requests, "Requests must not be null");
+        Assert.requireNonNull(timeout, "Timeout must not be null");
 
         if (DEBUG_ENABLED) {
             logger.debug(this.context.getMessage("exchange()"));
@@ -565,6 +633,7 @@ public final class ReactorNettyClient implements Client {
             }
 
             Flux<Message> requestMessages = this.responseProcessor
+                .doOnNext(it -> onResponseConsumed())
                 .doOnSubscribe(s -> {
                     Flux.from(requests).subscribe(t -> {
 
@@ -574,6 +643,10 @@ public final class ReactorNettyClient implements Client {
                         }
 
                         this.requests.next(t);
+
+                        if (!timeout.isZero()) {
+                            scheduleTimeout(exchangeRequest, timeout);
+                        }
                     }, this.requests::error, () -> {
 
                         if (!isConnected()) {
@@ -590,20 +663,169 @@ public final class ReactorNettyClient implements Client {
 
         }).flatMapMany(Function.identity()).handle((message, sink) -> {
 
-            sink.next(message);
+            if (exchangeRequest.isAttentionRequested()) {
+
+                ReferenceCountUtil.release(message);
+
+                if (AbstractDoneToken.isAttentionAck(message)) {
+
+                    if (DEBUG_ENABLED) {
+                        logger.debug(this.context.getMessage("Attention acknowledged"));
+                    }
+
+                    exchangeRequest.acknowledgeAttention();
+
+                    if (exchangeRequest.timedOut) {
+                        sink.error(new MssqlStatementTimeoutException(String.format("Statement did not complete within %d ms", timeout.toMillis())));
+                    } else {
+                        sink.complete();
+                    }
+                }
+
+                return;
+            }
+
+            if (isResponseComplete(message)) {
+                exchangeRequest.cancelTimeout();
+            }
+
+            exchangeRequest.emitting = true;
+            try {
+                sink.next(message);
+            } finally {
+                exchangeRequest.emitting = false;
+            }
 
             if (takeUntil.test(message)) {
-                exchangeRequest.complete();
-                sink.complete();
+
+                // an attention sent concurrently requires draining until its acknowledgement
+                if (exchangeRequest.complete()) {
+                    sink.complete();
+                }
+
+                return;
+            }
+
+            if (exchangeRequest.isCancelled()) {
+                sendAttention(exchangeRequest);
             }
         });
 
-        return handle.doAfterTerminate(this.requestQueue).doOnCancel(() -> {
+        return handle.doFinally(it -> exchangeRequest.cancelTimeout()).doAfterTerminate(this.requestQueue)
+            .transform(it -> Operators.discardOnCancel(it, () -> {
+
+                if (exchangeRequest.cancel() && !exchangeRequest.emitting) {
+                    sendAttention(exchangeRequest);
+                }
+            }))
+            .doOnDiscard(ReferenceCounted.class, ReferenceCountUtil::release);
+    }
+
+    private void scheduleTimeout(ExchangeRequest exchangeRequest, Duration timeout) {
+
+        if (exchangeRequest.timeoutTask != null) {
+            return;
+        }
+
+        exchangeRequest.timeoutTask = this.connection.channel().eventLoop().schedule(() -> {
 
-            if (!exchangeRequest.isComplete()) {
-                logger.error("Exchange cancelled while exchange is active. This is likely a bug leading to unpredictable outcome.");
+            if (!exchangeRequest.cancel()) {
+                return;
             }
-        });
+
+            if (DEBUG_ENABLED) {
+                logger.debug(this.context.getMessage("Exchange timed out after {} ms"), timeout.toMillis());
+            }
+
+            exchangeRequest.timedOut = true;
+
+            if (!exchangeRequest.emitting) {
+                sendAttention(exchangeRequest);
+            }
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Check whether the {@link Message} completes the response to a single request.
+     *
+     * @param message the message to inspect.
+     * @return {@code true} if the {@link Message} is a final {@link DoneToken} or {@link DoneProcToken}.
+     */
+    private static boolean isResponseComplete(Message message) {
+
+        if (message instanceof DoneToken || message instanceof DoneProcToken) {
+            return ((AbstractDoneToken) message).isDone();
+        }
+
+        return false;
+    }
+
+    private void sendAttention(ExchangeRequest exchangeRequest) {
+
+        if (!exchangeRequest.requestAttention()) {
+            return;
+        }
+
+        if (DEBUG_ENABLED) {
+            logger.debug(this.context.getMessage("Exchange cancelled while exchange is active. Sending attention signal"));
+        }
+
+        if (isConnected()) {
+            this.requests.next(Attention.create());
+        }
+    }
+
+    private void registerPlpStream(PlpStream plpStream) {
+
+        this.activePlpStream = plpStream;
+        plpStream.setBackpressureListener(this::scheduleAutoReadUpdate);
+    }
+
+    private void onResponseConsumed() {
+
+        if (this.responseBufferSaturated && this.responseProcessor.getPending() <= this.responseBufferLowWatermark) {
+            scheduleAutoReadUpdate();
+        }
+    }
+
+    private void scheduleAutoReadUpdate() {
+
+        if (!this.autoReadUpdateScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        EventLoop eventLoop = this.connection.channel().eventLoop();
+
+        if (eventLoop.inEventLoop()) {
+            updateAutoRead();
+        } else {
+            eventLoop.execute(this::updateAutoRead);
+        }
+    }
+
+    /**
+     * Suspend reading from the transport if the response buffer reached its high watermark or the active {@link PlpStream} is backpressured. Resume reading once the response buffer drained to its
+     * low watermark and the active {@link PlpStream} has demand. Must be called on the event loop.
+     */
+    private void updateAutoRead() {
+
+        this.autoReadUpdateScheduled.set(false);
+
+        int pending = this.responseProcessor.getPending();
+
+        if (pending >= this.responseBufferHighWatermark) {
+            this.responseBufferSaturated = true;
+        } else if (pending <= this.responseBufferLowWatermark) {
+            this.responseBufferSaturated = false;
+        }
+
+        PlpStream plpStream = this.activePlpStream;
+        boolean autoRead = !this.responseBufferSaturated && (plpStream == null || !plpStream.isBackpressured());
+        ChannelConfig config = this.connection.channel().config();
+
+        if (config.isAutoRead() != autoRead) {
+            config.setAutoRead(autoRead);
+        }
     }
 
     private void handleClose() {
@@ -621,6 +843,12 @@ public final class ReactorNettyClient implements Client {
 
     private void drainError(Supplier<? extends Throwable> supplier) {
 
+        PlpStream plpStream = this.activePlpStream;
+        if (plpStream != null) {
+            this.activePlpStream = null;
+            plpStream.onError(supplier.get());
+        }
+
         Sinkable receiver;
         while ((receiver = this.requestQueue.poll()) != null) {
             receiver.onError(supplier.get());
@@ -718,26 +946,133 @@ public final class ReactorNettyClient implements Client {
     }
 
     /**
-     * Ensure a command request is submitted and subscribed to only once.
+     * Ensure a command request is submitted and subscribed to only once. Tracks the exchange state to cancel active exchanges using an attention signal.
      */
     static class ExchangeRequest {
 
-        private static final AtomicIntegerFieldUpdater<ExchangeRequest> COMPLETED = AtomicIntegerFieldUpdater.newUpdater(ExchangeRequest.class, "completed");
+        private static final AtomicIntegerFieldUpdater<ExchangeRequest> STATE = AtomicIntegerFieldUpdater.newUpdater(ExchangeRequest.class, "state");
 
         private static final AtomicIntegerFieldUpdater<ExchangeRequest> SUBMITTED = AtomicIntegerFieldUpdater.newUpdater(ExchangeRequest.class, "submitted");
 
-        // access via COMPLETED
-        private volatile int completed = 0;
+        /**
+         * Exchange is submitted but not yet active.
+         */
+        static final int INITIAL = 0;
+
+        /**
+         * Exchange is active and its response is being emitted.
+         */
+        static final int ACTIVE = 1;
+
+        /**
+         * Exchange was cancelled. Active exchanges require an attention signal.
+         */
+        static final int CANCELLED = 2;
+
+        /**
+         * Attention signal was sent. Responses are discarded until the server acknowledges the attention.
+         */
+        static final int ATTENTION = 3;
+
+        /**
+         * Exchange is complete.
+         */
+        static final int COMPLETE = 4;
+
+        // access via STATE
+        private volatile int state = INITIAL;
 
         // access via SUBMITTED
         private volatile int submitted = 0;
 
-        public void complete() {
-            COMPLETED.set(this, 1);
+        /**
+         * Pending timeout of the request in flight.
+         */
+        @Nullable
+        volatile ScheduledFuture<?> timeoutTask;
+
+        /**
+         * Whether the exchange was cancelled because of a timeout.
+         */
+        volatile boolean timedOut;
+
+        /**
+         * Whether a response message is currently emitted. Cancellations during emission defer the attention signal to the end of the emission.
+         */
+        volatile boolean emitting;
+
+        /**
+         * Complete the exchange.
+         *
+         * @return {@code true} if the exchange was completed; {@code false} if the exchange awaits an attention acknowledgement.
+         */
+        public boolean complete() {
+
+            for (; ; ) {
+
+                int state = this.state;
+                if (state == ATTENTION) {
+                    return false;
+                }
+
+                if (STATE.compareAndSet(this, state, COMPLETE)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Complete the exchange once the server acknowledged the attention signal.
+         *
+         * @return {@code true} if the exchange was awaiting the attention acknowledgement.
+         */
+        boolean acknowledgeAttention() {
+            return STATE.compareAndSet(this, ATTENTION, COMPLETE);
+        }
+
+        /**
+         * Cancel the exchange.
+         *
+         * @return {@code true} if the exchange was active and requires an attention signal.
+         */
+        boolean cancel() {
+
+            if (STATE.compareAndSet(this, INITIAL, CANCELLED)) {
+                return false;
+            }
+
+            return STATE.compareAndSet(this, ACTIVE, CANCELLED);
+        }
+
+        /**
+         * Transition a cancelled exchange into attention mode.
+         *
+         * @return {@code true} if the attention signal should be sent.
+         */
+        boolean requestAttention() {
+            return STATE.compareAndSet(this, CANCELLED, ATTENTION);
         }
 
         public boolean isComplete() {
-            return COMPLETED.get(this) == 1;
+            return STATE.get(this) == COMPLETE;
+        }
+
+        void cancelTimeout() {
+
+            ScheduledFuture<?> timeoutTask = this.timeoutTask;
+
+            if (timeoutTask != null) {
+                this.timeoutTask = null;
+                timeoutTask.cancel(false);
+            }
+        }
+
+        boolean isCancelled() {
+            return STATE.get(this) == CANCELLED;
+        }
+
+        boolean isAttentionRequested() {
+            return STATE.get(this) == ATTENTION;
         }
 
         void submit(RequestQueue queue, MonoSink<Flux<Message>> sink, Flux<Message> requestMessages) {
@@ -750,7 +1085,13 @@ public final class ReactorNettyClient implements Client {
 
                 @Override
                 public void onSuccess() {
-                    sink.success(requestMessages);
+
+                    // exchanges cancelled while queued do not get sent
+                    if (STATE.compareAndSet(ExchangeRequest.this, INITIAL, ACTIVE)) {
+                        sink.success(requestMessages);
+                    } else {
+                        sink.success(Flux.empty());
+                    }
                 }
 
                 @Override
@@ -810,6 +1151,15 @@ public final class ReactorNettyClient implements Client {
 
                 updateStatus(TransactionStatus.EXPLICIT, TransactionDescriptor.empty());
             }
+
+            if (token.getChangeType() == EnvChangeToken.EnvChangeType.RSETACK) {
+
+                if (DEBUG_ENABLED) {
+                    logger.debug(ReactorNettyClient.this.context.getMessage("Session reset acknowledged"));
+                }
+
+                updateStatus(TransactionStatus.AUTO_COMMIT, TransactionDescriptor.empty());
+            }
         }
 
         private void updateStatus(TransactionStatus status, TransactionDescriptor descriptor) {
@@ -863,6 +1213,14 @@ public final class ReactorNettyClient implements Client {
 
     }
 
+    static class MssqlStatementTimeoutException extends R2dbcTimeoutException {
+
+        public MssqlStatementTimeoutException(String reason) {
+            super(reason);
+        }
+
+    }
+
     static class MssqlConnectionException extends R2dbcNonTransientResourceException {
 
         public MssqlConnectionException(Throwable cause) {
@@ -17,6 +17,7 @@
 package io.r2dbc.mssql.client;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.r2dbc.mssql.message.Message;
 import io.r2dbc.mssql.message.header.Header;
 import io.r2dbc.mssql.message.header.Status;
@@ -37,6 +38,10 @@ import java.util.List;
  * attempts to decode the aggregated and de-chunked body as far as possible. Remaining (undecoded) data buffers are aggregated until the next attempt.
  * <p/>
  * This decoder is stateful and should be used in a try-to-decode fashion.
+ * <p/>
+ * The decoder supports two reassembly modes: The default mode copies inbound transport buffers into a contiguous remainder buffer and copies packet bodies into a contiguous aggregated body
+ * buffer. The {@link #StreamDecoder(boolean) zero-copy mode} stitches transport buffers and packet bodies together using {@link CompositeByteBuf} and retained slices of the inbound buffers so that
+ * packet reassembly does not copy any data.
  *
  * @author Mark Paluch
  * @see Message
@@ -44,8 +49,27 @@ import java.util.List;
  */
 final class StreamDecoder {
 
+    private final boolean zeroCopy;
+
     private DecoderState state;
 
+    /**
+     * Create a new {@link StreamDecoder} that copies inbound data into contiguous buffers.
+     */
+    public StreamDecoder() {
+        this(false);
+    }
+
+    /**
+     * Create a new {@link StreamDecoder}.
+     *
+     * @param zeroCopy {@code true} to reassemble packets using composite buffers and retained slices instead of copying inbound data.
+     * @since 0.9
+     */
+    public StreamDecoder(boolean zeroCopy) {
+        this.zeroCopy = zeroCopy;
+    }
+
     /**
      * Decode a {@link ByteBuf} into a {@link Flux} of {@link Message}s. If the {@link ByteBuf} does not end on a
      * {@link Message} boundary, the {@link ByteBuf} will be retained until the concatenated contents of all retained
@@ -103,7 +127,13 @@ final class StreamDecoder {
         DecoderState decoderState = this.state;
         this.state = null;
 
-        DecoderState state = decoderState == null ? DecoderState.initial(in) : decoderState.andChunk(in);
+        DecoderState state;
+
+        if (decoderState == null) {
+            state = this.zeroCopy ? ZeroCopyDecoderState.initial(in) : DecoderState.initial(in);
+        } else {
+            state = decoderState.andChunk(in);
+        }
 
         do {
             state = withState(messageDecoder, sink, state);
@@ -132,8 +162,6 @@ final class StreamDecoder {
 
             state = state.readChunk();
 
-            int readerIndex = state.aggregatedBodyReaderIndex();
-
             boolean hasMessages = messageDecoder.decode(header, state.aggregatedBody, sink);
 
             if (hasMessages) {
@@ -146,7 +174,6 @@ final class StreamDecoder {
                     return retain(state);
                 }
             } else {
-                state.aggregatedBodyReaderIndex(readerIndex);
                 return retain(state);
             }
 
@@ -161,7 +188,7 @@ final class StreamDecoder {
 
     @Nullable
     private DecoderState retain(DecoderState state) {
-        this.state = state;
+        this.state = state.compact();
         return null;
     }
 
@@ -182,7 +209,7 @@ final class StreamDecoder {
         @Nullable
         Header header;
 
-        private DecoderState(ByteBuf remainder, ByteBuf aggregatedBody, @Nullable Header header) {
+        DecoderState(ByteBuf remainder, ByteBuf aggregatedBody, @Nullable Header header) {
 
             this.remainder = remainder;
             this.header = header;
@@ -218,6 +245,32 @@ final class StreamDecoder {
             return newState(this.remainder, this.aggregatedBody, this.header);
         }
 
+        /**
+         * Compact this {@link DecoderState} before retaining it for the next decode attempt. Read bytes of the raw remainder are discarded. The aggregated body may be referenced by previously
+         * decoded messages so its unread part is copied into a new buffer once the read part outweighs the unread part. This keeps the aggregated body bounded while a long response (such as a
+         * streamed PLP value) does not end on a message boundary.
+         *
+         * @return the compacted {@link DecoderState}.
+         */
+        DecoderState compact() {
+
+            this.remainder.discardSomeReadBytes();
+
+            int readerIndex = this.aggregatedBody.readerIndex();
+
+            if (readerIndex == 0 || readerIndex < this.aggregatedBody.readableBytes()) {
+                return this;
+            }
+
+            ByteBuf aggregatedBody = this.aggregatedBody.alloc().buffer(this.aggregatedBody.readableBytes());
+            aggregatedBody.writeBytes(this.aggregatedBody);
+
+            this.aggregatedBody.release();
+            this.aggregatedBody = aggregatedBody;
+
+            return this;
+        }
+
         DecoderState newState(ByteBuf remainder, ByteBuf aggregatedBody, @Nullable Header header) {
 
             this.remainder = remainder;
@@ -247,22 +300,6 @@ final class StreamDecoder {
             return this.aggregatedBody.readableBytes() != 0;
         }
 
-        /**
-         * @return the aggregated body reader index.
-         */
-        int aggregatedBodyReaderIndex() {
-            return this.aggregatedBody.readerIndex();
-        }
-
-        /**
-         * Reset the aggregated body reader index.
-         *
-         * @param index the reader index.
-         */
-        void aggregatedBodyReaderIndex(int index) {
-            this.aggregatedBody.readerIndex(index);
-        }
-
         /**
          * @return the required {@link Header}.
          */
@@ -350,4 +387,110 @@ final class StreamDecoder {
 
     }
 
+    /**
+     * Zero-copy variant of {@link DecoderState}. Raw transport buffers are retained as components of a {@link CompositeByteBuf} and packet bodies are added to the aggregated body as retained
+     * slices of the underlying transport buffers. Slices are taken from the underlying buffers and not from the composite buffers so that read components of the remainder can be discarded without
+     * affecting already decoded messages.
+     */
+    static class ZeroCopyDecoderState extends DecoderState {
+
+        private ZeroCopyDecoderState(CompositeByteBuf remainder, CompositeByteBuf aggregatedBody) {
+            super(remainder, aggregatedBody, null);
+        }
+
+        /**
+         * Create a new, initial {@link ZeroCopyDecoderState}.
+         *
+         * @param initialBuffer the data buffer.
+         * @return the initial {@link ZeroCopyDecoderState}.
+         */
+        static ZeroCopyDecoderState initial(ByteBuf initialBuffer) {
+
+            CompositeByteBuf remainder = initialBuffer.alloc().compositeBuffer(Integer.MAX_VALUE);
+            remainder.addComponent(true, initialBuffer.retain());
+
+            return new ZeroCopyDecoderState(remainder, initialBuffer.alloc().compositeBuffer(Integer.MAX_VALUE));
+        }
+
+        @Override
+        DecoderState andChunk(ByteBuf in) {
+
+            getRemainder().addComponent(true, in.retain());
+            return this;
+        }
+
+        @Override
+        DecoderState readChunk() {
+
+            boolean hasNewHeader;
+            CompositeByteBuf remainder = getRemainder();
+
+            do {
+                hasNewHeader = false;
+
+                int chunkLength = getChunkLength();
+                addBody(remainder, remainder.readerIndex(), chunkLength);
+                remainder.skipBytes(chunkLength);
+
+                if (Header.canDecode(remainder)) {
+                    hasNewHeader = true;
+                    this.header = Header.decode(remainder);
+                }
+
+            } while (canReadChunk());
+
+            remainder.discardReadComponents();
+
+            if (!hasNewHeader) {
+                this.header = null;
+            }
+
+            return this;
+        }
+
+        /**
+         * Replace the aggregated body with a composite buffer that references only the unread part of the aggregated body. Previously decoded messages keep referencing the original aggregated
+         * body until they are released.
+         *
+         * @return {@code this} {@link ZeroCopyDecoderState}.
+         */
+        @Override
+        DecoderState compact() {
+
+            CompositeByteBuf aggregatedBody = getAggregatedBody();
+
+            if (aggregatedBody.readerIndex() == 0) {
+                return this;
+            }
+
+            this.aggregatedBody = aggregatedBody.alloc().compositeBuffer(Integer.MAX_VALUE);
+            addBody(aggregatedBody, aggregatedBody.readerIndex(), aggregatedBody.readableBytes());
+            aggregatedBody.release();
+
+            return this;
+        }
+
+        private void addBody(CompositeByteBuf source, int offset, int length) {
+
+            if (length == 0) {
+                return;
+            }
+
+            CompositeByteBuf aggregatedBody = getAggregatedBody();
+
+            for (ByteBuf component : source.decompose(offset, length)) {
+                aggregatedBody.addComponent(true, component.retain());
+            }
+        }
+
+        private CompositeByteBuf getRemainder() {
+            return (CompositeByteBuf) this.remainder;
+        }
+
+        private CompositeByteBuf getAggregatedBody() {
+            return (CompositeByteBuf) this.aggregatedBody;
+        }
+
+    }
+
 }
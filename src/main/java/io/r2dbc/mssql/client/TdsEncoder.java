@@ -27,6 +27,7 @@ import io.r2dbc.mssql.message.header.Header;
 import io.r2dbc.mssql.message.header.HeaderOptions;
 import io.r2dbc.mssql.message.header.PacketIdProvider;
 import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
 import io.r2dbc.mssql.message.tds.ContextualTdsFragment;
 import io.r2dbc.mssql.message.tds.FirstTdsFragment;
 import io.r2dbc.mssql.message.tds.LastTdsFragment;
@@ -44,7 +45,11 @@ import io.r2dbc.mssql.util.Assert;
  * {@link LastTdsFragment} or {@link ResetHeader}) when initiated by a written {@link HeaderOptions} or
  * {@link FirstTdsFragment}.</li>
  * <li>Reset {@link HeaderOptions} when a {@link ResetHeader#INSTANCE ResetHeader} is written.</li>
+ * <li>Set the {@link Status.StatusBit#RESET_CONNECTION RESETCONNECTION} status bit on the first packet of the next SQL batch, RPC or transaction manager request when a
+ * {@link ResetConnection#INSTANCE ResetConnection} is written.</li>
  * </ul>
+ * Fragments are written as gathering {@link CompositeByteBuf composite} packets that combine a header buffer with retained slices of the message body so that message bodies are not
+ * copied.
  *
  * @author Mark Paluch
  * @see FirstTdsFragment
@@ -68,6 +73,10 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
 
     private HeaderOptions headerOptions;
 
+    private boolean resetConnection;
+
+    private boolean resetConnectionOnNextPacket;
+
     /**
      * Creates a new {@link TdsEncoder} using the default {@link #INITIAL_PACKET_SIZE packet size.}.
      *
@@ -99,6 +108,13 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
             return;
         }
 
+        if (msg == ResetConnection.INSTANCE) {
+
+            this.resetConnection = true;
+            ctx.write(Unpooled.EMPTY_BUFFER, promise);
+            return;
+        }
+
         if (msg instanceof HeaderOptions) {
 
             this.headerOptions = (HeaderOptions) msg;
@@ -143,6 +159,7 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
             FirstTdsFragment fragment = (FirstTdsFragment) msg;
 
             this.headerOptions = fragment.getHeaderOptions();
+            armResetConnection(this.headerOptions);
 
             doWriteFragment(ctx, promise, fragment.getByteBuf(), this.headerOptions, false);
             return;
@@ -152,6 +169,7 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
         if (msg instanceof ContextualTdsFragment) {
 
             ContextualTdsFragment fragment = (ContextualTdsFragment) msg;
+            armResetConnection(fragment.getHeaderOptions());
 
             doWriteFragment(ctx, promise, fragment.getByteBuf(), fragment.getHeaderOptions(), true);
             return;
@@ -201,6 +219,25 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
         return this.packetSize;
     }
 
+    /**
+     * Apply a pending {@link ResetConnection} to the first packet of a message that starts with {@link HeaderOptions}. The server resets the session only for SQL batch, RPC and transaction
+     * manager requests so the reset remains pending for other message types.
+     *
+     * @param headerOptions header options of the message start.
+     */
+    private void armResetConnection(HeaderOptions headerOptions) {
+
+        if (!this.resetConnection) {
+            return;
+        }
+
+        Type type = headerOptions.getType();
+        if (type == Type.SQL_BATCH || type == Type.RPC || type == Type.TX_MGR) {
+            this.resetConnection = false;
+            this.resetConnectionOnNextPacket = true;
+        }
+    }
+
     private static HeaderOptions getLastHeader(HeaderOptions headerOptions) {
         return headerOptions.and(Status.StatusBit.EOM);
     }
@@ -228,20 +265,8 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
             HeaderOptions optionsToUse = lastLogicalPacket ? getLastHeader(headerOptions) : headerOptions;
 
             int messageLength = getBytesToWrite(body.readableBytes());
-            ByteBuf buffer = ctx.alloc().buffer(messageLength);
-            Header.encode(buffer, optionsToUse, messageLength, this.packetIdProvider);
-
-            if (this.lastChunkRemainder != null) {
 
-                buffer.writeBytes(this.lastChunkRemainder);
-
-                this.lastChunkRemainder.release();
-                this.lastChunkRemainder = null;
-            }
-
-            buffer.writeBytes(body);
-
-            ctx.write(buffer, promise);
+            ctx.write(createPacket(ctx, optionsToUse, messageLength, body, body.readableBytes()), promise);
         } else {
 
             // Prevent partial packets/buffer underrun if not the last packet.
@@ -262,21 +287,15 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
         try {
             while (body.readableBytes() > 0) {
 
-                ByteBuf chunk = body.alloc().buffer(estimateChunkSize(getBytesToWrite(body.readableBytes())));
+                ByteBuf chunk;
 
                 if (this.lastChunkRemainder != null) {
 
                     int combinedSize = this.lastChunkRemainder.readableBytes() + body.readableBytes();
                     HeaderOptions optionsToUse = isLastTransportPacket(combinedSize, lastLogicalPacket) ? getLastHeader(headerOptions) : getChunkedHeaderOptions(headerOptions);
-                    Header.encode(chunk, optionsToUse, this.packetSize, this.packetIdProvider);
 
                     int actualBodyReadableBytes = this.packetSize - Header.LENGTH - this.lastChunkRemainder.readableBytes();
-                    chunk.writeBytes(this.lastChunkRemainder);
-                    chunk.writeBytes(body, actualBodyReadableBytes);
-
-                    this.lastChunkRemainder.release();
-                    this.lastChunkRemainder = null;
-
+                    chunk = createPacket(ctx, optionsToUse, this.packetSize, body, actualBodyReadableBytes);
                 } else {
 
                     if (!lastLogicalPacket && !requiresChunking(body.readableBytes())) {
@@ -290,9 +309,7 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
                     HeaderOptions optionsToUse = isLastTransportPacket(body.readableBytes(), lastLogicalPacket) ? getLastHeader(headerOptions) : getChunkedHeaderOptions(headerOptions);
 
                     int byteCount = getEffectiveChunkSizeWithoutHeader(body.readableBytes());
-                    Header.encode(chunk, optionsToUse, Header.LENGTH + byteCount, this.packetIdProvider);
-
-                    chunk.writeBytes(body, byteCount);
+                    chunk = createPacket(ctx, optionsToUse, Header.LENGTH + byteCount, body, byteCount);
                 }
 
                 combiner.add(ctx.write(chunk, ctx.newPromise()));
@@ -305,6 +322,44 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
         }
     }
 
+    /**
+     * Create a TDS packet by combining a newly allocated {@link Header} buffer with the pending {@link #lastChunkRemainder} and a retained slice of {@code body} instead of copying the packet
+     * body. Consumes {@link #lastChunkRemainder} and advances the reader index of {@code body} by {@code bodyLength}.
+     *
+     * @param ctx           the channel handler context.
+     * @param headerOptions header options to use.
+     * @param packetLength  the total packet length including the header.
+     * @param body          the message body.
+     * @param bodyLength    number of bytes to consume from {@code body}.
+     * @return the packet.
+     */
+    private ByteBuf createPacket(ChannelHandlerContext ctx, HeaderOptions headerOptions, int packetLength, ByteBuf body, int bodyLength) {
+
+        HeaderOptions optionsToUse = headerOptions;
+
+        if (this.resetConnectionOnNextPacket) {
+            optionsToUse = headerOptions.and(Status.StatusBit.RESET_CONNECTION);
+            this.resetConnectionOnNextPacket = false;
+        }
+
+        ByteBuf header = ctx.alloc().buffer(Header.LENGTH);
+        Header.encode(header, optionsToUse, packetLength, this.packetIdProvider);
+
+        CompositeByteBuf packet = ctx.alloc().compositeBuffer();
+        packet.addComponent(true, header);
+
+        if (this.lastChunkRemainder != null) {
+            packet.addFlattenedComponents(true, this.lastChunkRemainder);
+            this.lastChunkRemainder = null;
+        }
+
+        if (bodyLength > 0) {
+            packet.addComponent(true, body.readRetainedSlice(bodyLength));
+        }
+
+        return packet;
+    }
+
     int estimateChunkSize(int readableBytes) {
         return Math.min(readableBytes + Header.LENGTH, this.packetSize);
     }
@@ -340,4 +395,11 @@ public final class TdsEncoder extends ChannelOutboundHandlerAdapter implements E
         INSTANCE;
     }
 
+    /**
+     * Marker message to reset the session state with the next request by setting the {@link Status.StatusBit#RESET_CONNECTION RESETCONNECTION} status bit.
+     */
+    public enum ResetConnection {
+        INSTANCE;
+    }
+
 }
@@ -19,6 +19,7 @@ package io.r2dbc.mssql.codec;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.r2dbc.mssql.message.token.PlpStream;
 import io.r2dbc.mssql.message.type.Length;
 import io.r2dbc.mssql.message.type.LengthStrategy;
 import io.r2dbc.mssql.message.type.PlpLength;
@@ -127,6 +128,20 @@ public class BlobCodec extends AbstractCodec<Blob> {
         return new ScalarBlob(Collections.singletonList(buffer.readRetainedSlice(length.getLength())));
     }
 
+    /**
+     * Create a {@link Blob} that streams its value from a {@link PlpStream} while the value is received.
+     *
+     * @param plpStream the stream of the PLP value.
+     * @return the {@link Blob}.
+     * @since 0.9
+     */
+    public Blob decodeStream(PlpStream plpStream) {
+
+        Assert.requireNonNull(plpStream, "PlpStream must not be null");
+
+        return new StreamingBlob(plpStream);
+    }
+
     /**
      * Scalar {@link Blob} backed by an already received and de-chunked {@link List} of {@link ByteBuf}.
      */
@@ -182,4 +197,36 @@ public class BlobCodec extends AbstractCodec<Blob> {
 
     }
 
+    /**
+     * {@link Blob} backed by a {@link PlpStream} that emits de-chunked data while the value is received.
+     */
+    static class StreamingBlob implements Blob {
+
+        private final PlpStream plpStream;
+
+        StreamingBlob(PlpStream plpStream) {
+            this.plpStream = plpStream;
+        }
+
+        @Override
+        public Publisher<ByteBuffer> stream() {
+
+            return Flux.from(this.plpStream).map(it -> {
+
+                ByteBuffer result = ByteBuffer.allocate(it.readableBytes());
+                it.readBytes(result);
+                it.release();
+
+                result.flip();
+                return result;
+            }).doOnDiscard(ByteBuf.class, ByteBuf::release);
+        }
+
+        @Override
+        public Publisher<Void> discard() {
+            return Mono.fromRunnable(this.plpStream::discard);
+        }
+
+    }
+
 }
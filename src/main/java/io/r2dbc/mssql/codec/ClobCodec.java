@@ -22,6 +22,7 @@ import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.mssql.codec.RpcParameterContext.CharacterValueContext;
+import io.r2dbc.mssql.message.token.PlpStream;
 import io.r2dbc.mssql.message.type.Length;
 import io.r2dbc.mssql.message.type.LengthStrategy;
 import io.r2dbc.mssql.message.type.PlpLength;
@@ -142,89 +143,117 @@ public class ClobCodec extends AbstractCodec<Clob> {
     }
 
     /**
-     * Scalar {@link Clob} backed by an already received and de-chunked {@link List} of {@link ByteBuf}.
+     * Create a {@link Clob} that streams its value from a {@link PlpStream} while the value is received.
+     *
+     * @param plpStream the stream of the PLP value.
+     * @param type      the type descriptor.
+     * @return the {@link Clob}.
+     * @since 0.9
      */
-    static class ScalarClob implements Clob {
+    public Clob decodeStream(PlpStream plpStream, TypeInformation type) {
 
-        private final TypeInformation type;
+        Assert.requireNonNull(plpStream, "PlpStream must not be null");
+        Assert.requireNonNull(type, "TypeInformation must not be null");
 
-        private final Length valueLength;
+        return new StreamingClob(plpStream, type);
+    }
 
-        private final ByteBuf buffer;
+    /**
+     * Decode a stream of character data into {@link CharSequence chunks}. Bytes of incomplete characters are retained in {@code remainder} until the next data buffer is received.
+     *
+     * @param buffers   the character data.
+     * @param type      the type descriptor providing the {@link java.nio.charset.Charset}.
+     * @param remainder buffer to collect undecoded bytes. Released on termination.
+     * @return the decoded {@link CharSequence chunks}.
+     */
+    private static Flux<CharSequence> decodeCharacters(Flux<ByteBuf> buffers, TypeInformation type, CompositeByteBuf remainder) {
 
-        private final CompositeByteBuf remainder;
+        CharsetDecoder decoder = type.getCharset().newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
 
-        ScalarClob(TypeInformation type, Length valueLength, ByteBuf buffer) {
-            this.type = type;
-            this.valueLength = valueLength;
-            this.buffer = buffer.touch("ScalarClob");
-            this.remainder = buffer.alloc().compositeBuffer();
-        }
+        AtomicReference<CoderResult> result = new AtomicReference<>();
+        AtomicInteger counter = new AtomicInteger();
+        return buffers.<CharSequence>handle((buffer, sink) -> {
 
-        @Override
-        public Publisher<CharSequence> stream() {
+            if (!buffer.isReadable()) {
+                // ensure release if not consumed
+                buffer.release();
+                return;
+            }
 
-            CharsetDecoder decoder = this.type.getCharset().newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+            remainder.addComponent(true, buffer);
+            ByteBuffer byteBuffer = remainder.nioBuffer();
 
-            AtomicReference<CoderResult> result = new AtomicReference<>();
-            AtomicInteger counter = new AtomicInteger();
-            return createBufferStream(this.buffer, this.valueLength, this.type).<CharSequence>handle((buffer, sink) -> {
+            int size = byteBuffer.remaining();
+            CharBuffer outBuffer = CharBuffer.allocate(byteBuffer.remaining());
 
-                if (!buffer.isReadable()) {
-                    // ensure release if not consumed
-                    buffer.release();
-                    return;
-                }
+            CoderResult decode;
+            synchronized (decoder) {
+                decode = decoder.decode(byteBuffer, outBuffer, false);
+            }
 
-                this.remainder.addComponent(true, buffer);
-                ByteBuffer byteBuffer = this.remainder.nioBuffer();
+            result.set(decode);
+            int consumed = size - byteBuffer.remaining();
 
-                int size = byteBuffer.remaining();
-                CharBuffer outBuffer = CharBuffer.allocate(byteBuffer.remaining());
+            if (consumed > 0) {
+                remainder.skipBytes(consumed);
+            } else {
+                sink.error(new MalformedInputException(consumed));
+                return;
+            }
 
-                CoderResult decode;
-                synchronized (decoder) {
-                    decode = decoder.decode(byteBuffer, outBuffer, false);
-                }
+            if (counter.incrementAndGet() % 16 == 0) {
+                remainder.discardSomeReadBytes();
+            }
 
-                result.set(decode);
-                int consumed = size - byteBuffer.remaining();
+            outBuffer.flip();
+            sink.next(outBuffer.toString());
+        }).doOnComplete(() -> {
 
-                if (consumed > 0) {
-                    this.remainder.skipBytes(consumed);
-                } else {
-                    sink.error(new MalformedInputException(consumed));
-                    return;
-                }
+            CoderResult coderResult = result.get();
 
-                if (counter.incrementAndGet() % 16 == 0) {
-                    this.remainder.discardSomeReadBytes();
+            if (coderResult != null && coderResult.isError()) {
+
+                if (coderResult.isMalformed()) {
+                    throw new ClobDecodeException("Cannot decode CLOB data. Malformed character input");
+                }
+                if (coderResult.isUnmappable()) {
+                    throw new ClobDecodeException("Cannot decode CLOB data. Unmappable characters");
                 }
+            }
 
-                outBuffer.flip();
-                sink.next(outBuffer.toString());
-            }).doOnComplete(() -> {
+            if (remainder.isReadable()) {
+                throw new ClobDecodeException("Cannot decode CLOB data. Buffer has remainder: " + ByteBufUtil.hexDump(remainder));
+            }
 
-                CoderResult coderResult = result.get();
+        })
+            .doFinally(s -> {
+                ReferenceCountUtil.safeRelease(remainder);
+            });
+    }
 
-                if (coderResult != null && coderResult.isError()) {
+    /**
+     * Scalar {@link Clob} backed by an already received and de-chunked {@link List} of {@link ByteBuf}.
+     */
+    static class ScalarClob implements Clob {
 
-                    if (coderResult.isMalformed()) {
-                        throw new ClobDecodeException("Cannot decode CLOB data. Malformed character input");
-                    }
-                    if (coderResult.isUnmappable()) {
-                        throw new ClobDecodeException("Cannot decode CLOB data. Unmappable characters");
-                    }
-                }
+        private final TypeInformation type;
 
-                if (this.remainder.isReadable()) {
-                    throw new ClobDecodeException("Cannot decode CLOB data. Buffer has remainder: " + ByteBufUtil.hexDump(this.remainder));
-                }
+        private final Length valueLength;
 
-            })
-                .doFinally(s -> {
-                    ReferenceCountUtil.safeRelease(this.remainder);
-                });
+        private final ByteBuf buffer;
+
+        private final CompositeByteBuf remainder;
+
+        ScalarClob(TypeInformation type, Length valueLength, ByteBuf buffer) {
+            this.type = type;
+            this.valueLength = valueLength;
+            this.buffer = buffer.touch("ScalarClob");
+            this.remainder = buffer.alloc().compositeBuffer();
+        }
+
+        @Override
+        public Publisher<CharSequence> stream() {
+            return decodeCharacters(createBufferStream(this.buffer, this.valueLength, this.type), this.type, this.remainder);
         }
 
         @Override
@@ -267,6 +296,32 @@ public class ClobCodec extends AbstractCodec<Clob> {
 
     }
 
+    /**
+     * {@link Clob} backed by a {@link PlpStream} that emits de-chunked data while the value is received.
+     */
+    static class StreamingClob implements Clob {
+
+        private final PlpStream plpStream;
+
+        private final TypeInformation type;
+
+        StreamingClob(PlpStream plpStream, TypeInformation type) {
+            this.plpStream = plpStream;
+            this.type = type;
+        }
+
+        @Override
+        public Publisher<CharSequence> stream() {
+            return Flux.defer(() -> decodeCharacters(Flux.from(this.plpStream), this.type, ByteBufAllocator.DEFAULT.compositeBuffer()));
+        }
+
+        @Override
+        public Publisher<Void> discard() {
+            return Mono.fromRunnable(this.plpStream::discard);
+        }
+
+    }
+
     static class ClobDecodeException extends R2dbcNonTransientException {
 
         public ClobDecodeException(String reason) {
@@ -69,7 +69,8 @@ public final class DefaultCodecs implements Codecs {
             OffsetDateTimeCodec.INSTANCE,
             ZonedDateTimeCodec.INSTANCE,
             BlobCodec.INSTANCE,
-            ClobCodec.INSTANCE
+            ClobCodec.INSTANCE,
+            new TvpCodec(this)
         ).toArray(new Codec[0]);
 
         this.codecPreferences.put(SqlServerType.BIT, BooleanCodec.INSTANCE);
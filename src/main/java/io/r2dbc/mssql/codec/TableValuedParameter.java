@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.codec;
+
+import io.r2dbc.mssql.util.Assert;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table-valued parameter (TVP) value to bind a set of rows to a parameter that is declared using a user-defined table type ({@code CREATE TYPE … AS TABLE}). Row elements are mapped by
+ * position to the declared columns. Column types are derived from the values of the first row; all values of a column must encode to the same type. Rows are streamed when the parameter
+ * is sent to the server so rows can be provided as {@link Iterable} or {@link Publisher}.
+ * <p>
+ * Usage:
+ * <pre class="code">
+ * TableValuedParameter ids = TableValuedParameter.builder("dbo.IdList").column("id", Integer.class).rows(…).build();
+ *
+ * connection.createStatement("SELECT * FROM person p INNER JOIN @ids i ON p.id = i.id").bind("ids", ids).execute();
+ * </pre>
+ *
+ * @author Mark Paluch
+ * @since 0.9
+ */
+public final class TableValuedParameter {
+
+    private final String typeName;
+
+    private final List<Column> columns;
+
+    private final Publisher<Object[]> rows;
+
+    private TableValuedParameter(String typeName, List<Column> columns, Publisher<Object[]> rows) {
+        this.typeName = typeName;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns a new {@link Builder} for a table-valued parameter of the table type {@code typeName}.
+     *
+     * @param typeName the table type name. The name can be schema-qualified.
+     * @return a {@link Builder}.
+     * @throws IllegalArgumentException when {@code typeName} is {@code null} or empty.
+     */
+    public static Builder builder(String typeName) {
+
+        Assert.requireNonNull(typeName, "Type name must not be null");
+        Assert.isTrue(!typeName.trim().isEmpty(), "Type name must not be empty");
+
+        return new Builder(typeName);
+    }
+
+    public String getTypeName() {
+        return this.typeName;
+    }
+
+    List<Column> getColumns() {
+        return this.columns;
+    }
+
+    Publisher<Object[]> getRows() {
+        return this.rows;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [typeName='").append(this.typeName).append('\'');
+        sb.append(", columns=").append(this.columns);
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Table type column.
+     */
+    static final class Column {
+
+        private final String name;
+
+        @Nullable
+        private final Class<?> type;
+
+        Column(String name, @Nullable Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        @Nullable
+        Class<?> getType() {
+            return this.type;
+        }
+
+        @Override
+        public String toString() {
+            return this.type != null ? this.name + " (" + this.type.getName() + ")" : this.name;
+        }
+
+    }
+
+    /**
+     * A builder for {@link TableValuedParameter} instances.
+     * <p>
+     * <i>This class is not threadsafe</i>
+     */
+    public static final class Builder {
+
+        private final String typeName;
+
+        private final List<Column> columns = new ArrayList<>();
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Nullable
+        private Publisher<Object[]> rowPublisher;
+
+        private Builder(String typeName) {
+            this.typeName = typeName;
+        }
+
+        /**
+         * Declare the next table type column. The column type is derived from the first row. Use {@link #column(String, Class)} if the column may contain {@code null} values or if the
+         * parameter may not contain any rows.
+         *
+         * @param name the column name.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code name} is {@code null} or empty.
+         */
+        public Builder column(String name) {
+
+            Assert.requireNonNull(name, "Column name must not be null");
+            Assert.isTrue(!name.trim().isEmpty(), "Column name must not be empty");
+
+            this.columns.add(new Column(name, null));
+            return this;
+        }
+
+        /**
+         * Declare the next table type column using {@code type} to determine the column type if the first row contains a {@code null} value or if the parameter does not contain rows.
+         *
+         * @param name the column name.
+         * @param type the Java type of the column values.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code name} or {@code type} is {@code null} or {@code name} is empty.
+         */
+        public Builder column(String name, Class<?> type) {
+
+            Assert.requireNonNull(name, "Column name must not be null");
+            Assert.isTrue(!name.trim().isEmpty(), "Column name must not be empty");
+            Assert.requireNonNull(type, "Type must not be null");
+
+            this.columns.add(new Column(name, type));
+            return this;
+        }
+
+        /**
+         * Add a row.
+         *
+         * @param values the row values mapped by position to the declared columns.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code values} is {@code null}.
+         */
+        public Builder row(Object... values) {
+
+            Assert.requireNonNull(values, "Values must not be null");
+
+            this.rows.add(values);
+            return this;
+        }
+
+        /**
+         * Add rows from an {@link Iterable}.
+         *
+         * @param rows the rows whose values are mapped by position to the declared columns.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code rows} is {@code null}.
+         */
+        public Builder rows(Iterable<Object[]> rows) {
+
+            Assert.requireNonNull(rows, "Rows must not be null");
+
+            rows.forEach(this.rows::add);
+            return this;
+        }
+
+        /**
+         * Use rows from a {@link Publisher}. The publisher is subscribed each time the parameter is sent to the server. Cannot be combined with {@link #row(Object...)} and
+         * {@link #rows(Iterable)}.
+         *
+         * @param rows the rows whose values are mapped by position to the declared columns.
+         * @return this {@link Builder}
+         * @throws IllegalArgumentException when {@code rows} is {@code null}.
+         */
+        public Builder rows(Publisher<Object[]> rows) {
+
+            Assert.requireNonNull(rows, "Rows must not be null");
+
+            this.rowPublisher = rows;
+            return this;
+        }
+
+        /**
+         * Returns a configured {@link TableValuedParameter}.
+         *
+         * @return a configured {@link TableValuedParameter}.
+         * @throws IllegalStateException when no columns are declared or rows were provided both as {@link Publisher} and as values.
+         */
+        public TableValuedParameter build() {
+
+            Assert.state(!this.columns.isEmpty(), "At least one column must be declared");
+            Assert.state(this.rowPublisher == null || this.rows.isEmpty(), "Rows must be provided either as Publisher or as values");
+
+            Publisher<Object[]> rows = this.rowPublisher != null ? this.rowPublisher : Flux.fromIterable(new ArrayList<>(this.rows));
+
+            return new TableValuedParameter(this.typeName, Collections.unmodifiableList(new ArrayList<>(this.columns)), rows);
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.mssql.message.type.Length;
+import io.r2dbc.mssql.message.type.TypeInformation;
+
+/**
+ * Codec for table-valued parameters represented as {@link TableValuedParameter}. Encoding only, table-valued parameters are not returned by the server.
+ *
+ * <ul>
+ * <li>Server types: user-defined table types</li>
+ * <li>Java type: {@link TableValuedParameter}</li>
+ * <li>Downcast: none</li>
+ * </ul>
+ *
+ * @author Mark Paluch
+ */
+final class TvpCodec extends AbstractCodec<TableValuedParameter> {
+
+    private final Codecs codecs;
+
+    /**
+     * Creates a new {@link TvpCodec}.
+     *
+     * @param codecs the codecs to encode row values.
+     */
+    TvpCodec(Codecs codecs) {
+        super(TableValuedParameter.class);
+        this.codecs = codecs;
+    }
+
+    @Override
+    Encoded doEncode(ByteBufAllocator allocator, RpcParameterContext context, TableValuedParameter value) {
+        return new TvpEncoded(value, this.codecs, allocator, context);
+    }
+
+    @Override
+    Encoded doEncodeNull(ByteBufAllocator allocator) {
+        throw new UnsupportedOperationException("Cannot encode a null table-valued parameter. Bind a TableValuedParameter without rows instead");
+    }
+
+    @Override
+    boolean doCanDecode(TypeInformation typeInformation) {
+        return false;
+    }
+
+    @Override
+    TableValuedParameter doDecode(ByteBuf buffer, Length length, TypeInformation type, Class<? extends TableValuedParameter> valueType) {
+        throw new UnsupportedOperationException("Cannot decode table-valued parameters");
+    }
+
+}
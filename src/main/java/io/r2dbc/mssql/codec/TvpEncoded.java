@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.token.ColumnDescriptor;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.message.type.TdsDataType;
+import io.r2dbc.mssql.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Table-valued parameter extension to {@link Encoded}. The parameter consists of the type name ({@literal TVP_TYPENAME}) followed by a stream of column metadata and rows that is
+ * produced by consuming the {@link TableValuedParameter#getRows() rows} of the parameter.
+ *
+ * @author Mark Paluch
+ * @since 0.9
+ */
+public final class TvpEncoded extends Encoded {
+
+    private static final int TVP_END_TOKEN = 0x00;
+
+    private static final int TVP_ROW_TOKEN = 0x01;
+
+    /**
+     * Column flags: nullable.
+     */
+    private static final int COLUMN_FLAGS = 0x0001;
+
+    private final TableValuedParameter parameter;
+
+    private final Codecs codecs;
+
+    private final ByteBufAllocator allocator;
+
+    private final RpcParameterContext context;
+
+    TvpEncoded(TableValuedParameter parameter, Codecs codecs, ByteBufAllocator allocator, RpcParameterContext context) {
+
+        super(TdsDataType.TVP, Unpooled.EMPTY_BUFFER);
+
+        this.parameter = parameter;
+        this.codecs = codecs;
+        this.allocator = allocator;
+        this.context = context;
+    }
+
+    /**
+     * Encode the type name ({@literal TVP_TYPENAME}) consisting of an empty database name, the schema name and the type name.
+     *
+     * @param buffer the data buffer.
+     */
+    public void encodeHeader(ByteBuf buffer) {
+
+        String typeName = this.parameter.getTypeName();
+        int separator = typeName.lastIndexOf('.');
+
+        Encode.asByte(buffer, 0); // database name
+        encodeName(buffer, separator != -1 ? typeName.substring(0, separator) : "");
+        encodeName(buffer, separator != -1 ? typeName.substring(separator + 1) : typeName);
+    }
+
+    /**
+     * Encode the column metadata ({@literal TVP_COLMETADATA}) and rows ({@literal TVP_ROW}) followed by {@literal TVP_END_TOKEN}. Column types are derived from the first row.
+     *
+     * @return the encoded column metadata and rows.
+     */
+    public Flux<ByteBuf> encodeRows() {
+
+        return Flux.from(this.parameter.getRows()).switchOnFirst((signal, rows) -> {
+
+            if (signal.isOnError()) {
+                return rows.thenMany(Flux.<ByteBuf>empty());
+            }
+
+            return Flux.defer(() -> {
+
+                List<ColumnDescriptor> columns = describe(signal.hasValue() ? signal.get() : null);
+
+                return Mono.fromSupplier(() -> encodeColumnMetadata(columns))
+                    .concatWith(rows.map(row -> encodeRow(columns, row)))
+                    .concatWith(Mono.fromSupplier(() -> {
+
+                        ByteBuf buffer = this.allocator.buffer(1);
+                        Encode.asByte(buffer, TVP_END_TOKEN);
+                        return buffer;
+                    }));
+            });
+        }).doOnDiscard(ByteBuf.class, ReferenceCountUtil::release);
+    }
+
+    @Override
+    public TvpEncoded touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    public String getFormalType() {
+        return this.parameter.getTypeName() + " READONLY";
+    }
+
+    private List<ColumnDescriptor> describe(@Nullable Object[] row) {
+
+        List<TableValuedParameter.Column> declared = this.parameter.getColumns();
+
+        if (row != null) {
+            Assert.isTrue(row.length == declared.size(), () -> String.format("Row contains %d values but %d columns are declared", row.length, declared.size()));
+        }
+
+        Collation collation = getCollation();
+        List<ColumnDescriptor> columns = new ArrayList<>(declared.size());
+
+        for (int i = 0; i < declared.size(); i++) {
+
+            TableValuedParameter.Column column = declared.get(i);
+            Object value = row != null ? row[i] : null;
+            Encoded prototype;
+
+            if (value != null) {
+                prototype = this.codecs.encode(this.allocator, this.context, value);
+            } else {
+
+                Class<?> type = column.getType();
+
+                if (type == null) {
+                    throw new IllegalArgumentException(String.format("Cannot determine the type of column [%s] of table type [%s]; declare the column type", column.getName(),
+                        this.parameter.getTypeName()));
+                }
+
+                prototype = this.codecs.encodeNull(this.allocator, type);
+            }
+
+            try {
+                columns.add(ColumnDescriptor.create(column.getName(), prototype, collation));
+            } finally {
+                prototype.release();
+            }
+        }
+
+        return columns;
+    }
+
+    private ByteBuf encodeColumnMetadata(List<ColumnDescriptor> columns) {
+
+        ByteBuf buffer = this.allocator.buffer();
+
+        Encode.uShort(buffer, columns.size());
+
+        for (ColumnDescriptor column : columns) {
+            column.encodeMetadata(buffer, COLUMN_FLAGS, false);
+        }
+
+        Encode.asByte(buffer, TVP_END_TOKEN); // no optional metadata
+
+        return buffer;
+    }
+
+    private ByteBuf encodeRow(List<ColumnDescriptor> columns, Object[] row) {
+
+        Assert.isTrue(row.length == columns.size(), () -> String.format("Row contains %d values but %d columns are declared", row.length, columns.size()));
+
+        ByteBuf buffer = this.allocator.buffer();
+        Encode.asByte(buffer, TVP_ROW_TOKEN);
+
+        for (int i = 0; i < row.length; i++) {
+
+            Encoded value = row[i] != null ? this.codecs.encode(this.allocator, this.context, row[i]) : null;
+
+            try {
+                columns.get(i).encodeValue(buffer, value);
+            } catch (RuntimeException e) {
+                buffer.release();
+                throw e;
+            } finally {
+                if (value != null) {
+                    value.release();
+                }
+            }
+        }
+
+        return buffer;
+    }
+
+    private Collation getCollation() {
+
+        RpcParameterContext.ValueContext valueContext = this.context.getValueContext();
+
+        if (valueContext instanceof RpcParameterContext.CharacterValueContext) {
+            return ((RpcParameterContext.CharacterValueContext) valueContext).getCollation();
+        }
+
+        return Collation.RAW;
+    }
+
+    private static void encodeName(ByteBuf buffer, String name) {
+
+        String nameToUse = name.startsWith("[") && name.endsWith("]") ? name.substring(1, name.length() - 1) : name;
+
+        Encode.asByte(buffer, nameToUse.length());
+        Encode.rpcString(buffer, nameToUse);
+    }
+
+}
@@ -64,7 +64,7 @@ public abstract class AbstractDoneToken extends AbstractDataToken {
     /**
      * The DONE message is a server acknowledgement of a client ATTENTION message.
      */
-    static final int DONE_ATTN = 0x10;
+    static final int DONE_ATTN = 0x20;
 
     /**
      * This DONEPROC message is associated with an RPC within a set of batched RPCs. This flag is not set on the last RPC in the RPC batch.
@@ -137,6 +137,22 @@ public abstract class AbstractDoneToken extends AbstractDataToken {
         return false;
     }
 
+    /**
+     * Check whether the {@link Message} is a done token acknowledging an attention signal.
+     *
+     * @param message the message to inspect.
+     * @return {@literal true} if the {@link Message} acknowledges an attention signal.
+     * @since 0.9
+     */
+    public static boolean isAttentionAck(Message message) {
+
+        if (message instanceof AbstractDoneToken) {
+            return ((AbstractDoneToken) message).isAttentionAck();
+        }
+
+        return false;
+    }
+
     /**
      * Check whether the {@link ByteBuf} can be decoded into an entire {@link AbstractDoneToken}.
      *
@@ -200,6 +216,14 @@ public abstract class AbstractDoneToken extends AbstractDataToken {
         return (getStatus() & DONE_COUNT) != 0;
     }
 
+    /**
+     * @return {@code true} if this token acknowledges an attention signal.
+     * @since 0.9
+     */
+    public boolean isAttentionAck() {
+        return (getStatus() & DONE_ATTN) != 0;
+    }
+
     /**
      * @return the application-level command counter.
      */
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.message.ClientMessage;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.tds.TdsFragment;
+import io.r2dbc.mssql.message.tds.TdsPackets;
+import io.r2dbc.mssql.util.Assert;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk load data stream ({@literal BULK_LOAD_DATA}) that follows an {@literal INSERT BULK} statement. The stream consists of a {@literal COLMETADATA} token describing the columns, a
+ * {@literal ROW} token per row and a terminating {@literal DONE} token. Rows are consumed from a {@link Publisher} and aggregated into fragments of {@code bufferSize} bytes so that rows are
+ * requested from the publisher only as fast as the transport is able to write fragments.
+ *
+ * @author Mark Paluch
+ * @see ColumnDescriptor
+ */
+public final class BulkLoad implements ClientMessage, TokenStream {
+
+    static final HeaderOptions HEADER = HeaderOptions.create(Type.BULK_LOAD_DATA, Status.empty());
+
+    /**
+     * Column flags: nullable and updateable (read/write).
+     */
+    private static final int COLUMN_FLAGS = 0x0001 | 0x0008;
+
+    private final List<ColumnDescriptor> columns;
+
+    private final Publisher<ByteBuf> rows;
+
+    private final int bufferSize;
+
+    private BulkLoad(List<ColumnDescriptor> columns, Publisher<ByteBuf> rows, int bufferSize) {
+        this.columns = columns;
+        this.rows = rows;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates a new {@link BulkLoad}.
+     *
+     * @param columns    the column descriptors.
+     * @param rows       the rows, each encoded as {@literal ROW} token through {@link #encodeRow(ByteBuf, List, Encoded[])}.
+     * @param bufferSize number of bytes to aggregate into a single fragment. {@code 0} to use the packet size.
+     * @return the {@link BulkLoad}.
+     * @throws IllegalArgumentException when {@code columns} or {@code rows} is {@code null}, {@code columns} is empty or {@code bufferSize} is negative.
+     */
+    public static BulkLoad create(List<ColumnDescriptor> columns, Publisher<ByteBuf> rows, int bufferSize) {
+
+        Assert.requireNonNull(columns, "Columns must not be null");
+        Assert.isTrue(!columns.isEmpty(), "Columns must not be empty");
+        Assert.requireNonNull(rows, "Rows must not be null");
+        Assert.isTrue(bufferSize >= 0, "Buffer size must be greater or equal to zero");
+
+        return new BulkLoad(new ArrayList<>(columns), rows, bufferSize);
+    }
+
+    /**
+     * Encode a {@literal ROW} token.
+     *
+     * @param buffer  the data buffer.
+     * @param columns the column descriptors.
+     * @param values  the encoded values. {@code null} elements represent {@code null} values.
+     * @throws IllegalArgumentException when the number of values does not match the number of columns or a value is not compatible with its column.
+     */
+    public static void encodeRow(ByteBuf buffer, List<ColumnDescriptor> columns, Encoded[] values) {
+
+        Assert.requireNonNull(buffer, "Data buffer must not be null");
+        Assert.requireNonNull(columns, "Columns must not be null");
+        Assert.requireNonNull(values, "Values must not be null");
+        Assert.isTrue(columns.size() == values.length, () -> String.format("Row contains %d values but %d columns are mapped", values.length, columns.size()));
+
+        Encode.asByte(buffer, RowToken.TYPE);
+
+        for (int i = 0; i < values.length; i++) {
+            columns.get(i).encodeValue(buffer, values[i]);
+        }
+    }
+
+    @Override
+    public Publisher<TdsFragment> encode(ByteBufAllocator allocator, int packetSize) {
+
+        Assert.requireNonNull(allocator, "ByteBufAllocator must not be null");
+
+        int bufferSize = this.bufferSize > 0 ? this.bufferSize : packetSize;
+
+        return Flux.defer(() -> {
+
+            AtomicInteger buffered = new AtomicInteger();
+
+            Flux<TdsFragment> rows = Flux.from(this.rows).bufferUntil(row -> {
+
+                if (buffered.addAndGet(row.readableBytes()) >= bufferSize) {
+                    buffered.set(0);
+                    return true;
+                }
+
+                return false;
+            }).map(it -> {
+
+                CompositeByteBuf fragment = allocator.compositeBuffer(it.size());
+                fragment.addComponents(true, it);
+
+                return TdsPackets.create(fragment);
+            });
+
+            return Mono.<TdsFragment>fromSupplier(() -> TdsPackets.first(HEADER, encodeColumnMetadata(allocator)))
+                .concatWith(rows)
+                .concatWith(Mono.<TdsFragment>fromSupplier(() -> TdsPackets.last(encodeDone(allocator))));
+        }).doOnDiscard(ByteBuf.class, ReferenceCountUtil::release);
+    }
+
+    ByteBuf encodeColumnMetadata(ByteBufAllocator allocator) {
+
+        ByteBuf buffer = allocator.buffer();
+
+        Encode.asByte(buffer, ColumnMetadataToken.TYPE);
+        Encode.uShort(buffer, this.columns.size());
+
+        for (ColumnDescriptor column : this.columns) {
+            column.encodeMetadata(buffer, COLUMN_FLAGS, true);
+        }
+
+        return buffer;
+    }
+
+    static ByteBuf encodeDone(ByteBufAllocator allocator) {
+
+        ByteBuf buffer = allocator.buffer(AbstractDoneToken.LENGTH);
+
+        Encode.asByte(buffer, DoneToken.TYPE);
+        Encode.uShort(buffer, 0); // status
+        Encode.uShort(buffer, 0); // current command
+        Encode.uLongLong(buffer, 0); // row count
+
+        return buffer;
+    }
+
+    public List<ColumnDescriptor> getColumns() {
+        return this.columns;
+    }
+
+    @Override
+    public String getName() {
+        return "BulkLoad";
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getName());
+        sb.append(" [columns=").append(this.columns);
+        sb.append(", bufferSize=").append(this.bufferSize);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.PlpEncoded;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.message.type.LengthStrategy;
+import io.r2dbc.mssql.message.type.SqlServerType;
+import io.r2dbc.mssql.message.type.TdsDataType;
+import io.r2dbc.mssql.util.Assert;
+import reactor.util.annotation.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Describes a column of a client-sent row stream such as {@link BulkLoad bulk load} data or a table-valued parameter. The column type information is derived from a prototype {@link Encoded}
+ * value so that subsequent values can be written as {@literal TYPE_VARBYTE} by stripping the type information from the encoded values. Values must use the same {@link TdsDataType} and type
+ * information (max length, precision, scale) as the prototype. PLP-encoded values are not supported.
+ *
+ * @author Mark Paluch
+ */
+public final class ColumnDescriptor {
+
+    private static final int COLLATION_LENGTH = 5;
+
+    private final String name;
+
+    private final String formalType;
+
+    private final TdsDataType dataType;
+
+    private final byte[] typeInformation;
+
+    private final int comparableLength;
+
+    private ColumnDescriptor(String name, String formalType, TdsDataType dataType, byte[] typeInformation, int comparableLength) {
+        this.name = name;
+        this.formalType = formalType;
+        this.dataType = dataType;
+        this.typeInformation = typeInformation;
+        this.comparableLength = comparableLength;
+    }
+
+    /**
+     * Creates a new {@link ColumnDescriptor} from a prototype value.
+     *
+     * @param name      the column name.
+     * @param prototype the prototype value to derive the type information from.
+     * @param collation the collation to use for character columns.
+     * @return the {@link ColumnDescriptor}.
+     * @throws IllegalArgumentException when {@code name}, {@code prototype}, or {@code collation} is {@code null} or the prototype uses a type that is not supported.
+     */
+    public static ColumnDescriptor create(String name, Encoded prototype, Collation collation) {
+
+        Assert.requireNonNull(name, "Name must not be null");
+        Assert.requireNonNull(prototype, "Prototype must not be null");
+        Assert.requireNonNull(collation, "Collation must not be null");
+
+        if (prototype instanceof PlpEncoded) {
+            throw new IllegalArgumentException(String.format("Column [%s] uses PLP type [%s] that is not supported", name, prototype.getFormalType()));
+        }
+
+        TdsDataType dataType = prototype.getDataType();
+        ByteBuf value = prototype.getValue();
+
+        byte[] typeInformation = new byte[getTypeInformationLength(name, dataType)];
+        value.getBytes(value.readerIndex(), typeInformation);
+
+        int comparableLength = typeInformation.length;
+        String formalType = prototype.getFormalType();
+
+        if (isCharacterType(dataType)) {
+
+            // replace the parameter collation (e.g. RAW for null values) with the actual collation
+            ByteBuf buffer = Unpooled.wrappedBuffer(typeInformation);
+            buffer.writerIndex(2);
+            collation.encode(buffer);
+            comparableLength = 2;
+            formalType = getCharacterFormalType(dataType, value.getUnsignedShortLE(value.readerIndex()));
+        }
+
+        return new ColumnDescriptor(name, formalType, dataType, typeInformation, comparableLength);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the formal type such as {@literal INT} or {@literal NVARCHAR(4000)} to declare the column in an {@literal INSERT BULK} statement.
+     *
+     * @return the formal type.
+     */
+    public String getFormalType() {
+        return this.formalType;
+    }
+
+    public TdsDataType getDataType() {
+        return this.dataType;
+    }
+
+    /**
+     * Encode the column metadata consisting of user type, flags, {@literal TYPE_INFO} and column name.
+     *
+     * @param buffer      the data buffer.
+     * @param flags       the column flags.
+     * @param includeName whether to include the column name. Encodes an empty name if {@code false}.
+     */
+    public void encodeMetadata(ByteBuf buffer, int flags, boolean includeName) {
+
+        Encode.dword(buffer, 0); // user type
+        Encode.uShort(buffer, flags);
+        Encode.asByte(buffer, this.dataType.getValue());
+        buffer.writeBytes(this.typeInformation);
+
+        if (includeName) {
+            Encode.asByte(buffer, this.name.length());
+            Encode.rpcString(buffer, this.name);
+        } else {
+            Encode.asByte(buffer, 0);
+        }
+    }
+
+    /**
+     * Encode a column value as {@literal TYPE_VARBYTE}.
+     *
+     * @param buffer the data buffer.
+     * @param value  the encoded value, can be {@code null}.
+     * @throws IllegalArgumentException when the value is not compatible with this column.
+     */
+    public void encodeValue(ByteBuf buffer, @Nullable Encoded value) {
+
+        if (value == null) {
+
+            if (this.dataType.getLengthStrategy() == LengthStrategy.BYTELENTYPE) {
+                Encode.asByte(buffer, 0);
+            } else {
+                Encode.uShort(buffer, 0xFFFF);
+            }
+
+            return;
+        }
+
+        if (value instanceof PlpEncoded || value.getDataType() != this.dataType) {
+            throw new IllegalArgumentException(String.format("Column [%s] of type [%s] cannot accept a value of type [%s]", this.name, this.formalType, value.getFormalType()));
+        }
+
+        ByteBuf source = value.getValue();
+        int offset = source.readerIndex() + this.typeInformation.length;
+
+        if (!isNull(source, offset)) {
+
+            for (int i = 0; i < this.comparableLength; i++) {
+                if (source.getByte(source.readerIndex() + i) != this.typeInformation[i]) {
+                    throw new IllegalArgumentException(String.format("Column [%s] of type [%s] cannot accept a value of type [%s]", this.name, this.formalType, value.getFormalType()));
+                }
+            }
+        }
+
+        buffer.writeBytes(source, offset, source.writerIndex() - offset);
+    }
+
+    private boolean isNull(ByteBuf source, int offset) {
+
+        if (this.dataType.getLengthStrategy() == LengthStrategy.BYTELENTYPE) {
+            return source.getUnsignedByte(offset) == 0;
+        }
+
+        return source.getUnsignedShortLE(offset) == 0xFFFF;
+    }
+
+    private static int getTypeInformationLength(String name, TdsDataType dataType) {
+
+        switch (dataType.getLengthStrategy()) {
+
+            case BYTELENTYPE:
+
+                switch (dataType) {
+                    case DECIMALN:
+                    case NUMERICN:
+                        return 3; // max length, precision, scale
+                    case DATEN:
+                        return 0;
+                    default:
+                        return 1; // max length or scale
+                }
+
+            case USHORTLENTYPE:
+                return isCharacterType(dataType) ? 2 + COLLATION_LENGTH : 2;
+
+            default:
+                throw new IllegalArgumentException(String.format("Column [%s] uses type [%s] that is not supported", name, dataType));
+        }
+    }
+
+    private static String getCharacterFormalType(TdsDataType dataType, int maxLength) {
+
+        switch (dataType) {
+            case BIGCHAR:
+                return SqlServerType.CHAR + "(" + maxLength + ")";
+            case NCHAR:
+                return SqlServerType.NCHAR + "(" + (maxLength / 2) + ")";
+            case NVARCHAR:
+                return SqlServerType.NVARCHAR + "(" + (maxLength / 2) + ")";
+            default:
+                return SqlServerType.VARCHAR + "(" + maxLength + ")";
+        }
+    }
+
+    private static boolean isCharacterType(TdsDataType dataType) {
+        return dataType == TdsDataType.BIGCHAR || dataType == TdsDataType.BIGVARCHAR || dataType == TdsDataType.NCHAR || dataType == TdsDataType.NVARCHAR;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [name='").append(this.name).append('\'');
+        sb.append(", formalType='").append(this.formalType).append('\'');
+        sb.append(", dataType=").append(this.dataType);
+        sb.append(", typeInformation=").append(Arrays.toString(this.typeInformation));
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -100,6 +100,17 @@ public final class DoneToken extends AbstractDoneToken {
         return create0(DONE_MORE | DONE_COUNT, 0, rowCount);
     }
 
+    /**
+     * Creates a new {@link DoneToken} acknowledging an attention signal.
+     *
+     * @return the {@link DoneToken}.
+     * @see #isAttentionAck()
+     * @since 0.9
+     */
+    public static DoneToken attentionAck() {
+        return create0(DONE_ATTN, 0, 0);
+    }
+
     /**
      * Check whether the the {@link Message} represents a finished {@link DoneToken}.
      *
@@ -17,15 +17,15 @@
 package io.r2dbc.mssql.message.token;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
 import io.r2dbc.mssql.message.tds.Decode;
 import io.r2dbc.mssql.util.Assert;
+import reactor.util.annotation.Nullable;
 
 import java.util.Arrays;
 
 /**
  * NBC Row (Null-bitmap compressed row). Expresses nullability through a bitmap.
- * <p><strong>Note:</strong> PLP values are aggregated in a single {@link ByteBuf} and not yet streamed. This is to be fixed.
+ * <p>PLP values are aggregated before emitting the row unless {@link PlpStream streaming} is enabled and the PLP value is contained in the last column of the row.
  *
  * @author Mark Paluch
  */
@@ -41,8 +41,33 @@ public final class NbcRowToken extends RowToken {
      * @param data       the row data.
      * @param nullMarker {@code null} bitmap.
      */
-    private NbcRowToken(ByteBuf[] data, boolean[] nullMarker) {
-        super(data);
+    NbcRowToken(ByteBuf[] data, boolean[] nullMarker) {
+        this(data, nullMarker, null);
+    }
+
+    /**
+     * Creates a {@link NbcRowToken} whose last column may be streamed through a {@link PlpStream}.
+     *
+     * @param data       the row data.
+     * @param nullMarker {@code null} bitmap.
+     * @param plpStream  the stream of the last column.
+     * @since 0.9
+     */
+    NbcRowToken(ByteBuf[] data, boolean[] nullMarker, @Nullable PlpStream plpStream) {
+        super(data, plpStream);
+        this.nullMarker = nullMarker;
+    }
+
+    /**
+     * Creates a compact {@link NbcRowToken}.
+     *
+     * @param rowData    the row data.
+     * @param offsets    offset and length pairs for each column.
+     * @param nullMarker {@code null} bitmap.
+     * @since 0.9
+     */
+    NbcRowToken(ByteBuf rowData, int[] offsets, boolean[] nullMarker) {
+        super(rowData, offsets);
         this.nullMarker = nullMarker;
     }
 
@@ -108,26 +133,10 @@ public final class NbcRowToken extends RowToken {
     }
 
     private static NbcRowToken doDecode(ByteBuf buffer, Column[] columns) {
-
-        ByteBuf[] data = new ByteBuf[columns.length];
-
-        boolean[] nullMarkers = getNullBitmap(buffer, columns);
-
-        for (int i = 0; i < columns.length; i++) {
-
-            Column column = columns[i];
-
-            if (nullMarkers[i]) {
-                data[i] = Unpooled.EMPTY_BUFFER;
-            } else {
-                data[i] = decodeColumnData(buffer, column);
-            }
-        }
-
-        return new NbcRowToken(data, nullMarkers);
+        return decodeEntirely(createDecoder(TYPE, columns), buffer);
     }
 
-    private static boolean[] getNullBitmap(ByteBuf buffer, Column[] columns) {
+    static boolean[] getNullBitmap(ByteBuf buffer, Column[] columns) {
 
         int nullBitmapSize = getNullBitmapSize(columns);
 
@@ -155,7 +164,7 @@ public final class NbcRowToken extends RowToken {
         return nullMarkers;
     }
 
-    private static int getNullBitmapSize(Column[] columns) {
+    static int getNullBitmapSize(Column[] columns) {
         return ((columns.length - 1) >> 3) + 1;
     }
 
@@ -0,0 +1,302 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCountUtil;
+import io.r2dbc.mssql.message.type.Length;
+import io.r2dbc.mssql.message.type.TypeInformation;
+import io.r2dbc.mssql.util.Assert;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Operators;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Streamed PLP value. A {@link RowToken} can be emitted before its last PLP column is received entirely. Subsequent PLP chunks are decoded into this stream as packets arrive and emitted as
+ * de-chunked {@link ByteBuf data buffers} to a single {@link Subscriber}. Emitted buffers must be released by the subscriber.
+ * <p/>
+ * The stream is {@link #isBackpressured() backpressured} if it holds decoded data that cannot be emitted because of missing demand. The {@link #setBackpressureListener(Runnable) backpressure
+ * listener} is notified whenever backpressure may have changed so that reading from the transport can be suspended and resumed accordingly.
+ * <p/>
+ * The stream must be {@link #claim() claimed} by its consumer. Unclaimed streams are discarded once the containing {@link RowToken} gets released.
+ *
+ * @author Mark Paluch
+ * @since 0.9
+ */
+public final class PlpStream implements Publisher<ByteBuf> {
+
+    private static final Runnable NO_OP = () -> {
+    };
+
+    private static final AtomicIntegerFieldUpdater<PlpStream> WIP = AtomicIntegerFieldUpdater.newUpdater(PlpStream.class, "wip");
+
+    private static final AtomicIntegerFieldUpdater<PlpStream> CLAIMED = AtomicIntegerFieldUpdater.newUpdater(PlpStream.class, "claimed");
+
+    private static final AtomicLongFieldUpdater<PlpStream> REQUESTED = AtomicLongFieldUpdater.newUpdater(PlpStream.class, "requested");
+
+    private final TypeInformation type;
+
+    private final Queue<ByteBuf> queue = Queues.<ByteBuf>unbounded().get();
+
+    private int chunkRemaining;
+
+    private volatile int wip;
+
+    private volatile int claimed;
+
+    private volatile long requested;
+
+    private volatile boolean done;
+
+    private volatile boolean discarded;
+
+    @Nullable
+    private volatile Throwable error;
+
+    @Nullable
+    private volatile Subscriber<? super ByteBuf> subscriber;
+
+    private boolean terminated;
+
+    private volatile Runnable backpressureListener = NO_OP;
+
+    PlpStream(TypeInformation type) {
+        this.type = type;
+    }
+
+    /**
+     * Decode PLP chunks from the {@link ByteBuf data buffer} as far as possible. Partially received chunks are consumed as well.
+     *
+     * @param buffer the data buffer.
+     * @return {@code true} if the PLP terminator was decoded, {@code false} if the stream requires more data.
+     */
+    boolean decode(ByteBuf buffer) {
+
+        try {
+            while (true) {
+
+                if (this.chunkRemaining == 0) {
+
+                    if (!Length.canDecode(buffer, this.type)) {
+                        return false;
+                    }
+
+                    int chunkLength = Length.decode(buffer, this.type).getLength();
+
+                    if (chunkLength == 0) {
+                        this.done = true;
+                        return true;
+                    }
+
+                    this.chunkRemaining = chunkLength;
+                }
+
+                int readable = Math.min(buffer.readableBytes(), this.chunkRemaining);
+
+                if (readable == 0) {
+                    return false;
+                }
+
+                this.chunkRemaining -= readable;
+
+                if (this.discarded) {
+                    buffer.skipBytes(readable);
+                } else {
+                    this.queue.offer(buffer.readRetainedSlice(readable));
+                }
+            }
+        } finally {
+            drain();
+            this.backpressureListener.run();
+        }
+    }
+
+    /**
+     * Claim this stream for consumption. A stream can be claimed only once.
+     *
+     * @return {@code true} if the stream was claimed by this call, {@code false} if the stream was already claimed.
+     */
+    public boolean claim() {
+        return CLAIMED.compareAndSet(this, 0, 1);
+    }
+
+    /**
+     * Discard the stream and release all decoded data. Data that is received after discarding the stream is released immediately.
+     */
+    public void discard() {
+
+        this.discarded = true;
+        drain();
+        this.backpressureListener.run();
+    }
+
+    /**
+     * Terminate the stream with an error, typically if the underlying transport was closed before the value was received entirely. Has no effect if the stream was already received entirely.
+     *
+     * @param throwable the error.
+     */
+    public void onError(Throwable throwable) {
+
+        Assert.requireNonNull(throwable, "Throwable must not be null");
+
+        if (this.done) {
+            return;
+        }
+
+        this.error = throwable;
+        drain();
+        this.backpressureListener.run();
+    }
+
+    /**
+     * @return {@code true} if this stream holds decoded data that was not yet requested by its subscriber while the value is not yet received entirely.
+     */
+    public boolean isBackpressured() {
+        return !this.done && !this.discarded && this.error == null && !this.queue.isEmpty();
+    }
+
+    /**
+     * Register a listener that is notified when {@link #isBackpressured() backpressure} may have changed.
+     *
+     * @param backpressureListener the listener.
+     */
+    public void setBackpressureListener(Runnable backpressureListener) {
+        this.backpressureListener = Assert.requireNonNull(backpressureListener, "Backpressure listener must not be null");
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuf> subscriber) {
+
+        Assert.requireNonNull(subscriber, "Subscriber must not be null");
+
+        if (this.subscriber != null) {
+            Operators.error(subscriber, new IllegalStateException("PlpStream allows only a single Subscriber"));
+            return;
+        }
+
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Subscription() {
+
+            @Override
+            public void request(long n) {
+
+                if (Operators.validate(n)) {
+                    Operators.addCap(REQUESTED, PlpStream.this, n);
+                    drain();
+                    PlpStream.this.backpressureListener.run();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                discard();
+            }
+        });
+
+        drain();
+    }
+
+    /**
+     * Discard this stream if it was not claimed.
+     */
+    void discardIfUnclaimed() {
+
+        if (this.claimed == 0) {
+            discard();
+        }
+    }
+
+    private void drain() {
+
+        if (WIP.getAndIncrement(this) != 0) {
+            return;
+        }
+
+        int missed = 1;
+
+        do {
+
+            Subscriber<? super ByteBuf> subscriber = this.subscriber;
+
+            if (this.discarded) {
+                clear();
+            } else if (subscriber != null && !this.terminated) {
+
+                long requested = this.requested;
+                long emitted = 0;
+
+                while (emitted != requested && !this.discarded) {
+
+                    ByteBuf buffer = this.queue.poll();
+
+                    if (buffer == null) {
+                        break;
+                    }
+
+                    subscriber.onNext(buffer);
+                    emitted++;
+                }
+
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    REQUESTED.addAndGet(this, -emitted);
+                }
+
+                Throwable error = this.error;
+
+                if (error != null) {
+
+                    this.terminated = true;
+                    clear();
+                    subscriber.onError(error);
+                } else if (this.done && this.queue.isEmpty()) {
+
+                    this.terminated = true;
+                    subscriber.onComplete();
+                }
+            }
+
+            missed = WIP.addAndGet(this, -missed);
+        } while (missed != 0);
+    }
+
+    private void clear() {
+
+        ByteBuf buffer;
+        while ((buffer = this.queue.poll()) != null) {
+            ReferenceCountUtil.release(buffer);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [done=").append(this.done);
+        sb.append(", discarded=").append(this.discarded);
+        sb.append(", queued=").append(this.queue.size());
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -19,10 +19,12 @@ package io.r2dbc.mssql.message.token;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.netty.util.AbstractReferenceCounted;
+import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCountUtil;
 import io.r2dbc.mssql.message.type.Length;
 import io.r2dbc.mssql.message.type.LengthStrategy;
 import io.r2dbc.mssql.message.type.PlpLength;
+import io.r2dbc.mssql.message.type.TypeInformation;
 import io.r2dbc.mssql.util.Assert;
 import reactor.util.annotation.Nullable;
 
@@ -32,7 +34,7 @@ import java.nio.Buffer;
  * Row token message containing row bytes.
  * Extends {@link AbstractReferenceCounted} to release associated {@link ByteBuf}s once the row is de-allocated.
  *
- * <p><strong>Note:</strong> PLP values are aggregated in a single {@link ByteBuf} and not yet streamed. This is to be fixed.
+ * <p>PLP values are aggregated before emitting the row unless {@link PlpStream streaming} is enabled and the PLP value is contained in the last column of the row.
  *
  * @author Mark Paluch
  */
@@ -40,15 +42,56 @@ public class RowToken extends AbstractReferenceCounted implements DataToken {
 
     public static final byte TYPE = (byte) 0xD1;
 
+    private static final int NULL_OFFSET = -1;
+
+    @Nullable
     private final ByteBuf[] data;
 
+    @Nullable
+    private final ByteBuf rowData;
+
+    @Nullable
+    private final int[] offsets;
+
+    @Nullable
+    private final PlpStream plpStream;
+
     /**
-     * Creates a {@link RowToken}.
+     * Creates a {@link RowToken} backed by one buffer per column.
      *
      * @param data the row data.
      */
     RowToken(ByteBuf[] data) {
+        this(data, null);
+    }
+
+    /**
+     * Creates a {@link RowToken} backed by one buffer per column whose last column is streamed through a {@link PlpStream}. The column data of the streamed column contains the PLP length header.
+     *
+     * @param data      the row data.
+     * @param plpStream the stream of the last column.
+     * @since 0.9
+     */
+    RowToken(ByteBuf[] data, @Nullable PlpStream plpStream) {
         this.data = data;
+        this.rowData = null;
+        this.offsets = null;
+        this.plpStream = plpStream;
+    }
+
+    /**
+     * Creates a compact {@link RowToken} backed by a single buffer for the entire row and an offset table that contains offset and length of each column value within {@code rowData}. A
+     * {@code null} column value is represented by a negative offset.
+     *
+     * @param rowData the row data.
+     * @param offsets offset and length pairs for each column.
+     * @since 0.9
+     */
+    RowToken(ByteBuf rowData, int[] offsets) {
+        this.data = null;
+        this.rowData = rowData;
+        this.offsets = offsets;
+        this.plpStream = null;
     }
 
     /**
@@ -174,107 +217,123 @@ public class RowToken extends AbstractReferenceCounted implements DataToken {
     }
 
     private static RowToken doDecode(ByteBuf buffer, Column[] columns) {
+        return decodeEntirely(new RowDecoder(false, columns, false), buffer);
+    }
+
+    /**
+     * Decode an entire row using the {@link RowDecoder}. The {@link ByteBuf data buffer} is expected to contain the entire row.
+     *
+     * @param decoder the row decoder.
+     * @param buffer  the data buffer.
+     * @return the decoded {@link RowToken}.
+     * @throws IllegalArgumentException if the buffer does not contain the entire row.
+     */
+    static <T extends RowToken> T decodeEntirely(RowDecoder decoder, ByteBuf buffer) {
 
-        ByteBuf[] data = new ByteBuf[columns.length];
+        RowToken rowToken = decoder.decode(buffer);
 
-        for (int i = 0; i < columns.length; i++) {
-            data[i] = decodeColumnData(buffer, columns[i]);
+        if (rowToken == null) {
+            decoder.release();
+            throw new IllegalArgumentException("Data buffer does not contain an entire row");
         }
 
-        return new RowToken(data);
+        @SuppressWarnings("unchecked")
+        T result = (T) rowToken;
+        return result;
     }
 
     /**
-     * Decode a {@link ByteBuf data buffer} for a single {@link Column}.
+     * Creates a new, resumable {@link RowDecoder} for a {@link RowToken} or {@link NbcRowToken}.
      *
-     * @param buffer the data buffer.
-     * @param column the column.
-     * @return
+     * @param type    the token type, either {@link RowToken#TYPE} or {@link NbcRowToken#TYPE}.
+     * @param columns column descriptors.
+     * @return the {@link RowDecoder}.
+     * @since 0.9
      */
-    @Nullable
-    static ByteBuf decodeColumnData(ByteBuf buffer, Column column) {
-
-        if (column.getType().getLengthStrategy() == LengthStrategy.PARTLENTYPE) {
-            buffer.markReaderIndex();
-            return doDecodePlp(buffer, column);
-        } else {
-            return doDecode(buffer, column);
-        }
+    static RowDecoder createDecoder(byte type, Column[] columns) {
+        return createDecoder(type, columns, false);
     }
 
     /**
-     * Decode a scalar length value. Returns {@code null} if {@link Length#isNull()}.
+     * Creates a new, resumable {@link RowDecoder} for a {@link RowToken} or {@link NbcRowToken}.
      *
-     * @param buffer the data buffer.
-     * @param column the column.
-     * @return
+     * @param type      the token type, either {@link RowToken#TYPE} or {@link NbcRowToken#TYPE}.
+     * @param columns   column descriptors.
+     * @param streaming {@code true} to emit the row before a PLP value in the last column is received entirely and to stream the PLP value through a {@link PlpStream}.
+     * @return the {@link RowDecoder}.
+     * @since 0.9
      */
-    @Nullable
-    private static ByteBuf doDecode(ByteBuf buffer, Column column) {
-
-        int startRead = buffer.readerIndex();
-        Length length = Length.decode(buffer, column.getType());
+    static RowDecoder createDecoder(byte type, Column[] columns, boolean streaming) {
 
-        if (length.isNull()) {
-            return null;
-        }
-
-        int endRead = buffer.readerIndex();
-        int descriptorLength = endRead - startRead;
+        Assert.requireNonNull(columns, "List of Columns must not be null");
 
-        buffer.readerIndex(startRead);
-        return buffer.readRetainedSlice(descriptorLength + length.getLength());
+        return new RowDecoder(type == NbcRowToken.TYPE, columns, streaming);
     }
 
     /**
-     * Decode a PLP stream value. Returns {@code null} if {@link Length#isNull()}. The decoded value contains an entire PLP token stream with chunk headers.
+     * Returns the {@link ByteBuf data} for the column at {@code index}. The returned buffer shares its reference count with this {@link RowToken} and must not be released by the caller.
      *
-     * @param buffer the data buffer.
-     * @param column the column.
-     * @return
+     * @param index the column {@code index}.
+     * @return the data buffer. Can be {@code null} if indicated by null-bit compression.
      */
     @Nullable
-    private static ByteBuf doDecodePlp(ByteBuf buffer, Column column) {
+    public ByteBuf getColumnData(int index) {
 
-        PlpLength totalLength = PlpLength.decode(buffer, column.getType());
+        if (this.data != null) {
+            return this.data[index];
+        }
 
-        if (totalLength.isNull()) {
+        int offset = this.offsets[index * 2];
+
+        if (offset == NULL_OFFSET) {
             return null;
         }
 
-        CompositeByteBuf plpData = buffer.alloc().compositeBuffer();
-        ByteBuf length = buffer.alloc().buffer(8);
-        totalLength.encode(length);
+        return this.rowData.slice(offset, this.offsets[index * 2 + 1]);
+    }
 
-        plpData.addComponent(true, length);
+    /**
+     * Returns the number of bytes held by this row. Streamed column values are not considered.
+     *
+     * @return the number of readable bytes of all column values.
+     * @since 0.9
+     */
+    public int getLength() {
 
-        while (true) {
+        if (this.data == null) {
+            return this.rowData.readableBytes();
+        }
 
-            Length chunkLength = Length.decode(buffer, column.getType());
+        int length = 0;
 
-            if (chunkLength.getLength() == 0) {
-                break;
+        for (ByteBuf buffer : this.data) {
+            if (buffer != null) {
+                length += buffer.readableBytes();
             }
-
-            length = buffer.alloc().buffer(4);
-            chunkLength.encode(length, column.getType());
-
-            plpData.addComponent(true, length);
-            plpData.addComponent(true, buffer.readRetainedSlice(chunkLength.getLength()));
         }
 
-        return plpData;
+        return length;
     }
 
     /**
-     * Returns the {@link ByteBuf data} for the column at {@code index}.
+     * Returns the {@link PlpStream} for the column at {@code index} if the column value is streamed.
      *
      * @param index the column {@code index}.
-     * @return the data buffer. Can be {@code null} if indicated by null-bit compression.
+     * @return the {@link PlpStream} or {@code null} if the column value is not streamed.
+     * @since 0.9
      */
     @Nullable
-    public ByteBuf getColumnData(int index) {
-        return this.data[index];
+    public PlpStream getPlpStream(int index) {
+        return this.plpStream != null && index == this.data.length - 1 ? this.plpStream : null;
+    }
+
+    /**
+     * @return the {@link PlpStream} of the last column or {@code null} if the row has no streamed column.
+     * @since 0.9
+     */
+    @Nullable
+    public PlpStream getPlpStream() {
+        return this.plpStream;
     }
 
     @Override
@@ -295,9 +354,394 @@ public class RowToken extends AbstractReferenceCounted implements DataToken {
     @Override
     protected void deallocate() {
 
+        if (this.plpStream != null) {
+            this.plpStream.discardIfUnclaimed();
+        }
+
+        if (this.rowData != null) {
+            this.rowData.release();
+            return;
+        }
+
         for (ByteBuf datum : this.data) {
             ReferenceCountUtil.release(datum);
         }
     }
 
+    /**
+     * Resumable decoder for {@link RowToken} and {@link NbcRowToken}. The decoder consumes fully received columns and PLP chunks and retains its parse position (column index, partially received
+     * PLP chunk) between decode attempts. A row that spans multiple packets is therefore decoded incrementally as packets arrive instead of re-scanning the row from its beginning on each attempt.
+     * Column values are decoded in a single pass without a preceding {@link #canDecode(ByteBuf, Column[]) decodability check}. Rows that are received entirely are decoded into a compact
+     * representation that retains a single slice of the row along with a column offset table instead of retaining a slice per column.
+     *
+     * @since 0.9
+     */
+    static final class RowDecoder {
+
+        private static final int TRUNCATED = -2;
+
+        private final boolean nullBitmapCompressed;
+
+        private final Column[] columns;
+
+        private final boolean streaming;
+
+        private final ByteBuf[] data;
+
+        @Nullable
+        private boolean[] nullMarker;
+
+        private int columnIndex;
+
+        @Nullable
+        private CompositeByteBuf plpData;
+
+        private int plpChunkRemaining;
+
+        private boolean resumed;
+
+        private RowDecoder(boolean nullBitmapCompressed, Column[] columns, boolean streaming) {
+            this.nullBitmapCompressed = nullBitmapCompressed;
+            this.columns = columns;
+            this.streaming = streaming;
+            this.data = new ByteBuf[columns.length];
+        }
+
+        /**
+         * Decode the row from the {@link ByteBuf data buffer} as far as possible.
+         *
+         * @param buffer the data buffer.
+         * @return the decoded {@link RowToken} or {@code null} if the buffer does not contain the entire row. Consumed bytes are retained by the decoder and decoding continues with the next
+         * call to this method.
+         */
+        @Nullable
+        RowToken decode(ByteBuf buffer) {
+
+            if (!this.resumed) {
+
+                this.resumed = true;
+                RowToken rowToken = decodeCompact(buffer);
+
+                if (rowToken != null) {
+                    return rowToken;
+                }
+            }
+
+            return decodeIncrementally(buffer);
+        }
+
+        /**
+         * Decode the row into a compact {@link RowToken} backed by a single slice of the row and an offset table. If the buffer does not contain the entire row, then fully received columns are
+         * retained as individual slices and the buffer is rewound to the beginning of the first incomplete column so that decoding can continue {@link #decodeIncrementally(ByteBuf)
+         * incrementally}.
+         *
+         * @param buffer the data buffer.
+         * @return the decoded {@link RowToken} or {@code null} if the buffer does not contain the entire row.
+         */
+        @Nullable
+        private RowToken decodeCompact(ByteBuf buffer) {
+
+            int rowOffset = buffer.readerIndex();
+
+            if (this.nullBitmapCompressed) {
+
+                if (buffer.readableBytes() < NbcRowToken.getNullBitmapSize(this.columns)) {
+                    return null;
+                }
+
+                this.nullMarker = NbcRowToken.getNullBitmap(buffer, this.columns);
+            }
+
+            int[] offsets = new int[this.columns.length * 2];
+
+            for (int i = 0; i < this.columns.length; i++) {
+
+                int columnOffset = buffer.readerIndex();
+                int valueLength;
+
+                if (this.nullMarker != null && this.nullMarker[i]) {
+                    valueLength = NULL_OFFSET;
+                } else {
+                    valueLength = skipValue(buffer, this.columns[i]);
+                }
+
+                if (valueLength == TRUNCATED) {
+
+                    buffer.readerIndex(columnOffset);
+
+                    for (int j = 0; j < i; j++) {
+
+                        int offset = offsets[j * 2];
+
+                        if (this.nullMarker != null && this.nullMarker[j]) {
+                            this.data[j] = Unpooled.EMPTY_BUFFER;
+                        } else {
+                            this.data[j] = offset == NULL_OFFSET ? null : buffer.retainedSlice(rowOffset + offset, offsets[j * 2 + 1]);
+                        }
+                    }
+
+                    this.columnIndex = i;
+                    return null;
+                }
+
+                offsets[i * 2] = valueLength == NULL_OFFSET ? NULL_OFFSET : columnOffset - rowOffset;
+                offsets[i * 2 + 1] = valueLength == NULL_OFFSET ? 0 : valueLength;
+            }
+
+            ByteBuf rowData = buffer.retainedSlice(rowOffset, buffer.readerIndex() - rowOffset);
+
+            return this.nullMarker != null ? new NbcRowToken(rowData, offsets, this.nullMarker) : new RowToken(rowData, offsets);
+        }
+
+        /**
+         * Skip a column value and return its length including the length descriptor. PLP values are skipped including their terminator chunk, the returned length excludes the terminator.
+         *
+         * @param buffer the data buffer.
+         * @param column the column.
+         * @return the value length, {@link #NULL_OFFSET} for {@code null} values or {@link #TRUNCATED} if the buffer does not contain the entire value.
+         */
+        private static int skipValue(ByteBuf buffer, Column column) {
+
+            int offset = buffer.readerIndex();
+            TypeInformation type = column.getType();
+
+            if (type.getLengthStrategy() == LengthStrategy.PARTLENTYPE) {
+
+                if (!PlpLength.canDecode(buffer, type)) {
+                    return TRUNCATED;
+                }
+
+                if (PlpLength.decode(buffer, type).isNull()) {
+                    return NULL_OFFSET;
+                }
+
+                while (true) {
+
+                    int chunkOffset = buffer.readerIndex();
+
+                    if (!Length.canDecode(buffer, type)) {
+                        return TRUNCATED;
+                    }
+
+                    int chunkLength = Length.decode(buffer, type).getLength();
+
+                    if (chunkLength == 0) {
+                        return chunkOffset - offset;
+                    }
+
+                    if (buffer.readableBytes() < chunkLength) {
+                        return TRUNCATED;
+                    }
+
+                    buffer.skipBytes(chunkLength);
+                }
+            }
+
+            if (!Length.canDecode(buffer, type)) {
+                return TRUNCATED;
+            }
+
+            Length length = Length.decode(buffer, type);
+
+            if (length.isNull()) {
+                return NULL_OFFSET;
+            }
+
+            if (buffer.readableBytes() < length.getLength()) {
+                return TRUNCATED;
+            }
+
+            buffer.skipBytes(length.getLength());
+            return buffer.readerIndex() - offset;
+        }
+
+        /**
+         * Decode the row column by column. Consumed columns and PLP chunks are retained between calls.
+         *
+         * @param buffer the data buffer.
+         * @return the decoded {@link RowToken} or {@code null} if the buffer does not contain the entire row.
+         */
+        @Nullable
+        private RowToken decodeIncrementally(ByteBuf buffer) {
+
+            if (this.nullBitmapCompressed && this.nullMarker == null) {
+
+                if (buffer.readableBytes() < NbcRowToken.getNullBitmapSize(this.columns)) {
+                    return null;
+                }
+
+                this.nullMarker = NbcRowToken.getNullBitmap(buffer, this.columns);
+            }
+
+            while (this.columnIndex < this.columns.length) {
+
+                Column column = this.columns[this.columnIndex];
+
+                if (this.nullMarker != null && this.nullMarker[this.columnIndex]) {
+                    this.data[this.columnIndex] = Unpooled.EMPTY_BUFFER;
+                } else if (column.getType().getLengthStrategy() == LengthStrategy.PARTLENTYPE) {
+
+                    if (this.streaming && this.columnIndex == this.columns.length - 1) {
+                        return decodeStreaming(buffer, column);
+                    }
+
+                    if (!decodePlp(buffer, column)) {
+                        return null;
+                    }
+
+                    this.data[this.columnIndex] = this.plpData;
+                    this.plpData = null;
+                } else if (!decodeScalar(buffer, column)) {
+                    return null;
+                }
+
+                this.columnIndex++;
+            }
+
+            return this.nullMarker != null ? new NbcRowToken(this.data, this.nullMarker) : new RowToken(this.data);
+        }
+
+        /**
+         * Decode a scalar value in a single pass. The length descriptor is read once and the value (including its length descriptor) is sliced from the recorded column offset. Rewinds to the
+         * column offset if the value is truncated.
+         *
+         * @param buffer the data buffer.
+         * @param column the column.
+         * @return {@code true} if the value was decoded entirely.
+         */
+        private boolean decodeScalar(ByteBuf buffer, Column column) {
+
+            if (!Length.canDecode(buffer, column.getType())) {
+                return false;
+            }
+
+            int offset = buffer.readerIndex();
+            Length length = Length.decode(buffer, column.getType());
+
+            if (length.isNull()) {
+                this.data[this.columnIndex] = null;
+                return true;
+            }
+
+            int valueLength = buffer.readerIndex() - offset + length.getLength();
+
+            if (buffer.writerIndex() - offset < valueLength) {
+                buffer.readerIndex(offset);
+                return false;
+            }
+
+            this.data[this.columnIndex] = buffer.retainedSlice(offset, valueLength);
+            buffer.readerIndex(offset + valueLength);
+
+            return true;
+        }
+
+        /**
+         * Emit the row with a {@link PlpStream} for the last column once its PLP length header is received. Subsequent PLP chunks are decoded into the {@link PlpStream}.
+         *
+         * @param buffer the data buffer.
+         * @param column the last column.
+         * @return the decoded {@link RowToken} or {@code null} if the buffer does not contain the PLP length header.
+         */
+        @Nullable
+        private RowToken decodeStreaming(ByteBuf buffer, Column column) {
+
+            if (!PlpLength.canDecode(buffer, column.getType())) {
+                return null;
+            }
+
+            PlpLength totalLength = PlpLength.decode(buffer, column.getType());
+            PlpStream plpStream = null;
+
+            if (!totalLength.isNull()) {
+
+                ByteBuf length = buffer.alloc().buffer(8);
+                totalLength.encode(length);
+
+                this.data[this.columnIndex] = length;
+                plpStream = new PlpStream(column.getType());
+            }
+
+            this.columnIndex++;
+
+            return this.nullMarker != null ? new NbcRowToken(this.data, this.nullMarker, plpStream) : new RowToken(this.data, plpStream);
+        }
+
+        /**
+         * Decode a PLP stream value chunk by chunk. Partially received chunks are consumed as well.
+         *
+         * @param buffer the data buffer.
+         * @param column the column.
+         * @return {@code true} if the PLP value was decoded entirely.
+         */
+        private boolean decodePlp(ByteBuf buffer, Column column) {
+
+            if (this.plpData == null) {
+
+                if (!PlpLength.canDecode(buffer, column.getType())) {
+                    return false;
+                }
+
+                PlpLength totalLength = PlpLength.decode(buffer, column.getType());
+
+                if (totalLength.isNull()) {
+                    return true;
+                }
+
+                this.plpData = buffer.alloc().compositeBuffer(Integer.MAX_VALUE);
+
+                ByteBuf length = buffer.alloc().buffer(8);
+                totalLength.encode(length);
+                this.plpData.addComponent(true, length);
+            }
+
+            while (true) {
+
+                if (this.plpChunkRemaining == 0) {
+
+                    if (!Length.canDecode(buffer, column.getType())) {
+                        return false;
+                    }
+
+                    Length chunkLength = Length.decode(buffer, column.getType());
+
+                    if (chunkLength.getLength() == 0) {
+                        return true;
+                    }
+
+                    ByteBuf length = buffer.alloc().buffer(4);
+                    chunkLength.encode(length, column.getType());
+                    this.plpData.addComponent(true, length);
+
+                    this.plpChunkRemaining = chunkLength.getLength();
+                }
+
+                int readable = Math.min(buffer.readableBytes(), this.plpChunkRemaining);
+
+                if (readable == 0) {
+                    return false;
+                }
+
+                this.plpData.addComponent(true, buffer.readRetainedSlice(readable));
+                this.plpChunkRemaining -= readable;
+            }
+        }
+
+        /**
+         * Release partially decoded column data.
+         */
+        void release() {
+
+            for (int i = 0; i < this.columnIndex; i++) {
+                ReferenceCountUtil.release(this.data[i]);
+                this.data[i] = null;
+            }
+
+            ReferenceCountUtil.release(this.plpData);
+            this.plpData = null;
+            this.columnIndex = 0;
+        }
+
+    }
+
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.mssql.message.ClientMessage;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.tds.TdsFragment;
+import io.r2dbc.mssql.message.tds.TdsPackets;
+import io.r2dbc.mssql.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Batch of {@link RpcRequest RPC requests} that are sent within a single RPC message. Requests are separated by the {@link #BATCH_FLAG batch flag} and only the first request carries
+ * {@link AllHeaders}. The server responds with a {@link DoneProcToken} per request. All but the last {@link DoneProcToken} have the {@literal DONE_MORE} bit set.
+ * <p>
+ * Batched requests must not contain parameters that are streamed as PLP segments.
+ *
+ * @author Mark Paluch
+ */
+public final class RpcBatch implements ClientMessage, TokenStream {
+
+    /**
+     * Separator between RPC requests (TDS 7.2 and later).
+     */
+    static final byte BATCH_FLAG = (byte) 0xFF;
+
+    private final List<RpcRequest> requests;
+
+    private RpcBatch(List<RpcRequest> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * Creates a new {@link RpcBatch}.
+     *
+     * @param requests the requests to send.
+     * @return the {@link RpcBatch}.
+     * @throws IllegalArgumentException when {@code requests} is {@code null}, empty or contains requests with PLP parameters.
+     */
+    public static RpcBatch create(List<RpcRequest> requests) {
+
+        Assert.requireNonNull(requests, "Requests must not be null");
+        Assert.isTrue(!requests.isEmpty(), "Requests must not be empty");
+
+        for (RpcRequest request : requests) {
+            Assert.isTrue(supports(request), "Batched requests must not contain PLP parameters");
+        }
+
+        return new RpcBatch(new ArrayList<>(requests));
+    }
+
+    /**
+     * Check whether the {@link RpcRequest} can be sent as part of a {@link RpcBatch}.
+     *
+     * @param request the request to inspect.
+     * @return {@code true} if the request can be batched; {@code false} if the request contains parameters that are streamed as PLP segments.
+     */
+    public static boolean supports(RpcRequest request) {
+
+        Assert.requireNonNull(request, "Request must not be null");
+
+        return !request.hasStreamedSegments();
+    }
+
+    @Override
+    public TdsFragment encode(ByteBufAllocator allocator, int packetSize) {
+
+        Assert.requireNonNull(allocator, "ByteBufAllocator must not be null");
+
+        int length = this.requests.size() - 1;
+
+        for (int i = 0; i < this.requests.size(); i++) {
+            length += this.requests.get(i).estimateLength(i == 0);
+        }
+
+        ByteBuf buffer = allocator.buffer(length);
+        encode(buffer);
+
+        return TdsPackets.create(RpcRequest.HEADER, buffer);
+    }
+
+    void encode(ByteBuf buffer) {
+
+        for (int i = 0; i < this.requests.size(); i++) {
+
+            if (i != 0) {
+                Encode.asByte(buffer, BATCH_FLAG);
+            }
+
+            this.requests.get(i).encodeScalar(buffer, i == 0);
+        }
+    }
+
+    public List<RpcRequest> getRequests() {
+        return this.requests;
+    }
+
+    @Override
+    public String getName() {
+        return "RPCBatch";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RpcBatch)) {
+            return false;
+        }
+        RpcBatch that = (RpcBatch) o;
+        return Objects.equals(this.requests, that.requests);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.requests);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getName());
+        sb.append(" [requests=").append(this.requests);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
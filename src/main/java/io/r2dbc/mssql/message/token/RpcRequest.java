@@ -22,6 +22,7 @@ import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.r2dbc.mssql.codec.Encoded;
 import io.r2dbc.mssql.codec.PlpEncoded;
+import io.r2dbc.mssql.codec.TvpEncoded;
 import io.r2dbc.mssql.codec.RpcDirection;
 import io.r2dbc.mssql.codec.RpcEncoding;
 import io.r2dbc.mssql.message.ClientMessage;
@@ -172,36 +173,17 @@ public final class RpcRequest implements ClientMessage, TokenStream {
 
         return Flux.defer(() -> {
 
-            int name = 2 + (this.procName != null ? this.procName.length() * 2 : 0);
-            int length = 4 + name + this.allHeaders.getLength();
+            ByteBuf scalarBuffer = allocator.buffer(estimateLength(true));
 
-            for (ParameterDescriptor descriptor : this.parameterDescriptors) {
-                length += descriptor.estimateLength();
-            }
-
-            ByteBuf scalarBuffer = allocator.buffer(length);
-
-            encodeHeader(scalarBuffer);
-
-            boolean hasPlpSegments = false;
-
-            for (ParameterDescriptor descriptor : this.parameterDescriptors) {
-                if (descriptor instanceof EncodedRpcParameter) {
-                    if (((EncodedRpcParameter) descriptor).getValue() instanceof PlpEncoded) {
-                        hasPlpSegments = true;
-                    }
-                }
-            }
-
-            if (!hasPlpSegments) {
+            if (!hasStreamedSegments()) {
 
-                for (ParameterDescriptor descriptor : this.parameterDescriptors) {
-                    descriptor.encode(scalarBuffer);
-                }
+                encodeScalar(scalarBuffer, true);
 
                 return Flux.just(TdsPackets.create(HEADER, scalarBuffer));
             }
 
+            encodeHeader(scalarBuffer, true);
+
             AtomicReference<ByteBuf> firstBufferHolder = new AtomicReference<>(scalarBuffer);
             AtomicBoolean first = new AtomicBoolean(true);
             return Flux.fromIterable(this.parameterDescriptors).concatMap(it -> {
@@ -242,6 +224,17 @@ public final class RpcRequest implements ClientMessage, TokenStream {
                     }));
                 }
 
+                if (it instanceof EncodedRpcParameter && ((EncodedRpcParameter) it).getValue() instanceof TvpEncoded) {
+
+                    EncodedRpcParameter parameter = (EncodedRpcParameter) it;
+                    TvpEncoded encoded = (TvpEncoded) parameter.getValue();
+
+                    parameter.encodeHeader(buffer);
+                    encoded.encodeHeader(buffer);
+
+                    return Mono.just(buffer).concatWith(encoded.encodeRows());
+                }
+
                 it.encode(buffer);
                 return Mono.just(buffer);
             }, 1).map(buf -> {
@@ -278,9 +271,65 @@ public final class RpcRequest implements ClientMessage, TokenStream {
         return estimatedLength > 0 ? allocator.buffer(estimatedLength) : allocator.buffer();
     }
 
-    private void encodeHeader(ByteBuf buffer) {
+    /**
+     * Estimate the encoded length of this request.
+     *
+     * @param includeAllHeaders whether to include the length of {@link AllHeaders}.
+     * @return the estimated length in bytes.
+     */
+    int estimateLength(boolean includeAllHeaders) {
+
+        int name = 2 + (this.procName != null ? this.procName.length() * 2 : 0);
+        int length = 4 + name + (includeAllHeaders ? this.allHeaders.getLength() : 0);
+
+        for (ParameterDescriptor descriptor : this.parameterDescriptors) {
+            length += descriptor.estimateLength();
+        }
+
+        return length;
+    }
+
+    /**
+     * Check whether this request contains parameters that are streamed as {@link PlpEncoded PLP} segments or {@link TvpEncoded table-valued parameter} rows.
+     *
+     * @return {@code true} if at least one parameter is {@link PlpEncoded} or {@link TvpEncoded}.
+     */
+    boolean hasStreamedSegments() {
+
+        for (ParameterDescriptor descriptor : this.parameterDescriptors) {
+            if (descriptor instanceof EncodedRpcParameter) {
+
+                Encoded value = ((EncodedRpcParameter) descriptor).getValue();
+
+                if (value instanceof PlpEncoded || value instanceof TvpEncoded) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Encode this request without streamed segments into {@link ByteBuf}.
+     *
+     * @param buffer            the target buffer.
+     * @param includeAllHeaders whether to encode {@link AllHeaders}. Only the first request of a RPC message carries {@link AllHeaders}.
+     */
+    void encodeScalar(ByteBuf buffer, boolean includeAllHeaders) {
+
+        encodeHeader(buffer, includeAllHeaders);
+
+        for (ParameterDescriptor descriptor : this.parameterDescriptors) {
+            descriptor.encode(buffer);
+        }
+    }
+
+    private void encodeHeader(ByteBuf buffer, boolean includeAllHeaders) {
 
-        this.allHeaders.encode(buffer);
+        if (includeAllHeaders) {
+            this.allHeaders.encode(buffer);
+        }
 
         if (this.procId != null) {
             Encode.uShort(buffer, PROC_ID_SWITCH);
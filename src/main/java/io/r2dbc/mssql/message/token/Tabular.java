@@ -70,7 +70,7 @@ public final class Tabular implements Message {
 
         Assert.requireNonNull(buffer, "Buffer must not be null");
 
-        return new Tabular(new TabularDecoder(encryptionSupported).decode(buffer));
+        return new Tabular(new TabularDecoder(encryptionSupported, false).decode(buffer));
     }
 
     /**
@@ -80,16 +80,30 @@ public final class Tabular implements Message {
      * @return the decoder.
      */
     public static TabularDecoder createDecoder(boolean encryptionSupported) {
-        return new TabularDecoder(encryptionSupported);
+        return new TabularDecoder(encryptionSupported, false);
+    }
+
+    /**
+     * Creates a new {@link TabularDecoder}.
+     *
+     * @param encryptionSupported {@code true} if table column encryption is supported.
+     * @param lobStreaming        {@code true} to stream PLP values contained in the last column of a row through a {@link PlpStream}.
+     * @return the decoder.
+     * @since 0.9
+     */
+    public static TabularDecoder createDecoder(boolean encryptionSupported, boolean lobStreaming) {
+        return new TabularDecoder(encryptionSupported, lobStreaming);
     }
 
     /**
      * Creates a new, stateful {@link DecodeFunction}.
      *
      * @param encryptionSupported {@code true} if table column encryption is supported.
+     * @param lobStreaming        {@code true} to stream PLP values contained in the last column of a row.
+     * @param partialRow          holder for the decoder of a partially received row.
      * @return the decoder.
      */
-    private static DecodeFunction decodeFunction(boolean encryptionSupported) {
+    private static DecodeFunction decodeFunction(boolean encryptionSupported, boolean lobStreaming, AtomicReference<RowToken.RowDecoder> partialRow) {
 
         AtomicReference<ColumnMetadataToken> columns = new AtomicReference<>();
 
@@ -181,26 +195,23 @@ public final class Tabular implements Message {
                 return OrderToken.decode(buffer);
             }
 
-            if (type == RowToken.TYPE) {
+            if (type == RowToken.TYPE || type == NbcRowToken.TYPE) {
 
-                ColumnMetadataToken colMetadataToken = columns.get();
+                RowToken.RowDecoder rowDecoder = partialRow.get();
 
-                if (!RowToken.canDecode(buffer, colMetadataToken.getColumns())) {
-                    return DecodeFinished.UNABLE_TO_DECODE;
+                if (rowDecoder == null) {
+                    rowDecoder = RowToken.createDecoder(type, columns.get().getColumns(), lobStreaming);
                 }
 
-                return RowToken.decode(buffer, colMetadataToken.getColumns());
-            }
-
-            if (type == NbcRowToken.TYPE) {
+                RowToken rowToken = rowDecoder.decode(buffer);
 
-                ColumnMetadataToken colMetadataToken = columns.get();
-
-                if (!NbcRowToken.canDecode(buffer, colMetadataToken.getColumns())) {
-                    return DecodeFinished.UNABLE_TO_DECODE;
+                if (rowToken == null) {
+                    partialRow.set(rowDecoder);
+                    return DecodeFinished.PARTIALLY_DECODED;
                 }
 
-                return NbcRowToken.decode(buffer, colMetadataToken.getColumns());
+                partialRow.set(null);
+                return rowToken;
             }
 
             if (type == ReturnStatus.TYPE) {
@@ -321,7 +332,14 @@ public final class Tabular implements Message {
         /**
          * The {@link DecodeFunction} is not able to decode a {@link DataToken} from the given data buffer.
          */
-        UNABLE_TO_DECODE;
+        UNABLE_TO_DECODE,
+
+        /**
+         * The {@link DecodeFunction} has consumed a part of a {@link DataToken} and retained its parse state. Decoding resumes with the same token type once more data is available.
+         *
+         * @since 0.9
+         */
+        PARTIALLY_DECODED;
 
         @Override
         public byte getType() {
@@ -336,19 +354,46 @@ public final class Tabular implements Message {
 
     /**
      * A stateful {@link TabularDecoder}. State is required to decode response chunks in multiple attempts/calls to a {@link DecodeFunction}. Typically, state is a previous
-     * {@link ColumnMetadataToken column description} for row results.
+     * {@link ColumnMetadataToken column description} for row results or the parse position of a partially decoded row that spans multiple packets.
      *
      * @author Mark Paluch
      */
     public static class TabularDecoder {
 
+        private final AtomicReference<RowToken.RowDecoder> partialRow = new AtomicReference<>();
+
         private final DecodeFunction decodeFunction;
 
+        @Nullable
+        private Byte partialType;
+
+        @Nullable
+        private PlpStream plpStream;
+
         /**
          * @param encryptionSupported whether encryption is supported.
+         * @param lobStreaming        whether to stream PLP values contained in the last column of a row.
+         */
+        TabularDecoder(boolean encryptionSupported, boolean lobStreaming) {
+            this.decodeFunction = Tabular.decodeFunction(encryptionSupported, lobStreaming, this.partialRow);
+        }
+
+        /**
+         * Release the parse state of a partially decoded row. Column data that was consumed from previous packets is retained until the row is received entirely. Decoding must not be
+         * resumed after disposing the decoder.
+         *
+         * @since 0.9
          */
-        TabularDecoder(boolean encryptionSupported) {
-            this.decodeFunction = Tabular.decodeFunction(encryptionSupported);
+        public void dispose() {
+
+            RowToken.RowDecoder rowDecoder = this.partialRow.getAndSet(null);
+
+            if (rowDecoder != null) {
+                rowDecoder.release();
+            }
+
+            this.partialType = null;
+            this.plpStream = null;
         }
 
         /**
@@ -365,21 +410,9 @@ public final class Tabular implements Message {
 
             while (true) {
 
-                if (buffer.readableBytes() == 0) {
-                    break;
-                }
-
-                int readerIndex = buffer.readerIndex();
-                byte type = Decode.asByte(buffer);
-
-                DataToken message = this.decodeFunction.tryDecode(type, buffer);
+                DataToken message = decodeNext(buffer);
 
-                if (message == DecodeFinished.UNABLE_TO_DECODE) {
-                    buffer.readerIndex(readerIndex);
-                    break;
-                }
-
-                if (message == DecodeFinished.FINISHED) {
+                if (message == null) {
                     break;
                 }
 
@@ -403,30 +436,73 @@ public final class Tabular implements Message {
             boolean hasMessages = false;
             while (true) {
 
-                if (buffer.readableBytes() == 0) {
+                DataToken message = decodeNext(buffer);
+
+                if (message == null) {
                     break;
                 }
 
-                int readerIndex = buffer.readerIndex();
-                byte type = Decode.asByte(buffer);
+                messageConsumer.next(message);
+                hasMessages = true;
+            }
 
-                DataToken message = this.decodeFunction.tryDecode(type, buffer);
+            return hasMessages;
+        }
 
-                if (message == DecodeFinished.UNABLE_TO_DECODE) {
-                    buffer.readerIndex(readerIndex);
-                    break;
-                }
+        /**
+         * Decode the next {@link DataToken} from the {@link ByteBuf data buffer}. Resumes decoding of a {@link DecodeFinished#PARTIALLY_DECODED partially decoded} token without reading the
+         * token type again. PLP chunks of a streamed column are decoded into the {@link PlpStream} of the previously emitted {@link RowToken} before decoding the next token.
+         *
+         * @param buffer the data buffer.
+         * @return the decoded {@link DataToken} or {@code null} if no further token can be decoded from the buffer.
+         */
+        @Nullable
+        private DataToken decodeNext(ByteBuf buffer) {
 
-                if (message == DecodeFinished.FINISHED) {
-                    break;
+            if (this.plpStream != null) {
+
+                if (!this.plpStream.decode(buffer)) {
+                    return null;
                 }
 
-                messageConsumer.next(message);
-                hasMessages = true;
+                this.plpStream = null;
+            }
 
+            if (buffer.readableBytes() == 0) {
+                return null;
             }
 
-            return hasMessages;
+            int readerIndex = buffer.readerIndex();
+            byte type;
+
+            if (this.partialType != null) {
+                type = this.partialType;
+                this.partialType = null;
+            } else {
+                type = Decode.asByte(buffer);
+            }
+
+            DataToken message = this.decodeFunction.tryDecode(type, buffer);
+
+            if (message == DecodeFinished.UNABLE_TO_DECODE) {
+                buffer.readerIndex(readerIndex);
+                return null;
+            }
+
+            if (message == DecodeFinished.PARTIALLY_DECODED) {
+                this.partialType = type;
+                return null;
+            }
+
+            if (message == DecodeFinished.FINISHED) {
+                return null;
+            }
+
+            if (message instanceof RowToken) {
+                this.plpStream = ((RowToken) message).getPlpStream();
+            }
+
+            return message;
         }
 
     }
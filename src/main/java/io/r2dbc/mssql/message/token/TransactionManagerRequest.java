@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.r2dbc.mssql.message.ClientMessage;
+import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.tds.TdsFragment;
+import io.r2dbc.mssql.message.tds.TdsPackets;
+import io.r2dbc.mssql.util.Assert;
+
+import java.util.Objects;
+
+/**
+ * Transaction Manager request to begin, commit, roll back or save a transaction without sending T-SQL that needs to be parsed by the server. The server reports transaction state changes
+ * through {@link EnvChangeToken environment change tokens} and completes the request with a {@link DoneToken}.
+ *
+ * @author Mark Paluch
+ * @since 0.9
+ */
+public final class TransactionManagerRequest implements ClientMessage, TokenStream {
+
+    private static final HeaderOptions HEADER = HeaderOptions.create(Type.TX_MGR, Status.empty());
+
+    /**
+     * Isolation level: keep the current session isolation level.
+     */
+    private static final int NO_ISOLATION_LEVEL_CHANGE = 0x00;
+
+    private final AllHeaders allHeaders;
+
+    private final RequestType requestType;
+
+    private final String name;
+
+    private TransactionManagerRequest(TransactionDescriptor transactionDescriptor, RequestType requestType, String name) {
+
+        this.allHeaders = AllHeaders.transactional(transactionDescriptor, 1);
+        this.requestType = requestType;
+        this.name = name;
+    }
+
+    /**
+     * Creates a new {@link TransactionManagerRequest} to begin a transaction ({@literal TM_BEGIN_XACT}).
+     *
+     * @param transactionDescriptor the current transaction descriptor.
+     * @return the {@link TransactionManagerRequest}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null}.
+     */
+    public static TransactionManagerRequest begin(TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(transactionDescriptor, "Transaction descriptor must not be null");
+
+        return new TransactionManagerRequest(transactionDescriptor, RequestType.BEGIN, "");
+    }
+
+    /**
+     * Creates a new {@link TransactionManagerRequest} to commit the current transaction ({@literal TM_COMMIT_XACT}).
+     *
+     * @param transactionDescriptor the descriptor of the transaction to commit.
+     * @return the {@link TransactionManagerRequest}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null}.
+     */
+    public static TransactionManagerRequest commit(TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(transactionDescriptor, "Transaction descriptor must not be null");
+
+        return new TransactionManagerRequest(transactionDescriptor, RequestType.COMMIT, "");
+    }
+
+    /**
+     * Creates a new {@link TransactionManagerRequest} to roll back the current transaction ({@literal TM_ROLLBACK_XACT}).
+     *
+     * @param transactionDescriptor the descriptor of the transaction to roll back.
+     * @return the {@link TransactionManagerRequest}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} is {@code null}.
+     */
+    public static TransactionManagerRequest rollback(TransactionDescriptor transactionDescriptor) {
+
+        Assert.requireNonNull(transactionDescriptor, "Transaction descriptor must not be null");
+
+        return new TransactionManagerRequest(transactionDescriptor, RequestType.ROLLBACK, "");
+    }
+
+    /**
+     * Creates a new {@link TransactionManagerRequest} to roll back the current transaction to the savepoint {@code name} ({@literal TM_ROLLBACK_XACT}).
+     *
+     * @param transactionDescriptor the descriptor of the transaction to roll back.
+     * @param name                  the savepoint name.
+     * @return the {@link TransactionManagerRequest}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} or {@code name} is {@code null}.
+     */
+    public static TransactionManagerRequest rollback(TransactionDescriptor transactionDescriptor, String name) {
+
+        Assert.requireNonNull(transactionDescriptor, "Transaction descriptor must not be null");
+        Assert.requireNonNull(name, "Savepoint name must not be null");
+
+        return new TransactionManagerRequest(transactionDescriptor, RequestType.ROLLBACK, name);
+    }
+
+    /**
+     * Creates a new {@link TransactionManagerRequest} to create the savepoint {@code name} within the current transaction ({@literal TM_SAVE_XACT}).
+     *
+     * @param transactionDescriptor the descriptor of the transaction.
+     * @param name                  the savepoint name.
+     * @return the {@link TransactionManagerRequest}.
+     * @throws IllegalArgumentException when {@link TransactionDescriptor} or {@code name} is {@code null}.
+     */
+    public static TransactionManagerRequest save(TransactionDescriptor transactionDescriptor, String name) {
+
+        Assert.requireNonNull(transactionDescriptor, "Transaction descriptor must not be null");
+        Assert.requireNonNull(name, "Savepoint name must not be null");
+
+        return new TransactionManagerRequest(transactionDescriptor, RequestType.SAVE, name);
+    }
+
+    @Override
+    public TdsFragment encode(ByteBufAllocator allocator, int packetSize) {
+
+        Assert.requireNonNull(allocator, "ByteBufAllocator must not be null");
+
+        int length = this.allHeaders.getLength() + 2 /* request type */ + 2 /* isolation level or flags, name length */ + (this.name.length() * 2);
+
+        ByteBuf buffer = allocator.buffer(length);
+        encode(buffer);
+
+        return TdsPackets.create(HEADER, buffer);
+    }
+
+    void encode(ByteBuf buffer) {
+
+        this.allHeaders.encode(buffer);
+        Encode.uShort(buffer, this.requestType.getValue());
+
+        switch (this.requestType) {
+
+            case BEGIN:
+                Encode.asByte(buffer, NO_ISOLATION_LEVEL_CHANGE);
+                encodeName(buffer);
+                break;
+            case COMMIT:
+            case ROLLBACK:
+                encodeName(buffer);
+                Encode.asByte(buffer, 0); // flags: do not begin a new transaction
+                break;
+            case SAVE:
+                encodeName(buffer);
+                break;
+        }
+    }
+
+    private void encodeName(ByteBuf buffer) {
+
+        Encode.asByte(buffer, this.name.length());
+        Encode.rpcString(buffer, this.name);
+    }
+
+    @Override
+    public String getName() {
+        return "TransactionManagerRequest";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TransactionManagerRequest)) {
+            return false;
+        }
+        TransactionManagerRequest that = (TransactionManagerRequest) o;
+        return Objects.equals(this.allHeaders, that.allHeaders) &&
+            this.requestType == that.requestType &&
+            Objects.equals(this.name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.allHeaders, this.requestType, this.name);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuffer sb = new StringBuffer();
+        sb.append(getName());
+        sb.append(" [requestType=").append(this.requestType);
+        sb.append(", name=\"").append(this.name).append('\"');
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Transaction Manager request types.
+     */
+    enum RequestType {
+
+        BEGIN(5), COMMIT(7), ROLLBACK(8), SAVE(9);
+
+        private final int value;
+
+        RequestType(int value) {
+            this.value = value;
+        }
+
+        int getValue() {
+            return this.value;
+        }
+    }
+
+}
@@ -18,8 +18,12 @@ package io.r2dbc.mssql;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.r2dbc.mssql.codec.DefaultCodecs;
 import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.codec.TableValuedParameter;
 import io.r2dbc.mssql.message.type.TdsDataType;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -86,4 +90,39 @@ class BindingUnitTests {
         assertThat(binding.isEmpty()).isTrue();
         assertThat(buffer.refCnt()).isZero();
     }
+
+    @Test
+    void shouldRetainValuesForReplay() {
+
+        Binding binding = new Binding();
+
+        Encoded encoded = Encoded.of(TdsDataType.INT8, Unpooled.buffer());
+        binding.add("foo", encoded);
+
+        assertThat(binding.hasStreamedValues()).isFalse();
+        assertThat(binding.retainForReplay()).isTrue();
+        assertThat(encoded.refCnt()).isEqualTo(2);
+
+        binding.releaseReplay();
+
+        assertThat(encoded.refCnt()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetainTableValuedParametersForReplay() {
+
+        Binding binding = new Binding();
+
+        Encoded encoded = Encoded.of(TdsDataType.INT8, Unpooled.buffer());
+        TableValuedParameter parameter = TableValuedParameter.builder("dbo.IdList").column("id").row(1).build();
+
+        binding.add("foo", encoded);
+        binding.add("ids", new DefaultCodecs().encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), parameter));
+
+        assertThat(binding.hasStreamedValues()).isTrue();
+        assertThat(binding.retainForReplay()).isFalse();
+        assertThat(encoded.refCnt()).isEqualTo(1);
+
+        binding.clear();
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import io.r2dbc.mssql.codec.DefaultCodecs;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.message.token.ColumnDescriptor;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Unit tests for {@link BulkCopyFlow}.
+ *
+ * @author Mark Paluch
+ */
+class BulkCopyFlowUnitTests {
+
+    static final Collation COLLATION = Collation.from(13632521, 52);
+
+    @Test
+    void shouldCreateInsertBulk() {
+
+        BulkCopyOptions options = BulkCopyOptions.builder("dbo.my_table").column("id").column("first]name", String.class).build();
+
+        assertThat(BulkCopyFlow.createInsertBulk(options, describe("first]name"))).isEqualTo("INSERT BULK dbo.my_table ([id] int, [first]]name] nvarchar(4000))");
+    }
+
+    @Test
+    void shouldCreateInsertBulkWithHints() {
+
+        BulkCopyOptions options = BulkCopyOptions.builder("my_table").column("id").column("name").tableLock(true).checkConstraints(true).build();
+
+        assertThat(BulkCopyFlow.createInsertBulk(options, describe("name"))).isEqualTo("INSERT BULK my_table ([id] int, [name] nvarchar(4000)) WITH (TABLOCK, CHECK_CONSTRAINTS)");
+    }
+
+    @Test
+    void shouldRequireColumns() {
+        assertThatIllegalStateException().isThrownBy(() -> BulkCopyOptions.builder("my_table").build());
+    }
+
+    static List<ColumnDescriptor> describe(String nameColumn) {
+
+        DefaultCodecs codecs = new DefaultCodecs();
+        Encoded id = codecs.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), 1);
+        Encoded name = codecs.encodeNull(TestByteBufAllocator.TEST, String.class);
+
+        try {
+            return Arrays.asList(ColumnDescriptor.create("id", id, COLLATION), ColumnDescriptor.create(nameColumn, name, COLLATION));
+        } finally {
+            id.release();
+            name.release();
+        }
+    }
+
+}
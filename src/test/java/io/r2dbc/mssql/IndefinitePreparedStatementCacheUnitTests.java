@@ -49,4 +49,22 @@ class IndefinitePreparedStatementCacheUnitTests {
         assertThat(parseCounter).hasValue(1);
     }
 
+    @Test
+    void shouldShareParsedSqlAcrossCaches() {
+
+        AtomicInteger parseCounter = new AtomicInteger();
+        ParsedSqlCache parsedSqlCache = ParsedSqlCache.unbounded();
+
+        IndefinitePreparedStatementCache first = new IndefinitePreparedStatementCache(parsedSqlCache);
+        IndefinitePreparedStatementCache second = new IndefinitePreparedStatementCache(parsedSqlCache);
+
+        first.putHandle(1, "statement", new Binding());
+
+        first.getParsedSql("statement", s -> parseCounter.incrementAndGet());
+        second.getParsedSql("statement", s -> parseCounter.incrementAndGet());
+
+        assertThat(parseCounter).hasValue(1);
+        assertThat(second.getHandle("statement", new Binding())).isEqualTo(PreparedStatementCache.UNPREPARED);
+    }
+
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for {@link LruPreparedStatementCache}.
+ *
+ * @author Mark Paluch
+ */
+class LruPreparedStatementCacheUnitTests {
+
+    Binding binding = new Binding();
+
+    @Test
+    void shouldEvictLeastRecentlyUsedHandle() {
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(2);
+
+        cache.putHandle(1, "one", this.binding);
+        cache.putHandle(2, "two", this.binding);
+
+        assertThat(cache.getHandle("one", this.binding)).isEqualTo(1);
+
+        cache.putHandle(3, "three", this.binding);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getHandle("two", this.binding)).isEqualTo(PreparedStatementCache.UNPREPARED);
+        assertThat(cache.getHandle("one", this.binding)).isEqualTo(1);
+        assertThat(cache.getHandle("three", this.binding)).isEqualTo(3);
+
+        assertThat(cache.getHitCount()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPollEvictedHandles() {
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(1);
+
+        cache.putHandle(1, "one", this.binding);
+        cache.putHandle(2, "two", this.binding);
+
+        Map<String, Integer> evicted = new LinkedHashMap<>();
+        cache.pollEvicted(evicted::put);
+
+        assertThat(evicted).containsExactly(entry("one", 1));
+
+        evicted.clear();
+        cache.pollEvicted(evicted::put);
+
+        assertThat(evicted).isEmpty();
+    }
+
+    @Test
+    void shouldEvictReplacedHandle() {
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(2);
+
+        cache.putHandle(1, "one", this.binding);
+        cache.putHandle(2, "one", this.binding);
+
+        Map<String, Integer> evicted = new LinkedHashMap<>();
+        cache.pollEvicted(evicted::put);
+
+        assertThat(evicted).containsExactly(entry("one", 1));
+        assertThat(cache.getHandle("one", this.binding)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDiscardHandlesOnClear() {
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(1);
+
+        cache.putHandle(1, "one", this.binding);
+        cache.putHandle(2, "two", this.binding);
+
+        cache.clear();
+
+        Map<String, Integer> evicted = new LinkedHashMap<>();
+        cache.pollEvicted(evicted::put);
+
+        assertThat(evicted).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getHandle("two", this.binding)).isEqualTo(PreparedStatementCache.UNPREPARED);
+    }
+
+}
@@ -17,6 +17,7 @@
 package io.r2dbc.mssql;
 
 import io.r2dbc.mssql.util.IntegrationTestSupport;
+import io.r2dbc.spi.R2dbcTimeoutException;
 import io.r2dbc.spi.Result;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,8 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 /**
  * Integration tests for {@link Subscription subscription cancellation} {@link MssqlConnection} and {@link MssqlStatement}.
  *
@@ -132,6 +135,45 @@ class MssqlCancelIntegrationTests extends IntegrationTestSupport {
             .verifyComplete();
     }
 
+    @Test
+    void shouldCancelRunningQueryWithAttention() {
+
+        connection.createStatement("WAITFOR DELAY '00:00:10'; SELECT * FROM r2dbc_example")
+            .execute()
+            .flatMap(it -> it.map((row, metadata) -> row.get("id")))
+            .as(it -> StepVerifier.create(it, 0))
+            .thenRequest(1)
+            .thenAwait(Duration.ofMillis(200))
+            .thenCancel()
+            .verify();
+
+        connection.createStatement("SELECT * FROM r2dbc_empty")
+            .execute()
+            .flatMap(it -> it.map((row, metadata) -> row.get("id")))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldCancelQueryExceedingTimeout() {
+
+        connection.createStatement("WAITFOR DELAY '00:00:10'; SELECT * FROM r2dbc_example")
+            .timeout(Duration.ofMillis(200))
+            .execute()
+            .flatMap(it -> it.map((row, metadata) -> row.get("id")))
+            .as(StepVerifier::create)
+            .expectError(R2dbcTimeoutException.class)
+            .verify(Duration.ofSeconds(5));
+
+        connection.createStatement("SELECT * FROM r2dbc_empty")
+            .execute()
+            .flatMap(it -> it.map((row, metadata) -> row.get("id")))
+            .as(StepVerifier::create)
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
     private void createTable(MssqlConnection connection, String table) {
 
         connection.createStatement("DROP TABLE " + table).execute()
@@ -35,6 +35,7 @@ import java.security.KeyPairGenerator;
 import java.security.KeyStore;
 import java.security.SecureRandom;
 import java.security.cert.Certificate;
+import java.time.Duration;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.UUID;
@@ -80,6 +81,44 @@ final class MssqlConnectionConfigurationUnitTests {
             .withMessage("username must not be null");
     }
 
+    @Test
+    void builderLowWatermarkExceedsHighWatermark() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder()
+            .host("test-host")
+            .password("test-password")
+            .username("test-username")
+            .responseBufferHighWatermark(16)
+            .responseBufferLowWatermark(32)
+            .build())
+            .withMessage("low watermark must not be greater than the high watermark");
+    }
+
+    @Test
+    void builderNegativeStatementTimeout() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder().statementTimeout(Duration.ofSeconds(-1)))
+            .withMessage("statement timeout must not be negative");
+    }
+
+    @Test
+    void builderNegativeLockTimeout() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder().lockTimeout(Duration.ofSeconds(-1)))
+            .withMessage("lock timeout must not be negative");
+    }
+
+    @Test
+    void builderInvalidPacketSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder().packetSize(511))
+            .withMessage("packet size must be between 512 and 32767");
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder().packetSize(32768))
+            .withMessage("packet size must be between 512 and 32767");
+    }
+
+    @Test
+    void builderInvalidPreparedStatementCacheSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MssqlConnectionConfiguration.builder().preparedStatementCacheSize(0))
+            .withMessage("prepared statement cache size must be greater than zero");
+    }
+
     @Test
     void configuration() {
         UUID connectionId = UUID.randomUUID();
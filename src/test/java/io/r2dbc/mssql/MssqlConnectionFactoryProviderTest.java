@@ -22,18 +22,23 @@ import io.r2dbc.spi.Option;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.ALTERNATE_MSSQL_DRIVER;
+import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.LOB_STREAMING;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.MSSQL_DRIVER;
+import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.RESPONSE_BUFFER_HIGH_WATERMARK;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.SSL_CONTEXT_BUILDER_CUSTOMIZER;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.SSL_TUNNEL;
+import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.STATEMENT_TIMEOUT;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.TCP_KEEPALIVE;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.TCP_NODELAY;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.TRUST_STORE;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.TRUST_STORE_PASSWORD;
 import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.TRUST_STORE_TYPE;
+import static io.r2dbc.mssql.MssqlConnectionFactoryProvider.ZERO_COPY_DECODING;
 import static io.r2dbc.spi.ConnectionFactoryOptions.DRIVER;
 import static io.r2dbc.spi.ConnectionFactoryOptions.HOST;
 import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
@@ -270,6 +275,190 @@ final class MssqlConnectionFactoryProviderTest {
         assertThat(factory.getClientConfiguration().isTcpNoDelay()).isTrue();
     }
 
+    @Test
+    void shouldConfigureZeroCopyDecoding() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(ZERO_COPY_DECODING, true)
+            .build());
+
+        assertThat(factory.getClientConfiguration().isZeroCopyDecoding()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureLobStreaming() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(LOB_STREAMING, true)
+            .build());
+
+        assertThat(factory.getClientConfiguration().isLobStreaming()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureResponseBufferWatermarks() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(RESPONSE_BUFFER_HIGH_WATERMARK, 1024)
+            .option(Option.valueOf("responseBufferLowWatermark"), "512")
+            .build());
+
+        assertThat(factory.getClientConfiguration().getResponseBufferHighWatermark()).isEqualTo(1024);
+        assertThat(factory.getClientConfiguration().getResponseBufferLowWatermark()).isEqualTo(512);
+    }
+
+    @Test
+    void shouldConfigureStatementTimeout() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(STATEMENT_TIMEOUT, Duration.ofSeconds(10))
+            .build());
+
+        assertThat(factory.getConnectionOptions().getStatementTimeout()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldConfigureStatementTimeoutFromString() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("statementTimeout"), "PT5S")
+            .build());
+
+        assertThat(factory.getConnectionOptions().getStatementTimeout()).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldConfigurePacketSize() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("packetSize"), "32767")
+            .build());
+
+        assertThat(factory.getConfiguration().getPacketSize()).isEqualTo(32767);
+    }
+
+    @Test
+    void shouldConfigureRpcBatching() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("rpcBatching"), "true")
+            .build());
+
+        assertThat(factory.getConfiguration().toConnectionOptions().isRpcBatching()).isTrue();
+    }
+
+    @Test
+    void shouldConfigurePreparedDirectExecution() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("preparedDirectExecution"), "true")
+            .build());
+
+        assertThat(factory.getConfiguration().toConnectionOptions().isPreparedDirectExecution()).isTrue();
+    }
+
+    @Test
+    void shouldConfigurePreparedStatementCacheSize() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("preparedStatementCacheSize"), "16")
+            .build());
+
+        assertThat(factory.getConfiguration().toConnectionOptions().getPreparedStatementCache()).isInstanceOf(LruPreparedStatementCache.class);
+    }
+
+    @Test
+    void shouldConfigureCursorPrefetch() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("cursorPrefetch"), "true")
+            .build());
+
+        assertThat(factory.getConfiguration().toConnectionOptions().isCursorPrefetch()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureLazyTransactions() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("lazyTransactions"), "true")
+            .build());
+
+        assertThat(factory.getConfiguration().toConnectionOptions().getLazyTransaction().isEnabled()).isTrue();
+    }
+
+    @Test
+    void shouldConfigureMetadataQuery() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("metadataQuery"), "false")
+            .build());
+
+        assertThat(factory.getConfiguration().isMetadataQuery()).isFalse();
+    }
+
+    @Test
+    void shouldConfigureRedirectCacheTtl() {
+
+        MssqlConnectionFactory factory = this.provider.create(builder()
+            .option(DRIVER, MSSQL_DRIVER)
+            .option(HOST, "test-host")
+            .option(PASSWORD, "test-password")
+            .option(USER, "test-user")
+            .option(Option.valueOf("redirectCacheTtl"), "PT10M")
+            .build());
+
+        assertThat(factory.getConfiguration().getRedirectCacheTtl()).isEqualTo(Duration.ofMinutes(10));
+    }
+
     @Test
     void shouldConfigureWithTrustStoreCustomizer() {
 
@@ -16,6 +16,7 @@
 
 package io.r2dbc.mssql;
 
+import io.r2dbc.mssql.client.Client;
 import io.r2dbc.mssql.client.TestClient;
 import io.r2dbc.mssql.message.tds.Encode;
 import io.r2dbc.mssql.message.tds.Redirect;
@@ -38,7 +39,10 @@ import reactor.test.StepVerifier;
 import reactor.util.annotation.Nullable;
 
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -115,6 +119,214 @@ final class MssqlConnectionFactoryUnitTests {
         assertThat(redirect.isClosed()).isFalse();
     }
 
+    @Test
+    void shouldConnectToCachedRedirectTarget() {
+
+        AtomicInteger initialConnects = new AtomicInteger();
+        AtomicInteger redirectConnects = new AtomicInteger();
+
+        MssqlConnectionConfiguration configuration = MssqlConnectionConfiguration.builder().host("initial").username("user").password("password")
+            .redirectCacheTtl(Duration.ofMinutes(1)).build();
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.fromSupplier(() -> {
+
+            if (config.getHost().equals("initial")) {
+                initialConnects.incrementAndGet();
+                return redirectingClient();
+            }
+
+            assertThat(config.getHost()).isEqualTo("redirect");
+            assertThat(config.getPort()).isEqualTo(1234);
+            redirectConnects.incrementAndGet();
+            return redirectTargetClient();
+        }), configuration);
+
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+
+        assertThat(initialConnects).hasValue(1);
+        assertThat(redirectConnects).hasValue(2);
+    }
+
+    @Test
+    void shouldInvalidateCachedRedirectTargetOnConnectFailure() {
+
+        AtomicInteger initialConnects = new AtomicInteger();
+        AtomicInteger redirectConnects = new AtomicInteger();
+
+        MssqlConnectionConfiguration configuration = MssqlConnectionConfiguration.builder().host("initial").username("user").password("password")
+            .redirectCacheTtl(Duration.ofMinutes(1)).build();
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.defer(() -> {
+
+            if (config.getHost().equals("initial")) {
+                initialConnects.incrementAndGet();
+                return Mono.just(redirectingClient());
+            }
+
+            if (redirectConnects.incrementAndGet() == 2) {
+                return Mono.error(new IllegalStateException("Connection refused"));
+            }
+
+            return Mono.just(redirectTargetClient());
+        }), configuration);
+
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+
+        assertThat(initialConnects).hasValue(2);
+        assertThat(redirectConnects).hasValue(3);
+    }
+
+    @Test
+    void shouldNotCacheRedirectTargetByDefault() {
+
+        AtomicInteger initialConnects = new AtomicInteger();
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.fromSupplier(() -> {
+
+            if (config.getHost().equals("initial")) {
+                initialConnects.incrementAndGet();
+                return redirectingClient();
+            }
+
+            return redirectTargetClient();
+        }), this.configuration);
+
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+
+        assertThat(initialConnects).hasValue(2);
+    }
+
+    @Test
+    void shouldApplyLockTimeout() {
+
+        ColumnMetadataToken columns = ColumnMetadataToken.create(COLUMNS);
+        RowToken rowToken = RowTokenFactory.create(columns, buffer -> {
+            Encode.uString(buffer, "Edition", ServerCharset.UNICODE.charset());
+            Encode.uString(buffer, "1.2.3", ServerCharset.CP1252.charset());
+        });
+
+        TestClient client =
+            TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+            }).thenRespond(DoneToken.create(0)).assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(SqlBatch.class);
+                assertThat(((SqlBatch) clientMessage).getSql()).isEqualTo("SET LOCK_TIMEOUT 5000");
+            }).thenRespond(DoneToken.create(0)).assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(SqlBatch.class);
+            }).thenRespond(columns, rowToken, DoneToken.create(1)).build();
+
+        MssqlConnectionConfiguration configuration = MssqlConnectionConfiguration.builder().host("initial").username("user").password("password")
+            .lockTimeout(Duration.ofSeconds(5)).build();
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.just(client), configuration);
+
+        connectionFactory.create().as(StepVerifier::create).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void shouldScopePreparedStatementHandlesToConnection() {
+
+        ColumnMetadataToken columns = ColumnMetadataToken.create(COLUMNS);
+
+        Function<MssqlConnectionConfiguration, Mono<Client>> clientFactory = config -> Mono.fromSupplier(() -> {
+
+            RowToken rowToken = RowTokenFactory.create(columns, buffer -> {
+                Encode.uString(buffer, "Edition", ServerCharset.UNICODE.charset());
+                Encode.uString(buffer, "1.2.3", ServerCharset.CP1252.charset());
+            });
+
+            return TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+            }).thenRespond(DoneToken.create(0)).assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(SqlBatch.class);
+            }).thenRespond(columns, rowToken, DoneToken.create(1)).build();
+        });
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(clientFactory, this.configuration);
+
+        MssqlConnection first = connectionFactory.create().block();
+        MssqlConnection second = connectionFactory.create().block();
+
+        PreparedStatementCache firstCache = first.getConnectionOptions().getPreparedStatementCache();
+        PreparedStatementCache secondCache = second.getConnectionOptions().getPreparedStatementCache();
+
+        assertThat(firstCache).isNotSameAs(secondCache);
+
+        AtomicInteger parseCounter = new AtomicInteger();
+        firstCache.getParsedSql("statement", sql -> parseCounter.incrementAndGet());
+        secondCache.getParsedSql("statement", sql -> parseCounter.incrementAndGet());
+
+        assertThat(parseCounter).hasValue(1);
+    }
+
+    @Test
+    void shouldCacheConnectionMetadata() {
+
+        ColumnMetadataToken columns = ColumnMetadataToken.create(COLUMNS);
+        RowToken rowToken = RowTokenFactory.create(columns, buffer -> {
+            Encode.uString(buffer, "Edition", ServerCharset.UNICODE.charset());
+            Encode.uString(buffer, "Microsoft SQL Server 2017 - 14.0", ServerCharset.CP1252.charset());
+        });
+
+        TestClient first =
+            TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+            }).thenRespond(DoneToken.create(0)).assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(SqlBatch.class);
+            }).thenRespond(columns, rowToken, DoneToken.create(1)).build();
+
+        TestClient second =
+            TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+            }).thenRespond(DoneToken.create(0)).build();
+
+        AtomicInteger counter = new AtomicInteger();
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.just(counter.getAndIncrement() == 0 ? first : second), this.configuration);
+
+        MssqlConnection firstConnection = connectionFactory.create().block();
+        MssqlConnection secondConnection = connectionFactory.create().block();
+
+        assertThat(firstConnection.getMetadata().getDatabaseProductName()).isEqualTo("Microsoft SQL Server 2017 - Edition");
+        assertThat(secondConnection.getMetadata()).isSameAs(firstConnection.getMetadata());
+    }
+
+    @Test
+    void shouldSkipMetadataQuery() {
+
+        TestClient client =
+            TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+                assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+            }).thenRespond(DoneToken.create(0)).build();
+
+        MssqlConnectionConfiguration configuration = MssqlConnectionConfiguration.builder().host("initial").username("user").password("password")
+            .metadataQuery(false).build();
+
+        MssqlConnectionFactory connectionFactory = new MssqlConnectionFactory(config -> Mono.just(client), configuration);
+
+        connectionFactory.create().as(StepVerifier::create).consumeNextWith(actual -> {
+
+            assertThat(actual.getMetadata().getDatabaseProductName()).isEqualTo("Microsoft SQL Server");
+            assertThat(actual.getMetadata().getDatabaseVersion()).isEqualTo("1.2.3");
+        }).verifyComplete();
+    }
+
     @Test
     void properlyPropagatesFailures() {
 
@@ -172,6 +384,33 @@ final class MssqlConnectionFactoryUnitTests {
         assertThat(redirect.isClosed()).isTrue();
     }
 
+    private static Client redirectingClient() {
+
+        return TestClient.builder().expectClose().withRedirect(Redirect.create("redirect", 1234)).assertNextRequestWith(clientMessage -> {
+
+            assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+        }).thenRespond(DoneToken.create(0)).build();
+    }
+
+    private static Client redirectTargetClient() {
+
+        ColumnMetadataToken columns = ColumnMetadataToken.create(COLUMNS);
+        RowToken rowToken = RowTokenFactory.create(columns, buffer -> {
+            Encode.uString(buffer, "Edition", ServerCharset.UNICODE.charset());
+            Encode.uString(buffer, "1.2.3", ServerCharset.CP1252.charset());
+        });
+
+        return TestClient.builder().assertNextRequestWith(clientMessage -> {
+
+            assertThat(clientMessage).isInstanceOf(Prelogin.class);
+
+        }).thenRespond(DoneToken.create(0)).assertNextRequestWith(clientMessage -> {
+
+            assertThat(clientMessage).isInstanceOf(SqlBatch.class);
+        }).thenRespond(columns, rowToken, DoneToken.create(1)).build();
+    }
+
     private static Column createColumn(int index, String name, SqlServerType serverType, int length, LengthStrategy lengthStrategy, @Nullable Charset charset) {
 
         TypeInformation.Builder builder = TypeInformation.builder().withServerType(serverType).withMaxLength(length).withLengthStrategy(lengthStrategy);
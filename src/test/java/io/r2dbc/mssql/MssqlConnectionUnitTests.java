@@ -20,11 +20,17 @@ import io.r2dbc.mssql.client.Client;
 import io.r2dbc.mssql.client.ConnectionContext;
 import io.r2dbc.mssql.client.TestClient;
 import io.r2dbc.mssql.client.TransactionStatus;
+import io.r2dbc.mssql.codec.DefaultCodecs;
 import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.token.DoneInProcToken;
+import io.r2dbc.mssql.message.token.DoneProcToken;
 import io.r2dbc.mssql.message.token.DoneToken;
 import io.r2dbc.mssql.message.token.ErrorToken;
+import io.r2dbc.mssql.message.token.RpcRequest;
 import io.r2dbc.mssql.message.token.SqlBatch;
+import io.r2dbc.mssql.message.token.TransactionManagerRequest;
 import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcBadGrammarException;
 import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -32,6 +38,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -59,7 +66,7 @@ class MssqlConnectionUnitTests {
     void shouldBeginTransactionFromInitialState() {
 
         TestClient client =
-            TestClient.builder().expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET IMPLICIT_TRANSACTIONS ON;")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().expectRequest(TransactionManagerRequest.begin(TransactionDescriptor.empty())).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -72,7 +79,7 @@ class MssqlConnectionUnitTests {
     void shouldBeginTransactionFromExplicitState() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.EXPLICIT).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET IMPLICIT_TRANSACTIONS ON;")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.EXPLICIT).expectRequest(TransactionManagerRequest.begin(TransactionDescriptor.empty())).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -103,7 +110,7 @@ class MssqlConnectionUnitTests {
     void shouldCommitFromExplicitTransaction() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "IF @@TRANCOUNT > 0 COMMIT TRANSACTION")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(TransactionManagerRequest.commit(TransactionDescriptor.empty())).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -134,7 +141,7 @@ class MssqlConnectionUnitTests {
     void shouldRollbackFromExplicitTransaction() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(TransactionManagerRequest.rollback(TransactionDescriptor.empty())).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -197,7 +204,7 @@ class MssqlConnectionUnitTests {
     void shouldRollbackTransactionToSavepointFromExplicitTransaction() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "ROLLBACK TRANSACTION foo")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(TransactionManagerRequest.rollback(TransactionDescriptor.empty(), "foo")).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -228,8 +235,7 @@ class MssqlConnectionUnitTests {
     void shouldCreateSavepointFromExplicitTransaction() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET IMPLICIT_TRANSACTIONS ON; IF @@TRANCOUNT = 0 " +
-                "BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN foo;")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.STARTED).expectRequest(TransactionManagerRequest.save(TransactionDescriptor.empty(), "foo")).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
@@ -242,14 +248,31 @@ class MssqlConnectionUnitTests {
     void createSavepointShouldBeginTransaction() {
 
         TestClient client =
-            TestClient.builder().withTransactionStatus(TransactionStatus.AUTO_COMMIT).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET IMPLICIT_TRANSACTIONS ON; IF @@TRANCOUNT =" +
-                " 0 BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN foo;")).thenRespond(DoneToken.create(0)).build();
+            TestClient.builder().withTransactionStatus(TransactionStatus.AUTO_COMMIT).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET IMPLICIT_TRANSACTIONS ON; IF " +
+                "@@TRANCOUNT = 0 BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN foo;")).thenRespond(DoneToken.create(0)).build();
 
         MssqlConnection connection = new MssqlConnection(client, metadata, conectionOptions);
 
         connection.createSavepoint("foo")
             .as(StepVerifier::create)
             .verifyComplete();
+
+        assertThat(connection.isAutoCommit()).isFalse();
+    }
+
+    @Test
+    void createSavepointShouldCarryLazyTransaction() {
+
+        TestClient client =
+            TestClient.builder().withTransactionStatus(TransactionStatus.AUTO_COMMIT).expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "BEGIN TRANSACTION; SET " +
+                "IMPLICIT_TRANSACTIONS ON; IF @@TRANCOUNT = 0 BEGIN BEGIN TRAN IF @@TRANCOUNT = 2 COMMIT TRAN END SAVE TRAN foo;")).thenRespond(DoneToken.more(0), DoneToken.create(0)).build();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, lazyTransactionOptions());
+
+        connection.beginTransaction()
+            .then(connection.createSavepoint("foo"))
+            .as(StepVerifier::create)
+            .verifyComplete();
     }
 
     @ParameterizedTest
@@ -267,6 +290,150 @@ class MssqlConnectionUnitTests {
             .verifyComplete();
     }
 
+    @Test
+    void shouldPrependLazyTransactionToNextStatement() {
+
+        TestClient client =
+            TestClient.builder().expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET TRANSACTION ISOLATION LEVEL " + IsolationLevel.SERIALIZABLE.asSql() + ";BEGIN " +
+                "TRANSACTION; INSERT INTO foo VALUES(1)")).thenRespond(DoneToken.more(0), DoneToken.more(0), DoneToken.count(1)).build();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, lazyTransactionOptions());
+
+        connection.setTransactionIsolationLevel(IsolationLevel.SERIALIZABLE)
+            .then(connection.beginTransaction())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        connection.createStatement("INSERT INTO foo VALUES(1)").execute()
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.SERIALIZABLE);
+    }
+
+    @Test
+    void shouldRestoreLazyTransactionIfBatchFailsBeforePrologue() {
+
+        TestClient client =
+            TestClient.builder().expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "BEGIN TRANSACTION; INSERT INTO foo VALUES(")).thenRespond(new ErrorToken(0, 102, (byte) 0,
+                (byte) 15, "Incorrect syntax near '('.", "", "", 0), DoneToken.create(0))
+                .expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "BEGIN TRANSACTION; INSERT INTO foo VALUES(1)")).thenRespond(DoneToken.more(0), DoneToken.count(1)).build();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, lazyTransactionOptions());
+
+        connection.beginTransaction()
+            .thenMany(connection.createStatement("INSERT INTO foo VALUES(").execute())
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyError(R2dbcBadGrammarException.class);
+
+        connection.createStatement("INSERT INTO foo VALUES(1)").execute()
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldFlushLazyTransactionBeforeParametrizedStatement() {
+
+        TestClient client =
+            TestClient.builder().expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "BEGIN TRANSACTION;")).thenRespond(DoneToken.create(0))
+                .assertNextRequestWith(it -> assertThat(it).isInstanceOf(RpcRequest.class)).thenRespond(DoneInProcToken.create(1), DoneProcToken.create(0)).build();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, lazyTransactionOptions());
+
+        connection.beginTransaction()
+            .thenMany(connection.createStatement("INSERT INTO foo VALUES(@P0)").bind("P0", 1).execute())
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldDiscardLazyTransactionOnCommitWithoutStatement() {
+
+        Client clientMock = mock(Client.class);
+        when(clientMock.getContext()).thenReturn(new ConnectionContext());
+        when(clientMock.getTransactionStatus()).thenReturn(TransactionStatus.AUTO_COMMIT);
+
+        MssqlConnection connection = new MssqlConnection(clientMock, metadata, lazyTransactionOptions());
+
+        connection.beginTransaction()
+            .then(connection.commitTransaction())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        verify(clientMock, times(3)).getTransactionStatus();
+        verify(clientMock, atLeast(1)).getContext();
+        verifyNoMoreInteractions(clientMock);
+    }
+
+    @Test
+    void resetSessionShouldResetConnectionState() {
+
+        TestClient client = TestClient.builder().withTransactionStatus(TransactionStatus.EXPLICIT).build();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, lazyTransactionOptions());
+
+        connection.setTransactionIsolationLevel(IsolationLevel.SERIALIZABLE)
+            .then(connection.beginTransaction())
+            .then(connection.resetSession())
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(client.isSessionReset()).isTrue();
+        assertThat(connection.isAutoCommit()).isTrue();
+        assertThat(connection.getTransactionIsolationLevel()).isEqualTo(IsolationLevel.READ_COMMITTED);
+    }
+
+    @Test
+    void resetSessionShouldReapplySessionOptions() {
+
+        TestClient client = TestClient.builder().expectRequest(SqlBatch.create(1, TransactionDescriptor.empty(), "SET LOCK_TIMEOUT 5000; INSERT INTO foo VALUES(1)"))
+            .thenRespond(DoneToken.more(0), DoneToken.count(1)).build();
+
+        ConnectionOptions options = new ConnectionOptions(sql -> false, new DefaultCodecs(), new IndefinitePreparedStatementCache(), true, Duration.ZERO, false, false, false, false,
+            "SET LOCK_TIMEOUT 5000");
+        options.getPreparedStatementCache().putHandle(1, "SELECT @P0", new Binding());
+        options.getServerCursors().opened();
+
+        MssqlConnection connection = new MssqlConnection(client, metadata, options);
+
+        connection.resetSession()
+            .thenMany(connection.createStatement("INSERT INTO foo VALUES(1)").execute())
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+
+        assertThat(client.isSessionReset()).isTrue();
+        assertThat(options.getPreparedStatementCache().size()).isZero();
+        assertThat(connection.getOpenCursorCount()).isZero();
+    }
+
+    @Test
+    void shouldReportPreparedStatementCacheStatistics() {
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(1);
+        ConnectionOptions options = new ConnectionOptions(sql -> false, new DefaultCodecs(), cache, true);
+        Binding binding = new Binding();
+
+        MssqlConnection connection = new MssqlConnection(TestClient.NO_OP, metadata, options);
+
+        cache.getHandle("one", binding);
+        cache.putHandle(1, "one", binding);
+        cache.getHandle("one", binding);
+        cache.putHandle(2, "two", binding);
+
+        assertThat(connection.getPreparedStatementCacheHitCount()).isEqualTo(1);
+        assertThat(connection.getPreparedStatementCacheMissCount()).isEqualTo(1);
+        assertThat(connection.getPreparedStatementCacheEvictionCount()).isEqualTo(1);
+    }
+
     @Test
     void localValidationShouldValidateAgainstConnectionState() {
 
@@ -327,4 +494,9 @@ class MssqlConnectionUnitTests {
             MssqlIsolationLevel.READ_UNCOMMITTED, MssqlIsolationLevel.REPEATABLE_READ,
             MssqlIsolationLevel.SNAPSHOT);
     }
+
+    static ConnectionOptions lazyTransactionOptions() {
+        return new ConnectionOptions(sql -> false, new DefaultCodecs(), new IndefinitePreparedStatementCache(), true, Duration.ZERO, false, false, false, true);
+    }
+
 }
@@ -22,14 +22,19 @@ import io.r2dbc.mssql.codec.DefaultCodecs;
 import io.r2dbc.mssql.codec.Encoded;
 import io.r2dbc.mssql.codec.RpcParameterContext;
 import io.r2dbc.mssql.message.tds.ProtocolException;
+import io.r2dbc.mssql.message.token.DoneInProcToken;
+import io.r2dbc.mssql.message.token.DoneProcToken;
 import io.r2dbc.mssql.message.token.ErrorToken;
 import io.r2dbc.mssql.message.token.ReturnValue;
+import io.r2dbc.mssql.message.token.RpcBatch;
 import io.r2dbc.mssql.message.token.RpcRequest;
+import io.r2dbc.mssql.util.HexUtils;
 import io.r2dbc.mssql.util.TestByteBufAllocator;
 import io.r2dbc.mssql.util.Types;
 import org.junit.jupiter.api.Test;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.List;
 
 import static io.r2dbc.mssql.ParametrizedMssqlStatement.ParsedQuery;
@@ -43,6 +48,11 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
  */
 class ParametrizedMssqlStatementUnitTests {
 
+    /**
+     * {@link DoneProcToken} terminating a single RPC within a batch: {@code DONE_MORE | DONE_COUNT | DONE_RPCINBATCH} with a row count of {@literal 1}.
+     */
+    static final DoneProcToken RPC_IN_BATCH_DONE = DoneProcToken.decode(HexUtils.decodeToByteBuf("9100E0000100000000000000"));
+
     PreparedStatementCache statementCache = new IndefinitePreparedStatementCache();
 
     ConnectionOptions connectionOptions = new ConnectionOptions(sql -> true, new DefaultCodecs(), statementCache, true);
@@ -212,6 +222,89 @@ class ParametrizedMssqlStatementUnitTests {
         assertThat(this.statementCache.size()).isEqualTo(1);
     }
 
+    @Test
+    void shouldPrepareDirectStatement() {
+
+        ConnectionOptions options = new ConnectionOptions(sql -> false, new DefaultCodecs(), this.statementCache, true, Duration.ZERO, false, true, false, false);
+
+        Encoded encodedPreparedStatementHandle = new DefaultCodecs().encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), 7);
+        encodedPreparedStatementHandle.getValue().skipBytes(1); // skip maxlen byte
+
+        TestClient prepare = TestClient.builder()
+            .assertNextRequestWith(it -> {
+                assertThat(it).isInstanceOf(RpcRequest.class);
+                RpcRequest request = (RpcRequest) it;
+                assertThat(request.getProcId()).isEqualTo(RpcRequest.Sp_PrepExec);
+            })
+            .thenRespond(new ReturnValue(0, null, (byte) 0, Types.integer(), encodedPreparedStatementHandle.getValue()), DoneInProcToken.create(1), DoneProcToken.create(0))
+            .build();
+
+        String sql = "UPDATE FOO set lastname = 'foo' where firstname = @firstname";
+
+        new ParametrizedMssqlStatement(prepare, options, sql).bind("firstname", "Walter").execute()
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+
+        assertThat(this.statementCache.size()).isEqualTo(1);
+
+        TestClient execute = TestClient.builder()
+            .assertNextRequestWith(it -> {
+                assertThat(it).isInstanceOf(RpcRequest.class);
+                RpcRequest request = (RpcRequest) it;
+                assertThat(request.getProcId()).isEqualTo(RpcRequest.Sp_Execute);
+            })
+            .thenRespond(DoneInProcToken.create(1), DoneProcToken.create(0))
+            .build();
+
+        new ParametrizedMssqlStatement(execute, options, sql).bind("firstname", "Jesse").execute()
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1)
+            .verifyComplete();
+
+        assertThat(this.statementCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReprepareStalePreparedStatementHandle() {
+
+        Encoded encodedPreparedStatementHandle = new DefaultCodecs().encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), 2);
+        encodedPreparedStatementHandle.getValue().skipBytes(1); // skip maxlen byte
+
+        TestClient testClient = TestClient.builder()
+            .assertNextRequestWith(it -> {
+                assertThat(it).isInstanceOf(RpcRequest.class);
+                RpcRequest request = (RpcRequest) it;
+                assertThat(request.getProcId()).isEqualTo(RpcRequest.Sp_CursorExecute);
+            })
+            .thenRespond(new ErrorToken(0, 8179, (byte) 0, (byte) 16, "Could not find prepared statement with handle 1.", "", "", 0), DoneProcToken.create(0))
+            .assertNextRequestWith(it -> {
+                assertThat(it).isInstanceOf(RpcRequest.class);
+                RpcRequest request = (RpcRequest) it;
+                assertThat(request.getProcId()).isEqualTo(RpcRequest.Sp_CursorPrepExec);
+            })
+            .thenRespond(new ReturnValue(0, null, (byte) 0, Types.integer(), encodedPreparedStatementHandle.getValue()), DoneProcToken.create(0))
+            .build();
+
+        String sql = "SELECT * from FOO where firstname = @firstname";
+        ParametrizedMssqlStatement statement = new ParametrizedMssqlStatement(testClient, this.connectionOptions, sql);
+
+        statement.bind("firstname", "");
+
+        Binding binding = statement.getBindings().getCurrent();
+
+        this.statementCache.putHandle(1, sql, binding);
+
+        statement.execute()
+            .flatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .verifyComplete();
+
+        assertThat(this.statementCache.getHandle(sql, binding)).isEqualTo(2);
+    }
+
     @Test
     void shouldPropagateError() {
 
@@ -230,4 +323,35 @@ class ParametrizedMssqlStatementUnitTests {
         statement.bind("firstname", "");
         statement.execute().flatMap(MssqlResult::getRowsUpdated).as(StepVerifier::create).verifyError(ProtocolException.class);
     }
+
+    @Test
+    void shouldSendBindingsAsRpcBatch() {
+
+        ConnectionOptions options = new ConnectionOptions(sql -> true, new DefaultCodecs(), this.statementCache, true, Duration.ZERO, true, false, false, false);
+
+        TestClient testClient = TestClient.builder()
+            .assertNextRequestWith(it -> {
+                assertThat(it).isInstanceOf(RpcBatch.class);
+                RpcBatch batch = (RpcBatch) it;
+                assertThat(batch.getRequests()).hasSize(2).allMatch(request -> request.getProcId() == RpcRequest.Sp_ExecuteSql);
+            })
+            .thenRespond(DoneInProcToken.create(1), RPC_IN_BATCH_DONE, DoneInProcToken.create(2), DoneProcToken.create(2))
+            .build();
+
+        String sql = "UPDATE FOO set lastname = 'foo' where firstname = @firstname";
+        ParametrizedMssqlStatement statement = new ParametrizedMssqlStatement(testClient, options, sql).fetchSize(0);
+
+        statement.bind("firstname", "Walter").add().bind("firstname", "Jesse");
+
+        statement.execute()
+            .concatMap(MssqlResult::getRowsUpdated)
+            .as(StepVerifier::create)
+            .expectNext(1, 2)
+            .verifyComplete();
+
+        assertThat(testClient.getTakeUntil()).isNotNull();
+        assertThat(testClient.getTakeUntil().test(DoneInProcToken.create(1))).isFalse();
+        assertThat(testClient.getTakeUntil().test(DoneProcToken.create(1))).isTrue();
+        assertThat(testClient.getTakeUntil().test(RPC_IN_BATCH_DONE)).isFalse();
+    }
 }
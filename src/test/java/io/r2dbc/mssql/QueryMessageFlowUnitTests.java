@@ -28,6 +28,7 @@ import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -53,7 +54,7 @@ class QueryMessageFlowUnitTests {
     @Test
     void shouldAwaitDoneProcTokenShouldNotCompleteFlow() {
 
-        when(client.exchange(any(Publisher.class), any(Predicate.class))).thenReturn(Flux.just(DoneToken.more(20), DoneProcToken.create(0), DoneInProcToken.create(0)));
+        when(client.exchange(any(Publisher.class), any(Predicate.class), any(Duration.class))).thenReturn(Flux.just(DoneToken.more(20), DoneProcToken.create(0), DoneInProcToken.create(0)));
 
         QueryMessageFlow.exchange(client, "foo")
             .as(StepVerifier::create)
@@ -65,7 +66,7 @@ class QueryMessageFlowUnitTests {
     @Test
     void shouldAwaitDoneToken() {
 
-        when(client.exchange(any(Publisher.class), any(Predicate.class))).thenReturn(Flux.just(DoneInProcToken.create(0), DoneToken.create(0)));
+        when(client.exchange(any(Publisher.class), any(Predicate.class), any(Duration.class))).thenReturn(Flux.just(DoneInProcToken.create(0), DoneToken.create(0)));
 
         QueryMessageFlow.exchange(client, "foo")
             .as(StepVerifier::create)
@@ -28,6 +28,9 @@ import io.r2dbc.mssql.message.header.HeaderOptions;
 import io.r2dbc.mssql.message.header.Status;
 import io.r2dbc.mssql.message.header.Type;
 import io.r2dbc.mssql.message.token.AllHeaders;
+import io.r2dbc.mssql.message.token.DoneProcToken;
+import io.r2dbc.mssql.message.token.RowToken;
+import io.r2dbc.mssql.message.token.RpcBatch;
 import io.r2dbc.mssql.message.token.RpcRequest;
 import io.r2dbc.mssql.message.type.Collation;
 import io.r2dbc.mssql.util.ClientMessageAssert;
@@ -36,12 +39,19 @@ import io.r2dbc.mssql.util.TestByteBufAllocator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.reactivestreams.Processor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.SynchronousSink;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -217,6 +227,84 @@ class RpcQueryMessageFlowUnitTests {
             });
     }
 
+    @Test
+    void shouldEncodeDirectSpPrepExec() {
+
+        String hex = "ff ff 0d 00 00 00 00 01 26 04" +
+            "04 00 00 00 00 00 00 e7 40 1f 09 04 d0 00 34 24" +
+            "00 40 00 50 00 30 00 20 00 6e 00 76 00 61 00 72" +
+            "00 63 00 68 00 61 00 72 00 28 00 34 00 30 00 30" +
+            "00 30 00 29 00 00 00 e7 40 1f 09 04 d0 00 34 48" +
+            "00 55 00 50 00 44 00 41 00 54 00 45 00 20 00 6d" +
+            "00 79 00 5f 00 74 00 61 00 62 00 6c 00 65 00 20" +
+            "00 73 00 65 00 74 00 20 00 66 00 69 00 72 00 73" +
+            "00 74 00 5f 00 6e 00 61 00 6d 00 65 00 20 00 3d" +
+            "00 20 00 40 00 50 00 30 00 03 40 00 50 00 30 00" +
+            "00 e7 40 1f 09 04 d0 00 34 08 00 6d 00 61 00 72" +
+            "00 6b 00";
+
+        String sql = "UPDATE my_table set first_name = @P0";
+
+        Binding binding = new Binding();
+        binding.add("P0", codecs.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(ValueContext.character(collation, true)), "mark"));
+
+        RpcRequest rpcRequest = RpcQueryMessageFlow.spPrepExec(sql, binding, collation, TransactionDescriptor.empty());
+
+        ClientMessageAssert.assertThat(rpcRequest).encoded()
+            .hasHeader(HeaderOptions.create(Type.RPC, Status.empty()))
+            .isEncodedAs(expected -> {
+
+                AllHeaders.transactional(TransactionDescriptor.empty(), 1).encode(expected);
+
+                expected.writeBytes(HexUtils.decodeToByteBuf(hex));
+            });
+    }
+
+    @Test
+    void shouldEncodeSpExec() {
+
+        String hex = "ff ff 0c 00 00 00 00 00 26 04" +
+            "04 02 00 00 00 03 40 00 50 00 30 00 00 e7 40 1f" +
+            "09 04 d0 00 34 08 00 6d 00 61 00 72 00 6b 00";
+
+        Binding binding = new Binding();
+        binding.add("P0", codecs.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(ValueContext.character(collation, true)), "mark"));
+
+        RpcRequest rpcRequest = RpcQueryMessageFlow.spExec(2, binding, TransactionDescriptor.empty());
+
+        ClientMessageAssert.assertThat(rpcRequest).encoded()
+            .hasHeader(HeaderOptions.create(Type.RPC, Status.empty()))
+            .isEncodedAs(expected -> {
+
+                AllHeaders.transactional(TransactionDescriptor.empty(), 1).encode(expected);
+
+                expected.writeBytes(HexUtils.decodeToByteBuf(hex));
+            });
+    }
+
+    @Test
+    void shouldAppendUnprepareForEvictedHandles() {
+
+        Binding binding = new Binding();
+        binding.add("P0", codecs.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(ValueContext.character(collation, true)), "mark"));
+
+        LruPreparedStatementCache cache = new LruPreparedStatementCache(1);
+        cache.putHandle(1, "SELECT 1", binding);
+        cache.putHandle(2, "SELECT 2", binding);
+
+        RpcRequest request = RpcQueryMessageFlow.spCursorExec(2, binding, TransactionDescriptor.empty());
+
+        ClientMessage message = RpcQueryMessageFlow.withPendingUnprepare(cache, request, TransactionDescriptor.empty());
+
+        assertThat(message).isInstanceOf(RpcBatch.class);
+
+        RpcBatch batch = (RpcBatch) message;
+        assertThat(batch.getRequests()).hasSize(2).startsWith(request);
+        assertThat(batch.getRequests().get(1).getProcId()).isEqualTo(RpcRequest.Sp_CursorUnprepare);
+
+        assertThat(RpcQueryMessageFlow.withPendingUnprepare(cache, request, TransactionDescriptor.empty())).isSameAs(request);
+    }
+
     @Test
     void shouldTransitionFromNoneToFetching() {
 
@@ -286,4 +374,214 @@ class RpcQueryMessageFlowUnitTests {
         verifyNoInteractions(requests);
         verify(completion).run();
     }
+
+    @Test
+    void shouldUseConfiguredFetchSize() {
+
+        CursorState state = new CursorState(false, false, false, new ServerCursors());
+        state.demand.request(1);
+
+        assertThat(state.nextFetchSize(128)).isEqualTo(128);
+        assertThat(state.nextFetchSize(128)).isEqualTo(128);
+    }
+
+    @Test
+    void shouldGrowAdaptiveFetchSizeWithDemand() {
+
+        CursorState state = new CursorState(true, false, false, new ServerCursors());
+        state.demand.request(Long.MAX_VALUE);
+
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE);
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE * 2);
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE * 4);
+
+        for (int i = 0; i < 20; i++) {
+            state.nextFetchSize(128);
+        }
+
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.MAX_FETCH_SIZE);
+    }
+
+    @Test
+    void shouldLimitAdaptiveFetchSizeToDemand() {
+
+        CursorState state = new CursorState(true, false, false, new ServerCursors());
+        state.demand.request(100);
+
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE);
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE * 2);
+
+        for (int i = 0; i < 90; i++) {
+            state.demand.delivered();
+        }
+
+        assertThat(state.nextFetchSize(128)).isEqualTo(CursorState.INITIAL_FETCH_SIZE);
+    }
+
+    @Test
+    void shouldCapAdaptiveFetchSizeByRowSize() {
+
+        CursorState state = new CursorState(true, false, false, new ServerCursors());
+        state.demand.request(Long.MAX_VALUE);
+        state.fetchSize = CursorState.MAX_FETCH_SIZE;
+        state.rowCount = 10;
+        state.rowBytes = 10 * 4096;
+
+        assertThat(state.nextFetchSize(128)).isEqualTo((int) (CursorState.FETCH_BYTE_BUDGET / 4096));
+    }
+
+    @Test
+    void shouldPrefetchAfterFullWindow() {
+
+        CursorState state = new CursorState(false, true, false, new ServerCursors());
+        state.cursorId = 42;
+        state.phase = CursorState.Phase.FETCHING;
+        state.fetchSize = 2;
+        state.demand.request(10);
+
+        RowToken row = mock(RowToken.class);
+
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, row);
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, row);
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, DoneProcToken.create(2));
+
+        assertThat(state.prefetched).isTrue();
+        verify(requests).onNext(RpcQueryMessageFlow.spCursorFetch(state.cursorId, RpcQueryMessageFlow.FETCH_NEXT, 2, TransactionDescriptor.empty()));
+
+        state.hasSeenRows = true;
+        RpcQueryMessageFlow.onDone(client, 2, requests, state, completion);
+
+        assertThat(state.phase).isEqualTo(CursorState.Phase.FETCHING);
+        assertThat(state.prefetched).isFalse();
+        verifyNoMoreInteractions(requests);
+    }
+
+    @Test
+    void shouldNotPrefetchAfterPartialWindow() {
+
+        CursorState state = new CursorState(false, true, false, new ServerCursors());
+        state.cursorId = 42;
+        state.phase = CursorState.Phase.FETCHING;
+        state.fetchSize = 2;
+        state.demand.request(10);
+
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, mock(RowToken.class));
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, DoneProcToken.create(1));
+
+        assertThat(state.prefetched).isFalse();
+        verifyNoInteractions(requests);
+    }
+
+    @Test
+    void shouldNotPrefetchWithoutDemand() {
+
+        CursorState state = new CursorState(false, true, false, new ServerCursors());
+        state.cursorId = 42;
+        state.phase = CursorState.Phase.FETCHING;
+        state.fetchSize = 1;
+
+        RpcQueryMessageFlow.onResponse(client, 1, requests, state, mock(RowToken.class));
+        RpcQueryMessageFlow.onResponse(client, 1, requests, state, DoneProcToken.create(1));
+
+        assertThat(state.prefetched).isFalse();
+        verifyNoInteractions(requests);
+    }
+
+    @Test
+    void shouldCompleteAutoClosedCursorWithoutClose() {
+
+        CursorState state = new CursorState(false, false, true, new ServerCursors());
+        state.cursorId = 42;
+        state.autoCloseAccepted = true;
+        state.fetchSize = 2;
+        state.consumedWindows = 1;
+        state.receivedWindows = 1;
+        state.phase = CursorState.Phase.FETCHING;
+
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, mock(RowToken.class));
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, DoneProcToken.create(1));
+
+        assertThat(state.closedWindow).isEqualTo(2);
+
+        state.hasSeenRows = true;
+        RpcQueryMessageFlow.onDone(client, 2, requests, state, completion);
+
+        assertThat(state.phase).isEqualTo(CursorState.Phase.CLOSED);
+        verify(completion).run();
+        verifyNoInteractions(requests);
+    }
+
+    @Test
+    void shouldCloseCursorIfAutoCloseWasNotAccepted() {
+
+        CursorState state = new CursorState(false, false, true, new ServerCursors());
+        state.cursorId = 42;
+        state.fetchSize = 2;
+        state.phase = CursorState.Phase.FETCHING;
+
+        RpcQueryMessageFlow.onResponse(client, 2, requests, state, DoneProcToken.create(0));
+
+        assertThat(state.closedWindow).isZero();
+
+        RpcQueryMessageFlow.onDone(client, 2, requests, state, completion);
+
+        assertThat(state.phase).isEqualTo(CursorState.Phase.CLOSING);
+        verify(requests).onNext(RpcQueryMessageFlow.spCursorClose(state.cursorId, TransactionDescriptor.empty()));
+    }
+
+    @Test
+    void shouldRequestFastForwardAutoCloseCursor() {
+
+        RpcRequest request = RpcQueryMessageFlow.spCursorOpen("SELECT * FROM my_table", collation, CursorMode.FAST_FORWARD, TransactionDescriptor.empty());
+        RpcRequest forwardOnly = RpcQueryMessageFlow.spCursorOpen("SELECT * FROM my_table", collation, TransactionDescriptor.empty());
+
+        assertThat(request).isNotEqualTo(forwardOnly);
+        assertThat(request).isEqualTo(RpcQueryMessageFlow.spCursorOpen("SELECT * FROM my_table", collation, CursorMode.FAST_FORWARD, TransactionDescriptor.empty()));
+    }
+
+    @Test
+    void shouldTrackOpenCursors() {
+
+        ServerCursors serverCursors = new ServerCursors();
+        CursorState state = new CursorState(false, false, false, serverCursors);
+
+        state.opened(42);
+        state.opened(42);
+
+        assertThat(serverCursors.getOpenCursorCount()).isEqualTo(1);
+
+        state.phase = CursorState.Phase.CLOSING;
+        RpcQueryMessageFlow.onDone(client, 128, requests, state, completion);
+
+        assertThat(serverCursors.getOpenCursorCount()).isZero();
+        assertThat(state.isOpen()).isFalse();
+    }
+
+    @Test
+    void shouldCloseCursorLeftOpenByTerminatedExchange() {
+
+        ServerCursors serverCursors = new ServerCursors();
+        CursorState state = new CursorState(false, false, false, serverCursors);
+        state.opened(42);
+        state.phase = CursorState.Phase.ERROR;
+
+        when(client.isConnected()).thenReturn(true);
+        when(client.exchange(any(), any(), any())).thenReturn(Flux.empty());
+
+        RpcQueryMessageFlow.closeIfOpen(client, state);
+
+        verify(client).exchange(any(), any(), eq(Duration.ZERO));
+        assertThat(serverCursors.getOpenCursorCount()).isZero();
+    }
+
+    @Test
+    void shouldNotCloseClosedCursor() {
+
+        CursorState state = new CursorState();
+        state.cursorId = 42;
+
+        RpcQueryMessageFlow.closeIfOpen(client, state);
+
+        verify(client, never()).exchange(any(), any(), any());
+    }
 }
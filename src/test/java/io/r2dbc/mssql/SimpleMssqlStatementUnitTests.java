@@ -19,6 +19,9 @@ package io.r2dbc.mssql;
 import io.r2dbc.mssql.client.Client;
 import io.r2dbc.mssql.client.ConnectionContext;
 import io.r2dbc.mssql.client.TestClient;
+import io.r2dbc.mssql.codec.DefaultCodecs;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcParameterContext;
 import io.r2dbc.mssql.message.ClientMessage;
 import io.r2dbc.mssql.message.Message;
 import io.r2dbc.mssql.message.TransactionDescriptor;
@@ -27,7 +30,10 @@ import io.r2dbc.mssql.message.tds.ServerCharset;
 import io.r2dbc.mssql.message.token.Column;
 import io.r2dbc.mssql.message.token.ColumnMetadataToken;
 import io.r2dbc.mssql.message.token.DataToken;
+import io.r2dbc.mssql.message.token.DoneInProcToken;
+import io.r2dbc.mssql.message.token.DoneProcToken;
 import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.token.ReturnValue;
 import io.r2dbc.mssql.message.token.RowToken;
 import io.r2dbc.mssql.message.token.RowTokenFactory;
 import io.r2dbc.mssql.message.token.RpcRequest;
@@ -37,6 +43,9 @@ import io.r2dbc.mssql.message.type.Collation;
 import io.r2dbc.mssql.message.type.LengthStrategy;
 import io.r2dbc.mssql.message.type.SqlServerType;
 import io.r2dbc.mssql.message.type.TypeInformation;
+import io.r2dbc.mssql.util.HexUtils;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import io.r2dbc.mssql.util.Types;
 import io.r2dbc.spi.ColumnMetadata;
 import io.r2dbc.spi.Result;
 import org.junit.jupiter.api.Test;
@@ -51,8 +60,11 @@ import reactor.util.annotation.Nullable;
 
 import java.math.BigDecimal;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
 
@@ -156,7 +168,7 @@ class SimpleMssqlStatementUnitTests {
 
         ArgumentCaptor<Publisher<Message>> captor = ArgumentCaptor.forClass(Publisher.class);
 
-        verify(client).exchange((Publisher) captor.capture(), any(Predicate.class));
+        verify(client).exchange((Publisher) captor.capture(), any(Predicate.class), any(Duration.class));
 
         StepVerifier.create(captor.getValue())
             .consumeNextWith(it -> assertThat(it)
@@ -178,7 +190,7 @@ class SimpleMssqlStatementUnitTests {
 
         ArgumentCaptor<Mono<ClientMessage>> captor = ArgumentCaptor.forClass(Mono.class);
 
-        verify(client).exchange(captor.capture(), any(Predicate.class));
+        verify(client).exchange(captor.capture(), any(Predicate.class), any(Duration.class));
         assertThat(captor.getValue().block()).isInstanceOf(SqlBatch.class);
     }
 
@@ -195,7 +207,7 @@ class SimpleMssqlStatementUnitTests {
 
         ArgumentCaptor<Mono<ClientMessage>> captor = ArgumentCaptor.forClass(Mono.class);
 
-        verify(client).exchange(captor.capture(), any(Predicate.class));
+        verify(client).exchange(captor.capture(), any(Predicate.class), any(Duration.class));
         assertThat(captor.getValue().block()).isInstanceOf(SqlBatch.class);
     }
 
@@ -212,7 +224,7 @@ class SimpleMssqlStatementUnitTests {
 
         ArgumentCaptor<Publisher<Message>> captor = ArgumentCaptor.forClass(Publisher.class);
 
-        verify(client).exchange((Publisher) captor.capture(), any(Predicate.class));
+        verify(client).exchange((Publisher) captor.capture(), any(Predicate.class), any(Duration.class));
 
         StepVerifier.create(captor.getValue())
             .consumeNextWith(it -> assertThat(it)
@@ -221,6 +233,79 @@ class SimpleMssqlStatementUnitTests {
             .verify();
     }
 
+    @Test
+    void shouldDeriveAdaptiveFetchSizeFromRowDemand() {
+
+        Encoded cursorId = new DefaultCodecs().encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), 123);
+        cursorId.getValue().skipBytes(1); // skip maxlen byte
+
+        List<ClientMessage> requests = new ArrayList<>();
+
+        TestClient client = TestClient.builder()
+            .window()
+            .assertNextRequestWith(requests::add)
+            .thenRespond(new ReturnValue(0, null, (byte) 0, Types.integer(), cursorId.getValue()), DoneInProcToken.decode(HexUtils.decodeToByteBuf("0100C1000000000000000000")),
+                DoneProcToken.create(0))
+            .assertNextRequestWith(requests::add)
+            .thenRespond(fetchResponse(true, 16))
+            .assertNextRequestWith(requests::add)
+            .thenRespond(fetchResponse(false, 16))
+            .assertNextRequestWith(requests::add)
+            .thenRespond(DoneInProcToken.create(0), DoneProcToken.create(0))
+            .assertNextRequestWith(requests::add)
+            .thenRespond(DoneProcToken.create(0))
+            .done()
+            .build();
+
+        SimpleMssqlStatement statement = new SimpleMssqlStatement(client, OPTIONS, "SELECT * FROM foo");
+
+        statement.execute()
+            .concatMap(result -> result.map((row, md) -> row.get("last_name")))
+            .take(20)
+            .as(it -> StepVerifier.create(it, 16))
+            .expectNextCount(16)
+            .thenRequest(4)
+            .expectNextCount(4)
+            .verifyComplete();
+
+        assertThat(requests.get(1)).isEqualTo(RpcQueryMessageFlow.spCursorFetch(123, RpcQueryMessageFlow.FETCH_NEXT, 16, TransactionDescriptor.empty()));
+
+        // demand of the row consumer was fulfilled by the first fetch
+        assertThat(requests.get(2)).isEqualTo(RpcQueryMessageFlow.spCursorFetch(123, RpcQueryMessageFlow.FETCH_NEXT, 16, TransactionDescriptor.empty()));
+    }
+
+    private static Message[] fetchResponse(boolean withMetadata, int rows) {
+
+        List<Message> messages = new ArrayList<>();
+
+        if (withMetadata) {
+            messages.add(ColumnMetadataToken.create(COLUMNS));
+        }
+
+        for (int i = 0; i < rows; i++) {
+            messages.add(createRow());
+        }
+
+        messages.add(DoneInProcToken.create(rows));
+        messages.add(DoneProcToken.create(0));
+
+        return messages.toArray(new Message[0]);
+    }
+
+    private static RowToken createRow() {
+
+        return RowTokenFactory.create(ColumnMetadataToken.create(COLUMNS), buffer -> {
+
+            Encode.asByte(buffer, 1);
+            Encode.uString(buffer, "paluch", ServerCharset.UNICODE.charset());
+            Encode.uString(buffer, "mark", ServerCharset.CP1252.charset());
+
+            //money/salary
+            Encode.asByte(buffer, 8);
+            Encode.money(buffer, new BigDecimal("50.0000").unscaledValue());
+        });
+    }
+
     @SuppressWarnings("unchecked")
     private static Client mockClient() {
 
@@ -228,7 +313,7 @@ class SimpleMssqlStatementUnitTests {
 
         when(client.getRequiredCollation()).thenReturn(Collation.RAW);
         when(client.getTransactionDescriptor()).thenReturn(TransactionDescriptor.empty());
-        when(client.exchange(any(Publisher.class), any(Predicate.class))).thenReturn(Flux.empty());
+        when(client.exchange(any(Publisher.class), any(Predicate.class), any(Duration.class))).thenReturn(Flux.empty());
         when(client.getContext()).thenReturn(new ConnectionContext());
 
         return client;
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.client;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.r2dbc.mssql.client.ssl.SslState;
+import io.r2dbc.mssql.message.Message;
+import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.header.Header;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.PacketIdProvider;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.tds.ContextualTdsFragment;
+import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.token.PlpStream;
+import io.r2dbc.mssql.message.token.Prelogin;
+import io.r2dbc.mssql.message.token.RowToken;
+import io.r2dbc.mssql.message.token.SqlBatch;
+import io.r2dbc.mssql.util.HexUtils;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.DirectProcessor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Unit tests for {@link ReactorNettyClient} using an {@link EmbeddedChannel} as transport.
+ *
+ * @author Mark Paluch
+ */
+class ReactorNettyClientUnitTests {
+
+    static final String DONE_IN_PROC_MORE = "FF1100C1000100000000000000";
+
+    static final String DONE_FINAL = "FD1000C1000100000000000000";
+
+    static final String DONE_ATTENTION = "FD200000000000000000000000";
+
+    static final String INT_VARCHARMAX_METADATA = "810200" +
+        "00000000000026040269006400" +
+        "000000000000A7FFFF0904D00034" +
+        "0763006F006E00740065006E007400";
+
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    DirectProcessor<Object> inbound = DirectProcessor.create();
+
+    List<Object> outbound = new CopyOnWriteArrayList<>();
+
+    ClientConfiguration configuration = mock(ClientConfiguration.class);
+
+    ReactorNettyClient client;
+
+    @BeforeEach
+    void setUp() {
+
+        when(this.configuration.getResponseBufferHighWatermark()).thenReturn(4);
+        when(this.configuration.getResponseBufferLowWatermark()).thenReturn(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void shouldSuspendReadsAtHighWatermark() {
+
+        connect();
+
+        this.inbound.onNext(packet(DONE_IN_PROC_MORE + DONE_IN_PROC_MORE + DONE_IN_PROC_MORE));
+
+        assertThat(this.channel.config().isAutoRead()).isTrue();
+
+        this.inbound.onNext(packet(DONE_IN_PROC_MORE));
+
+        assertThat(this.channel.config().isAutoRead()).isFalse();
+    }
+
+    @Test
+    void shouldResumeReadsAtLowWatermark() {
+
+        connect();
+
+        this.inbound.onNext(packet(DONE_IN_PROC_MORE + DONE_IN_PROC_MORE + DONE_IN_PROC_MORE + DONE_IN_PROC_MORE));
+
+        assertThat(this.channel.config().isAutoRead()).isFalse();
+
+        this.client.exchange(Mono.empty(), DoneToken::isDone)
+            .as(it -> StepVerifier.create(it, 0))
+            .thenRequest(2)
+            .expectNextCount(2)
+            .then(() -> assertThat(this.channel.config().isAutoRead()).isFalse())
+            .thenRequest(1)
+            .expectNextCount(1)
+            .then(() -> assertThat(this.channel.config().isAutoRead()).isTrue())
+            .thenRequest(2)
+            .expectNextCount(1)
+            .then(() -> this.inbound.onNext(packet(DONE_FINAL)))
+            .expectNextCount(1)
+            .verifyComplete();
+    }
+
+    @Test
+    void shouldSuspendReadsWhilePlpStreamIsBackpressured() {
+
+        when(this.configuration.isLobStreaming()).thenReturn(true);
+        connect();
+
+        List<Message> messages = new ArrayList<>();
+        this.client.exchange(Mono.empty(), DoneToken::isDone).subscribe(messages::add);
+
+        this.inbound.onNext(packet(INT_VARCHARMAX_METADATA + "D1" + "0401000000" + "0A00000000000000" + "0A000000" + "3031323334"));
+
+        assertThat(messages).hasSize(2).element(1).isInstanceOf(RowToken.class);
+        assertThat(this.channel.config().isAutoRead()).isFalse();
+
+        RowToken row = (RowToken) messages.get(1);
+        PlpStream plpStream = row.getPlpStream();
+        assertThat(plpStream.claim()).isTrue();
+
+        List<ByteBuf> received = new ArrayList<>();
+        Flux.from(plpStream).subscribe(received::add);
+
+        assertThat(received).hasSize(1);
+        assertThat(this.channel.config().isAutoRead()).isTrue();
+
+        this.inbound.onNext(packet("3536373839" + "00000000" + DONE_FINAL));
+
+        assertThat(received).hasSize(2);
+        assertThat(messages).hasSize(3).element(2).isInstanceOf(DoneToken.class);
+        assertThat(this.channel.config().isAutoRead()).isTrue();
+
+        received.forEach(ByteBuf::release);
+        row.release();
+    }
+
+    @Test
+    void shouldTransitionExchangeRequestThroughAttention() {
+
+        ReactorNettyClient.ExchangeRequest request = new ReactorNettyClient.ExchangeRequest();
+        Mono.<Flux<Message>>create(sink -> request.submit(new ReactorNettyClient.RequestQueue(new ConnectionContext()), sink, Flux.empty())).subscribe();
+
+        assertThat(request.requestAttention()).isFalse();
+        assertThat(request.cancel()).isTrue();
+        assertThat(request.isCancelled()).isTrue();
+        assertThat(request.cancel()).isFalse();
+
+        assertThat(request.requestAttention()).isTrue();
+        assertThat(request.isAttentionRequested()).isTrue();
+        assertThat(request.requestAttention()).isFalse();
+        assertThat(request.complete()).isFalse();
+
+        assertThat(request.acknowledgeAttention()).isTrue();
+        assertThat(request.isComplete()).isTrue();
+        assertThat(request.acknowledgeAttention()).isFalse();
+    }
+
+    @Test
+    void shouldNotRequireAttentionForQueuedExchange() {
+
+        ReactorNettyClient.RequestQueue queue = new ReactorNettyClient.RequestQueue(new ConnectionContext());
+        ReactorNettyClient.ExchangeRequest active = new ReactorNettyClient.ExchangeRequest();
+        Mono.<Flux<Message>>create(sink -> active.submit(queue, sink, Flux.empty())).subscribe();
+
+        ReactorNettyClient.ExchangeRequest request = new ReactorNettyClient.ExchangeRequest();
+        Mono.<Flux<Message>>create(sink -> request.submit(queue, sink, Flux.never()))
+            .flatMapMany(Function.identity())
+            .as(StepVerifier::create)
+            .then(() -> {
+                assertThat(request.cancel()).isFalse();
+                queue.run();
+            })
+            .verifyComplete();
+
+        assertThat(request.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldDiscardResponsesUntilAttentionAcknowledged() {
+
+        connect();
+
+        List<Message> next = new ArrayList<>();
+
+        this.client.exchange(Mono.just(SqlBatch.create(1, TransactionDescriptor.empty(), "SELECT 1")), DoneToken::isDone)
+            .as(it -> StepVerifier.create(it, 1))
+            .then(() -> this.inbound.onNext(packet(DONE_IN_PROC_MORE)))
+            .expectNextCount(1)
+            .thenCancel()
+            .verify();
+
+        assertThat(this.outbound).hasSize(2).last().isInstanceOfSatisfying(ContextualTdsFragment.class,
+            it -> assertThat(it.getHeaderOptions().getType()).isEqualTo(Type.ATTENTION));
+
+        this.client.exchange(Mono.just(SqlBatch.create(1, TransactionDescriptor.empty(), "SELECT 2")), DoneToken::isDone).subscribe(next::add);
+
+        this.inbound.onNext(packet(DONE_IN_PROC_MORE + DONE_FINAL));
+
+        assertThat(next).isEmpty();
+        assertThat(this.outbound).hasSize(2);
+
+        this.inbound.onNext(packet(DONE_ATTENTION));
+
+        assertThat(this.outbound).hasSize(3);
+        assertThat(next).isEmpty();
+
+        this.inbound.onNext(packet(DONE_FINAL));
+
+        assertThat(next).hasSize(1).element(0).isInstanceOf(DoneToken.class);
+    }
+
+    @Test
+    void shouldFailTimedOutExchangeAndContinueWithNextExchange() {
+
+        connect();
+
+        List<Message> next = new ArrayList<>();
+
+        this.client.exchange(Mono.just(SqlBatch.create(1, TransactionDescriptor.empty(), "WAITFOR DELAY '00:01'")), DoneToken::isDone, Duration.ofMillis(10))
+            .as(StepVerifier::create)
+            .expectSubscription()
+            .then(() -> this.client.exchange(Mono.just(SqlBatch.create(1, TransactionDescriptor.empty(), "SELECT 1")), DoneToken::isDone).subscribe(next::add))
+            .thenAwait(Duration.ofMillis(50))
+            .then(() -> {
+
+                this.channel.runScheduledPendingTasks();
+
+                assertThat(this.outbound).hasSize(2).last().isInstanceOfSatisfying(ContextualTdsFragment.class,
+                    it -> assertThat(it.getHeaderOptions().getType()).isEqualTo(Type.ATTENTION));
+
+                this.inbound.onNext(packet(DONE_IN_PROC_MORE + DONE_ATTENTION));
+            })
+            .verifyError(ReactorNettyClient.MssqlStatementTimeoutException.class);
+
+        this.inbound.onNext(packet(DONE_FINAL));
+
+        assertThat(this.outbound).hasSize(3);
+        assertThat(next).hasSize(1).element(0).isInstanceOf(DoneToken.class);
+    }
+
+    /**
+     * Create the {@link ReactorNettyClient} and advance it to the post-login state.
+     */
+    void connect() {
+
+        NettyInbound nettyInbound = mock(NettyInbound.class);
+        doReturn(this.inbound).when(nettyInbound).receiveObject();
+
+        NettyOutbound nettyOutbound = mock(NettyOutbound.class, withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        doReturn(TestByteBufAllocator.TEST).when(nettyOutbound).alloc();
+        doAnswer(invocation -> {
+            this.outbound.add(invocation.getArgument(0));
+            return nettyOutbound;
+        }).when(nettyOutbound).sendObject(any(Object.class));
+
+        Connection connection = mock(Connection.class);
+        when(connection.channel()).thenReturn(this.channel);
+        when(connection.inbound()).thenReturn(nettyInbound);
+        when(connection.outbound()).thenReturn(nettyOutbound);
+
+        this.client = new ReactorNettyClient(connection, new TdsEncoder(PacketIdProvider.just(1)), new ConnectionContext(), this.configuration);
+
+        this.inbound.onNext(new Prelogin(Arrays.asList(new Prelogin.Version(14, 0), new Prelogin.Encryption(Prelogin.Encryption.ENCRYPT_OFF), Prelogin.Terminator.INSTANCE)));
+        this.inbound.onNext(SslState.NEGOTIATED);
+        this.inbound.onNext(DoneToken.create(0));
+
+        this.client.exchange(Mono.empty(), DoneToken::isDone)
+            .as(StepVerifier::create)
+            .expectNextCount(3)
+            .verifyComplete();
+    }
+
+    static ByteBuf packet(String tokens) {
+
+        ByteBuf payload = HexUtils.decodeToByteBuf(tokens);
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+
+        Header header = Header.create(HeaderOptions.create(Type.TABULAR_RESULT, Status.of(Status.StatusBit.EOM)), Header.LENGTH + payload.readableBytes(), PacketIdProvider.just(1));
+        header.encode(buffer);
+        buffer.writeBytes(payload);
+        payload.release();
+
+        return buffer;
+    }
+}
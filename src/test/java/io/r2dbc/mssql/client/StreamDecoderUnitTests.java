@@ -26,6 +26,7 @@ import io.r2dbc.mssql.message.header.Status;
 import io.r2dbc.mssql.message.header.Type;
 import io.r2dbc.mssql.message.token.ColumnMetadataToken;
 import io.r2dbc.mssql.message.token.DoneToken;
+import io.r2dbc.mssql.message.token.RowToken;
 import io.r2dbc.mssql.util.HexUtils;
 import io.r2dbc.mssql.util.TestByteBufAllocator;
 import org.junit.jupiter.api.Test;
@@ -269,6 +270,120 @@ class StreamDecoderUnitTests {
         assertThat(decoder.getDecoderState()).isNull();
     }
 
+    @Test
+    void shouldDecodeTwoPacketsFragmentedWithoutCopying() {
+
+        StreamDecoder decoder = new StreamDecoder(true);
+
+        Header header = Header.create(HeaderOptions.create(Type.TABULAR_RESULT, Status.of(Status.StatusBit.EOM)), Header.LENGTH + DoneToken.LENGTH, PacketIdProvider.just(1));
+
+        Header header2 = Header.create(HeaderOptions.create(Type.TABULAR_RESULT, Status.of(Status.StatusBit.EOM)), Header.LENGTH + DoneToken.LENGTH, PacketIdProvider.just(2));
+        DoneToken token = DoneToken.create(2);
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        ByteBuf nextBuffer = TestByteBufAllocator.TEST.buffer();
+        token.encode(nextBuffer);
+
+        header.encode(buffer);
+        token.encode(buffer);
+        header2.encode(buffer);
+        buffer.writeBytes(new byte[]{nextBuffer.readByte(), nextBuffer.readByte(), nextBuffer.readByte()});
+
+        List<Message> firstMessage = decoder.decode(buffer, ConnectionState.POST_LOGIN.decoder(CLIENT));
+
+        assertThat(firstMessage).containsOnly(token);
+
+        StreamDecoder.DecoderState state = decoder.getDecoderState();
+        assertThat(state).isInstanceOf(StreamDecoder.ZeroCopyDecoderState.class);
+        assertThat(state.header).isNotNull().isEqualTo(header2);
+        assertThat(state.remainder.readableBytes()).isEqualTo(3);
+        assertThat(state.aggregatedBody.readableBytes()).isEqualTo(0);
+        assertThat(buffer.refCnt()).isEqualTo(2);
+
+        List<Message> secondMessage = decoder.decode(nextBuffer, ConnectionState.POST_LOGIN.decoder(CLIENT));
+        assertThat(secondMessage).containsOnly(token);
+
+        assertThat(decoder.getDecoderState()).isNull();
+
+        assertThat(buffer.refCnt()).isEqualTo(1);
+        assertThat(nextBuffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+        nextBuffer.release();
+    }
+
+    @Test
+    void shouldDecodeChunkedPacketsWithoutCopying() {
+
+        StreamDecoder decoder = new StreamDecoder(true);
+
+        Header firstHeader = Header.create(HeaderOptions.create(Type.TABULAR_RESULT, Status.empty()), Header.LENGTH + 3, PacketIdProvider.just(1));
+
+        Header lastHeader = Header.create(HeaderOptions.create(Type.TABULAR_RESULT, Status.of(Status.StatusBit.EOM)), Header.LENGTH + 10, PacketIdProvider.just(2));
+        DoneToken token = DoneToken.create(2);
+
+        ByteBuf firstChunk = TestByteBufAllocator.TEST.buffer();
+        ByteBuf lastChunk = TestByteBufAllocator.TEST.buffer();
+        ByteBuf fullData = TestByteBufAllocator.TEST.buffer();
+        token.encode(fullData);
+
+        firstHeader.encode(firstChunk);
+        firstChunk.writeBytes(new byte[]{fullData.readByte(), fullData.readByte(), fullData.readByte()});
+
+        lastHeader.encode(lastChunk);
+        lastChunk.writeBytes(fullData);
+
+        List<Message> firstAttempt = decoder.decode(firstChunk, ConnectionState.POST_LOGIN.decoder(CLIENT));
+        assertThat(firstAttempt).isEmpty();
+
+        StreamDecoder.DecoderState state = decoder.getDecoderState();
+        assertThat(state).isNotNull();
+        assertThat(state.header).isNull();
+        assertThat(state.remainder.readableBytes()).isEqualTo(0);
+        assertThat(state.aggregatedBody.readableBytes()).isEqualTo(3);
+
+        List<Message> nextAttempt = decoder.decode(lastChunk, ConnectionState.POST_LOGIN.decoder(CLIENT));
+        assertThat(nextAttempt).containsOnly(token);
+
+        assertThat(decoder.getDecoderState()).isNull();
+
+        assertThat(firstChunk.refCnt()).isEqualTo(1);
+        assertThat(lastChunk.refCnt()).isEqualTo(1);
+
+        firstChunk.release();
+        lastChunk.release();
+        fullData.release();
+    }
+
+    @Test
+    void shouldDecodeManyChunksWithoutCopying() {
+
+        StreamDecoder decoder = new StreamDecoder(true);
+        MessageDecoder messageDecoder = ConnectionState.POST_LOGIN.decoder(CLIENT);
+
+        initializeColumMetadata(decoder, messageDecoder);
+
+        List<ByteBuf> chunks = createChunks();
+
+        for (int i = 0; i < chunks.size() - 1; i++) {
+            assertThat(decoder.decode(chunks.get(i), messageDecoder)).isEmpty();
+        }
+
+        List<Message> messages = decoder.decode(chunks.get(chunks.size() - 1), messageDecoder);
+        assertThat(messages).hasSize(1).element(0).isInstanceOf(RowToken.class);
+        assertThat(decoder.getDecoderState()).isNull();
+
+        RowToken rowToken = (RowToken) messages.get(0);
+        assertThat(rowToken.getColumnData(0).readByte()).isEqualTo((byte) 1);
+
+        assertThat(chunks).allMatch(it -> it.refCnt() > 1);
+
+        rowToken.release();
+
+        assertThat(chunks).allMatch(it -> it.refCnt() == 1);
+        chunks.forEach(ByteBuf::release);
+    }
+
     private List<ByteBuf> createChunks() {
 
         ByteBuf row = HexUtils.decodeToByteBuf("D1010C00700061006C007500630068" +
@@ -17,6 +17,7 @@
 package io.r2dbc.mssql.client;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.embedded.EmbeddedChannel;
 import io.r2dbc.mssql.message.header.Header;
@@ -27,6 +28,7 @@ import io.r2dbc.mssql.message.tds.ContextualTdsFragment;
 import io.r2dbc.mssql.message.tds.TdsFragment;
 import io.r2dbc.mssql.message.tds.TdsPacket;
 import io.r2dbc.mssql.message.tds.TdsPackets;
+import io.r2dbc.mssql.message.token.Attention;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -84,6 +86,62 @@ class TdsEncoderUnitTests {
         assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> buffer.writeBytes("foobar".getBytes()));
     }
 
+    @Test
+    void shouldResetConnectionWithNextRequest() {
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addFirst(new TdsEncoder(PacketIdProvider.just(42)));
+
+        channel.writeOutbound(TdsEncoder.ResetConnection.INSTANCE);
+        channel.writeOutbound(TdsPackets.create(HeaderOptions.create(Type.SQL_BATCH, empty()), Unpooled.wrappedBuffer("ab".getBytes())));
+        channel.writeOutbound(TdsPackets.create(HeaderOptions.create(Type.SQL_BATCH, empty()), Unpooled.wrappedBuffer("ab".getBytes())));
+
+        assertThat(channel).outbound().hasByteBufMessage().isEmpty();
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.SQL_BATCH, StatusBit.EOM.getBits() | StatusBit.RESET_CONNECTION.getBits(), 0x0a, "ab");
+        });
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.SQL_BATCH, StatusBit.EOM.getBits(), 0x0a, "ab");
+        });
+    }
+
+    @Test
+    void shouldResetConnectionOnFirstPacketOnly() {
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addFirst(new TdsEncoder(PacketIdProvider.just(42), 12));
+
+        channel.writeOutbound(TdsEncoder.ResetConnection.INSTANCE);
+        channel.writeOutbound(TdsPackets.create(HeaderOptions.create(Type.RPC, empty()), Unpooled.wrappedBuffer("foobar".getBytes())));
+
+        assertThat(channel).outbound().hasByteBufMessage().isEmpty();
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.RPC, StatusBit.RESET_CONNECTION.getBits(), 0x0c, "foob");
+        });
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.RPC, StatusBit.EOM.getBits(), 0x0a, "ar");
+        });
+    }
+
+    @Test
+    void shouldDeferResetConnectionUntilRequest() {
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addFirst(new TdsEncoder(PacketIdProvider.just(42)));
+
+        channel.writeOutbound(TdsEncoder.ResetConnection.INSTANCE);
+        channel.writeOutbound(Attention.create().encode(channel.alloc(), 8000));
+        channel.writeOutbound(TdsPackets.create(HeaderOptions.create(Type.SQL_BATCH, empty()), Unpooled.wrappedBuffer("ab".getBytes())));
+
+        assertThat(channel).outbound().hasByteBufMessage().isEmpty();
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.ATTENTION, StatusBit.EOM.getBits(), Header.LENGTH, "");
+        });
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+            encodeExpectation(buffer, Type.SQL_BATCH, StatusBit.EOM.getBits() | StatusBit.RESET_CONNECTION.getBits(), 0x0a, "ab");
+        });
+    }
+
     @Test
     void shouldEncodeTdsPacket() {
 
@@ -117,6 +175,25 @@ class TdsEncoderUnitTests {
         });
     }
 
+    @Test
+    void shouldEncodeAttention() {
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addFirst(new TdsEncoder(PacketIdProvider.just(42)));
+
+        channel.writeOutbound(Attention.create().encode(channel.alloc(), 8000));
+
+        assertThat(channel).outbound().hasByteBufMessage().isEncodedAs(buffer -> {
+
+            buffer.writeByte(Type.ATTENTION.getValue()); // Type
+            buffer.writeByte(StatusBit.EOM.getBits()); // Status
+            buffer.writeShort(Header.LENGTH); // Length
+            buffer.writeShort(0); // SPID
+            buffer.writeByte(42); // PacketID
+            buffer.writeByte(0); // Window
+        });
+    }
+
     @Test
     void shouldEncodeAndSplitContextualTdsFragment() {
 
@@ -298,6 +375,28 @@ class TdsEncoderUnitTests {
         });
     }
 
+    @Test
+    void shouldEncodePacketsWithoutCopyingBody() {
+
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addFirst(new TdsEncoder(PacketIdProvider.just(42), 12));
+
+        ByteBuf body = Unpooled.wrappedBuffer("foobar".getBytes());
+        channel.writeOutbound(TdsPackets.create(HeaderOptions.create(Type.PRE_LOGIN, empty()), body));
+
+        ByteBuf chunk1 = channel.readOutbound();
+        ByteBuf chunk2 = channel.readOutbound();
+
+        Assertions.assertThat(chunk1).isInstanceOf(CompositeByteBuf.class);
+        Assertions.assertThat(((CompositeByteBuf) chunk1).numComponents()).isEqualTo(2);
+        Assertions.assertThat(body.refCnt()).isEqualTo(2);
+
+        chunk1.release();
+        chunk2.release();
+
+        Assertions.assertThat(body.refCnt()).isZero();
+    }
+
     @Test
     void shouldEstimateTdsPacketSize() {
 
@@ -318,4 +417,15 @@ class TdsEncoderUnitTests {
         buffer.writeByte(0); // Window
         buffer.writeBytes(content.getBytes());
     }
+
+    private static void encodeExpectation(ByteBuf buffer, Type type, int status, int length, String content) {
+
+        buffer.writeByte(type.getValue()); // Type
+        buffer.writeByte(status); // Status
+        buffer.writeShort(length); // Length
+        buffer.writeShort(0); // SPID
+        buffer.writeByte(42); // PacketID
+        buffer.writeByte(0); // Window
+        buffer.writeBytes(content.getBytes());
+    }
 }
@@ -31,6 +31,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -54,6 +55,10 @@ public final class TestClient implements Client {
 
     private boolean closed;
 
+    private boolean sessionReset;
+
+    private Predicate<Message> takeUntil;
+
     private final EmitterProcessor<Message> requestProcessor = EmitterProcessor.create(false);
 
     private final FluxSink<Message> requests = this.requestProcessor.sink();
@@ -108,10 +113,23 @@ public final class TestClient implements Client {
         return this.closed;
     }
 
-    public Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil) {
+    /**
+     * Returns the {@code takeUntil} predicate of the most recent {@link #exchange(Publisher, Predicate, Duration) exchange}. Responses are not terminated by this client so tests can use
+     * the predicate to verify exchange termination.
+     *
+     * @return the {@code takeUntil} predicate of the most recent exchange. Can be {@literal null} if no exchange was started yet.
+     */
+    public Predicate<Message> getTakeUntil() {
+        return this.takeUntil;
+    }
+
+    @Override
+    public Flux<Message> exchange(Publisher<? extends ClientMessage> requests, Predicate<Message> takeUntil, Duration timeout) {
 
         Assert.requireNonNull(requests, "requests must not be null");
 
+        this.takeUntil = takeUntil;
+
         return this.responseProcessor
             .doOnSubscribe(s ->
                 Flux.from(requests)
@@ -167,6 +185,15 @@ public final class TestClient implements Client {
         return this.connected;
     }
 
+    @Override
+    public void resetSession() {
+        this.sessionReset = true;
+    }
+
+    public boolean isSessionReset() {
+        return this.sessionReset;
+    }
+
     public static final class Builder {
 
         private final List<Window.Builder<?>> windows = new ArrayList<>();
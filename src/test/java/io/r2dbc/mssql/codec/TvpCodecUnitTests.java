@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.message.type.TdsDataType;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link TvpCodec}.
+ *
+ * @author Mark Paluch
+ */
+class TvpCodecUnitTests {
+
+    static final Collation COLLATION = Collation.from(13632521, 52);
+
+    static final RpcParameterContext CONTEXT = RpcParameterContext.in(new RpcParameterContext.CharacterValueContext(COLLATION, true));
+
+    DefaultCodecs codecs = new DefaultCodecs();
+
+    @Test
+    void shouldEncodeTypeName() {
+
+        TableValuedParameter parameter = TableValuedParameter.builder("dbo.IdList").column("id").row(1).build();
+        TvpEncoded encoded = encode(parameter);
+
+        assertThat(encoded.getDataType()).isEqualTo(TdsDataType.TVP);
+        assertThat(encoded.getFormalType()).isEqualTo("dbo.IdList READONLY");
+
+        ByteBuf actual = TestByteBufAllocator.TEST.buffer();
+        encoded.encodeHeader(actual);
+
+        ByteBuf expected = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(expected, 0);
+        Encode.asByte(expected, 3);
+        Encode.rpcString(expected, "dbo");
+        Encode.asByte(expected, 6);
+        Encode.rpcString(expected, "IdList");
+
+        assertThat(actual).isEqualTo(expected);
+
+        actual.release();
+        expected.release();
+    }
+
+    @Test
+    void shouldEncodeUnqualifiedTypeName() {
+
+        TableValuedParameter parameter = TableValuedParameter.builder("[IdList]").column("id").build();
+
+        ByteBuf actual = TestByteBufAllocator.TEST.buffer();
+        encode(parameter).encodeHeader(actual);
+
+        ByteBuf expected = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(expected, 0);
+        Encode.asByte(expected, 0);
+        Encode.asByte(expected, 6);
+        Encode.rpcString(expected, "IdList");
+
+        assertThat(actual).isEqualTo(expected);
+
+        actual.release();
+        expected.release();
+    }
+
+    @Test
+    void shouldEncodeRows() {
+
+        TableValuedParameter parameter = TableValuedParameter.builder("dbo.IdList").column("id").column("name", String.class).row(1, null).row(2, "foo").build();
+
+        List<ByteBuf> buffers = encode(parameter).encodeRows().collectList().block();
+
+        assertThat(buffers).hasSize(4);
+
+        ByteBuf metadata = TestByteBufAllocator.TEST.buffer();
+        Encode.uShort(metadata, 2);
+        Encode.dword(metadata, 0);
+        Encode.uShort(metadata, 0x0001);
+        Encode.asByte(metadata, TdsDataType.INTN.getValue());
+        Encode.asByte(metadata, 4);
+        Encode.asByte(metadata, 0);
+        Encode.dword(metadata, 0);
+        Encode.uShort(metadata, 0x0001);
+        Encode.asByte(metadata, TdsDataType.NVARCHAR.getValue());
+        Encode.uShort(metadata, 8000);
+        COLLATION.encode(metadata);
+        Encode.asByte(metadata, 0);
+        Encode.asByte(metadata, 0x00);
+
+        ByteBuf first = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(first, 0x01);
+        Encode.asByte(first, 4);
+        Encode.asInt(first, 1);
+        Encode.uShort(first, 0xFFFF);
+
+        ByteBuf second = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(second, 0x01);
+        Encode.asByte(second, 4);
+        Encode.asInt(second, 2);
+        Encode.uShort(second, 6);
+        Encode.rpcString(second, "foo");
+
+        assertThat(buffers.get(0)).isEqualTo(metadata);
+        assertThat(buffers.get(1)).isEqualTo(first);
+        assertThat(buffers.get(2)).isEqualTo(second);
+        assertThat(buffers.get(3).readableBytes()).isEqualTo(1);
+        assertThat(buffers.get(3).readByte()).isEqualTo((byte) 0x00);
+
+        buffers.forEach(ByteBuf::release);
+        metadata.release();
+        first.release();
+        second.release();
+    }
+
+    @Test
+    void shouldEncodeEmptyParameterUsingDeclaredTypes() {
+
+        TableValuedParameter parameter = TableValuedParameter.builder("dbo.IdList").column("id", Integer.class).rows(Flux.empty()).build();
+
+        List<ByteBuf> buffers = encode(parameter).encodeRows().collectList().block();
+
+        assertThat(buffers).hasSize(2);
+        assertThat(buffers.get(0).getUnsignedShortLE(0)).isEqualTo(1);
+        assertThat(buffers.get(1).readByte()).isEqualTo((byte) 0x00);
+
+        buffers.forEach(ByteBuf::release);
+    }
+
+    @Test
+    void shouldRejectUndeclaredTypeWithoutRows() {
+
+        TableValuedParameter parameter = TableValuedParameter.builder("dbo.IdList").column("id").build();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> encode(parameter).encodeRows().blockLast());
+    }
+
+    @Test
+    void shouldRejectNullParameter() {
+        assertThatThrownBy(() -> this.codecs.encodeNull(TestByteBufAllocator.TEST, TableValuedParameter.class)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    TvpEncoded encode(TableValuedParameter parameter) {
+        return (TvpEncoded) this.codecs.encode(TestByteBufAllocator.TEST, CONTEXT, parameter);
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.mssql.codec.Codecs;
+import io.r2dbc.mssql.codec.DefaultCodecs;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.message.tds.FirstTdsFragment;
+import io.r2dbc.mssql.message.tds.LastTdsFragment;
+import io.r2dbc.mssql.message.tds.TdsFragment;
+import io.r2dbc.mssql.message.type.Collation;
+import io.r2dbc.mssql.message.type.TdsDataType;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link BulkLoad}.
+ *
+ * @author Mark Paluch
+ */
+class BulkLoadUnitTests {
+
+    static final Collation COLLATION = Collation.from(13632521, 52);
+
+    Codecs codecs = new DefaultCodecs();
+
+    @Test
+    void shouldEncodeColumnMetadata() {
+
+        ColumnDescriptor id = describe("id", 42);
+        ColumnDescriptor name = describe("name", "foo");
+
+        assertThat(id.getDataType()).isEqualTo(TdsDataType.INTN);
+        assertThat(name.getDataType()).isEqualTo(TdsDataType.NVARCHAR);
+
+        BulkLoad bulkLoad = BulkLoad.create(Arrays.asList(id, name), Flux.empty(), 0);
+        ByteBuf actual = bulkLoad.encodeColumnMetadata(TestByteBufAllocator.TEST);
+
+        ByteBuf expected = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(expected, ColumnMetadataToken.TYPE);
+        Encode.uShort(expected, 2);
+
+        Encode.dword(expected, 0);
+        Encode.uShort(expected, 0x0009);
+        Encode.asByte(expected, TdsDataType.INTN.getValue());
+        Encode.asByte(expected, 4);
+        Encode.asByte(expected, 2);
+        Encode.rpcString(expected, "id");
+
+        Encode.dword(expected, 0);
+        Encode.uShort(expected, 0x0009);
+        Encode.asByte(expected, TdsDataType.NVARCHAR.getValue());
+        Encode.uShort(expected, 8000);
+        COLLATION.encode(expected);
+        Encode.asByte(expected, 4);
+        Encode.rpcString(expected, "name");
+
+        assertThat(actual).isEqualTo(expected);
+
+        actual.release();
+        expected.release();
+    }
+
+    @Test
+    void shouldUseCollationForNullPrototype() {
+
+        Encoded prototype = this.codecs.encodeNull(TestByteBufAllocator.TEST, String.class);
+        ColumnDescriptor column = ColumnDescriptor.create("name", prototype, COLLATION);
+        prototype.release();
+
+        ByteBuf actual = TestByteBufAllocator.TEST.buffer();
+        column.encodeMetadata(actual, 0x0009, true);
+
+        ByteBuf expected = TestByteBufAllocator.TEST.buffer();
+        Encode.dword(expected, 0);
+        Encode.uShort(expected, 0x0009);
+        Encode.asByte(expected, TdsDataType.NVARCHAR.getValue());
+        Encode.uShort(expected, 8000);
+        COLLATION.encode(expected);
+        Encode.asByte(expected, 4);
+        Encode.rpcString(expected, "name");
+
+        assertThat(actual).isEqualTo(expected);
+
+        actual.release();
+        expected.release();
+    }
+
+    @Test
+    void shouldEncodeRowWithoutTypeInformation() {
+
+        List<ColumnDescriptor> columns = Arrays.asList(describe("id", 42), describe("name", "foo"));
+
+        Encoded id = encode(1);
+        ByteBuf actual = TestByteBufAllocator.TEST.buffer();
+        BulkLoad.encodeRow(actual, columns, new Encoded[]{id, null});
+        id.release();
+
+        ByteBuf expected = TestByteBufAllocator.TEST.buffer();
+        Encode.asByte(expected, RowToken.TYPE);
+        Encode.asByte(expected, 4);
+        Encode.asInt(expected, 1);
+        Encode.uShort(expected, 0xFFFF);
+
+        assertThat(actual).isEqualTo(expected);
+
+        actual.release();
+        expected.release();
+    }
+
+    @Test
+    void shouldRejectIncompatibleValues() {
+
+        List<ColumnDescriptor> columns = Arrays.asList(describe("id", 42), describe("amount", new BigDecimal("1.00")));
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+
+        Encoded text = encode("foo");
+        Encoded amount = encode(new BigDecimal("1.00"));
+        assertThatIllegalArgumentException().isThrownBy(() -> BulkLoad.encodeRow(buffer, columns, new Encoded[]{text, amount}));
+        text.release();
+        amount.release();
+
+        Encoded id = encode(1);
+        Encoded scaled = encode(new BigDecimal("1.000"));
+        assertThatIllegalArgumentException().isThrownBy(() -> BulkLoad.encodeRow(buffer, columns, new Encoded[]{id, scaled}));
+        id.release();
+        scaled.release();
+
+        assertThatIllegalArgumentException().isThrownBy(() -> BulkLoad.encodeRow(buffer, columns, new Encoded[1]));
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldStreamBulkLoadData() {
+
+        List<ColumnDescriptor> columns = Arrays.asList(describe("id", 42));
+
+        Flux<ByteBuf> rows = Flux.range(0, 10).map(it -> {
+
+            Encoded value = encode(it);
+            ByteBuf row = TestByteBufAllocator.TEST.buffer();
+            BulkLoad.encodeRow(row, columns, new Encoded[]{value});
+            value.release();
+
+            return row;
+        });
+
+        // 6 bytes per row
+        List<TdsFragment> fragments = Flux.from(BulkLoad.create(columns, rows, 24).encode(TestByteBufAllocator.TEST, 8000)).collectList().block();
+
+        assertThat(fragments).hasSize(5);
+        assertThat(fragments.get(0)).isInstanceOf(FirstTdsFragment.class);
+        assertThat(fragments.get(1).getByteBuf().readableBytes()).isEqualTo(24);
+        assertThat(fragments.get(2).getByteBuf().readableBytes()).isEqualTo(24);
+        assertThat(fragments.get(3).getByteBuf().readableBytes()).isEqualTo(12);
+        assertThat(fragments.get(4)).isInstanceOf(LastTdsFragment.class);
+
+        ByteBuf done = fragments.get(4).getByteBuf();
+        assertThat(done.readByte()).isEqualTo(DoneToken.TYPE);
+        assertThat(done.readableBytes()).isEqualTo(12);
+
+        fragments.forEach(it -> it.getByteBuf().release());
+    }
+
+    ColumnDescriptor describe(String name, Object prototype) {
+
+        Encoded encoded = encode(prototype);
+
+        try {
+            return ColumnDescriptor.create(name, encoded, COLLATION);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    Encoded encode(Object value) {
+        return this.codecs.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(new RpcParameterContext.CharacterValueContext(COLLATION, true)), value);
+    }
+
+}
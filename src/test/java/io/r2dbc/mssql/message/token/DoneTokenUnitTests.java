@@ -59,6 +59,22 @@ class DoneTokenUnitTests {
         assertThat(token.getRowCount()).isEqualTo(1);
     }
 
+    @Test
+    void shouldDecodeAttentionAck() {
+
+        ByteBuf buffer = HexUtils.decodeToByteBuf("FD200000000000000000000000");
+
+        assertThat(buffer.readByte()).isEqualTo(DoneToken.TYPE);
+
+        DoneToken token = DoneToken.decode(buffer);
+        assertThat(token.isDone()).isTrue();
+        assertThat(token.isAttentionAck()).isTrue();
+        assertThat(token.hasCount()).isFalse();
+        assertThat(AbstractDoneToken.isAttentionAck(token)).isTrue();
+        assertThat(AbstractDoneToken.isAttentionAck(DoneToken.create(1))).isFalse();
+        assertThat(DoneToken.attentionAck()).isEqualTo(token);
+    }
+
     @Test
     void canDecodeShouldReportDecodability() {
 
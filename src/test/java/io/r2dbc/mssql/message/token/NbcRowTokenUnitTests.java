@@ -74,6 +74,29 @@ class NbcRowTokenUnitTests {
         CanDecodeTestSupport.testCanDecode(HexUtils.decodeToByteBuf(data), buffer -> NbcRowToken.canDecode(buffer, columns));
     }
 
+    @Test
+    void shouldRewindTruncatedColumn() {
+
+        ByteBuf data = HexUtils.decodeToByteBuf("1C 04 01 00 00 00 01 00 61 02 00 78 61 04 01 00 00 00");
+
+        RowToken.RowDecoder decoder = RowToken.createDecoder(NbcRowToken.TYPE, columns);
+
+        assertThat(decoder.decode(data.slice(0, 10))).isNull();
+
+        ByteBuf truncated = data.slice(0, 12);
+        truncated.skipBytes(9);
+
+        assertThat(decoder.decode(truncated)).isNull();
+        assertThat(truncated.readerIndex()).isEqualTo(9);
+
+        RowToken rowToken = decoder.decode(data.skipBytes(9));
+
+        assertThat(rowToken).isInstanceOf(NbcRowToken.class);
+        assertThat(data.readableBytes()).isZero();
+        assertThat(rowToken.getColumnData(5).readableBytes()).isEqualTo(4);
+        assertThat(rowToken.getColumnData(6)).isNotNull();
+    }
+
     @Test
     void shouldDecodePlpNull() {
 
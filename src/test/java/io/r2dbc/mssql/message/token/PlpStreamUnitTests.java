@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.mssql.message.tds.ServerCharset;
+import io.r2dbc.mssql.message.type.LengthStrategy;
+import io.r2dbc.mssql.message.type.SqlServerType;
+import io.r2dbc.mssql.message.type.TypeInformation;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PlpStream}.
+ *
+ * @author Mark Paluch
+ */
+class PlpStreamUnitTests {
+
+    static final TypeInformation PLP_TYPE = TypeInformation.builder().withServerType(SqlServerType.VARCHARMAX).withLengthStrategy(LengthStrategy.PARTLENTYPE)
+        .withCharset(ServerCharset.CP1252.charset()).build();
+
+    @Test
+    void shouldEmitChunksOnDemand() {
+
+        PlpStream stream = new PlpStream(PLP_TYPE);
+        AtomicInteger notifications = new AtomicInteger();
+        stream.setBackpressureListener(notifications::incrementAndGet);
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeIntLE(3).writeCharSequence("foo", StandardCharsets.US_ASCII);
+        buffer.writeIntLE(3).writeCharSequence("ba", StandardCharsets.US_ASCII);
+
+        assertThat(stream.decode(buffer)).isFalse();
+        assertThat(stream.isBackpressured()).isTrue();
+        assertThat(notifications).hasValue(1);
+
+        StepVerifier.create(Flux.from(stream).map(PlpStreamUnitTests::toString), 0)
+            .thenRequest(1)
+            .expectNext("foo")
+            .thenRequest(1)
+            .expectNext("ba")
+            .then(() -> {
+
+                assertThat(stream.isBackpressured()).isFalse();
+
+                buffer.writeCharSequence("r", StandardCharsets.US_ASCII);
+                buffer.writeIntLE(0);
+
+                assertThat(stream.decode(buffer)).isTrue();
+            })
+            .thenRequest(1)
+            .expectNext("r")
+            .verifyComplete();
+
+        assertThat(buffer.readableBytes()).isZero();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldReleaseDataOnDiscard() {
+
+        PlpStream stream = new PlpStream(PLP_TYPE);
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeIntLE(3).writeCharSequence("foo", StandardCharsets.US_ASCII);
+        buffer.writeIntLE(3);
+
+        stream.decode(buffer);
+
+        assertThat(buffer.refCnt()).isEqualTo(2);
+
+        stream.discard();
+
+        assertThat(stream.isBackpressured()).isFalse();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.writeCharSequence("bar", StandardCharsets.US_ASCII);
+        buffer.writeIntLE(0);
+
+        assertThat(stream.decode(buffer)).isTrue();
+        assertThat(buffer.readableBytes()).isZero();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldPropagateError() {
+
+        PlpStream stream = new PlpStream(PLP_TYPE);
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeIntLE(3).writeCharSequence("foo", StandardCharsets.US_ASCII);
+
+        stream.decode(buffer);
+        stream.onError(new IllegalStateException("Connection closed"));
+
+        assertThat(stream.isBackpressured()).isFalse();
+
+        StepVerifier.create(Flux.from(stream).map(PlpStreamUnitTests::toString))
+            .expectNext("foo")
+            .verifyError(IllegalStateException.class);
+
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldAllowSingleClaim() {
+
+        PlpStream stream = new PlpStream(PLP_TYPE);
+
+        assertThat(stream.claim()).isTrue();
+        assertThat(stream.claim()).isFalse();
+    }
+
+    private static String toString(ByteBuf buffer) {
+
+        try {
+            return buffer.toString(StandardCharsets.US_ASCII);
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
@@ -22,13 +22,19 @@ import io.r2dbc.mssql.message.type.LengthStrategy;
 import io.r2dbc.mssql.message.type.SqlServerType;
 import io.r2dbc.mssql.message.type.TypeInformation;
 import io.r2dbc.mssql.util.HexUtils;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -39,6 +45,11 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class RowTokenUnitTests {
 
+    private static final String INT_VARCHARMAX_METADATA = "810200" +
+        "00000000000026040269006400" +
+        "000000000000A7FFFF0904D00034" +
+        "0763006F006E00740065006E007400";
+
     @Test
     void shouldDecodeRow() {
 
@@ -67,6 +78,7 @@ class RowTokenUnitTests {
         assertThat(rowToken.getColumnData(1)).isNotNull();
         assertThat(rowToken.getColumnData(2)).isNotNull();
         assertThat(rowToken.getColumnData(3)).isNotNull();
+        assertThat(rowToken.getLength()).isEqualTo(61);
     }
 
     @Test
@@ -172,6 +184,259 @@ class RowTokenUnitTests {
         assertThat(contentData.refCnt()).isZero();
     }
 
+    @Test
+    void shouldRetainSingleSliceForEntireRow() throws IOException {
+
+        TypeInformation integerType = TypeInformation.builder().withServerType(SqlServerType.INTEGER).withLengthStrategy(LengthStrategy.BYTELENTYPE).build();
+        TypeInformation plpType = TypeInformation.builder().withServerType(SqlServerType.VARCHARMAX).withLengthStrategy(LengthStrategy.PARTLENTYPE).withCharset(ServerCharset.CP1252.charset()).build();
+
+        Column id = new Column(0, "id", integerType);
+        Column content = new Column(1, "content", plpType);
+        Column nullContent = new Column(2, "null_content", plpType);
+        ColumnMetadataToken columns = ColumnMetadataToken.create(new Column[]{id, content, nullContent});
+
+        ByteBuf plpRow = loadRowData("int-varcharmax-data.txt");
+        ByteBuf rowData = TestByteBufAllocator.TEST.buffer();
+        rowData.writeBytes(plpRow).writeBytes(HexUtils.decodeToByteBuf("FF FF FF FF FF FF FF FF"));
+
+        RowToken row = RowToken.decode(rowData, columns.getColumns());
+
+        assertThat(rowData.isReadable()).isFalse();
+        assertThat(rowData.refCnt()).isEqualTo(2);
+        assertThat(row.getColumnData(0).readableBytes()).isEqualTo(5);
+        assertThat(row.getColumnData(1).readableBytes()).isEqualTo(10016);
+        assertThat(row.getColumnData(2)).isNull();
+
+        row.release();
+
+        assertThat(rowData.refCnt()).isEqualTo(1);
+
+        rowData.release();
+        plpRow.release();
+    }
+
+    @Test
+    void shouldResumeRowDecoding() {
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeBytes(HexUtils.decodeToByteBuf("8107000000000000" +
+            "000800300B65006D0070006C006F0079" +
+            "00650065005F00690064000000000008" +
+            "00E764000904D00034096C0061007300" +
+            "74005F006E0061006D00650000000000" +
+            "0900A732000904D000340A6600690072" +
+            "00730074005F006E0061006D00650000" +
+            "00000009006E0806730061006C006100" +
+            "7200790000000000090024100366006F" +
+            "006F000000000009006D080366006C00" +
+            "74000000000009006D04036200610072" +
+            "00D1010C00700061006C0075"));
+
+        Tabular.TabularDecoder decoder = Tabular.createDecoder(true);
+
+        List<DataToken> tokens = decoder.decode(buffer);
+
+        assertThat(tokens).hasSize(1).element(0).isInstanceOf(ColumnMetadataToken.class);
+        assertThat(buffer.readableBytes()).isEqualTo(9);
+
+        buffer.writeBytes(HexUtils.decodeToByteBuf("00630068" +
+            "0004006D61726B080000000020A10700" +
+            "10F17B0DC7C7E5C54098C7A12F7E6867" +
+            "2408FED478E94628C6400437423146"));
+
+        tokens = decoder.decode(buffer);
+
+        assertThat(tokens).hasSize(1).element(0).isInstanceOf(RowToken.class);
+        assertThat(buffer.readableBytes()).isZero();
+
+        RowToken rowToken = (RowToken) tokens.get(0);
+        assertThat(rowToken.getColumnData(0).readByte()).isEqualTo((byte) 1);
+        assertThat(rowToken.getColumnData(1).readableBytes()).isEqualTo(14);
+
+        rowToken.release();
+        buffer.release();
+    }
+
+    @Test
+    void shouldReleasePartiallyDecodedRowOnDispose() {
+
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeBytes(HexUtils.decodeToByteBuf("8107000000000000" +
+            "000800300B65006D0070006C006F0079" +
+            "00650065005F00690064000000000008" +
+            "00E764000904D00034096C0061007300" +
+            "74005F006E0061006D00650000000000" +
+            "0900A732000904D000340A6600690072" +
+            "00730074005F006E0061006D00650000" +
+            "00000009006E0806730061006C006100" +
+            "7200790000000000090024100366006F" +
+            "006F000000000009006D080366006C00" +
+            "74000000000009006D04036200610072" +
+            "00D1010C00700061006C0075"));
+
+        Tabular.TabularDecoder decoder = Tabular.createDecoder(true);
+
+        List<DataToken> tokens = decoder.decode(buffer);
+
+        assertThat(tokens).hasSize(1).element(0).isInstanceOf(ColumnMetadataToken.class);
+        assertThat(buffer.refCnt()).isGreaterThan(1);
+
+        decoder.dispose();
+
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+    }
+
+    @Test
+    void shouldReleasePartiallyReceivedPlpChunks() throws IOException {
+
+        TypeInformation integerType = TypeInformation.builder().withServerType(SqlServerType.INTEGER).withLengthStrategy(LengthStrategy.BYTELENTYPE).build();
+        TypeInformation plpType = TypeInformation.builder().withServerType(SqlServerType.VARCHARMAX).withLengthStrategy(LengthStrategy.PARTLENTYPE).withCharset(ServerCharset.CP1252.charset()).build();
+
+        Column id = new Column(0, "id", integerType);
+        Column content = new Column(1, "content", plpType);
+        ColumnMetadataToken columns = ColumnMetadataToken.create(new Column[]{id, content});
+
+        ByteBuf rowData = loadRowData("int-varcharmax-data.txt");
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+
+        RowToken.RowDecoder decoder = RowToken.createDecoder(RowToken.TYPE, columns.getColumns());
+
+        buffer.writeBytes(rowData, 1000);
+        assertThat(decoder.decode(buffer)).isNull();
+
+        buffer.writeBytes(rowData, 1000);
+        assertThat(decoder.decode(buffer)).isNull();
+        assertThat(buffer.refCnt()).isGreaterThan(1);
+
+        decoder.release();
+
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+        rowData.release();
+    }
+
+    @Test
+    void shouldResumePlpDecodingWithinChunk() throws IOException {
+
+        TypeInformation integerType = TypeInformation.builder().withServerType(SqlServerType.INTEGER).withLengthStrategy(LengthStrategy.BYTELENTYPE).build();
+        TypeInformation plpType = TypeInformation.builder().withServerType(SqlServerType.VARCHARMAX).withLengthStrategy(LengthStrategy.PARTLENTYPE).withCharset(ServerCharset.CP1252.charset()).build();
+
+        Column id = new Column(0, "id", integerType);
+        Column content = new Column(1, "content", plpType);
+        ColumnMetadataToken columns = ColumnMetadataToken.create(new Column[]{id, content});
+
+        ByteBuf rowData = loadRowData("int-varcharmax-data.txt");
+        ByteBuf buffer = rowData.alloc().buffer();
+
+        RowToken.RowDecoder decoder = RowToken.createDecoder(RowToken.TYPE, columns.getColumns());
+        RowToken row = null;
+
+        while (row == null) {
+
+            assertThat(rowData.isReadable()).isTrue();
+
+            buffer.writeBytes(rowData, Math.min(rowData.readableBytes(), 1000));
+            row = decoder.decode(buffer);
+        }
+
+        assertThat(buffer.readableBytes()).isZero();
+        assertThat(row.getColumnData(0).readableBytes()).isEqualTo(5);
+        assertThat(row.getColumnData(1).readableBytes()).isEqualTo(10016);
+
+        rowData.readerIndex(0);
+        RowToken expected = RowToken.decode(rowData, columns.getColumns());
+        assertThat(row.getColumnData(1)).isEqualTo(expected.getColumnData(1));
+
+        row.release();
+        expected.release();
+        buffer.release();
+        rowData.release();
+    }
+
+    @Test
+    void shouldStreamLastPlpColumn() throws IOException {
+
+        ByteBuf rowData = loadRowData("int-varcharmax-data.txt");
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeBytes(HexUtils.decodeToByteBuf(INT_VARCHARMAX_METADATA + "D1"));
+        buffer.writeBytes(rowData, 1000);
+
+        Tabular.TabularDecoder decoder = Tabular.createDecoder(false, true);
+
+        List<DataToken> tokens = decoder.decode(buffer);
+
+        assertThat(tokens).hasSize(2).element(1).isInstanceOf(RowToken.class);
+
+        RowToken row = (RowToken) tokens.get(1);
+        PlpStream plpStream = row.getPlpStream(1);
+
+        assertThat(row.getPlpStream(0)).isNull();
+        assertThat(plpStream).isNotNull();
+        assertThat(plpStream.claim()).isTrue();
+        assertThat(row.getColumnData(0).readableBytes()).isEqualTo(5);
+        assertThat(row.getColumnData(1).readableBytes()).isEqualTo(8);
+
+        AtomicInteger received = new AtomicInteger();
+        AtomicBoolean completed = new AtomicBoolean();
+        Flux.from(plpStream).doOnComplete(() -> completed.set(true)).subscribe(it -> {
+            received.addAndGet(it.readableBytes());
+            it.release();
+        });
+
+        tokens = new ArrayList<>();
+
+        while (rowData.isReadable()) {
+            buffer.writeBytes(rowData, Math.min(rowData.readableBytes(), 1000));
+            tokens.addAll(decoder.decode(buffer));
+        }
+
+        assertThat(tokens).isEmpty();
+
+        DoneToken.create(1).encode(buffer);
+        tokens.addAll(decoder.decode(buffer));
+
+        assertThat(received).hasValue(10000);
+        assertThat(completed).isTrue();
+        assertThat(tokens).hasSize(1).element(0).isInstanceOf(DoneToken.class);
+        assertThat(buffer.readableBytes()).isZero();
+
+        row.release();
+        buffer.release();
+        rowData.release();
+    }
+
+    @Test
+    void shouldDiscardUnclaimedPlpStream() throws IOException {
+
+        ByteBuf rowData = loadRowData("int-varcharmax-data.txt");
+        ByteBuf buffer = TestByteBufAllocator.TEST.buffer();
+        buffer.writeBytes(HexUtils.decodeToByteBuf(INT_VARCHARMAX_METADATA + "D1"));
+        buffer.writeBytes(rowData, 1000);
+
+        Tabular.TabularDecoder decoder = Tabular.createDecoder(false, true);
+
+        List<DataToken> tokens = decoder.decode(buffer);
+        RowToken row = (RowToken) tokens.get(1);
+        PlpStream plpStream = row.getPlpStream(1);
+
+        row.release();
+
+        buffer.writeBytes(rowData);
+        tokens = decoder.decode(buffer);
+
+        assertThat(tokens).isEmpty();
+        assertThat(plpStream.isBackpressured()).isFalse();
+        assertThat(plpStream.claim()).isTrue();
+        assertThat(buffer.readableBytes()).isZero();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.release();
+        rowData.release();
+    }
+
     private static ByteBuf loadRowData(String resource) throws IOException {
 
         StringBuffer buffer = new StringBuffer();
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.r2dbc.mssql.codec.BlobCodec;
+import io.r2dbc.mssql.codec.Encoded;
+import io.r2dbc.mssql.codec.RpcDirection;
+import io.r2dbc.mssql.codec.RpcParameterContext;
+import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.tds.Encode;
+import io.r2dbc.mssql.util.ClientMessageAssert;
+import io.r2dbc.mssql.util.HexUtils;
+import io.r2dbc.mssql.util.TestByteBufAllocator;
+import io.r2dbc.spi.Blob;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link RpcBatch}.
+ *
+ * @author Mark Paluch
+ */
+class RpcBatchUnitTests {
+
+    @Test
+    void shouldEncodeBatchWithSingleAllHeaders() {
+
+        RpcBatch batch = RpcBatch.create(Arrays.asList(createRequest(1), createRequest(2)));
+
+        ClientMessageAssert.assertThat(batch).encoded()
+            .hasHeader(HeaderOptions.create(Type.RPC, Status.empty()))
+            .isEncodedAs(expected -> {
+
+                AllHeaders.transactional(TransactionDescriptor.empty(), 1).encode(expected);
+
+                Encode.uShort(expected, 0xFFFF); // proc Id switch
+                Encode.uShort(expected, RpcRequest.Sp_Execute); // proc Id
+                Encode.asByte(expected, 0); // option flag
+                Encode.asByte(expected, 0); // status flag
+                expected.writeBytes(HexUtils.decodeToByteBuf("00 00 26 04 04 01 00 00 00"));
+
+                Encode.asByte(expected, 0xFF); // batch flag
+
+                Encode.uShort(expected, 0xFFFF); // proc Id switch
+                Encode.uShort(expected, RpcRequest.Sp_Execute); // proc Id
+                Encode.asByte(expected, 0); // option flag
+                Encode.asByte(expected, 0); // status flag
+                expected.writeBytes(HexUtils.decodeToByteBuf("00 00 26 04 04 02 00 00 00"));
+            });
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> RpcBatch.create(Collections.emptyList())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectPlpParameters() {
+
+        Blob blob = Blob.from(Mono.just(ByteBuffer.wrap("foo".getBytes())));
+        Encoded encoded = BlobCodec.INSTANCE.encode(TestByteBufAllocator.TEST, RpcParameterContext.in(), blob);
+
+        RpcRequest request = RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_Execute) //
+            .withTransactionDescriptor(TransactionDescriptor.empty())
+            .withParameter(RpcDirection.IN, encoded)
+            .build();
+
+        assertThatThrownBy(() -> RpcBatch.create(Collections.singletonList(request))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RpcRequest createRequest(int value) {
+
+        return RpcRequest.builder() //
+            .withProcId(RpcRequest.Sp_Execute) //
+            .withTransactionDescriptor(TransactionDescriptor.empty())
+            .withParameter(RpcDirection.IN, value)
+            .build();
+    }
+}
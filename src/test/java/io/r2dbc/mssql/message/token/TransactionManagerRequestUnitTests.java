@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.r2dbc.mssql.message.token;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.mssql.message.TransactionDescriptor;
+import io.r2dbc.mssql.message.header.HeaderOptions;
+import io.r2dbc.mssql.message.header.Status;
+import io.r2dbc.mssql.message.header.Type;
+import io.r2dbc.mssql.message.tds.Encode;
+import org.junit.jupiter.api.Test;
+
+import static io.r2dbc.mssql.util.ClientMessageAssert.assertThat;
+
+/**
+ * Unit tests for {@link TransactionManagerRequest}.
+ *
+ * @author Mark Paluch
+ */
+class TransactionManagerRequestUnitTests {
+
+    static final TransactionDescriptor DESCRIPTOR = TransactionDescriptor.from(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+    @Test
+    void shouldEncodeBegin() {
+
+        assertThat(TransactionManagerRequest.begin(TransactionDescriptor.empty())).encoded() //
+            .hasHeader(HeaderOptions.create(Type.TX_MGR, Status.empty())) //
+            .isEncodedAs(it -> {
+
+                encodeHeaders(it, TransactionDescriptor.empty());
+
+                Encode.uShort(it, 5); // TM_BEGIN_XACT
+                Encode.asByte(it, 0); // isolation level
+                Encode.asByte(it, 0); // transaction name
+            });
+    }
+
+    @Test
+    void shouldEncodeCommit() {
+
+        assertThat(TransactionManagerRequest.commit(DESCRIPTOR)).encoded() //
+            .hasHeader(HeaderOptions.create(Type.TX_MGR, Status.empty())) //
+            .isEncodedAs(it -> {
+
+                encodeHeaders(it, DESCRIPTOR);
+
+                Encode.uShort(it, 7); // TM_COMMIT_XACT
+                Encode.asByte(it, 0); // transaction name
+                Encode.asByte(it, 0); // flags
+            });
+    }
+
+    @Test
+    void shouldEncodeRollbackToSavepoint() {
+
+        assertThat(TransactionManagerRequest.rollback(DESCRIPTOR, "foo")).encoded() //
+            .hasHeader(HeaderOptions.create(Type.TX_MGR, Status.empty())) //
+            .isEncodedAs(it -> {
+
+                encodeHeaders(it, DESCRIPTOR);
+
+                Encode.uShort(it, 8); // TM_ROLLBACK_XACT
+                Encode.asByte(it, 3);
+                Encode.rpcString(it, "foo");
+                Encode.asByte(it, 0); // flags
+            });
+    }
+
+    @Test
+    void shouldEncodeSave() {
+
+        assertThat(TransactionManagerRequest.save(DESCRIPTOR, "foo")).encoded() //
+            .hasHeader(HeaderOptions.create(Type.TX_MGR, Status.empty())) //
+            .isEncodedAs(it -> {
+
+                encodeHeaders(it, DESCRIPTOR);
+
+                Encode.uShort(it, 9); // TM_SAVE_XACT
+                Encode.asByte(it, 3);
+                Encode.rpcString(it, "foo");
+            });
+    }
+
+    static void encodeHeaders(ByteBuf buffer, TransactionDescriptor descriptor) {
+
+        Encode.dword(buffer, 22); // Total header length
+        Encode.dword(buffer, 18); // MARS header length
+        Encode.uShort(buffer, 2); // Tx Descriptor header
+        buffer.writeBytes(descriptor.toBytes()); // Tx descriptor
+        Encode.dword(buffer, 1); // outstanding requests
+    }
+
+}